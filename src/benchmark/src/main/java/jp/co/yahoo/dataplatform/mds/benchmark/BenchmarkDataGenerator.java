@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.benchmark;
+
+import java.io.IOException;
+import java.io.ByteArrayOutputStream;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.schema.objects.DoubleObj;
+import jp.co.yahoo.dataplatform.schema.objects.IntegerObj;
+import jp.co.yahoo.dataplatform.schema.objects.LongObj;
+import jp.co.yahoo.dataplatform.schema.objects.StringObj;
+
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.compressor.DefaultCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.GzipCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.LZ4Compressor;
+import jp.co.yahoo.dataplatform.mds.compressor.SnappyCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.ZstdCompressor;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+
+public final class BenchmarkDataGenerator{
+
+  public static final String COLUMN_NAME = "c";
+  public static final long SEED = 20180401L;
+
+  public static final int LOW_CARDINALITY = 16;
+  public static final int BLOCK_SIZE = 1024 * 1024 * 4;
+
+  public enum DataType{
+    LOW_CARDINALITY_STRING,
+    HIGH_CARDINALITY_STRING,
+    LONG_SERIES,
+    DOUBLE_SERIES,
+    NESTED
+  }
+
+  private BenchmarkDataGenerator(){}
+
+  public static String getCompressorClassName( final String name ){
+    if( "default".equals( name ) ){
+      return DefaultCompressor.class.getName();
+    }
+    else if( "gzip".equals( name ) ){
+      return GzipCompressor.class.getName();
+    }
+    else if( "lz4".equals( name ) ){
+      return LZ4Compressor.class.getName();
+    }
+    else if( "zstd".equals( name ) ){
+      return ZstdCompressor.class.getName();
+    }
+    else if( "snappy".equals( name ) ){
+      return SnappyCompressor.class.getName();
+    }
+    throw new IllegalArgumentException( "Unknown compressor name : " + name );
+  }
+
+  public static Configuration createWriterConfig( final String compressorName ){
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( BLOCK_SIZE ) );
+    config.set( "spread.column.maker.setting" , String.format( "{\"column_name\":\"root\",\"compressor_class\":\"%s\"}" , getCompressorClassName( compressorName ) ) );
+    return config;
+  }
+
+  public static Object createValue( final DataType dataType , final Random rnd , final int index ){
+    switch( dataType ){
+      case LOW_CARDINALITY_STRING:
+        return new StringObj( "category_" + rnd.nextInt( LOW_CARDINALITY ) );
+      case HIGH_CARDINALITY_STRING:
+        return new StringObj( Long.toHexString( rnd.nextLong() ) + "_" + index );
+      case LONG_SERIES:
+        return new LongObj( 1500000000000L + ( index * 1000L ) + rnd.nextInt( 1000 ) );
+      case DOUBLE_SERIES:
+        return new DoubleObj( Math.sin( (double)index / 100 ) * 1000 + rnd.nextDouble() );
+      case NESTED:
+        return createNestedValue( rnd , index );
+      default:
+        throw new IllegalArgumentException( "Unknown data type : " + dataType );
+    }
+  }
+
+  private static Map<String,Object> createNestedValue( final Random rnd , final int index ){
+    Map<String,Object> child = new HashMap<String,Object>();
+    child.put( "id" , new LongObj( (long)index ) );
+    child.put( "tag" , new StringObj( "tag_" + rnd.nextInt( LOW_CARDINALITY ) ) );
+
+    List<Object> array = new ArrayList<Object>();
+    int arraySize = index % 4;
+    for( int i = 0 ; i < arraySize ; i++ ){
+      array.add( new IntegerObj( rnd.nextInt( 10000 ) ) );
+    }
+    child.put( "array" , array );
+
+    if( ( index % 2 ) == 0 ){
+      child.put( "union" , new IntegerObj( index ) );
+    }
+    else{
+      child.put( "union" , new StringObj( "u_" + ( index % LOW_CARDINALITY ) ) );
+    }
+    return child;
+  }
+
+  public static Spread createSpread( final DataType dataType , final Random rnd , final int rows ) throws IOException{
+    Spread spread = new Spread();
+    for( int i = 0 ; i < rows ; i++ ){
+      spread.addRow( COLUMN_NAME , createValue( dataType , rnd , i ) );
+    }
+    return spread;
+  }
+
+  public static List<Spread> createSpreadList( final DataType dataType , final int spreadCount , final int rows ) throws IOException{
+    Random rnd = new Random( SEED );
+    List<Spread> result = new ArrayList<Spread>( spreadCount );
+    for( int i = 0 ; i < spreadCount ; i++ ){
+      result.add( createSpread( dataType , rnd , rows ) );
+    }
+    return result;
+  }
+
+  public static Spread createRecordSpread( final Random rnd , final int rows ) throws IOException{
+    Spread spread = new Spread();
+    for( int i = 0 ; i < rows ; i++ ){
+      Map<String,Object> row = new HashMap<String,Object>();
+      row.put( "str" , createValue( DataType.LOW_CARDINALITY_STRING , rnd , i ) );
+      row.put( "num" , createValue( DataType.LONG_SERIES , rnd , i ) );
+      row.put( "dbl" , createValue( DataType.DOUBLE_SERIES , rnd , i ) );
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+  public static List<Spread> createRecordSpreadList( final int spreadCount , final int rows ) throws IOException{
+    Random rnd = new Random( SEED );
+    List<Spread> result = new ArrayList<Spread>( spreadCount );
+    for( int i = 0 ; i < spreadCount ; i++ ){
+      result.add( createRecordSpread( rnd , rows ) );
+    }
+    return result;
+  }
+
+  public static byte[] write( final List<Spread> spreadList , final Configuration config ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      for( Spread spread : spreadList ){
+        writer.append( spread );
+      }
+    }
+    return out.toByteArray();
+  }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.benchmark;
+
+import java.io.IOException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.dataplatform.mds.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.DefaultPrimitiveObjectConnector;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IPrimitiveObjectConnector;
+import jp.co.yahoo.dataplatform.mds.binary.maker.MakerCache;
+import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class ColumnBinaryMakerBenchmark{
+
+  @Param( { "LOW_CARDINALITY_STRING" , "HIGH_CARDINALITY_STRING" , "LONG_SERIES" , "DOUBLE_SERIES" , "NESTED" } )
+  public String dataType;
+
+  @Param( { "default" , "gzip" , "lz4" , "zstd" , "snappy" } )
+  public String compressor;
+
+  @Param( { "8192" } )
+  public int rows;
+
+  private ColumnBinaryMakerConfig commonConfig;
+  private ColumnBinaryMakerCustomConfigNode configNode;
+  private IColumn column;
+  private IColumnBinaryMaker maker;
+  private ColumnBinary columnBinary;
+  private final IPrimitiveObjectConnector connector = new DefaultPrimitiveObjectConnector();
+
+  @Setup
+  public void setup() throws IOException{
+    commonConfig = new ColumnBinaryMakerConfig();
+    commonConfig.compressorClass = FindCompressor.get( BenchmarkDataGenerator.getCompressorClassName( compressor ) );
+    configNode = new ColumnBinaryMakerCustomConfigNode( "root" , commonConfig );
+
+    column = BenchmarkDataGenerator.createSpread( BenchmarkDataGenerator.DataType.valueOf( dataType ) , new Random( BenchmarkDataGenerator.SEED ) , rows ).getColumn( BenchmarkDataGenerator.COLUMN_NAME );
+    maker = commonConfig.getColumnMaker( column.getColumnType() );
+    columnBinary = maker.toBinary( commonConfig , configNode , column , new MakerCache() );
+  }
+
+  @Benchmark
+  public ColumnBinary toBinary() throws IOException{
+    return maker.toBinary( commonConfig , configNode , column , new MakerCache() );
+  }
+
+  @Benchmark
+  public void toColumn( final Blackhole bh ) throws IOException{
+    IColumn result = FindColumnBinaryMaker.get( columnBinary.makerClassName ).toColumn( columnBinary , connector );
+    for( int i = 0 ; i < result.size() ; i++ ){
+      bh.consume( result.get( i ) );
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.benchmark;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.schema.objects.LongObj;
+
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.AndExpressionNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.StringExtractNode;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class ExpressionBenchmark{
+
+  @Param( { "gzip" } )
+  public String compressor;
+
+  @Param( { "8192" } )
+  public int rows;
+
+  private Spread spread;
+  private IExpressionNode stringNode;
+  private IExpressionNode numberNode;
+  private IExpressionNode andNode;
+
+  @Setup
+  public void setup() throws IOException{
+    List<Spread> spreadList = BenchmarkDataGenerator.createRecordSpreadList( 1 , rows );
+    byte[] data = BenchmarkDataGenerator.write( spreadList , BenchmarkDataGenerator.createWriterConfig( compressor ) );
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayInputStream( data ) , data.length , new Configuration() );
+      spread = reader.next();
+    }
+
+    stringNode = new ExecuterNode( new StringExtractNode( "str" ) , new PerfectMatchStringFilter( "category_3" ) );
+    numberNode = new ExecuterNode( new StringExtractNode( "num" ) , new NumberFilter( NumberFilterType.GE , new LongObj( 1500000000000L + ( rows / 2 ) * 1000L ) ) );
+    andNode = new AndExpressionNode();
+    andNode.addChildNode( stringNode );
+    andNode.addChildNode( numberNode );
+  }
+
+  @Benchmark
+  public List<Integer> execString() throws IOException{
+    return stringNode.exec( spread );
+  }
+
+  @Benchmark
+  public List<Integer> execNumber() throws IOException{
+    return numberNode.exec( spread );
+  }
+
+  @Benchmark
+  public BitSet execBitSetString() throws IOException{
+    return stringNode.execBitSet( spread , null );
+  }
+
+  @Benchmark
+  public BitSet execBitSetNumber() throws IOException{
+    return numberNode.execBitSet( spread , null );
+  }
+
+  @Benchmark
+  public BitSet execBitSetAnd() throws IOException{
+    return andNode.execBitSet( spread , null );
+  }
+
+}
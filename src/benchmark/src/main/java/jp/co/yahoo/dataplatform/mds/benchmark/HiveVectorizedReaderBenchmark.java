@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.benchmark;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatchCtx;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+
+import jp.co.yahoo.dataplatform.config.Configuration;
+
+import jp.co.yahoo.dataplatform.mds.hadoop.hive.io.DummyJobReporter;
+import jp.co.yahoo.dataplatform.mds.hadoop.hive.io.HiveReaderSetting;
+import jp.co.yahoo.dataplatform.mds.hadoop.hive.io.HiveVectorizedReaderSetting;
+import jp.co.yahoo.dataplatform.mds.hadoop.hive.io.MDSHiveDirectVectorizedReader;
+import jp.co.yahoo.dataplatform.mds.hadoop.hive.io.vector.ColumnVectorAssignorFactory;
+import jp.co.yahoo.dataplatform.mds.hadoop.hive.io.vector.IColumnVectorAssignor;
+import jp.co.yahoo.dataplatform.mds.spread.expression.OrExpressionNode;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class HiveVectorizedReaderBenchmark{
+
+  private static final String[] COLUMN_NAMES = new String[]{ "str" , "num" , "dbl" };
+  private static final TypeInfo[] COLUMN_TYPES = new TypeInfo[]{ TypeInfoFactory.stringTypeInfo , TypeInfoFactory.longTypeInfo , TypeInfoFactory.doubleTypeInfo };
+
+  @Param( { "default" , "gzip" , "lz4" , "zstd" , "snappy" } )
+  public String compressor;
+
+  @Param( { "8192" } )
+  public int rows;
+
+  @Param( { "4" } )
+  public int spreadCount;
+
+  private byte[] data;
+  private MDSHiveDirectVectorizedReader reader;
+  private NullWritable key;
+  private VectorizedRowBatch value;
+
+  @Setup
+  public void setup() throws IOException{
+    data = BenchmarkDataGenerator.write(
+        BenchmarkDataGenerator.createRecordSpreadList( spreadCount , rows ) ,
+        BenchmarkDataGenerator.createWriterConfig( compressor ) );
+  }
+
+  private HiveVectorizedReaderSetting createSetting(){
+    IColumnVectorAssignor[] assignors = new IColumnVectorAssignor[COLUMN_TYPES.length];
+    boolean[] projectionColumn = new boolean[COLUMN_TYPES.length];
+    int[] needColumnIds = new int[COLUMN_TYPES.length];
+    for( int i = 0 ; i < COLUMN_TYPES.length ; i++ ){
+      assignors[i] = ColumnVectorAssignorFactory.create( COLUMN_TYPES[i] );
+      projectionColumn[i] = true;
+      needColumnIds[i] = i;
+    }
+    VectorizedRowBatchCtx rbCtx = new VectorizedRowBatchCtx( COLUMN_NAMES , COLUMN_TYPES , 0 , new String[0] );
+    HiveReaderSetting hiveReaderSetting = new HiveReaderSetting( new Configuration() , new OrExpressionNode() , true );
+    return new HiveVectorizedReaderSetting( projectionColumn , new Object[0] , rbCtx , assignors , needColumnIds , COLUMN_NAMES , hiveReaderSetting );
+  }
+
+  @Setup( Level.Invocation )
+  public void openReader() throws IOException{
+    reader = new MDSHiveDirectVectorizedReader( new ByteArrayInputStream( data ) , data.length , 0 , data.length , createSetting() , new DummyJobReporter() );
+    key = reader.createKey();
+    value = reader.createValue();
+  }
+
+  @TearDown( Level.Invocation )
+  public void closeReader() throws IOException{
+    reader.close();
+  }
+
+  @Benchmark
+  public void next( final Blackhole bh ) throws IOException{
+    while( reader.next( key , value ) ){
+      bh.consume( value );
+    }
+  }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.benchmark;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jp.co.yahoo.dataplatform.config.Configuration;
+
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class ReadBenchmark{
+
+  @Param( { "LOW_CARDINALITY_STRING" , "HIGH_CARDINALITY_STRING" , "LONG_SERIES" , "DOUBLE_SERIES" , "NESTED" } )
+  public String dataType;
+
+  @Param( { "default" , "gzip" , "lz4" , "zstd" , "snappy" } )
+  public String compressor;
+
+  @Param( { "8192" } )
+  public int rows;
+
+  @Param( { "4" } )
+  public int spreadCount;
+
+  private byte[] data;
+  private MDSReader reader;
+
+  @Setup
+  public void setup() throws IOException{
+    data = BenchmarkDataGenerator.write(
+        BenchmarkDataGenerator.createSpreadList( BenchmarkDataGenerator.DataType.valueOf( dataType ) , spreadCount , rows ) ,
+        BenchmarkDataGenerator.createWriterConfig( compressor ) );
+  }
+
+  @Setup( Level.Invocation )
+  public void openReader() throws IOException{
+    reader = new MDSReader();
+    reader.setNewStream( new ByteArrayInputStream( data ) , data.length , new Configuration() );
+  }
+
+  @TearDown( Level.Invocation )
+  public void closeReader() throws IOException{
+    reader.close();
+  }
+
+  @Benchmark
+  public void next( final Blackhole bh ) throws IOException{
+    while( reader.hasNext() ){
+      Spread spread = reader.next();
+      bh.consume( spread.getColumn( BenchmarkDataGenerator.COLUMN_NAME ).size() );
+    }
+  }
+
+  @Benchmark
+  public void nextAndScan( final Blackhole bh ) throws IOException{
+    while( reader.hasNext() ){
+      Spread spread = reader.next();
+      IColumn column = spread.getColumn( BenchmarkDataGenerator.COLUMN_NAME );
+      for( int i = 0 ; i < spread.size() ; i++ ){
+        ICell cell = column.get( i );
+        bh.consume( cell.getRow() );
+      }
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.benchmark;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.co.yahoo.dataplatform.config.Configuration;
+
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class WriteBenchmark{
+
+  @Param( { "LOW_CARDINALITY_STRING" , "HIGH_CARDINALITY_STRING" , "LONG_SERIES" , "DOUBLE_SERIES" , "NESTED" } )
+  public String dataType;
+
+  @Param( { "default" , "gzip" , "lz4" , "zstd" , "snappy" } )
+  public String compressor;
+
+  @Param( { "8192" } )
+  public int rows;
+
+  @Param( { "4" } )
+  public int spreadCount;
+
+  private List<Spread> spreadList;
+  private Configuration config;
+
+  @Setup
+  public void setup() throws IOException{
+    spreadList = BenchmarkDataGenerator.createSpreadList( BenchmarkDataGenerator.DataType.valueOf( dataType ) , spreadCount , rows );
+    config = BenchmarkDataGenerator.createWriterConfig( compressor );
+  }
+
+  @Benchmark
+  public byte[] append() throws IOException{
+    return BenchmarkDataGenerator.write( spreadList , config );
+  }
+
+}
@@ -44,7 +44,7 @@ public class InMemoryStorageLoader implements AutoCloseable{
       return;
     }
     for( ColumnBinary columnBinary : columnBinaryList ){
-      IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
+      IColumnBinaryMaker maker = FindColumnBinaryMaker.getFromColumnBinary( columnBinary );
       IMemoryAllocator childAllocator = allocator.getChild( columnBinary.columnName , columnBinary.columnType );
       maker.loadInMemoryStorage( columnBinary , childAllocator );
     }
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ArrayList;
+
+import jp.co.yahoo.dataplatform.mds.block.IBlockSource;
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+
+public class MDSFileFooter{
+
+  public static final byte[] MAGIC = new byte[]{'$','C','L','V'};
+  public static final byte[] STREAM_BLOCK_MAGIC = new byte[]{'$','C','L','S'};
+  public static final int END_OF_BLOCK = -1;
+
+  private static final int BLOCK_ENTRY_LENGTH = PrimitiveByteLength.LONG_LENGTH + PrimitiveByteLength.INT_LENGTH * 3;
+  private static final int TAIL_LENGTH = PrimitiveByteLength.INT_LENGTH + MAGIC.length;
+
+  private final List<Long> offsetList = new ArrayList<Long>();
+  private final List<Integer> lengthList = new ArrayList<Integer>();
+  private final List<Integer> rowCountList = new ArrayList<Integer>();
+  private final List<Integer> spreadCountList = new ArrayList<Integer>();
+
+  public void addBlock( final long offset , final int length , final int rowCount , final int spreadCount ){
+    offsetList.add( offset );
+    lengthList.add( length );
+    rowCountList.add( rowCount );
+    spreadCountList.add( spreadCount );
+  }
+
+  public int getBlockCount(){
+    return offsetList.size();
+  }
+
+  public long getBlockOffset( final int index ){
+    return offsetList.get( index ).longValue();
+  }
+
+  public int getBlockLength( final int index ){
+    return lengthList.get( index ).intValue();
+  }
+
+  public int getRowCount( final int index ){
+    return rowCountList.get( index ).intValue();
+  }
+
+  public int getSpreadCount( final int index ){
+    return spreadCountList.get( index ).intValue();
+  }
+
+  public long getTotalRowCount(){
+    long total = 0;
+    for( Integer rowCount : rowCountList ){
+      total += rowCount.intValue();
+    }
+    return total;
+  }
+
+  public byte[] toBinary(){
+    int bodyLength = PrimitiveByteLength.INT_LENGTH + BLOCK_ENTRY_LENGTH * getBlockCount();
+    ByteBuffer wrapBuffer = ByteBuffer.allocate( PrimitiveByteLength.INT_LENGTH + bodyLength + TAIL_LENGTH );
+    wrapBuffer.putInt( END_OF_BLOCK );
+    wrapBuffer.putInt( getBlockCount() );
+    for( int i = 0 ; i < getBlockCount() ; i++ ){
+      wrapBuffer.putLong( getBlockOffset( i ) );
+      wrapBuffer.putInt( getBlockLength( i ) );
+      wrapBuffer.putInt( getRowCount( i ) );
+      wrapBuffer.putInt( getSpreadCount( i ) );
+    }
+    wrapBuffer.putInt( bodyLength );
+    wrapBuffer.put( MAGIC );
+    return wrapBuffer.array();
+  }
+
+  public static MDSFileFooter read( final IBlockSource source ) throws IOException{
+    long fileLength = source.length();
+    if( fileLength < TAIL_LENGTH ){
+      return null;
+    }
+    byte[] tail = new byte[TAIL_LENGTH];
+    source.readFully( fileLength - TAIL_LENGTH , tail , 0 , TAIL_LENGTH );
+    if( ! Arrays.equals( Arrays.copyOfRange( tail , PrimitiveByteLength.INT_LENGTH , TAIL_LENGTH ) , MAGIC ) ){
+      return null;
+    }
+    int bodyLength = ByteBuffer.wrap( tail ).getInt( 0 );
+    if( bodyLength < PrimitiveByteLength.INT_LENGTH || fileLength - TAIL_LENGTH < bodyLength ){
+      throw new IOException( "Invalid footer length : " + bodyLength );
+    }
+    byte[] body = new byte[bodyLength];
+    source.readFully( fileLength - TAIL_LENGTH - bodyLength , body , 0 , bodyLength );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( body );
+    int blockCount = wrapBuffer.getInt();
+    if( bodyLength != PrimitiveByteLength.INT_LENGTH + BLOCK_ENTRY_LENGTH * blockCount ){
+      throw new IOException( "Invalid footer block count : " + blockCount );
+    }
+    MDSFileFooter footer = new MDSFileFooter();
+    for( int i = 0 ; i < blockCount ; i++ ){
+      long offset = wrapBuffer.getLong();
+      int length = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int spreadCount = wrapBuffer.getInt();
+      footer.addBlock( offset , length , rowCount , spreadCount );
+    }
+    return footer;
+  }
+
+}
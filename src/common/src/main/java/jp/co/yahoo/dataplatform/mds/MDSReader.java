@@ -17,6 +17,7 @@
  */
 package jp.co.yahoo.dataplatform.mds;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -31,12 +32,19 @@ import java.util.HashMap;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
 import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
 import jp.co.yahoo.dataplatform.config.FindClass;
 import jp.co.yahoo.dataplatform.config.Configuration;
 
+import jp.co.yahoo.dataplatform.mds.block.BlockReadAheadReader;
+import jp.co.yahoo.dataplatform.mds.block.BlockSourceInputStream;
+import jp.co.yahoo.dataplatform.mds.block.IBlockSource;
 import jp.co.yahoo.dataplatform.mds.block.IBlockReader;
+import jp.co.yahoo.dataplatform.mds.block.IBlockSkipChecker;
+import jp.co.yahoo.dataplatform.mds.block.StreamBlockInputStream;
 import jp.co.yahoo.dataplatform.mds.util.InputStreamUtils;
 import jp.co.yahoo.dataplatform.mds.stats.SummaryStats;
+import jp.co.yahoo.dataplatform.mds.stats.ReadIOStats;
 
 public class MDSReader implements AutoCloseable{
 
@@ -46,30 +54,47 @@ public class MDSReader implements AutoCloseable{
   private final List<ReadBlockOffset> readTargetList = new ArrayList<ReadBlockOffset>();
   private final SummaryStats readStats = new SummaryStats();
   private IBlockReader currentBlockReader;
+  private IExpressionNode blockSkipIndex;
+  private BlockReadAheadReader readAheadReader;
 
   private InputStream in;
   private int blockSize;
   private long inReadOffset;
+  private boolean isSequentialBlock;
+  private boolean isStreamBlock;
+  private long splitStart;
+  private long splitEnd;
+  private long streamDataSize;
 
   private class FileHeaderMeta {
     public final int blockSize;
     public final int headerSize;
     public final String className;
+    public final boolean isVariableBlock;
+    public final boolean isStreamBlock;
 
-    public FileHeaderMeta( final int blockSize , final String className , final int headerSize ){
+    public FileHeaderMeta( final int blockSize , final String className , final int headerSize , final boolean isVariableBlock , final boolean isStreamBlock ){
       this.blockSize = blockSize;
       this.className = className;
       this.headerSize = headerSize;
+      this.isVariableBlock = isVariableBlock;
+      this.isStreamBlock = isStreamBlock;
     }
   }
 
   private class ReadBlockOffset{
     public final long start;
     public final int length;
+    public final byte[] blockBytes;
 
     public ReadBlockOffset( final long start , final int length ){
+      this( start , length , null );
+    }
+
+    public ReadBlockOffset( final long start , final int length , final byte[] blockBytes ){
       this.start = start;
       this.length = length;
+      this.blockBytes = blockBytes;
     }
   }
 
@@ -77,7 +102,9 @@ public class MDSReader implements AutoCloseable{
     byte[] magic = new byte[MAGIC.length];
     InputStreamUtils.read( in , magic , 0 , MAGIC.length );
 
-    if( ! Arrays.equals( magic , MAGIC) ){
+    boolean isStreamBlock = Arrays.equals( magic , MDSFileFooter.STREAM_BLOCK_MAGIC );
+    boolean isVariableBlock = isStreamBlock || Arrays.equals( magic , MDSFileFooter.MAGIC );
+    if( ! isVariableBlock && ! Arrays.equals( magic , MAGIC) ){
       throw new IOException( "Invalid binary." );
     }
 
@@ -98,7 +125,23 @@ public class MDSReader implements AutoCloseable{
     viewCharBuffer.get( classNameChars );
     String blockReaderClass = new String( classNameChars );
 
-    return new FileHeaderMeta( wrapBuffer.getInt( 0 ) , blockReaderClass , ( MAGIC.length + PrimitiveByteLength.INT_LENGTH + PrimitiveByteLength.INT_LENGTH + classNameSize ) );
+    return new FileHeaderMeta( wrapBuffer.getInt( 0 ) , blockReaderClass , ( MAGIC.length + PrimitiveByteLength.INT_LENGTH + PrimitiveByteLength.INT_LENGTH + classNameSize ) , isVariableBlock , isStreamBlock );
+  }
+
+  public void setBlockSkipIndex( final IExpressionNode blockSkipIndex ){
+    this.blockSkipIndex = blockSkipIndex;
+    if( currentBlockReader != null ){
+      currentBlockReader.setBlockSkipIndex( blockSkipIndex );
+    }
+  }
+
+  public void setNewStream( final IBlockSource source , final Configuration config ) throws IOException{
+    long dataSize = source.length();
+    setNewStream( new BlockSourceInputStream( source , config.getInt( "spread.reader.source.buffer.size" , BlockSourceInputStream.DEFAULT_BUFFER_SIZE ) ) , dataSize , config , 0 , dataSize );
+  }
+
+  public void setNewStream( final IBlockSource source , final Configuration config , final long start , final long length ) throws IOException{
+    setNewStream( new BlockSourceInputStream( source , config.getInt( "spread.reader.source.buffer.size" , BlockSourceInputStream.DEFAULT_BUFFER_SIZE ) ) , source.length() , config , start , length );
   }
 
   public void setNewStream( final InputStream in , final long dataSize , final Configuration config ) throws IOException{
@@ -106,8 +149,10 @@ public class MDSReader implements AutoCloseable{
   }
 
   public void setNewStream( final InputStream in , final long dataSize , final Configuration config , final long start , final long length ) throws IOException{
+    closeReadAheadReader();
     inReadOffset = 0;
     readTargetList.clear();
+    isSequentialBlock = false;
 
     this.in = in;
 
@@ -120,64 +165,237 @@ public class MDSReader implements AutoCloseable{
 
     currentBlockReader = blockReaderMap.get( meta.className );
     currentBlockReader.setup( config );
+    currentBlockReader.setBlockSkipIndex( blockSkipIndex );
 
     blockSize = meta.blockSize;
+    isStreamBlock = meta.isStreamBlock;
 
-    int blockCount = Double.valueOf( Math.ceil( (double)dataSize / (double)blockSize ) ).intValue();
-    for( int i = 0 ; i < blockCount ; i++ ){
-      int targetBlockSize = blockSize;
-      if( i == 0 ){
-        targetBlockSize -= meta.headerSize;
-      }
-      long readStartOffset = (long)i * (long)blockSize;
-      if( start <= readStartOffset && readStartOffset < ( start + length ) ){
-        readTargetList.add( new ReadBlockOffset( readStartOffset , targetBlockSize ) );
+    if( meta.isVariableBlock ){
+      setVariableBlockList( dataSize , start , length );
+    }
+    else{
+      int blockCount = Double.valueOf( Math.ceil( (double)dataSize / (double)blockSize ) ).intValue();
+      for( int i = 0 ; i < blockCount ; i++ ){
+        int targetBlockSize = blockSize;
+        if( i == 0 ){
+          targetBlockSize -= meta.headerSize;
+        }
+        long readStartOffset = (long)i * (long)blockSize;
+        if( start <= readStartOffset && readStartOffset < ( start + length ) ){
+          readTargetList.add( new ReadBlockOffset( readStartOffset , targetBlockSize ) );
+        }
       }
     }
     if( readTargetList.isEmpty() ){
       return;
     }
-    ReadBlockOffset readOffset = readTargetList.remove(0);
-    inReadOffset += InputStreamUtils.skip( in , readOffset.start - inReadOffset );
-
     currentBlockReader.setBlockSize( blockSize );
-    currentBlockReader.setStream( in , readOffset.length );
-    inReadOffset += readOffset.length;
+    setBlockStream( readTargetList.remove(0) );
+
+    int readAheadDepth = config.getInt( "spread.reader.read.ahead.block.count" , 0 );
+    if( 0 < readAheadDepth && ! readTargetList.isEmpty() ){
+      long[] blockStartArray = new long[readTargetList.size()];
+      int[] blockLengthArray = new int[readTargetList.size()];
+      for( int i = 0 ; i < readTargetList.size() ; i++ ){
+        blockStartArray[i] = readTargetList.get( i ).start;
+        blockLengthArray[i] = readTargetList.get( i ).length;
+      }
+      IBlockSkipChecker skipChecker = null;
+      if( ! isStreamBlock ){
+        skipChecker = currentBlockReader.createBlockSkipChecker();
+      }
+      readAheadReader = new BlockReadAheadReader( in , inReadOffset , blockStartArray , blockLengthArray , readAheadDepth , skipChecker );
+      readAheadReader.start();
+    }
   }
 
-  public boolean hasNext() throws IOException{
-    if( currentBlockReader.hasNext() ){
-      return true;
+  private void setVariableBlockList( final long dataSize , final long start , final long length ) throws IOException{
+    MDSFileFooter footer = null;
+    if( in instanceof BlockSourceInputStream ){
+      footer = MDSFileFooter.read( ( (BlockSourceInputStream)in ).getSource() );
     }
-    else if( ! readTargetList.isEmpty() ){
-      return true;
+    if( footer != null ){
+      for( int i = 0 ; i < footer.getBlockCount() ; i++ ){
+        long blockStart = footer.getBlockOffset( i );
+        if( start <= blockStart && blockStart < ( start + length ) ){
+          readTargetList.add( new ReadBlockOffset( blockStart , footer.getBlockLength( i ) ) );
+        }
+      }
+      return;
     }
-    return false;
+    isSequentialBlock = true;
+    splitStart = start;
+    splitEnd = start + length;
+    streamDataSize = dataSize;
+    findNextSequentialBlock();
   }
 
+  private boolean findNextSequentialBlock() throws IOException{
+    if( isStreamBlock ){
+      return findNextSequentialStreamBlock();
+    }
+    byte[] lengthBytes = new byte[PrimitiveByteLength.INT_LENGTH];
+    while( isSequentialBlock ){
+      if( streamDataSize < inReadOffset + PrimitiveByteLength.INT_LENGTH
+          || InputStreamUtils.read( in , lengthBytes , 0 , PrimitiveByteLength.INT_LENGTH ) < PrimitiveByteLength.INT_LENGTH ){
+        isSequentialBlock = false;
+        break;
+      }
+      inReadOffset += PrimitiveByteLength.INT_LENGTH;
+      int blockLength = ByteBuffer.wrap( lengthBytes ).getInt( 0 );
+      if( blockLength == MDSFileFooter.END_OF_BLOCK || splitEnd <= inReadOffset ){
+        isSequentialBlock = false;
+        break;
+      }
+      if( splitStart <= inReadOffset ){
+        readTargetList.add( new ReadBlockOffset( inReadOffset , blockLength ) );
+        return true;
+      }
+      inReadOffset += InputStreamUtils.skip( in , blockLength );
+    }
+    return false;
+  }
 
-  public Spread next() throws IOException{
-    if( ! currentBlockReader.hasNext() ){
-      if( readTargetList.isEmpty() ){
-        return null;
+  private boolean findNextSequentialStreamBlock() throws IOException{
+    byte[] lengthBytes = new byte[PrimitiveByteLength.INT_LENGTH];
+    while( isSequentialBlock ){
+      long blockStart = inReadOffset;
+      if( splitEnd <= blockStart ){
+        isSequentialBlock = false;
+        break;
+      }
+      boolean isReadTarget = splitStart <= blockStart;
+      byte[] blockBytes = null;
+      if( isReadTarget && ! ( in instanceof BlockSourceInputStream ) ){
+        blockBytes = new byte[blockSize];
       }
-      ReadBlockOffset readOffset = readTargetList.remove(0);
+      int blockLength = 0;
+      while( true ){
+        if( streamDataSize < inReadOffset + PrimitiveByteLength.INT_LENGTH
+            || InputStreamUtils.read( in , lengthBytes , 0 , PrimitiveByteLength.INT_LENGTH ) < PrimitiveByteLength.INT_LENGTH ){
+          if( blockLength != 0 ){
+            throw new IOException( "Stream block is truncated at " + inReadOffset );
+          }
+          isSequentialBlock = false;
+          return false;
+        }
+        inReadOffset += PrimitiveByteLength.INT_LENGTH;
+        int chunkLength = ByteBuffer.wrap( lengthBytes ).getInt( 0 );
+        if( blockLength == 0 && chunkLength == MDSFileFooter.END_OF_BLOCK ){
+          isSequentialBlock = false;
+          return false;
+        }
+        int chunkDataLength = Math.abs( chunkLength );
+        if( chunkLength < 0 ){
+          chunkDataLength += StreamBlockInputStream.TAIL_LENGTH;
+        }
+        if( blockBytes == null ){
+          inReadOffset += InputStreamUtils.skip( in , chunkDataLength );
+        }
+        else{
+          int chunkEnd = blockLength + PrimitiveByteLength.INT_LENGTH + chunkDataLength;
+          if( blockBytes.length < chunkEnd ){
+            blockBytes = Arrays.copyOf( blockBytes , Math.max( chunkEnd , blockBytes.length * 2 ) );
+          }
+          System.arraycopy( lengthBytes , 0 , blockBytes , blockLength , PrimitiveByteLength.INT_LENGTH );
+          int readLength = InputStreamUtils.read( in , blockBytes , blockLength + PrimitiveByteLength.INT_LENGTH , chunkDataLength );
+          inReadOffset += readLength;
+          if( readLength < chunkDataLength ){
+            throw new IOException( "Stream block is truncated at " + inReadOffset );
+          }
+        }
+        blockLength += PrimitiveByteLength.INT_LENGTH + chunkDataLength;
+        if( chunkLength < 0 ){
+          break;
+        }
+      }
+      if( isReadTarget ){
+        readTargetList.add( new ReadBlockOffset( blockStart , blockLength , blockBytes ) );
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void setBlockStream( final ReadBlockOffset readOffset ) throws IOException{
+    if( ! isStreamBlock ){
       inReadOffset += InputStreamUtils.skip( in , readOffset.start - inReadOffset );
       currentBlockReader.setStream( in , readOffset.length );
       inReadOffset += readOffset.length;
+      return;
+    }
+    StreamBlockInputStream streamBlock;
+    if( readOffset.blockBytes != null ){
+      streamBlock = new StreamBlockInputStream( readOffset.blockBytes , 0 , readOffset.length );
+    }
+    else if( in instanceof BlockSourceInputStream ){
+      streamBlock = new StreamBlockInputStream( ( (BlockSourceInputStream)in ).getSource() , readOffset.start , readOffset.length );
+    }
+    else{
+      inReadOffset += InputStreamUtils.skip( in , readOffset.start - inReadOffset );
+      byte[] blockBytes = new byte[readOffset.length];
+      int readLength = InputStreamUtils.read( in , blockBytes , 0 , readOffset.length );
+      inReadOffset += readLength;
+      if( readLength < readOffset.length ){
+        throw new IOException( "Stream block is truncated at " + inReadOffset );
+      }
+      streamBlock = new StreamBlockInputStream( blockBytes , 0 , readOffset.length );
+    }
+    currentBlockReader.setStream( streamBlock , streamBlock.getLength() );
+    inReadOffset += InputStreamUtils.skip( in , readOffset.start + readOffset.length - inReadOffset );
+  }
+
+  private void closeReadAheadReader() throws IOException{
+    if( readAheadReader != null ){
+      readAheadReader.close();
+      readAheadReader = null;
+    }
+  }
+
+  private void readNextBlock() throws IOException{
+    ReadBlockOffset readOffset = readTargetList.remove(0);
+    if( readAheadReader != null ){
+      ByteBuffer blockBuffer = readAheadReader.next();
+      inReadOffset = readOffset.start + readOffset.length;
+      if( blockBuffer == null ){
+        return;
+      }
+      try{
+        if( isStreamBlock ){
+          StreamBlockInputStream streamBlock = new StreamBlockInputStream( blockBuffer.array() , 0 , blockBuffer.limit() );
+          currentBlockReader.setStream( streamBlock , streamBlock.getLength() );
+        }
+        else{
+          currentBlockReader.setStream( new ByteArrayInputStream( blockBuffer.array() , 0 , blockBuffer.limit() ) , readOffset.length );
+        }
+      }finally{
+        readAheadReader.release( blockBuffer );
+      }
+      return;
+    }
+    setBlockStream( readOffset );
+  }
+
+  public boolean hasNext() throws IOException{
+    while( ! currentBlockReader.hasNext() ){
+      if( readTargetList.isEmpty() && ! findNextSequentialBlock() ){
+        return false;
+      }
+      readNextBlock();
+    }
+    return true;
+  }
+
+  public Spread next() throws IOException{
+    if( ! hasNext() ){
+      return null;
     }
     return currentBlockReader.next();
   }
 
   public List<ColumnBinary> nextRaw() throws IOException{
-    if( ! currentBlockReader.hasNext() ){
-      if( readTargetList.isEmpty() ){
-        return null;
-      }
-      ReadBlockOffset readOffset = readTargetList.remove(0);
-      inReadOffset += InputStreamUtils.skip( in , readOffset.start - inReadOffset );
-      currentBlockReader.setStream( in , readOffset.length );
-      inReadOffset += readOffset.length;
+    if( ! hasNext() ){
+      return null;
     }
     return currentBlockReader.nextRaw();
   }
@@ -202,13 +420,20 @@ public class MDSReader implements AutoCloseable{
     return currentBlockReader.getReadStats();
   }
 
+  public ReadIOStats getReadIOStats(){
+    return currentBlockReader.getReadIOStats();
+  }
+
   public void close() throws IOException{
+    closeReadAheadReader();
     if( in != null ){
       in.close();
       in = null;
     }
     inReadOffset = 0;
     readTargetList.clear();
+    isSequentialBlock = false;
+    isStreamBlock = false;
     currentBlockReader.close();
   }
 
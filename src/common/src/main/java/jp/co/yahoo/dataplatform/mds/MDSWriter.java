@@ -22,11 +22,19 @@ import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
 import jp.co.yahoo.dataplatform.mds.block.FindBlockMaker;
 import jp.co.yahoo.dataplatform.mds.block.IBlockMaker;
+import jp.co.yahoo.dataplatform.mds.block.IStreamBlockMaker;
 import jp.co.yahoo.dataplatform.mds.block.PredicateBlockMaker;
 import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
@@ -38,14 +46,57 @@ public class MDSWriter implements AutoCloseable{
 
   private final OutputStream out;
   private final IBlockMaker blockMaker;
+  private final boolean isVariableBlock;
+  private final boolean isStreamBlock;
+  private final MDSFileFooter footer = new MDSFileFooter();
+  private final Deque<Future<Void>> pendingFlushQueue = new ArrayDeque<Future<Void>>();
+  private final int blockSize;
+
+  private WriterMemoryManager.Allocation memoryAllocation;
+  private long writeOffset;
+  private long blockStartOffset;
+  private int blockRowCount;
+  private int blockSpreadCount;
+  private ExecutorService flushExecutor;
+  private int maxPendingFlush;
+  private volatile boolean isFlushFailed;
 
   public MDSWriter( final OutputStream out , final Configuration config ) throws IOException{
+    this( out , config , WriterMemoryManager.getInstance() );
+  }
+
+  public MDSWriter( final OutputStream out , final Configuration config , final WriterMemoryManager memoryManager ) throws IOException{
     this.out = out;
 
-    int blockSize = config.getInt( "block.size" , 1024 * 1024 * 128 );
+    blockSize = config.getInt( "block.size" , 1024 * 1024 * 128 );
+    boolean isVariableLengthConfig = Boolean.parseBoolean( config.get( "block.variable.length" , "false" ) );
 
     blockMaker = FindBlockMaker.get( config.get( "block.maker.class" , PredicateBlockMaker.class.getName() ) );
     blockMaker.setup( blockSize , config );
+    isStreamBlock = blockMaker instanceof IStreamBlockMaker && ( (IStreamBlockMaker)blockMaker ).isStreamWrite();
+    if( isStreamBlock && config.containsKey( "block.variable.length" ) && ! isVariableLengthConfig ){
+      throw new IOException( "block.stream.write requires block.variable.length=true." );
+    }
+    // writer.memory.manager.max.size flushes blocks early, so it turns on block.variable.length.
+    long memoryManagerMaxSize = Long.parseLong( config.get( "writer.memory.manager.max.size" , "0" ) );
+    if( 0 < memoryManagerMaxSize && config.containsKey( "block.variable.length" ) && ! isVariableLengthConfig ){
+      throw new IOException( "writer.memory.manager.max.size requires block.variable.length=true." );
+    }
+    isVariableBlock = isStreamBlock || isVariableLengthConfig || 0 < memoryManagerMaxSize;
+    if( Boolean.parseBoolean( config.get( "block.async.flush" , "false" ) ) ){
+      if( isStreamBlock ){
+        throw new IOException( "block.async.flush can not be used with block.stream.write." );
+      }
+      maxPendingFlush = config.getInt( "block.async.flush.max.pending" , 1 );
+      if( maxPendingFlush <= 0 ){
+        throw new IOException( "block.async.flush.max.pending must be greater than 0 : " + maxPendingFlush );
+      }
+      flushExecutor = Executors.newSingleThreadExecutor( runnable -> {
+        Thread thread = new Thread( runnable , "mds-block-flush" );
+        thread.setDaemon( true );
+        return thread;
+      });
+    }
     String blockMakerClassName = blockMaker.getReaderClassName();
     int classNameLength = blockMakerClassName.length() * PrimitiveByteLength.CHAR_LENGTH;
 
@@ -53,7 +104,15 @@ public class MDSWriter implements AutoCloseable{
     ByteBuffer wrapBuffer = ByteBuffer.wrap( header );
     CharBuffer viewCharBuffer = wrapBuffer.asCharBuffer();
     int offset = 0;
-    wrapBuffer.put( MAGIC , 0 , MAGIC.length );
+    if( isStreamBlock ){
+      wrapBuffer.put( MDSFileFooter.STREAM_BLOCK_MAGIC , 0 , MAGIC.length );
+    }
+    else if( isVariableBlock ){
+      wrapBuffer.put( MDSFileFooter.MAGIC , 0 , MAGIC.length );
+    }
+    else{
+      wrapBuffer.put( MAGIC , 0 , MAGIC.length );
+    }
     offset += MAGIC.length;
     wrapBuffer.putInt( offset , blockSize );
     offset += PrimitiveByteLength.INT_LENGTH;
@@ -62,23 +121,174 @@ public class MDSWriter implements AutoCloseable{
     viewCharBuffer.position( offset / PrimitiveByteLength.CHAR_LENGTH );
     viewCharBuffer.put( blockMakerClassName.toCharArray() );
 
-    blockMaker.appendHeader( header );
+    if( isVariableBlock ){
+      out.write( header , 0 , header.length );
+      writeOffset = header.length;
+      blockStartOffset = writeOffset;
+    }
+    else{
+      blockMaker.appendHeader( header );
+    }
+
+    if( 0 < memoryManagerMaxSize ){
+      memoryManager.configure( memoryManagerMaxSize );
+      memoryAllocation = memoryManager.register();
+    }
   }
 
   public void append( final Spread spread ) throws IOException{
     List<ColumnBinary> binaryList = blockMaker.convertRow( spread );
     if( ! blockMaker.canAppend( binaryList ) ){
-      byte[] block = blockMaker.createFixedBlock();
+      writeBlock( false );
+      if( ! blockMaker.canAppend( binaryList ) ){
+        throw new IOException( "Buffer overflow. The spread is larger than the block size." );
+      }
+    }
+    if( isStreamBlock ){
+      writeOffset += ( (IStreamBlockMaker)blockMaker ).writeSpread( spread.size() , binaryList , out );
+    }
+    else{
+      blockMaker.append( spread.size() , binaryList );
+    }
+    blockRowCount += spread.size();
+    blockSpreadCount++;
+
+    if( memoryAllocation != null ){
+      memoryAllocation.update( blockMaker.getBufferedSize() );
+      if( memoryAllocation.isFlushRequested() ){
+        writeBlock( false );
+      }
+    }
+  }
+
+  private void writeBlock( final boolean isLastBlock ) throws IOException{
+    boolean isSubmitted = false;
+    if( isStreamBlock ){
+      if( blockSpreadCount != 0 ){
+        writeOffset += ( (IStreamBlockMaker)blockMaker ).writeTrailer( out );
+        footer.addBlock( blockStartOffset , (int)( writeOffset - blockStartOffset ) , blockRowCount , blockSpreadCount );
+      }
+      blockStartOffset = writeOffset;
+    }
+    else if( ! isVariableBlock || blockSpreadCount != 0 ){
+      int dataSize = -1;
+      if( ! isVariableBlock && ! isLastBlock ){
+        dataSize = blockSize;
+      }
+      long flushSize = blockMaker.getBufferedSize();
+      Callable<byte[]> blockCreator = blockMaker.detachBlock( dataSize );
+      if( flushExecutor == null ){
+        writeBlockBytes( createBlock( blockCreator ) , blockRowCount , blockSpreadCount );
+      }
+      else{
+        submitBlock( blockCreator , blockRowCount , blockSpreadCount , flushSize );
+        isSubmitted = true;
+      }
+    }
+    blockRowCount = 0;
+    blockSpreadCount = 0;
+    if( memoryAllocation != null && ! isSubmitted ){
+      memoryAllocation.flushed( blockMaker.getBufferedSize() );
+    }
+  }
+
+  private byte[] createBlock( final Callable<byte[]> blockCreator ) throws IOException{
+    try{
+      return blockCreator.call();
+    }catch( IOException e ){
+      throw e;
+    }catch( Exception e ){
+      throw new IOException( e );
+    }
+  }
+
+  private void writeBlockBytes( final byte[] block , final int rowCount , final int spreadCount ) throws IOException{
+    if( ! isVariableBlock ){
       out.write( block , 0 , block.length );
+      return;
+    }
+    byte[] lengthBytes = new byte[PrimitiveByteLength.INT_LENGTH];
+    ByteBuffer.wrap( lengthBytes ).putInt( block.length );
+    out.write( lengthBytes , 0 , lengthBytes.length );
+    out.write( block , 0 , block.length );
+    footer.addBlock( writeOffset + lengthBytes.length , block.length , rowCount , spreadCount );
+    writeOffset += lengthBytes.length + block.length;
+  }
+
+  private void submitBlock( final Callable<byte[]> blockCreator , final int rowCount , final int spreadCount , final long flushSize ) throws IOException{
+    while( ! pendingFlushQueue.isEmpty() && pendingFlushQueue.peekFirst().isDone() ){
+      waitFlush( pendingFlushQueue.pollFirst() );
+    }
+    while( maxPendingFlush <= pendingFlushQueue.size() ){
+      waitFlush( pendingFlushQueue.pollFirst() );
+    }
+    WriterMemoryManager.Allocation allocation = memoryAllocation;
+    if( allocation != null ){
+      allocation.flushStarted( flushSize , blockMaker.getBufferedSize() );
     }
-    blockMaker.append( spread.size() , binaryList );
+    pendingFlushQueue.addLast( flushExecutor.submit( () -> {
+      try{
+        if( isFlushFailed ){
+          throw new IOException( "A previous block flush failed." );
+        }
+        writeBlockBytes( createBlock( blockCreator ) , rowCount , spreadCount );
+      }catch( IOException | RuntimeException e ){
+        isFlushFailed = true;
+        throw e;
+      }finally{
+        if( allocation != null ){
+          allocation.flushCompleted( flushSize );
+        }
+      }
+      return null;
+    }));
+  }
+
+  private void waitFlush( final Future<Void> future ) throws IOException{
+    try{
+      future.get();
+    }catch( InterruptedException e ){
+      Thread.currentThread().interrupt();
+      throw new IOException( e );
+    }catch( ExecutionException e ){
+      if( e.getCause() instanceof IOException ){
+        throw (IOException)( e.getCause() );
+      }
+      throw new IOException( e.getCause() );
+    }
+  }
+
+  private void waitAllFlush() throws IOException{
+    while( ! pendingFlushQueue.isEmpty() ){
+      waitFlush( pendingFlushQueue.pollFirst() );
+    }
+  }
+
+  private void shutdownFlushExecutor(){
+    if( flushExecutor != null ){
+      flushExecutor.shutdownNow();
+      flushExecutor = null;
+    }
+    pendingFlushQueue.clear();
   }
 
   public void close() throws IOException{
-    byte[] block = blockMaker.createVariableBlock();
-    out.write( block , 0 , block.length );
-    blockMaker.close();
-    out.close();
+    try{
+      writeBlock( true );
+      waitAllFlush();
+      if( isVariableBlock ){
+        byte[] footerBytes = footer.toBinary();
+        out.write( footerBytes , 0 , footerBytes.length );
+      }
+    }finally{
+      shutdownFlushExecutor();
+      blockMaker.close();
+      if( memoryAllocation != null ){
+        memoryAllocation.close();
+        memoryAllocation = null;
+      }
+      out.close();
+    }
   }
 
 
@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.HashSet;
+
+public class WriterMemoryManager{
+
+  private static final WriterMemoryManager INSTANCE = new WriterMemoryManager();
+
+  private final Set<Allocation> allocationSet = new HashSet<Allocation>();
+
+  private long maxSize;
+  private long totalSize;
+
+  public static WriterMemoryManager getInstance(){
+    return INSTANCE;
+  }
+
+  public synchronized void setMaxSize( final long maxSize ){
+    this.maxSize = maxSize;
+    requestFlush();
+  }
+
+  public synchronized boolean configure( final long maxSize ){
+    if( 0 < this.maxSize ){
+      return false;
+    }
+    setMaxSize( maxSize );
+    return true;
+  }
+
+  public synchronized long getMaxSize(){
+    return maxSize;
+  }
+
+  public synchronized long getTotalSize(){
+    return totalSize;
+  }
+
+  public synchronized int getAllocationCount(){
+    return allocationSet.size();
+  }
+
+  public synchronized Allocation register(){
+    Allocation allocation = new Allocation( this );
+    allocationSet.add( allocation );
+    return allocation;
+  }
+
+  private synchronized void update( final Allocation allocation , final long size ){
+    if( ! allocationSet.contains( allocation ) ){
+      return;
+    }
+    totalSize += size - allocation.size;
+    allocation.size = size;
+    requestFlush();
+  }
+
+  private synchronized void startFlush( final Allocation allocation , final long flushSize , final long remainingSize ){
+    allocation.isFlushRequested = false;
+    if( ! allocationSet.contains( allocation ) ){
+      return;
+    }
+    totalSize += flushSize + remainingSize - allocation.size;
+    allocation.size = remainingSize;
+    allocation.pendingSize += flushSize;
+  }
+
+  private synchronized void completeFlush( final Allocation allocation , final long flushSize ){
+    if( ! allocationSet.contains( allocation ) ){
+      return;
+    }
+    totalSize -= flushSize;
+    allocation.pendingSize -= flushSize;
+  }
+
+  private synchronized void release( final Allocation allocation ){
+    if( allocationSet.remove( allocation ) ){
+      totalSize -= allocation.size + allocation.pendingSize;
+      allocation.size = 0;
+      allocation.pendingSize = 0;
+    }
+  }
+
+  private void requestFlush(){
+    if( maxSize <= 0 || totalSize <= maxSize ){
+      return;
+    }
+    List<Allocation> allocationList = new ArrayList<Allocation>( allocationSet );
+    allocationList.sort( ( a , b ) -> Long.compare( b.size , a.size ) );
+    long remainingSize = totalSize;
+    for( Allocation allocation : allocationList ){
+      if( remainingSize <= maxSize || allocation.size == 0 ){
+        break;
+      }
+      allocation.isFlushRequested = true;
+      remainingSize -= allocation.size;
+    }
+  }
+
+  public static class Allocation implements AutoCloseable{
+
+    private final WriterMemoryManager manager;
+
+    private long size;
+    private long pendingSize;
+    private volatile boolean isFlushRequested;
+
+    private Allocation( final WriterMemoryManager manager ){
+      this.manager = manager;
+    }
+
+    public void update( final long size ){
+      manager.update( this , size );
+    }
+
+    public long getSize(){
+      synchronized( manager ){
+        return size;
+      }
+    }
+
+    public long getPendingSize(){
+      synchronized( manager ){
+        return pendingSize;
+      }
+    }
+
+    public boolean isFlushRequested(){
+      return isFlushRequested;
+    }
+
+    public void flushed( final long size ){
+      isFlushRequested = false;
+      manager.update( this , size );
+    }
+
+    public void flushStarted( final long flushSize , final long remainingSize ){
+      manager.startFlush( this , flushSize , remainingSize );
+    }
+
+    public void flushCompleted( final long flushSize ){
+      manager.completeFlush( this , flushSize );
+    }
+
+    @Override
+    public void close(){
+      isFlushRequested = false;
+      manager.release( this );
+    }
+
+  }
+
+}
@@ -23,6 +23,10 @@ import java.nio.CharBuffer;
 
 import java.util.List;
 
+import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.SharedStringDictionary;
+import jp.co.yahoo.dataplatform.mds.blockindex.IBlockIndex;
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexFactory;
 import jp.co.yahoo.dataplatform.mds.stats.SummaryStats;
 import jp.co.yahoo.dataplatform.mds.stats.ColumnStats;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
@@ -51,6 +55,12 @@ public class ColumnBinary{
 
   public List<ColumnBinary> columnBinaryList;
 
+  public IBlockIndex blockIndex;
+
+  public SharedStringDictionary sharedDictionary;
+
+  public IColumnBinaryMaker maker;
+
   public ColumnBinary( final String makerClassName , final String compressorClassName , final String columnName , final ColumnType columnType , final int rowCount , final int rawDataSize , final int logicalDataSize , int cardinality , final byte[] binary , final int binaryStart , final int binaryLength , final List<ColumnBinary> columnBinaryList ){
     this.makerClassName = makerClassName;
     this.compressorClassName = compressorClassName;
@@ -81,6 +91,7 @@ public class ColumnBinary{
       + INT_LENGTH
       + INT_LENGTH
       + INT_LENGTH
+      + getBlockIndexSize()
       + binaryLength;
 
     if( columnBinaryList != null ){
@@ -105,7 +116,15 @@ public class ColumnBinary{
       + INT_LENGTH
       + INT_LENGTH
       + INT_LENGTH
-      + INT_LENGTH;
+      + INT_LENGTH
+      + getBlockIndexSize();
+  }
+
+  private int getBlockIndexSize() throws IOException{
+    if( blockIndex == null ){
+      return 0;
+    }
+    return BYTE_LENGTH + INT_LENGTH + blockIndex.getBinarySize();
   }
 
   public static ColumnBinary newInstanceFromMetaBinary( final byte[] metaBinary , final int start , final int length , final byte[] dataBuffer , final List<ColumnBinary> childList ) throws IOException{
@@ -159,7 +178,17 @@ public class ColumnBinary{
     int metaBinaryLength = wrapBuffer.getInt( offset );
     offset += INT_LENGTH;
 
-    return new ColumnBinary( metaClassName , metaCompressorClassName , metaColumnName , metaColumnType , metaRowCount , metaRowData , metaLogicalData , metaCardinality , dataBuffer , metaBinaryStart , metaBinaryLength , childList );
+    ColumnBinary result = new ColumnBinary( metaClassName , metaCompressorClassName , metaColumnName , metaColumnType , metaRowCount , metaRowData , metaLogicalData , metaCardinality , dataBuffer , metaBinaryStart , metaBinaryLength , childList );
+
+    if( offset < start + length ){
+      byte blockIndexTypeByte = wrapBuffer.get( offset );
+      offset += BYTE_LENGTH;
+      int blockIndexLength = wrapBuffer.getInt( offset );
+      offset += INT_LENGTH;
+      result.blockIndex = BlockIndexFactory.get( blockIndexTypeByte , metaBinary , offset , blockIndexLength );
+    }
+
+    return result;
   }
 
   public byte[] toMetaBinary() throws IOException{
@@ -212,6 +241,16 @@ public class ColumnBinary{
     wrapBuffer.putInt( offset , binaryLength );
     offset += INT_LENGTH;
 
+    if( blockIndex != null ){
+      byte[] blockIndexBinary = blockIndex.toBinary();
+      wrapBuffer.put( offset , BlockIndexFactory.getBlockIndexTypeByte( blockIndex.getBlockIndexType() ) );
+      offset += BYTE_LENGTH;
+      wrapBuffer.putInt( offset , blockIndexBinary.length );
+      offset += INT_LENGTH;
+      System.arraycopy( blockIndexBinary , 0 , result , offset , blockIndexBinary.length );
+      offset += blockIndexBinary.length;
+    }
+
     return result;
   }
 
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import jp.co.yahoo.dataplatform.schema.parser.IParser;
 
 import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.ZstdCompressor;
 
 public class ColumnBinaryMakerCustomConfigNode{
 
@@ -40,6 +41,7 @@ public class ColumnBinaryMakerCustomConfigNode{
   public ColumnBinaryMakerCustomConfigNode( final ColumnBinaryMakerConfig commonConfig , final IParser jsonParser ) throws IOException{
     currentColumnName = jsonParser.get( "column_name" ).getString();
     currentConfig = new ColumnBinaryMakerConfig( commonConfig );
+    String compressorLevel = null;
     for( String paramName : jsonParser.getAllKey() ){
       String value = jsonParser.get( paramName ).getString();
       if( "child_column".equals( paramName ) ){
@@ -84,10 +86,19 @@ public class ColumnBinaryMakerCustomConfigNode{
       else if( "compressor_class".equals( paramName ) ){
         currentConfig.compressorClass = FindCompressor.get( value );
       }
+      else if( "compressor_level".equals( paramName ) ){
+        compressorLevel = value;
+      }
       else{
         currentConfig.param.set( paramName , value );
       }
     }
+    if( compressorLevel != null ){
+      if( currentConfig.compressorClass.getClass() != ZstdCompressor.class ){
+        throw new IOException( "compressor_level is supported only by " + ZstdCompressor.class.getName() );
+      }
+      currentConfig.compressorClass = new ZstdCompressor( Integer.parseInt( compressorLevel ) );
+    }
 
     IParser childArrayParser = jsonParser.getParser( "child_column" );
     for( int i = 0 ; i < childArrayParser.size() ; i++ ){
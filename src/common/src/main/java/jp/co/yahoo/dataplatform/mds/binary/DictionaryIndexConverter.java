@@ -0,0 +1,314 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+
+public final class DictionaryIndexConverter{
+
+  public static final int PACKED_INDEX_MARKER = -1;
+  public static final int MIN_REPEAT_RUN = 8;
+
+  private static final int HEADER_LENGTH = PrimitiveByteLength.BYTE_LENGTH + PrimitiveByteLength.INT_LENGTH + PrimitiveByteLength.BYTE_LENGTH;
+
+  private DictionaryIndexConverter(){}
+
+  public enum EncodeType{
+    BIT_PACKED,
+    RLE_HYBRID,
+  }
+
+  public static int getBitWidth( final int dicSize ){
+    if( dicSize <= 1 ){
+      return 0;
+    }
+    return Integer.SIZE - Integer.numberOfLeadingZeros( dicSize - 1 );
+  }
+
+  public static byte[] toLengthBytesBinary( final List<Integer> indexList , final int dicSize ){
+    int[] indexArray = new int[ indexList.size() ];
+    for( int i = 0 ; i < indexArray.length ; i++ ){
+      indexArray[i] = indexList.get(i).intValue();
+    }
+    byte[] binary = toBinary( indexArray , indexArray.length , dicSize );
+    byte[] result = new byte[ PrimitiveByteLength.INT_LENGTH * 2 + binary.length ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.putInt( PACKED_INDEX_MARKER );
+    wrapBuffer.putInt( binary.length );
+    wrapBuffer.put( binary );
+    return result;
+  }
+
+  public static byte[] toBinary( final int[] indexArray , final int length , final int dicSize ){
+    int bitWidth = getBitWidth( dicSize );
+    int bitPackedSize = getPackedSize( length , bitWidth );
+    int rleHybridSize = writeRleHybrid( indexArray , length , bitWidth , null , 0 );
+
+    EncodeType encodeType = EncodeType.BIT_PACKED;
+    int bodySize = bitPackedSize;
+    if( rleHybridSize < bitPackedSize ){
+      encodeType = EncodeType.RLE_HYBRID;
+      bodySize = rleHybridSize;
+    }
+
+    byte[] result = new byte[ HEADER_LENGTH + bodySize ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.put( (byte)encodeType.ordinal() );
+    wrapBuffer.putInt( length );
+    wrapBuffer.put( (byte)bitWidth );
+    if( encodeType == EncodeType.BIT_PACKED ){
+      packBits( indexArray , 0 , length , bitWidth , result , HEADER_LENGTH );
+    }
+    else{
+      writeRleHybrid( indexArray , length , bitWidth , result , HEADER_LENGTH );
+    }
+    return result;
+  }
+
+  public static int[] toIntArray( final byte[] buffer , final int start ){
+    int rowCount = ByteBuffer.wrap( buffer ).getInt( start + PrimitiveByteLength.BYTE_LENGTH );
+    int bitWidth = buffer[ start + PrimitiveByteLength.BYTE_LENGTH + PrimitiveByteLength.INT_LENGTH ] & 0xFF;
+    int dataStart = start + HEADER_LENGTH;
+    int[] result = new int[rowCount];
+    if( getEncodeType( buffer , start ) == EncodeType.BIT_PACKED ){
+      unpackBits( buffer , dataStart , bitWidth , result , 0 , rowCount );
+      return result;
+    }
+
+    int valueLength = getValueLength( bitWidth );
+    int[] offset = new int[]{ dataStart };
+    int rowIndex = 0;
+    while( rowIndex < rowCount ){
+      long header = VarintUtil.readVarint( buffer , offset );
+      if( ( header & 1 ) == 0 ){
+        int runEnd = (int)Math.min( rowIndex + ( header >>> 1 ) , rowCount );
+        Arrays.fill( result , rowIndex , runEnd , readValue( buffer , offset[0] , valueLength ) );
+        offset[0] += valueLength;
+        rowIndex = runEnd;
+      }
+      else{
+        int groups = (int)( header >>> 1 );
+        int count = Math.min( groups * MIN_REPEAT_RUN , rowCount - rowIndex );
+        unpackBits( buffer , offset[0] , bitWidth , result , rowIndex , count );
+        offset[0] += groups * bitWidth;
+        rowIndex += count;
+      }
+    }
+    return result;
+  }
+
+  public static BitSet toSelection( final byte[] buffer , final int start , final boolean[] dicMatch , final BitSet result ){
+    int rowCount = ByteBuffer.wrap( buffer ).getInt( start + PrimitiveByteLength.BYTE_LENGTH );
+    int bitWidth = buffer[ start + PrimitiveByteLength.BYTE_LENGTH + PrimitiveByteLength.INT_LENGTH ] & 0xFF;
+    int dataStart = start + HEADER_LENGTH;
+    if( getEncodeType( buffer , start ) == EncodeType.BIT_PACKED ){
+      selectPackedBits( buffer , dataStart , bitWidth , 0 , rowCount , dicMatch , result );
+      return result;
+    }
+
+    int valueLength = getValueLength( bitWidth );
+    int[] offset = new int[]{ dataStart };
+    int rowIndex = 0;
+    while( rowIndex < rowCount ){
+      long header = VarintUtil.readVarint( buffer , offset );
+      if( ( header & 1 ) == 0 ){
+        int runEnd = (int)Math.min( rowIndex + ( header >>> 1 ) , rowCount );
+        if( dicMatch[ readValue( buffer , offset[0] , valueLength ) ] ){
+          result.set( rowIndex , runEnd );
+        }
+        offset[0] += valueLength;
+        rowIndex = runEnd;
+      }
+      else{
+        int groups = (int)( header >>> 1 );
+        int count = Math.min( groups * MIN_REPEAT_RUN , rowCount - rowIndex );
+        selectPackedBits( buffer , offset[0] , bitWidth , rowIndex , count , dicMatch , result );
+        offset[0] += groups * bitWidth;
+        rowIndex += count;
+      }
+    }
+    return result;
+  }
+
+  public static int getSectionLength( final byte[] buffer , final int start ){
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int length = wrapBuffer.getInt( start );
+    if( length == PACKED_INDEX_MARKER ){
+      return PrimitiveByteLength.INT_LENGTH * 2 + wrapBuffer.getInt( start + PrimitiveByteLength.INT_LENGTH );
+    }
+    return PrimitiveByteLength.INT_LENGTH + length;
+  }
+
+  public static int getSectionRowCount( final byte[] buffer , final int start ){
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int length = wrapBuffer.getInt( start );
+    if( length == PACKED_INDEX_MARKER ){
+      return wrapBuffer.getInt( start + PrimitiveByteLength.INT_LENGTH * 2 + PrimitiveByteLength.BYTE_LENGTH );
+    }
+    return length / PrimitiveByteLength.INT_LENGTH;
+  }
+
+  public static IntBuffer toIntBuffer( final byte[] buffer , final int start ){
+    int length = ByteBuffer.wrap( buffer ).getInt( start );
+    if( length == PACKED_INDEX_MARKER ){
+      return IntBuffer.wrap( toIntArray( buffer , start + PrimitiveByteLength.INT_LENGTH * 2 ) );
+    }
+    return BinaryDump.binaryToIntBuffer( buffer , start + PrimitiveByteLength.INT_LENGTH , length );
+  }
+
+  public static BitSet toSectionSelection( final byte[] buffer , final int start , final boolean[] dicMatch , final BitSet result ){
+    int length = ByteBuffer.wrap( buffer ).getInt( start );
+    if( length == PACKED_INDEX_MARKER ){
+      return toSelection( buffer , start + PrimitiveByteLength.INT_LENGTH * 2 , dicMatch , result );
+    }
+    IntBuffer intBuffer = BinaryDump.binaryToIntBuffer( buffer , start + PrimitiveByteLength.INT_LENGTH , length );
+    for( int i = 0 ; i < intBuffer.capacity() ; i++ ){
+      if( dicMatch[ intBuffer.get( i ) ] ){
+        result.set( i );
+      }
+    }
+    return result;
+  }
+
+  private static EncodeType getEncodeType( final byte[] buffer , final int start ){
+    return EncodeType.values()[ buffer[start] ];
+  }
+
+  private static int getPackedSize( final int length , final int bitWidth ){
+    return (int)( ( (long)length * bitWidth + 7 ) / 8 );
+  }
+
+  private static int getValueLength( final int bitWidth ){
+    return ( bitWidth + 7 ) / 8;
+  }
+
+  private static int getRunLength( final int[] indexArray , final int length , final int start ){
+    int end = start + 1;
+    while( end < length && indexArray[end] == indexArray[start] ){
+      end++;
+    }
+    return end - start;
+  }
+
+  private static int writeRleHybrid( final int[] indexArray , final int length , final int bitWidth , final byte[] buffer , final int start ){
+    int valueLength = getValueLength( bitWidth );
+    int offset = start;
+    int rowIndex = 0;
+    while( rowIndex < length ){
+      int runLength = getRunLength( indexArray , length , rowIndex );
+      if( MIN_REPEAT_RUN <= runLength ){
+        long header = (long)runLength << 1;
+        if( buffer == null ){
+          offset += VarintUtil.getVarintSize( header );
+        }
+        else{
+          offset = VarintUtil.writeVarint( header , buffer , offset );
+          for( int i = 0 ; i < valueLength ; i++ ){
+            buffer[ offset + i ] = (byte)( indexArray[rowIndex] >>> ( i * 8 ) );
+          }
+        }
+        offset += valueLength;
+        rowIndex += runLength;
+        continue;
+      }
+
+      int literalEnd = rowIndex;
+      while( literalEnd < length ){
+        int nextRunLength = getRunLength( indexArray , length , literalEnd );
+        if( MIN_REPEAT_RUN <= nextRunLength ){
+          break;
+        }
+        literalEnd += nextRunLength;
+      }
+      int groups = ( literalEnd - rowIndex + MIN_REPEAT_RUN - 1 ) / MIN_REPEAT_RUN;
+      int count = Math.min( groups * MIN_REPEAT_RUN , length - rowIndex );
+      long header = ( (long)groups << 1 ) | 1;
+      if( buffer == null ){
+        offset += VarintUtil.getVarintSize( header );
+      }
+      else{
+        offset = VarintUtil.writeVarint( header , buffer , offset );
+        packBits( indexArray , rowIndex , count , bitWidth , buffer , offset );
+      }
+      offset += groups * bitWidth;
+      rowIndex += count;
+    }
+    return offset - start;
+  }
+
+  private static int readValue( final byte[] buffer , final int start , final int valueLength ){
+    int value = 0;
+    for( int i = 0 ; i < valueLength ; i++ ){
+      value |= ( buffer[ start + i ] & 0xFF ) << ( i * 8 );
+    }
+    return value;
+  }
+
+  private static void packBits( final int[] indexArray , final int start , final int length , final int bitWidth , final byte[] buffer , final int bufferStart ){
+    long bitPos = 0;
+    for( int i = start ; i < start + length ; i++ ){
+      int value = indexArray[i];
+      int bit = 0;
+      while( bit < bitWidth ){
+        int byteIndex = bufferStart + (int)( bitPos >>> 3 );
+        int bitOffset = (int)( bitPos & 7 );
+        int writeBits = Math.min( 8 - bitOffset , bitWidth - bit );
+        buffer[byteIndex] |= (byte)( ( ( value >>> bit ) & ( ( 1 << writeBits ) - 1 ) ) << bitOffset );
+        bit += writeBits;
+        bitPos += writeBits;
+      }
+    }
+  }
+
+  private static int readPackedValue( final byte[] buffer , final int bufferStart , final int bitWidth , final long startBitPos ){
+    long bitPos = startBitPos;
+    int value = 0;
+    int bit = 0;
+    while( bit < bitWidth ){
+      int byteIndex = bufferStart + (int)( bitPos >>> 3 );
+      int bitOffset = (int)( bitPos & 7 );
+      int readBits = Math.min( 8 - bitOffset , bitWidth - bit );
+      value |= ( ( ( buffer[byteIndex] & 0xFF ) >>> bitOffset ) & ( ( 1 << readBits ) - 1 ) ) << bit;
+      bit += readBits;
+      bitPos += readBits;
+    }
+    return value;
+  }
+
+  private static void unpackBits( final byte[] buffer , final int bufferStart , final int bitWidth , final int[] result , final int resultStart , final int length ){
+    for( int i = 0 ; i < length ; i++ ){
+      result[ resultStart + i ] = readPackedValue( buffer , bufferStart , bitWidth , (long)i * bitWidth );
+    }
+  }
+
+  private static void selectPackedBits( final byte[] buffer , final int bufferStart , final int bitWidth , final int rowStart , final int length , final boolean[] dicMatch , final BitSet result ){
+    for( int i = 0 ; i < length ; i++ ){
+      if( dicMatch[ readPackedValue( buffer , bufferStart , bitWidth , (long)i * bitWidth ) ] ){
+        result.set( rowStart + i );
+      }
+    }
+  }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary;
+
+import java.nio.IntBuffer;
+
+import java.util.BitSet;
+
+public class DictionaryIndexSection{
+
+  private final byte[] buffer;
+  private final int start;
+  private final int size;
+  private IntBuffer intBuffer;
+
+  public DictionaryIndexSection( final byte[] buffer , final int start ){
+    this.buffer = buffer;
+    this.start = start;
+    size = DictionaryIndexConverter.getSectionRowCount( buffer , start );
+  }
+
+  public DictionaryIndexSection( final IntBuffer intBuffer ){
+    buffer = null;
+    start = 0;
+    size = intBuffer.capacity();
+    this.intBuffer = intBuffer;
+  }
+
+  public int size(){
+    return size;
+  }
+
+  public boolean isDecoded(){
+    return intBuffer != null;
+  }
+
+  public IntBuffer getIntBuffer(){
+    if( intBuffer == null ){
+      intBuffer = DictionaryIndexConverter.toIntBuffer( buffer , start );
+    }
+    return intBuffer;
+  }
+
+  public BitSet select( final boolean[] dicMatch , final BitSet result ){
+    if( intBuffer == null ){
+      return DictionaryIndexConverter.toSectionSelection( buffer , start , dicMatch , result );
+    }
+    for( int i = 0 ; i < size ; i++ ){
+      if( dicMatch[ intBuffer.get( i ) ] ){
+        result.set( i );
+      }
+    }
+    return result;
+  }
+
+}
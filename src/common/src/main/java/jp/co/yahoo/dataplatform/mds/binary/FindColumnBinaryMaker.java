@@ -20,7 +20,7 @@ package jp.co.yahoo.dataplatform.mds.binary;
 import java.io.IOException;
 
 import java.util.Map;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.dataplatform.config.FindClass;
@@ -28,17 +28,17 @@ import jp.co.yahoo.dataplatform.config.FindClass;
 public final class FindColumnBinaryMaker{
 
   private final static Object LOCK = new Object();
-  private final static Map<String,IColumnBinaryMaker> CACHE = new HashMap<String,IColumnBinaryMaker>();
+  private final static Map<String,IColumnBinaryMaker> CACHE = new ConcurrentHashMap<String,IColumnBinaryMaker>();
 
   private FindColumnBinaryMaker(){}
 
   public static IColumnBinaryMaker get( final String target ) throws IOException{
-    if( CACHE.containsKey( target ) ){
-      return CACHE.get( target );
-    }
     if( target == null || target.isEmpty() ){
       throw new IOException( "IColumnBinaryMaker class name is null or empty." );
     }
+    if( CACHE.containsKey( target ) ){
+      return CACHE.get( target );
+    }
     Object obj = FindClass.getObject( target );
     if( ! ( obj instanceof IColumnBinaryMaker ) ){
       throw new IOException( "Invalid IColumnBinaryMaker class : " + target );
@@ -53,4 +53,11 @@ public final class FindColumnBinaryMaker{
     return (IColumnBinaryMaker)obj;
   }
 
+  public static IColumnBinaryMaker getFromColumnBinary( final ColumnBinary columnBinary ) throws IOException{
+    if( columnBinary.maker != null ){
+      return columnBinary.maker;
+    }
+    return get( columnBinary.makerClassName );
+  }
+
 }
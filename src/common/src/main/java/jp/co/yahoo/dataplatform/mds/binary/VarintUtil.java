@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary;
+
+public final class VarintUtil{
+
+  private VarintUtil(){}
+
+  public static long encodeZigZag( final long value ){
+    return ( value << 1 ) ^ ( value >> 63 );
+  }
+
+  public static long decodeZigZag( final long value ){
+    return ( value >>> 1 ) ^ -( value & 1 );
+  }
+
+  public static int getVarintSize( final long value ){
+    int size = 1;
+    long current = value >>> 7;
+    while( current != 0 ){
+      size++;
+      current >>>= 7;
+    }
+    return size;
+  }
+
+  public static int writeVarint( final long value , final byte[] buffer , final int start ){
+    int offset = start;
+    long current = value;
+    while( ( current & ~0x7FL ) != 0 ){
+      buffer[offset++] = (byte)( ( current & 0x7F ) | 0x80 );
+      current >>>= 7;
+    }
+    buffer[offset++] = (byte)current;
+    return offset;
+  }
+
+  public static long readVarint( final byte[] buffer , final int[] offset ){
+    long result = 0;
+    int shift = 0;
+    int current = offset[0];
+    while( true ){
+      byte b = buffer[current++];
+      result |= (long)( b & 0x7F ) << shift;
+      if( ( b & 0x80 ) == 0 ){
+        break;
+      }
+      shift += 7;
+    }
+    offset[0] = current;
+    return result;
+  }
+
+}
@@ -0,0 +1,328 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.ArrayList;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.BooleanFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
+import jp.co.yahoo.dataplatform.mds.spread.column.index.DefaultCellIndex;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionIndex;
+import jp.co.yahoo.dataplatform.schema.objects.BooleanObj;
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveType;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.IPrimitiveArrayCellManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
+
+public class BitSetBooleanColumnBinaryMaker implements IColumnBinaryMaker{
+
+  private static final int HEADER_LENGTH = PrimitiveByteLength.INT_LENGTH * 2;
+
+  @Override
+  public ColumnBinary toBinary(final ColumnBinaryMakerConfig commonConfig , final ColumnBinaryMakerCustomConfigNode currentConfigNode , final IColumn column , final MakerCache makerCache ) throws IOException{
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if( currentConfigNode != null ){
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+
+    int columnSize = column.size();
+    BitSet valueBitSet = new BitSet( columnSize );
+    BitSet nullBitSet = new BitSet( columnSize );
+    int rowCount = 0;
+    for( int i = 0 ; i < columnSize ; i++ ){
+      ICell cell = column.get(i);
+      if( cell.getType() == ColumnType.NULL ){
+        nullBitSet.set( i );
+        continue;
+      }
+      rowCount++;
+      if( ( (PrimitiveCell)cell ).getRow().getBoolean() ){
+        valueBitSet.set( i );
+      }
+    }
+
+    byte[] valueBinary = valueBitSet.toByteArray();
+    byte[] nullBinary = nullBitSet.toByteArray();
+    byte[] binaryRaw = new byte[ HEADER_LENGTH + valueBinary.length + nullBinary.length ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binaryRaw );
+    wrapBuffer.putInt( columnSize );
+    wrapBuffer.putInt( valueBinary.length );
+    wrapBuffer.put( valueBinary );
+    wrapBuffer.put( nullBinary );
+
+    byte[] compressData = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
+
+    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.BOOLEAN , rowCount , binaryRaw.length , rowCount * PrimitiveByteLength.BOOLEAN_LENGTH , -1 , compressData , 0 , compressData.length , null );
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+    return new LazyColumn( columnBinary.columnName , columnBinary.columnType , new BooleanColumnManager( columnBinary , primitiveObjectConnector ) );
+  }
+
+  @Override
+  public void loadInMemoryStorage( final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException{
+    BitSetBooleanCellManager cellManager = createCellManager( columnBinary , new BooleanObj( true ) , new BooleanObj( false ) );
+    for( int i = 0 ; i < cellManager.size ; i++ ){
+      if( cellManager.nullBitSet.get( i ) ){
+        allocator.setNull( i );
+      }
+      else{
+        allocator.setBoolean( i , cellManager.valueBitSet.get( i ) );
+      }
+    }
+  }
+
+  private BitSetBooleanCellManager createCellManager( final ColumnBinary columnBinary , final PrimitiveObject trueObj , final PrimitiveObject falseObj ) throws IOException{
+    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    byte[] binary = compressor.decompress( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    int columnSize = wrapBuffer.getInt( 0 );
+    int valueBinaryLength = wrapBuffer.getInt( PrimitiveByteLength.INT_LENGTH );
+    int nullBinaryStart = HEADER_LENGTH + valueBinaryLength;
+    BitSet valueBitSet = BitSet.valueOf( ByteBuffer.wrap( binary , HEADER_LENGTH , valueBinaryLength ) );
+    BitSet nullBitSet = BitSet.valueOf( ByteBuffer.wrap( binary , nullBinaryStart , binary.length - nullBinaryStart ) );
+    return new BitSetBooleanCellManager( columnSize , valueBitSet , nullBitSet , trueObj , falseObj );
+  }
+
+  public class BitSetBooleanCellManager implements IPrimitiveArrayCellManager{
+
+    private final int size;
+    private final BitSet valueBitSet;
+    private final BitSet nullBitSet;
+    private final PrimitiveCell trueCell;
+    private final PrimitiveCell falseCell;
+
+    private ICellIndex index = new DefaultCellIndex();
+
+    public BitSetBooleanCellManager( final int size , final BitSet valueBitSet , final BitSet nullBitSet , final PrimitiveObject trueObj , final PrimitiveObject falseObj ){
+      this.size = size;
+      this.valueBitSet = valueBitSet;
+      this.nullBitSet = nullBitSet;
+      trueCell = new PrimitiveCell( ColumnType.BOOLEAN , trueObj );
+      falseCell = new PrimitiveCell( ColumnType.BOOLEAN , falseObj );
+    }
+
+    private BitSet createNotNullBitSet(){
+      BitSet notNullBitSet = new BitSet( size );
+      notNullBitSet.set( 0 , size );
+      notNullBitSet.andNot( nullBitSet );
+      return notNullBitSet;
+    }
+
+    @Override
+    public void add( final ICell cell , final int index ){
+      throw new UnsupportedOperationException( "read only." );
+    }
+
+    @Override
+    public ICell get( final int index , final ICell defaultCell ){
+      if( size <= index || nullBitSet.get( index ) ){
+        return defaultCell;
+      }
+      if( valueBitSet.get( index ) ){
+        return trueCell;
+      }
+      return falseCell;
+    }
+
+    @Override
+    public int getMaxIndex(){
+      return size - 1;
+    }
+
+    @Override
+    public int size(){
+      return size;
+    }
+
+    @Override
+    public void clear(){
+    }
+
+    @Override
+    public void setIndex( final ICellIndex index ){
+      this.index = index;
+    }
+
+    @Override
+    public List<Integer> filter( final IFilter filter ) throws IOException{
+      return CollectionUtils.toList( filter( filter , new BitSet( size ) ) );
+    }
+
+    @Override
+    public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+      switch( filter.getFilterType() ){
+        case NOT_NULL:
+          filterBitSet.or( createNotNullBitSet() );
+          return filterBitSet;
+        case NULL:
+          filterBitSet.or( nullBitSet );
+          return filterBitSet;
+        case BOOLEAN:
+          if( ( (BooleanFilter)filter ).getFlag() ){
+            filterBitSet.or( valueBitSet );
+          }
+          else{
+            BitSet falseBitSet = createNotNullBitSet();
+            falseBitSet.andNot( valueBitSet );
+            filterBitSet.or( falseBitSet );
+          }
+          return filterBitSet;
+        default:
+          return index.filter( filter , filterBitSet );
+      }
+    }
+
+    @Override
+    public PrimitiveObject[] getPrimitiveObjectArray( final IExpressionIndex indexList , final int start , final int length ){
+      PrimitiveObject[] result = new PrimitiveObject[length];
+      int loopEnd = ( start + length );
+      if( indexList.size() < loopEnd ){
+        loopEnd = indexList.size();
+      }
+      for( int i = start , index = 0 ; i < loopEnd ; i++,index++ ){
+        int targetIndex = indexList.get( i );
+        if( size <= targetIndex ){
+          break;
+        }
+        if( ! nullBitSet.get( targetIndex ) ){
+          result[index] = valueBitSet.get( targetIndex ) ? trueCell.getRow() : falseCell.getRow();
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public boolean setLongArray( final IExpressionIndex indexList , final int start , final int length , final long[] result , final boolean[] isNull ) throws IOException{
+      int loopEnd = ( start + length );
+      if( indexList.size() < loopEnd ){
+        loopEnd = indexList.size();
+      }
+      boolean hasNull = false;
+      int index = 0;
+      for( int i = start ; i < loopEnd ; i++,index++ ){
+        int targetIndex = indexList.get( i );
+        if( size <= targetIndex ){
+          break;
+        }
+        result[index] = valueBitSet.get( targetIndex ) ? 1L : 0L;
+        isNull[index] = nullBitSet.get( targetIndex );
+        hasNull |= isNull[index];
+      }
+      for( ; index < length ; index++ ){
+        isNull[index] = true;
+        hasNull = true;
+      }
+      return hasNull;
+    }
+
+    @Override
+    public boolean setDoubleArray( final IExpressionIndex indexList , final int start , final int length , final double[] result , final boolean[] isNull ) throws IOException{
+      int loopEnd = ( start + length );
+      if( indexList.size() < loopEnd ){
+        loopEnd = indexList.size();
+      }
+      boolean hasNull = false;
+      int index = 0;
+      for( int i = start ; i < loopEnd ; i++,index++ ){
+        int targetIndex = indexList.get( i );
+        if( size <= targetIndex ){
+          break;
+        }
+        result[index] = valueBitSet.get( targetIndex ) ? 1.0d : 0.0d;
+        isNull[index] = nullBitSet.get( targetIndex );
+        hasNull |= isNull[index];
+      }
+      for( ; index < length ; index++ ){
+        isNull[index] = true;
+        hasNull = true;
+      }
+      return hasNull;
+    }
+
+  }
+
+  public class BooleanColumnManager implements IColumnManager{
+
+    private final ColumnBinary columnBinary;
+    private final IPrimitiveObjectConnector primitiveObjectConnector;
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    public BooleanColumnManager( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+      this.columnBinary = columnBinary;
+      this.primitiveObjectConnector = primitiveObjectConnector;
+    }
+
+    private void create() throws IOException{
+      if( isCreate ){
+        return;
+      }
+
+      PrimitiveObject trueObject = primitiveObjectConnector.convert( PrimitiveType.BOOLEAN , new BooleanObj( true ) );
+      PrimitiveObject falseObject = primitiveObjectConnector.convert( PrimitiveType.BOOLEAN , new BooleanObj( false ) );
+
+      column = new PrimitiveColumn( ColumnType.BOOLEAN , columnBinary.columnName );
+      column.setCellManager( createCellManager( columnBinary , trueObject , falseObject ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get(){
+      try{
+        create();
+      }catch( IOException e ){
+        throw new UncheckedIOException( e );
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys(){
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize(){
+      return 0;
+    }
+  }
+
+}
@@ -21,34 +21,54 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.IntBuffer;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.ArrayList;
 
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.IBytesLink;
 import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
-import jp.co.yahoo.dataplatform.mds.spread.column.ICellManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.IPrimitiveArrayCellManager;
 import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
+import jp.co.yahoo.dataplatform.mds.util.UTF8BytesOrderUtils;
 import jp.co.yahoo.dataplatform.mds.spread.column.index.DefaultCellIndex;
 import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionIndex;
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+import jp.co.yahoo.dataplatform.mds.util.NumberOrderUtils;
 
-public class BufferDirectDictionaryLinkCellManager implements ICellManager {
+public class BufferDirectDictionaryLinkCellManager implements IPrimitiveArrayCellManager , IUTF8DictionaryCellManager {
 
   private final ColumnType columnType;
   private final IDicManager dicManager;
-  private final IntBuffer dicIndexIntBuffer;
+  private final DictionaryIndexSection indexSection;
   private final int indexSize;
 
   private ICellIndex index = new DefaultCellIndex();
+  private long[] longDicArray;
+  private boolean[] longDicIsNullArray;
+  private double[] doubleDicArray;
+  private boolean[] doubleDicIsNullArray;
+  private IBytesLink[] utf8DicArray;
+  private boolean isCheckUTF8Dic;
 
   public BufferDirectDictionaryLinkCellManager( final ColumnType columnType , final IDicManager dicManager , final IntBuffer dicIndexIntBuffer ){
+    this( columnType , dicManager , new DictionaryIndexSection( dicIndexIntBuffer ) );
+  }
+
+  public BufferDirectDictionaryLinkCellManager( final ColumnType columnType , final IDicManager dicManager , final DictionaryIndexSection indexSection ){
     this.columnType = columnType;
     this.dicManager = dicManager;
-    this.dicIndexIntBuffer = dicIndexIntBuffer;
-    indexSize = dicIndexIntBuffer.capacity();
+    this.indexSection = indexSection;
+    indexSize = indexSection.size();
   }
 
   @Override
@@ -61,7 +81,7 @@ public class BufferDirectDictionaryLinkCellManager implements ICellManager {
     if( indexSize <= index ){
       return defaultCell;
     }
-    int dicIndex = dicIndexIntBuffer.get( index );
+    int dicIndex = indexSection.getIntBuffer().get( index );
     if( dicIndex == 0 ){
       return defaultCell;
     }
@@ -93,31 +113,164 @@ public class BufferDirectDictionaryLinkCellManager implements ICellManager {
 
   @Override
   public List<Integer> filter( final IFilter filter ) throws IOException{
+    return CollectionUtils.toList( filter( filter , new BitSet( indexSize ) ) );
+  }
+
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
     switch( filter.getFilterType() ){
       case NOT_NULL:
-        List<Integer> notNullResult = new ArrayList<Integer>( size() );
-        for( int i = 0 ; i < size() ; i++ ){
-          if( dicIndexIntBuffer.get(i) != 0 ){
-            notNullResult.add( i );
-          }
-        }
-        return notNullResult;
+        return toColumnBitSet( createNullDicMatchArray( true ) , filterBitSet );
       case NULL:
-        List<Integer> nullResult = new ArrayList<Integer>( size() );
-        for( int i = 0 ; i < size() ; i++ ){
-          if( dicIndexIntBuffer.get(i) == 0 ){
-            nullResult.add( i );
-          }
+        return toColumnBitSet( createNullDicMatchArray( false ) , filterBitSet );
+      default:
+        BitSet indexResult = index.filter( filter , filterBitSet );
+        if( indexResult != null ){
+          return indexResult;
         }
-        return nullResult;
+        return filterFromDictionary( filter , filterBitSet );
+    }
+  }
+
+  private BitSet filterFromDictionary( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    switch( filter.getFilterType() ){
+      case NUMBER_RANGE:
+      case NUMBER_SET:
+        if( ! isNumberColumn() ){
+          return null;
+        }
+        return toColumnBitSet( createDicMatchArray( filter ) , filterBitSet );
+      case STRING_RANGE:
+      case STRING_SET:
+        if( columnType != ColumnType.STRING ){
+          return null;
+        }
+        return toColumnBitSet( createDicMatchArray( filter ) , filterBitSet );
       default:
-        return index.filter( filter );
+        return null;
     }
   }
 
+  private boolean isNumberColumn(){
+    switch( columnType ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private boolean isIntegerColumn(){
+    switch( columnType ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private boolean[] createDicMatchArray( final IFilter filter ) throws IOException{
+    int dicSize = dicManager.getDicSize();
+    boolean[] result = new boolean[dicSize];
+    for( int i = 1 ; i < dicSize ; i++ ){
+      PrimitiveObject dicObj = dicManager.get( i );
+      if( dicObj == null ){
+        continue;
+      }
+      switch( filter.getFilterType() ){
+        case NUMBER_RANGE:
+          result[i] = isNumberRangeMatch( (NumberRangeFilter)filter , dicObj );
+          break;
+        case NUMBER_SET:
+          result[i] = isNumberSetMatch( (NumberSetFilter)filter , dicObj );
+          break;
+        case STRING_RANGE:
+          result[i] = isStringRangeMatch( (StringRangeFilter)filter , dicObj.getString() );
+          break;
+        case STRING_SET:
+          result[i] = ( (StringSetFilter)filter ).getStringSet().contains( dicObj.getString() );
+          break;
+        default:
+          break;
+      }
+    }
+    return result;
+  }
+
+  private int compareNumber( final PrimitiveObject dicObj , final PrimitiveObject target ) throws IOException{
+    if( isIntegerColumn() ){
+      switch( target.getPrimitiveType() ){
+        case BYTE:
+        case SHORT:
+        case INTEGER:
+        case LONG:
+          return Long.compare( dicObj.getLong() , target.getLong() );
+        default:
+          break;
+      }
+    }
+    return NumberOrderUtils.compare( dicObj.getDouble() , target.getDouble() );
+  }
+
+  private boolean isNumberRangeMatch( final NumberRangeFilter filter , final PrimitiveObject dicObj ) throws IOException{
+    boolean isMatch = true;
+    if( filter.getMinObject() != null ){
+      int compare = compareNumber( dicObj , filter.getMinObject() );
+      isMatch = 0 < compare || ( compare == 0 && filter.isMinHasEquals() );
+    }
+    if( isMatch && filter.getMaxObject() != null ){
+      int compare = compareNumber( dicObj , filter.getMaxObject() );
+      isMatch = compare < 0 || ( compare == 0 && filter.isMaxHasEquals() );
+    }
+    return isMatch != filter.isInvert();
+  }
+
+  private boolean isNumberSetMatch( final NumberSetFilter filter , final PrimitiveObject dicObj ) throws IOException{
+    if( isIntegerColumn() ){
+      return filter.getLongSet().contains( Long.valueOf( dicObj.getLong() ) );
+    }
+    return filter.containsDouble( dicObj.getDouble() );
+  }
+
+  private boolean isStringRangeMatch( final StringRangeFilter filter , final String target ){
+    if( target == null ){
+      return false;
+    }
+    boolean isMatch = true;
+    if( filter.getMin() != null ){
+      int compare = UTF8BytesOrderUtils.compare( target , filter.getMin() );
+      isMatch = 0 < compare || ( compare == 0 && filter.isMinHasEquals() );
+    }
+    if( isMatch && filter.getMax() != null ){
+      int compare = UTF8BytesOrderUtils.compare( target , filter.getMax() );
+      isMatch = compare < 0 || ( compare == 0 && filter.isMaxHasEquals() );
+    }
+    return isMatch != filter.isInvert();
+  }
+
+  private boolean[] createNullDicMatchArray( final boolean isNotNull ) throws IOException{
+    boolean[] result = new boolean[ Math.max( 1 , dicManager.getDicSize() ) ];
+    Arrays.fill( result , isNotNull );
+    result[0] = ! isNotNull;
+    return result;
+  }
+
+  private BitSet toColumnBitSet( final boolean[] dicMatchArray , final BitSet filterBitSet ){
+    return indexSection.select( dicMatchArray , filterBitSet );
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(final IExpressionIndex indexList , final int start , final int length ){
     PrimitiveObject[] result = new PrimitiveObject[length];
+    IntBuffer dicIndexIntBuffer = indexSection.getIntBuffer();
     int loopEnd = ( start + length );
     if( indexList.size() < loopEnd ){
       loopEnd = indexList.size();
@@ -138,4 +291,150 @@ public class BufferDirectDictionaryLinkCellManager implements ICellManager {
     }
     return result;
   }
+
+  private boolean[] createDicIsNullArray() throws IOException{
+    int dicSize = dicManager.getDicSize();
+    boolean[] isNullArray = new boolean[dicSize];
+    for( int i = 0 ; i < dicSize ; i++ ){
+      isNullArray[i] = ( i == 0 || dicManager.get( i ) == null );
+    }
+    return isNullArray;
+  }
+
+  private void createLongDicArray() throws IOException{
+    boolean[] isNullArray = createDicIsNullArray();
+    long[] dicArray = new long[isNullArray.length];
+    for( int i = 0 ; i < dicArray.length ; i++ ){
+      if( isNullArray[i] ){
+        continue;
+      }
+      try{
+        dicArray[i] = dicManager.get( i ).getLong();
+      }catch( NumberFormatException e ){
+        isNullArray[i] = true;
+      }
+    }
+    longDicIsNullArray = isNullArray;
+    longDicArray = dicArray;
+  }
+
+  private void createDoubleDicArray() throws IOException{
+    boolean[] isNullArray = createDicIsNullArray();
+    double[] dicArray = new double[isNullArray.length];
+    for( int i = 0 ; i < dicArray.length ; i++ ){
+      if( isNullArray[i] ){
+        continue;
+      }
+      try{
+        dicArray[i] = dicManager.get( i ).getDouble();
+      }catch( NumberFormatException e ){
+        isNullArray[i] = true;
+      }
+    }
+    doubleDicIsNullArray = isNullArray;
+    doubleDicArray = dicArray;
+  }
+
+  @Override
+  public boolean setLongArray( final IExpressionIndex indexList , final int start , final int length , final long[] result , final boolean[] isNull ) throws IOException{
+    if( longDicArray == null ){
+      createLongDicArray();
+    }
+    IntBuffer dicIndexIntBuffer = indexSection.getIntBuffer();
+    int loopEnd = ( start + length );
+    if( indexList.size() < loopEnd ){
+      loopEnd = indexList.size();
+    }
+    boolean hasNull = false;
+    int index = 0;
+    for( int i = start ; i < loopEnd ; i++,index++ ){
+      int targetIndex = indexList.get( i );
+      if( indexSize <= targetIndex ){
+        break;
+      }
+      int dicIndex = dicIndexIntBuffer.get( targetIndex );
+      result[index] = longDicArray[dicIndex];
+      isNull[index] = longDicIsNullArray[dicIndex];
+      hasNull |= isNull[index];
+    }
+    for( ; index < length ; index++ ){
+      isNull[index] = true;
+      hasNull = true;
+    }
+    return hasNull;
+  }
+
+  @Override
+  public boolean setDoubleArray( final IExpressionIndex indexList , final int start , final int length , final double[] result , final boolean[] isNull ) throws IOException{
+    if( doubleDicArray == null ){
+      createDoubleDicArray();
+    }
+    IntBuffer dicIndexIntBuffer = indexSection.getIntBuffer();
+    int loopEnd = ( start + length );
+    if( indexList.size() < loopEnd ){
+      loopEnd = indexList.size();
+    }
+    boolean hasNull = false;
+    int index = 0;
+    for( int i = start ; i < loopEnd ; i++,index++ ){
+      int targetIndex = indexList.get( i );
+      if( indexSize <= targetIndex ){
+        break;
+      }
+      int dicIndex = dicIndexIntBuffer.get( targetIndex );
+      result[index] = doubleDicArray[dicIndex];
+      isNull[index] = doubleDicIsNullArray[dicIndex];
+      hasNull |= isNull[index];
+    }
+    for( ; index < length ; index++ ){
+      isNull[index] = true;
+      hasNull = true;
+    }
+    return hasNull;
+  }
+
+  @Override
+  public IBytesLink[] getUTF8Dictionary() throws IOException{
+    if( ! isCheckUTF8Dic ){
+      isCheckUTF8Dic = true;
+      if( columnType != ColumnType.STRING ){
+        return null;
+      }
+      int dicSize = dicManager.getDicSize();
+      IBytesLink[] dicArray = new IBytesLink[dicSize];
+      for( int i = 1 ; i < dicSize ; i++ ){
+        PrimitiveObject obj = dicManager.get( i );
+        if( obj == null ){
+          continue;
+        }
+        if( ! ( obj instanceof IBytesLink ) ){
+          return null;
+        }
+        dicArray[i] = (IBytesLink)obj;
+      }
+      utf8DicArray = dicArray;
+    }
+    return utf8DicArray;
+  }
+
+  @Override
+  public void setDictionaryIndexArray( final IExpressionIndex indexList , final int start , final int length , final int[] result ) throws IOException{
+    IntBuffer dicIndexIntBuffer = indexSection.getIntBuffer();
+    int loopEnd = ( start + length );
+    if( indexList.size() < loopEnd ){
+      loopEnd = indexList.size();
+    }
+    int index = 0;
+    for( int i = start ; i < loopEnd ; i++,index++ ){
+      int targetIndex = indexList.get( i );
+      if( indexSize <= targetIndex ){
+        break;
+      }
+      result[index] = dicIndexIntBuffer.get( targetIndex );
+    }
+    for( ; index < length ; index++ ){
+      result[index] = 0;
+    }
+  }
+
 }
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+
+public class ColumnBinaryMakerTask extends RecursiveTask<ColumnBinary>{
+
+  private final IColumnBinaryMaker maker;
+  private final ColumnBinaryMakerConfig commonConfig;
+  private final ColumnBinaryMakerCustomConfigNode currentConfigNode;
+  private final IColumn column;
+  private final MakerCache makerCache;
+
+  public ColumnBinaryMakerTask( final IColumnBinaryMaker maker , final ColumnBinaryMakerConfig commonConfig , final ColumnBinaryMakerCustomConfigNode currentConfigNode , final IColumn column , final MakerCache makerCache ){
+    this.maker = maker;
+    this.commonConfig = commonConfig;
+    this.currentConfigNode = currentConfigNode;
+    this.column = column;
+    this.makerCache = makerCache;
+  }
+
+  @Override
+  protected ColumnBinary compute(){
+    try{
+      return maker.toBinary( commonConfig , currentConfigNode , column , makerCache );
+    }catch( IOException e ){
+      throw new UncheckedIOException( e );
+    }
+  }
+
+  public ColumnBinary getColumnBinary() throws IOException{
+    try{
+      return join();
+    }catch( UncheckedIOException e ){
+      throw e.getCause();
+    }
+  }
+
+  public static List<ColumnBinary> toBinaryList( final List<ColumnBinaryMakerTask> taskList ) throws IOException{
+    List<ColumnBinary> result = new ArrayList<ColumnBinary>( taskList.size() );
+    if( ! ForkJoinTask.inForkJoinPool() || taskList.size() < 2 ){
+      for( ColumnBinaryMakerTask task : taskList ){
+        result.add( task.maker.toBinary( task.commonConfig , task.currentConfigNode , task.column , task.makerCache ) );
+      }
+      return result;
+    }
+    for( ColumnBinaryMakerTask task : taskList ){
+      task.fork();
+    }
+    for( ColumnBinaryMakerTask task : taskList ){
+      result.add( task.getColumnBinary() );
+    }
+    return result;
+  }
+
+}
@@ -22,6 +22,7 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -38,6 +39,7 @@ import jp.co.yahoo.dataplatform.mds.spread.column.SpreadArrayLink;
 import jp.co.yahoo.dataplatform.mds.spread.column.ICellManager;
 import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
 import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
@@ -96,7 +98,7 @@ public class DumpArrayColumnBinaryMaker implements IColumnBinaryMaker{
   @Override
   public void loadInMemoryStorage( final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException{
     for( ColumnBinary childColumnBinary : columnBinary.columnBinaryList ){
-      IColumnBinaryMaker maker = FindColumnBinaryMaker.get( childColumnBinary.makerClassName );
+      IColumnBinaryMaker maker = FindColumnBinaryMaker.getFromColumnBinary( childColumnBinary );
       IMemoryAllocator childMemoryAllocator = allocator.getChild( childColumnBinary.columnName , childColumnBinary.columnType );
       maker.loadInMemoryStorage( childColumnBinary , childMemoryAllocator );
     }
@@ -178,23 +180,26 @@ public class DumpArrayColumnBinaryMaker implements IColumnBinaryMaker{
 
     @Override
     public List<Integer> filter( final IFilter filter ) throws IOException{
+      return CollectionUtils.toList( filter( filter , new BitSet( cellArray.length ) ) );
+    }
+
+    @Override
+    public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
       switch( filter.getFilterType() ){
         case NOT_NULL:
-          List<Integer> notNullResult = new ArrayList<Integer>( cellArray.length );
           for( int i = 0 ; i < cellArray.length ; i++ ){
             if( cellArray[i] != null ){
-              notNullResult.add( i );
+              filterBitSet.set( i );
             }
           }
-          return notNullResult;
+          return filterBitSet;
         case NULL:
-          List<Integer> nullResult = new ArrayList<Integer>( cellArray.length );
           for( int i = 0 ; i < cellArray.length ; i++ ){
-            if( cellArray == null ){
-              nullResult.add( i );
+            if( cellArray[i] == null ){
+              filterBitSet.set( i );
             }
           }
-          return nullResult;
+          return filterBitSet;
         default:
           return null;
       }
@@ -231,7 +236,7 @@ public class DumpArrayColumnBinaryMaker implements IColumnBinaryMaker{
       arrayColumn = new ArrayColumn( columnBinary.columnName );
       Spread spread = new Spread( arrayColumn );
       for( ColumnBinary childColumnBinary : columnBinary.columnBinaryList ){
-        IColumnBinaryMaker maker = FindColumnBinaryMaker.get( childColumnBinary.makerClassName );
+        IColumnBinaryMaker maker = FindColumnBinaryMaker.getFromColumnBinary( childColumnBinary );
         IColumn column = maker.toColumn( childColumnBinary , primitiveObjectConnector );
         column.setParentsColumn( arrayColumn );
         spread.addColumn( column );
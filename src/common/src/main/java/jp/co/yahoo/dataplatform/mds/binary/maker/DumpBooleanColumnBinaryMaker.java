@@ -20,6 +20,7 @@ package jp.co.yahoo.dataplatform.mds.binary.maker;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -31,6 +32,7 @@ import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
 import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
 import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 import jp.co.yahoo.dataplatform.mds.spread.column.index.DefaultCellIndex;
 import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionIndex;
 import jp.co.yahoo.dataplatform.schema.objects.BooleanObj;
@@ -155,25 +157,28 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker{
 
     @Override
     public List<Integer> filter( final IFilter filter ) throws IOException{
+      return CollectionUtils.toList( filter( filter , new BitSet( buffer.length ) ) );
+    }
+
+    @Override
+    public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
       switch( filter.getFilterType() ){
         case NOT_NULL:
-          List<Integer> notNullResult = new ArrayList<Integer>( buffer.length );
           for( int i = 0 ; i < buffer.length ; i++ ){
             if( buffer[i] != 2 ){
-              notNullResult.add( i );
+              filterBitSet.set( i );
             }
           }
-          return notNullResult;
+          return filterBitSet;
         case NULL:
-          List<Integer> nullResult = new ArrayList<Integer>( buffer.length );
           for( int i = 0 ; i < buffer.length ; i++ ){
             if( buffer[i] == 2 ){
-              nullResult.add( i );
+              filterBitSet.set( i );
             }
           }
-          return nullResult;
+          return filterBitSet;
         default:
-          return index.filter( filter );
+          return index.filter( filter , filterBitSet );
       }
     }
 
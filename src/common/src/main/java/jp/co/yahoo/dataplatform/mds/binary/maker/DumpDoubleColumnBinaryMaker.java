@@ -40,6 +40,7 @@ import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.DoubleRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.binary.SortedIntegerConverter;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
@@ -56,6 +57,8 @@ public class DumpDoubleColumnBinaryMaker implements IColumnBinaryMaker{
     List<Integer> columnList = new ArrayList<Integer>();
     List<Double> byteList = new ArrayList<Double>();
     int rowCount = 0;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       if( cell.getType() == ColumnType.NULL ){
@@ -63,7 +66,10 @@ public class DumpDoubleColumnBinaryMaker implements IColumnBinaryMaker{
       }
       rowCount++;
       PrimitiveCell byteCell = (PrimitiveCell) cell;
-      byteList.add( Double.valueOf( byteCell.getRow().getDouble() ) );
+      double value = byteCell.getRow().getDouble();
+      min = Math.min( min , value );
+      max = Math.max( max , value );
+      byteList.add( Double.valueOf( value ) );
       columnList.add( Integer.valueOf( i ) );
     }
 
@@ -77,7 +83,11 @@ public class DumpDoubleColumnBinaryMaker implements IColumnBinaryMaker{
     System.arraycopy( dicRawBinary , 0 , binaryRaw , offset , dicRawBinary.length );
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
     
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.DOUBLE , rowCount , binaryRaw.length , rowCount * PrimitiveByteLength.DOUBLE_LENGTH , -1 , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.DOUBLE , rowCount , binaryRaw.length , rowCount * PrimitiveByteLength.DOUBLE_LENGTH , -1 , binary , 0 , binary.length , null );
+    if( 0 < rowCount && ! Double.isNaN( min ) && ! Double.isNaN( max ) ){
+      columnBinary.blockIndex = new DoubleRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -42,6 +42,7 @@ import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
 
 import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.INT_LENGTH;
@@ -57,6 +58,8 @@ public class DumpIntegerColumnBinaryMaker implements IColumnBinaryMaker{
     List<Integer> columnList = new ArrayList<Integer>();
     List<Integer> byteList = new ArrayList<Integer>();
     int rowCount = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       if( cell.getType() == ColumnType.NULL ){
@@ -64,7 +67,14 @@ public class DumpIntegerColumnBinaryMaker implements IColumnBinaryMaker{
       }
       rowCount++;
       PrimitiveCell byteCell = (PrimitiveCell) cell;
-      byteList.add( Integer.valueOf( byteCell.getRow().getInt() ) );
+      int value = byteCell.getRow().getInt();
+      if( value < min ){
+        min = value;
+      }
+      if( max < value ){
+        max = value;
+      }
+      byteList.add( Integer.valueOf( value ) );
       columnList.add( Integer.valueOf( i ) );
     }
 
@@ -78,7 +88,11 @@ public class DumpIntegerColumnBinaryMaker implements IColumnBinaryMaker{
     System.arraycopy( dicRawBinary , 0 , binaryRaw , offset , dicRawBinary.length );
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
     
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.INTEGER , rowCount , binaryRaw.length , rowCount * INT_LENGTH , -1 , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.INTEGER , rowCount , binaryRaw.length , rowCount * INT_LENGTH , -1 , binary , 0 , binary.length , null );
+    if( 0 < rowCount ){
+      columnBinary.blockIndex = new LongRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -40,6 +40,7 @@ import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.binary.SortedIntegerConverter;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
@@ -56,6 +57,8 @@ public class DumpLongColumnBinaryMaker implements IColumnBinaryMaker{
     List<Integer> columnList = new ArrayList<Integer>();
     List<Long> byteList = new ArrayList<Long>();
     int rowCount = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       if( cell.getType() == ColumnType.NULL ){
@@ -63,7 +66,14 @@ public class DumpLongColumnBinaryMaker implements IColumnBinaryMaker{
       }
       rowCount++;
       PrimitiveCell byteCell = (PrimitiveCell) cell;
-      byteList.add( Long.valueOf( byteCell.getRow().getLong() ) );
+      long value = byteCell.getRow().getLong();
+      if( value < min ){
+        min = value;
+      }
+      if( max < value ){
+        max = value;
+      }
+      byteList.add( Long.valueOf( value ) );
       columnList.add( Integer.valueOf( i ) );
     }
 
@@ -77,7 +87,11 @@ public class DumpLongColumnBinaryMaker implements IColumnBinaryMaker{
     System.arraycopy( dicRawBinary , 0 , binaryRaw , offset , dicRawBinary.length );
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
     
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.LONG , rowCount , binaryRaw.length , rowCount * PrimitiveByteLength.LONG_LENGTH , -1 , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.LONG , rowCount , binaryRaw.length , rowCount * PrimitiveByteLength.LONG_LENGTH , -1 , binary , 0 , binary.length , null );
+    if( 0 < rowCount ){
+      columnBinary.blockIndex = new LongRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
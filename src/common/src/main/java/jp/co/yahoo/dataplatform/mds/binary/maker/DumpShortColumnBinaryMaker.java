@@ -42,6 +42,7 @@ import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
 import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
 
 import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.INT_LENGTH;
@@ -58,6 +59,8 @@ public class DumpShortColumnBinaryMaker implements IColumnBinaryMaker{
     List<Integer> columnList = new ArrayList<Integer>();
     List<Short> byteList = new ArrayList<Short>();
     int rowCount = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       if( cell.getType() == ColumnType.NULL ){
@@ -65,7 +68,14 @@ public class DumpShortColumnBinaryMaker implements IColumnBinaryMaker{
       }
       rowCount++;
       PrimitiveCell byteCell = (PrimitiveCell) cell;
-      byteList.add( Short.valueOf( byteCell.getRow().getShort() ) );
+      short value = byteCell.getRow().getShort();
+      if( value < min ){
+        min = value;
+      }
+      if( max < value ){
+        max = value;
+      }
+      byteList.add( Short.valueOf( value ) );
       columnList.add( Integer.valueOf( i ) );
     }
 
@@ -79,7 +89,11 @@ public class DumpShortColumnBinaryMaker implements IColumnBinaryMaker{
     System.arraycopy( dicRawBinary , 0 , binaryRaw , offset , dicRawBinary.length );
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
     
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.SHORT , rowCount , binaryRaw.length , rowCount * SHORT_LENGTH , -1 , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.SHORT , rowCount , binaryRaw.length , rowCount * SHORT_LENGTH , -1 , binary , 0 , binary.length , null );
+    if( 0 < rowCount ){
+      columnBinary.blockIndex = new LongRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -43,7 +43,7 @@ public class DumpSpreadColumnBinaryMaker implements IColumnBinaryMaker{
     }
 
     List<IColumn> childColumnList = column.getListColumn();
-    List<ColumnBinary> columnBinaryList = new ArrayList<ColumnBinary>();
+    List<ColumnBinaryMakerTask> taskList = new ArrayList<ColumnBinaryMakerTask>();
     for( IColumn childColumn : childColumnList ){
       ColumnBinaryMakerCustomConfigNode childNode = null;
       IColumnBinaryMaker maker = commonConfig.getColumnMaker( childColumn.getColumnType() );
@@ -53,8 +53,9 @@ public class DumpSpreadColumnBinaryMaker implements IColumnBinaryMaker{
           maker = childNode.getCurrentConfig().getColumnMaker( childColumn.getColumnType() );
         }
       }
-      columnBinaryList.add( maker.toBinary( commonConfig , childNode , childColumn , makerCache.getChild( childColumn.getColumnName() ) ) );
+      taskList.add( new ColumnBinaryMakerTask( maker , commonConfig , childNode , childColumn , makerCache.getChild( childColumn.getColumnName() ) ) );
     }
+    List<ColumnBinary> columnBinaryList = ColumnBinaryMakerTask.toBinaryList( taskList );
     
     return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.SPREAD , column.size() , 0 , 0 , -1 , new byte[0] , 0 , 0 , columnBinaryList );
   }
@@ -67,7 +68,7 @@ public class DumpSpreadColumnBinaryMaker implements IColumnBinaryMaker{
   @Override
   public void loadInMemoryStorage( final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException{
     for( ColumnBinary childColumnBinary : columnBinary.columnBinaryList ){
-      IColumnBinaryMaker maker = FindColumnBinaryMaker.get( childColumnBinary.makerClassName );
+      IColumnBinaryMaker maker = FindColumnBinaryMaker.getFromColumnBinary( childColumnBinary );
       IMemoryAllocator childAllocator = allocator.getChild( childColumnBinary.columnName , childColumnBinary.columnType );
       maker.loadInMemoryStorage( childColumnBinary , childAllocator );
     }
@@ -98,7 +99,7 @@ public class DumpSpreadColumnBinaryMaker implements IColumnBinaryMaker{
       spreadColumn = new SpreadColumn( columnBinary.columnName );
       Spread spread = new Spread();
       for( ColumnBinary childColumnBinary : columnBinary.columnBinaryList ){
-        IColumnBinaryMaker maker = FindColumnBinaryMaker.get( childColumnBinary.makerClassName );
+        IColumnBinaryMaker maker = FindColumnBinaryMaker.getFromColumnBinary( childColumnBinary );
         IColumn column = maker.toColumn( childColumnBinary , primitiveObjectConnector );
         column.setParentsColumn( spreadColumn );
         spread.addColumn( column );
@@ -36,10 +36,12 @@ import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.util.UTF8BytesOrderUtils;
 
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.binary.SortedIntegerConverter;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
@@ -59,6 +61,8 @@ public class DumpStringColumnBinaryMaker implements IColumnBinaryMaker{
     int totalLength = 0;
     int logicalDataLength = 0;
     int rowCount = 0;
+    String min = null;
+    String max = null;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       if( cell.getType() == ColumnType.NULL ){
@@ -70,6 +74,12 @@ public class DumpStringColumnBinaryMaker implements IColumnBinaryMaker{
         continue;
       }
       byte[] obj = strObj.getBytes( "UTF-8" );
+      if( min == null || UTF8BytesOrderUtils.compare( strObj , min ) < 0 ){
+        min = strObj;
+      }
+      if( max == null || 0 < UTF8BytesOrderUtils.compare( strObj , max ) ){
+        max = strObj;
+      }
       rowCount++;
       totalLength += obj.length;
       logicalDataLength += strObj.length() * PrimitiveByteLength.CHAR_LENGTH;
@@ -87,7 +97,11 @@ public class DumpStringColumnBinaryMaker implements IColumnBinaryMaker{
     System.arraycopy( dicRawBinary , 0 , binaryRaw , offset , dicRawBinary.length );
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
 
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.STRING , rowCount , binaryRaw.length , logicalDataLength , -1 , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.STRING , rowCount , binaryRaw.length , logicalDataLength , -1 , binary , 0 , binary.length , null );
+    if( min != null ){
+      columnBinary.blockIndex = new StringRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -111,7 +111,7 @@ public class DumpUnionColumnBinaryMaker implements IColumnBinaryMaker{
     if( margeType != MargeType.MIX ){
       return margeColumn( commonConfig , currentConfigNode , column , makerCache , childColumnList );
     }
-    List<ColumnBinary> columnBinaryList = new ArrayList<ColumnBinary>();
+    List<ColumnBinaryMakerTask> taskList = new ArrayList<ColumnBinaryMakerTask>();
     for( IColumn childColumn : childColumnList ){
       ColumnBinaryMakerCustomConfigNode childNode = null;
       IColumnBinaryMaker maker = commonConfig.getColumnMaker( childColumn.getColumnType() );
@@ -121,8 +121,9 @@ public class DumpUnionColumnBinaryMaker implements IColumnBinaryMaker{
           maker = childNode.getCurrentConfig().getColumnMaker( childColumn.getColumnType() );
         }
       }
-      columnBinaryList.add( maker.toBinary( commonConfig , childNode , childColumn , makerCache.getChild( childColumn.getColumnType().toString() ) ) );
+      taskList.add( new ColumnBinaryMakerTask( maker , commonConfig , childNode , childColumn , makerCache.getChild( childColumn.getColumnType().toString() ) ) );
     }
+    List<ColumnBinary> columnBinaryList = ColumnBinaryMakerTask.toBinaryList( taskList );
 
     byte[] rawBinary = new byte[ column.size() ];
     ByteBuffer wrapBuffer = ByteBuffer.wrap( rawBinary );
@@ -143,7 +144,7 @@ public class DumpUnionColumnBinaryMaker implements IColumnBinaryMaker{
   @Override
   public void loadInMemoryStorage( final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException{
     for( ColumnBinary childColumnBinary : columnBinary.columnBinaryList ){
-      IColumnBinaryMaker maker = FindColumnBinaryMaker.get( childColumnBinary.makerClassName );
+      IColumnBinaryMaker maker = FindColumnBinaryMaker.getFromColumnBinary( childColumnBinary );
       IMemoryAllocator childAllocator = allocator.getChild( childColumnBinary.columnName , childColumnBinary.columnType );
       maker.loadInMemoryStorage( childColumnBinary , childAllocator );
     }
@@ -170,7 +171,7 @@ public class DumpUnionColumnBinaryMaker implements IColumnBinaryMaker{
       unionColumn = new UnionColumn( columnBinary.columnName , columnContainer );
 
       for( ColumnBinary childColumnBinary : columnBinary.columnBinaryList ){
-        IColumnBinaryMaker maker = FindColumnBinaryMaker.get( childColumnBinary.makerClassName );
+        IColumnBinaryMaker maker = FindColumnBinaryMaker.getFromColumnBinary( childColumnBinary );
         IColumn column = maker.toColumn( childColumnBinary , primitiveObjectConnector );
         column.setParentsColumn( unionColumn );
         unionColumn.setColumn( column );
@@ -0,0 +1,257 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.dataplatform.mds.binary.maker.encoder.ILongEncoder;
+import jp.co.yahoo.dataplatform.mds.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.expression.AllExpressionIndex;
+
+public class EncodedNumberColumnBinaryMaker implements IColumnBinaryMaker{
+
+  private static final int HEADER_LENGTH = PrimitiveByteLength.INT_LENGTH * 3;
+
+  private final ILongEncoder encoder;
+
+  protected EncodedNumberColumnBinaryMaker( final ILongEncoder encoder ){
+    this.encoder = encoder;
+  }
+
+  public static class NumberValues{
+
+    public final ColumnType columnType;
+    public final int columnSize;
+    public final long[] values;
+    public final int rowCount;
+    public final BitSet notNullBitSet;
+    public final long min;
+    public final long max;
+
+    public NumberValues( final IColumn column ) throws IOException{
+      columnType = column.getColumnType();
+      if( getLogicalLength( columnType ) < 0 ){
+        throw new IOException( "Unsupported column type : " + columnType );
+      }
+      columnSize = column.size();
+      values = new long[columnSize];
+      notNullBitSet = new BitSet( columnSize );
+      int count = 0;
+      long currentMin = Long.MAX_VALUE;
+      long currentMax = Long.MIN_VALUE;
+      for( int i = 0 ; i < columnSize ; i++ ){
+        ICell cell = column.get(i);
+        if( cell.getType() == ColumnType.NULL ){
+          continue;
+        }
+        long value = ( (PrimitiveCell)cell ).getRow().getLong();
+        if( value < currentMin ){
+          currentMin = value;
+        }
+        if( currentMax < value ){
+          currentMax = value;
+        }
+        values[count++] = value;
+        notNullBitSet.set( i );
+      }
+      rowCount = count;
+      min = currentMin;
+      max = currentMax;
+    }
+
+  }
+
+  private static int getLogicalLength( final ColumnType columnType ){
+    switch( columnType ){
+      case BYTE:
+        return PrimitiveByteLength.BYTE_LENGTH;
+      case SHORT:
+        return PrimitiveByteLength.SHORT_LENGTH;
+      case INTEGER:
+        return PrimitiveByteLength.INT_LENGTH;
+      case LONG:
+        return PrimitiveByteLength.LONG_LENGTH;
+      default:
+        return -1;
+    }
+  }
+
+  public ILongEncoder getEncoder(){
+    return encoder;
+  }
+
+  @Override
+  public ColumnBinary toBinary(final ColumnBinaryMakerConfig commonConfig , final ColumnBinaryMakerCustomConfigNode currentConfigNode , final IColumn column , final MakerCache makerCache ) throws IOException{
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if( currentConfigNode != null ){
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    return toBinary( currentConfig , column , new NumberValues( column ) );
+  }
+
+  public ColumnBinary toBinary( final ColumnBinaryMakerConfig currentConfig , final IColumn column , final NumberValues numberValues ) throws IOException{
+    byte[] notNullBinary = new byte[0];
+    if( numberValues.rowCount != numberValues.columnSize ){
+      notNullBinary = numberValues.notNullBitSet.toByteArray();
+    }
+    int encodeLength = encoder.calcBinarySize( numberValues.values , numberValues.rowCount );
+
+    byte[] binaryRaw = new byte[ HEADER_LENGTH + notNullBinary.length + encodeLength ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binaryRaw );
+    wrapBuffer.putInt( numberValues.columnSize );
+    wrapBuffer.putInt( numberValues.rowCount );
+    wrapBuffer.putInt( notNullBinary.length );
+    wrapBuffer.put( notNullBinary );
+    encoder.encode( numberValues.values , numberValues.rowCount , binaryRaw , HEADER_LENGTH + notNullBinary.length );
+
+    byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
+
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , numberValues.columnType , numberValues.rowCount , binaryRaw.length , numberValues.rowCount * getLogicalLength( numberValues.columnType ) , -1 , binary , 0 , binary.length , null );
+    if( 0 < numberValues.rowCount ){
+      columnBinary.blockIndex = new LongRangeBlockIndex( numberValues.min , numberValues.max );
+    }
+    return columnBinary;
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+    return new LazyColumn( columnBinary.columnName , columnBinary.columnType , new NumberColumnManager( columnBinary , primitiveObjectConnector ) );
+  }
+
+  private NumberArrayCellManager createCellManager( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    int decompressSize = compressor.getDecompressSize( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    byte[] binary = new byte[decompressSize];
+    compressor.decompressAndSet( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength , binary );
+
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    int columnSize = wrapBuffer.getInt( 0 );
+    int rowCount = wrapBuffer.getInt( PrimitiveByteLength.INT_LENGTH );
+    int notNullBinaryLength = wrapBuffer.getInt( PrimitiveByteLength.INT_LENGTH * 2 );
+    int encodeStart = HEADER_LENGTH + notNullBinaryLength;
+
+    long[] values = new long[columnSize];
+    if( rowCount == columnSize ){
+      encoder.decode( binary , encodeStart , binary.length - encodeStart , values , rowCount );
+      return new NumberArrayCellManager( columnBinary.columnType , primitiveObjectConnector , values , null , columnSize );
+    }
+
+    long[] notNullValues = new long[rowCount];
+    encoder.decode( binary , encodeStart , binary.length - encodeStart , notNullValues , rowCount );
+    BitSet notNullBitSet = BitSet.valueOf( ByteBuffer.wrap( binary , HEADER_LENGTH , notNullBinaryLength ) );
+    boolean[] isNullArray = new boolean[columnSize];
+    int valueIndex = 0;
+    for( int i = 0 ; i < columnSize ; i++ ){
+      if( notNullBitSet.get( i ) ){
+        values[i] = notNullValues[valueIndex++];
+      }
+      else{
+        isNullArray[i] = true;
+      }
+    }
+    return new NumberArrayCellManager( columnBinary.columnType , primitiveObjectConnector , values , isNullArray , columnSize );
+  }
+
+  @Override
+  public void loadInMemoryStorage( final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException{
+    NumberArrayCellManager cellManager = createCellManager( columnBinary , new DefaultPrimitiveObjectConnector() );
+    int size = cellManager.size();
+    long[] values = new long[size];
+    boolean[] isNull = new boolean[size];
+    cellManager.setLongArray( new AllExpressionIndex( size ) , 0 , size , values , isNull );
+    for( int i = 0 ; i < size ; i++ ){
+      if( isNull[i] ){
+        continue;
+      }
+      switch( columnBinary.columnType ){
+        case BYTE:
+          allocator.setByte( i , (byte)values[i] );
+          break;
+        case SHORT:
+          allocator.setShort( i , (short)values[i] );
+          break;
+        case INTEGER:
+          allocator.setInteger( i , (int)values[i] );
+          break;
+        default:
+          allocator.setLong( i , values[i] );
+          break;
+      }
+    }
+  }
+
+  public class NumberColumnManager implements IColumnManager{
+
+    private final IPrimitiveObjectConnector primitiveObjectConnector;
+    private final ColumnBinary columnBinary;
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    public NumberColumnManager( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+      this.columnBinary = columnBinary;
+      this.primitiveObjectConnector = primitiveObjectConnector;
+    }
+
+    private void create() throws IOException{
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( createCellManager( columnBinary , primitiveObjectConnector ) );
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get(){
+      if( ! isCreate ){
+        try{
+          create();
+        }catch( IOException e ){
+          throw new UncheckedIOException( e );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys(){
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize(){
+      return 0;
+    }
+  }
+
+}
@@ -19,6 +19,7 @@ package jp.co.yahoo.dataplatform.mds.binary.maker;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 
 import jp.co.yahoo.dataplatform.schema.design.IField;
@@ -86,6 +87,11 @@ public class LazyColumn implements IColumn{
     columnManager.get().setCellManager( cellManager );
   }
 
+  @Override
+  public ICellManager getCellManager(){
+    return columnManager.get().getCellManager();
+  }
+
   @Override
   public ICell get( final int index ){
     return columnManager.get().get( index );
@@ -151,6 +157,11 @@ public class LazyColumn implements IColumn{
     return columnManager.get().filter( filter );
   }
 
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    return columnManager.get().filter( filter , filterBitSet );
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray( final IExpressionIndex indexList , final int start , final int length ){
     return columnManager.get().getPrimitiveObjectArray( indexList , start , length );
@@ -0,0 +1,339 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import jp.co.yahoo.dataplatform.schema.objects.ByteObj;
+import jp.co.yahoo.dataplatform.schema.objects.IntegerObj;
+import jp.co.yahoo.dataplatform.schema.objects.LongObj;
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveType;
+import jp.co.yahoo.dataplatform.schema.objects.ShortObj;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
+import jp.co.yahoo.dataplatform.mds.spread.column.IPrimitiveArrayCellManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.index.DefaultCellIndex;
+import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionIndex;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
+import jp.co.yahoo.dataplatform.mds.util.NumberOrderUtils;
+
+public class NumberArrayCellManager implements IPrimitiveArrayCellManager{
+
+  private final ColumnType columnType;
+  private final IPrimitiveObjectConnector primitiveObjectConnector;
+  private final long[] values;
+  private final boolean[] isNullArray;
+  private final int size;
+
+  private ICellIndex index = new DefaultCellIndex();
+
+  public NumberArrayCellManager( final ColumnType columnType , final IPrimitiveObjectConnector primitiveObjectConnector , final long[] values , final boolean[] isNullArray , final int size ){
+    this.columnType = columnType;
+    this.primitiveObjectConnector = primitiveObjectConnector;
+    this.values = values;
+    this.isNullArray = isNullArray;
+    this.size = size;
+  }
+
+  private boolean isNull( final int index ){
+    return isNullArray != null && isNullArray[index];
+  }
+
+  private PrimitiveObject toPrimitiveObject( final long value ) throws IOException{
+    switch( columnType ){
+      case BYTE:
+        return primitiveObjectConnector.convert( PrimitiveType.BYTE , new ByteObj( (byte)value ) );
+      case SHORT:
+        return primitiveObjectConnector.convert( PrimitiveType.SHORT , new ShortObj( (short)value ) );
+      case INTEGER:
+        return primitiveObjectConnector.convert( PrimitiveType.INTEGER , new IntegerObj( (int)value ) );
+      default:
+        return primitiveObjectConnector.convert( PrimitiveType.LONG , new LongObj( value ) );
+    }
+  }
+
+  @Override
+  public void add( final ICell cell , final int index ){
+    throw new UnsupportedOperationException( "read only." );
+  }
+
+  @Override
+  public ICell get( final int index , final ICell defaultCell ){
+    if( size <= index || isNull( index ) ){
+      return defaultCell;
+    }
+    try{
+      return new PrimitiveCell( columnType , toPrimitiveObject( values[index] ) );
+    }catch( IOException e ){
+      throw new UncheckedIOException( e );
+    }
+  }
+
+  @Override
+  public int getMaxIndex(){
+    return size - 1;
+  }
+
+  @Override
+  public int size(){
+    return size;
+  }
+
+  @Override
+  public void clear(){
+  }
+
+  @Override
+  public void setIndex( final ICellIndex index ){
+    this.index = index;
+  }
+
+  @Override
+  public List<Integer> filter( final IFilter filter ) throws IOException{
+    return CollectionUtils.toList( filter( filter , new BitSet( size ) ) );
+  }
+
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    switch( filter.getFilterType() ){
+      case NOT_NULL:
+        for( int i = 0 ; i < size ; i++ ){
+          if( ! isNull( i ) ){
+            filterBitSet.set( i );
+          }
+        }
+        return filterBitSet;
+      case NULL:
+        for( int i = 0 ; i < size ; i++ ){
+          if( isNull( i ) ){
+            filterBitSet.set( i );
+          }
+        }
+        return filterBitSet;
+      case NUMBER:
+        NumberFilter numberFilter = (NumberFilter)filter;
+        if( ! isNumberObject( numberFilter.getNumberObject() ) ){
+          return null;
+        }
+        return numberMatch( numberFilter , filterBitSet );
+      case NUMBER_RANGE:
+        NumberRangeFilter numberRangeFilter = (NumberRangeFilter)filter;
+        if( ( numberRangeFilter.getMinObject() != null && ! isNumberObject( numberRangeFilter.getMinObject() ) )
+            || ( numberRangeFilter.getMaxObject() != null && ! isNumberObject( numberRangeFilter.getMaxObject() ) ) ){
+          return null;
+        }
+        return rangeMatch( numberRangeFilter , filterBitSet );
+      case NUMBER_SET:
+        return setMatch( (NumberSetFilter)filter , filterBitSet );
+      default:
+        return index.filter( filter , filterBitSet );
+    }
+  }
+
+  private static boolean isNumberObject( final PrimitiveObject obj ){
+    switch( obj.getPrimitiveType() ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isIntegerObject( final PrimitiveObject obj ){
+    switch( obj.getPrimitiveType() ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static int compareNumber( final long value , final PrimitiveObject target , final boolean isIntegerTarget ) throws IOException{
+    if( isIntegerTarget ){
+      return Long.compare( value , target.getLong() );
+    }
+    return NumberOrderUtils.compare( (double)value , target.getDouble() );
+  }
+
+  private BitSet numberMatch( final NumberFilter filter , final BitSet filterBitSet ) throws IOException{
+    PrimitiveObject target = filter.getNumberObject();
+    boolean isIntegerTarget = isIntegerObject( target );
+    for( int i = 0 ; i < size ; i++ ){
+      if( isNull( i ) ){
+        continue;
+      }
+      int compare = compareNumber( values[i] , target , isIntegerTarget );
+      boolean isMatch;
+      switch( filter.getNumberFilterType() ){
+        case EQUAL:
+          isMatch = compare == 0;
+          break;
+        case NOT_EQUAL:
+          isMatch = compare != 0;
+          break;
+        case LT:
+          isMatch = compare < 0;
+          break;
+        case LE:
+          isMatch = compare <= 0;
+          break;
+        case GT:
+          isMatch = 0 < compare;
+          break;
+        case GE:
+          isMatch = 0 <= compare;
+          break;
+        default:
+          isMatch = false;
+          break;
+      }
+      if( isMatch ){
+        filterBitSet.set( i );
+      }
+    }
+    return filterBitSet;
+  }
+
+  private BitSet rangeMatch( final NumberRangeFilter filter , final BitSet filterBitSet ) throws IOException{
+    PrimitiveObject minObj = filter.getMinObject();
+    PrimitiveObject maxObj = filter.getMaxObject();
+    boolean isIntegerMin = minObj != null && isIntegerObject( minObj );
+    boolean isIntegerMax = maxObj != null && isIntegerObject( maxObj );
+    for( int i = 0 ; i < size ; i++ ){
+      if( isNull( i ) ){
+        continue;
+      }
+      boolean isMatch = true;
+      if( minObj != null ){
+        int compare = compareNumber( values[i] , minObj , isIntegerMin );
+        isMatch = 0 < compare || ( compare == 0 && filter.isMinHasEquals() );
+      }
+      if( isMatch && maxObj != null ){
+        int compare = compareNumber( values[i] , maxObj , isIntegerMax );
+        isMatch = compare < 0 || ( compare == 0 && filter.isMaxHasEquals() );
+      }
+      if( isMatch != filter.isInvert() ){
+        filterBitSet.set( i );
+      }
+    }
+    return filterBitSet;
+  }
+
+  private BitSet setMatch( final NumberSetFilter filter , final BitSet filterBitSet ) throws IOException{
+    Set<Long> longSet = filter.getLongSet();
+    for( int i = 0 ; i < size ; i++ ){
+      if( ! isNull( i ) && longSet.contains( Long.valueOf( values[i] ) ) ){
+        filterBitSet.set( i );
+      }
+    }
+    return filterBitSet;
+  }
+
+  @Override
+  public PrimitiveObject[] getPrimitiveObjectArray( final IExpressionIndex indexList , final int start , final int length ){
+    PrimitiveObject[] result = new PrimitiveObject[length];
+    int loopEnd = ( start + length );
+    if( indexList.size() < loopEnd ){
+      loopEnd = indexList.size();
+    }
+    try{
+      for( int i = start , index = 0 ; i < loopEnd ; i++,index++ ){
+        int targetIndex = indexList.get( i );
+        if( size <= targetIndex ){
+          break;
+        }
+        if( ! isNull( targetIndex ) ){
+          result[index] = toPrimitiveObject( values[targetIndex] );
+        }
+      }
+    }catch( IOException e ){
+      throw new UncheckedIOException( e );
+    }
+    return result;
+  }
+
+  @Override
+  public boolean setLongArray( final IExpressionIndex indexList , final int start , final int length , final long[] result , final boolean[] isNull ) throws IOException{
+    int loopEnd = ( start + length );
+    if( indexList.size() < loopEnd ){
+      loopEnd = indexList.size();
+    }
+    boolean hasNull = false;
+    int index = 0;
+    for( int i = start ; i < loopEnd ; i++,index++ ){
+      int targetIndex = indexList.get( i );
+      if( size <= targetIndex ){
+        break;
+      }
+      result[index] = values[targetIndex];
+      isNull[index] = isNull( targetIndex );
+      hasNull |= isNull[index];
+    }
+    for( ; index < length ; index++ ){
+      isNull[index] = true;
+      hasNull = true;
+    }
+    return hasNull;
+  }
+
+  @Override
+  public boolean setDoubleArray( final IExpressionIndex indexList , final int start , final int length , final double[] result , final boolean[] isNull ) throws IOException{
+    int loopEnd = ( start + length );
+    if( indexList.size() < loopEnd ){
+      loopEnd = indexList.size();
+    }
+    boolean hasNull = false;
+    int index = 0;
+    for( int i = start ; i < loopEnd ; i++,index++ ){
+      int targetIndex = indexList.get( i );
+      if( size <= targetIndex ){
+        break;
+      }
+      result[index] = (double)values[targetIndex];
+      isNull[index] = isNull( targetIndex );
+      hasNull |= isNull[index];
+    }
+    for( ; index < length ; index++ ){
+      isNull[index] = true;
+      hasNull = true;
+    }
+    return hasNull;
+  }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.dataplatform.mds.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+
+public class OptimizeNumberColumnBinaryMaker implements IColumnBinaryMaker{
+
+  private static final EncodedNumberColumnBinaryMaker[] CANDIDATES = new EncodedNumberColumnBinaryMaker[]{
+    new RunLengthNumberColumnBinaryMaker(),
+    new DeltaNumberColumnBinaryMaker(),
+    new FrameOfReferenceNumberColumnBinaryMaker()
+  };
+
+  public static EncodedNumberColumnBinaryMaker chooseMaker( final EncodedNumberColumnBinaryMaker.NumberValues numberValues ){
+    EncodedNumberColumnBinaryMaker result = CANDIDATES[0];
+    int minSize = Integer.MAX_VALUE;
+    for( EncodedNumberColumnBinaryMaker maker : CANDIDATES ){
+      int size = maker.getEncoder().calcBinarySize( numberValues.values , numberValues.rowCount );
+      if( size < minSize ){
+        minSize = size;
+        result = maker;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public ColumnBinary toBinary(final ColumnBinaryMakerConfig commonConfig , final ColumnBinaryMakerCustomConfigNode currentConfigNode , final IColumn column , final MakerCache makerCache ) throws IOException{
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if( currentConfigNode != null ){
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    EncodedNumberColumnBinaryMaker.NumberValues numberValues = new EncodedNumberColumnBinaryMaker.NumberValues( column );
+    return chooseMaker( numberValues ).toBinary( currentConfig , column , numberValues );
+  }
+
+  private IColumnBinaryMaker getWrittenMaker( final ColumnBinary columnBinary ) throws IOException{
+    if( this.getClass().getName().equals( columnBinary.makerClassName ) ){
+      throw new IOException( "Column binary must be read by the selected encoding maker." );
+    }
+    return FindColumnBinaryMaker.getFromColumnBinary( columnBinary );
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+    return getWrittenMaker( columnBinary ).toColumn( columnBinary , primitiveObjectConnector );
+  }
+
+  @Override
+  public void loadInMemoryStorage( final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException{
+    getWrittenMaker( columnBinary ).loadInMemoryStorage( columnBinary , allocator );
+  }
+
+}
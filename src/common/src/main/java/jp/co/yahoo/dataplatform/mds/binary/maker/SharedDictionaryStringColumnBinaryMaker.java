@@ -0,0 +1,192 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.HashSet;
+
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.StringRangeBlockIndex;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.dataplatform.mds.binary.maker.index.BufferDirectSequentialStringCellIndex;
+import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
+import jp.co.yahoo.dataplatform.mds.util.UTF8BytesOrderUtils;
+
+public class SharedDictionaryStringColumnBinaryMaker implements IColumnBinaryMaker{
+
+  private static final IColumnBinaryMaker SELF_CONTAINED_MAKER = new UniqStringToUTF8BytesColumnBinaryMaker();
+
+  @Override
+  public ColumnBinary toBinary(final ColumnBinaryMakerConfig commonConfig , final ColumnBinaryMakerCustomConfigNode currentConfigNode , final IColumn column , final MakerCache makerCache ) throws IOException{
+    return SELF_CONTAINED_MAKER.toBinary( commonConfig , currentConfigNode , column , makerCache );
+  }
+
+  public ColumnBinary toBinary( final ColumnBinaryMakerConfig currentConfig , final IColumn column , final SharedStringDictionaryBuilder dictionaryBuilder , final int maxDicSize ) throws IOException{
+    int columnSize = column.size();
+    String[] stringArray = new String[columnSize];
+    Set<String> newStringSet = new HashSet<String>();
+    Set<String> spreadStringSet = new HashSet<String>();
+    int rowCount = 0;
+    int logicalTotalLength = 0;
+    String min = null;
+    String max = null;
+    for( int i = 0 ; i < columnSize ; i++ ){
+      ICell cell = column.get(i);
+      if( cell.getType() == ColumnType.NULL ){
+        continue;
+      }
+      String targetStr = ( (PrimitiveCell)cell ).getRow().getString();
+      if( targetStr == null ){
+        continue;
+      }
+      rowCount++;
+      logicalTotalLength += targetStr.length() * PrimitiveByteLength.CHAR_LENGTH;
+      stringArray[i] = targetStr;
+      if( spreadStringSet.add( targetStr ) ){
+        if( ! dictionaryBuilder.contains( targetStr ) ){
+          newStringSet.add( targetStr );
+        }
+        if( min == null || UTF8BytesOrderUtils.compare( targetStr , min ) < 0 ){
+          min = targetStr;
+        }
+        if( max == null || 0 < UTF8BytesOrderUtils.compare( targetStr , max ) ){
+          max = targetStr;
+        }
+      }
+    }
+    if( maxDicSize < dictionaryBuilder.getDicSize() + newStringSet.size() ){
+      return null;
+    }
+
+    List<Integer> columnIndexList = new ArrayList<Integer>( columnSize );
+    for( int i = 0 ; i < columnSize ; i++ ){
+      if( stringArray[i] == null ){
+        columnIndexList.add( Integer.valueOf(0) );
+      }
+      else{
+        columnIndexList.add( Integer.valueOf( dictionaryBuilder.getId( stringArray[i] ) ) );
+      }
+    }
+
+    byte[] binaryRaw = DictionaryIndexConverter.toLengthBytesBinary( columnIndexList , dictionaryBuilder.getDicSize() );
+    byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
+
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.STRING , rowCount , binaryRaw.length , logicalTotalLength , spreadStringSet.size() + 1 , binary , 0 , binary.length , null );
+    if( min != null ){
+      columnBinary.blockIndex = new StringRangeBlockIndex( min , max );
+    }
+    return columnBinary;
+  }
+
+  private static SharedStringDictionary getSharedDictionary( final ColumnBinary columnBinary ) throws IOException{
+    if( columnBinary.sharedDictionary == null ){
+      throw new IOException( "Shared dictionary of column " + columnBinary.columnName + " is not found in this block." );
+    }
+    return columnBinary.sharedDictionary;
+  }
+
+  private static DictionaryIndexSection toIndexSection( final ColumnBinary columnBinary ) throws IOException{
+    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    byte[] binary = compressor.decompress( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    return new DictionaryIndexSection( binary , 0 );
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+    return new LazyColumn( columnBinary.columnName , columnBinary.columnType , new SharedDictionaryStringColumnManager( columnBinary , primitiveObjectConnector ) );
+  }
+
+  @Override
+  public void loadInMemoryStorage( final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException{
+    SharedStringDictionary dictionary = getSharedDictionary( columnBinary );
+    IntBuffer indexIntBuffer = toIndexSection( columnBinary ).getIntBuffer();
+    byte[] dicBuffer = dictionary.getBuffer();
+    int size = indexIntBuffer.capacity();
+    for( int i = 0 ; i < size ; i++ ){
+      int dicIndex = indexIntBuffer.get(i);
+      if( dicIndex != 0 ){
+        allocator.setBytes( i , dicBuffer , dictionary.getStart( dicIndex ) , dictionary.getLength( dicIndex ) );
+      }
+    }
+  }
+
+  public class SharedDictionaryStringColumnManager implements IColumnManager{
+
+    private final IPrimitiveObjectConnector primitiveObjectConnector;
+    private final ColumnBinary columnBinary;
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    public SharedDictionaryStringColumnManager( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+      this.columnBinary = columnBinary;
+      this.primitiveObjectConnector = primitiveObjectConnector;
+    }
+
+    private void create() throws IOException{
+      SharedStringDictionary dictionary = getSharedDictionary( columnBinary );
+      IDicManager dicManager = dictionary.getDicManager( primitiveObjectConnector );
+      DictionaryIndexSection indexSection = toIndexSection( columnBinary );
+
+      column = new PrimitiveColumn( ColumnType.STRING , columnBinary.columnName );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.STRING , dicManager , indexSection ) );
+      column.setIndex( new BufferDirectSequentialStringCellIndex( dicManager , indexSection , dictionary.getMatchCache() ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get(){
+      if( ! isCreate ){
+        try{
+          create();
+        }catch( IOException e ){
+          throw new UncheckedIOException( e );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys(){
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize(){
+      return 0;
+    }
+  }
+
+}
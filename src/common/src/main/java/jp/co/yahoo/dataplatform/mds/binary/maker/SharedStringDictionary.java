@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.binary.maker.index.DictionaryMatchCache;
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+
+public class SharedStringDictionary{
+
+  private final byte[] buffer;
+  private final int[] dicStart;
+  private final int[] dicLength;
+  private final DictionaryMatchCache matchCache = new DictionaryMatchCache();
+
+  private IPrimitiveObjectConnector currentConnector;
+  private IDicManager currentDicManager;
+
+  public SharedStringDictionary( final byte[] buffer , final int start , final int length ){
+    this.buffer = buffer;
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    List<Integer> startList = new ArrayList<Integer>();
+    List<Integer> lengthList = new ArrayList<Integer>();
+    int offset = start;
+    while( offset < start + length ){
+      int dataLength = wrapBuffer.getInt( offset );
+      offset += PrimitiveByteLength.INT_LENGTH;
+      startList.add( offset );
+      lengthList.add( dataLength );
+      offset += dataLength;
+    }
+    dicStart = new int[ startList.size() ];
+    dicLength = new int[ lengthList.size() ];
+    for( int i = 0 ; i < dicStart.length ; i++ ){
+      dicStart[i] = startList.get(i).intValue();
+      dicLength[i] = lengthList.get(i).intValue();
+    }
+  }
+
+  public byte[] getBuffer(){
+    return buffer;
+  }
+
+  public int getStart( final int index ){
+    return dicStart[index];
+  }
+
+  public int getLength( final int index ){
+    return dicLength[index];
+  }
+
+  public int getDicSize(){
+    return dicStart.length;
+  }
+
+  public DictionaryMatchCache getMatchCache(){
+    return matchCache;
+  }
+
+  public synchronized IDicManager getDicManager( final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+    if( currentDicManager == null || currentConnector != primitiveObjectConnector ){
+      List<PrimitiveObject> dicList = new ArrayList<PrimitiveObject>();
+      if( dicStart.length != 0 ){
+        int start = dicStart[0] - PrimitiveByteLength.INT_LENGTH;
+        int end = dicStart[ dicStart.length - 1 ] + dicLength[ dicLength.length - 1 ];
+        BinaryDump.binaryToUTF8BytesLinkObjList( buffer , start , end - start , primitiveObjectConnector , dicList );
+      }
+      currentDicManager = new SharedDicManager( dicList );
+      currentConnector = primitiveObjectConnector;
+    }
+    return currentDicManager;
+  }
+
+  private static class SharedDicManager implements IDicManager{
+
+    private final List<PrimitiveObject> dicList;
+
+    public SharedDicManager( final List<PrimitiveObject> dicList ){
+      this.dicList = dicList;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException{
+      return dicList.get( index );
+    }
+
+    @Override
+    public int getDicSize() throws IOException{
+      return dicList.size();
+    }
+
+  }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+
+import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+
+public class SharedStringDictionaryBuilder{
+
+  private final Map<String,Integer> dicMap = new HashMap<String,Integer>();
+  private final List<byte[]> stringList = new ArrayList<byte[]>();
+  private int totalLength;
+
+  public SharedStringDictionaryBuilder(){
+    clear();
+  }
+
+  public boolean contains( final String str ){
+    return dicMap.containsKey( str );
+  }
+
+  public int getId( final String str ){
+    Integer id = dicMap.get( str );
+    if( id != null ){
+      return id.intValue();
+    }
+    byte[] stringBytes = str.getBytes( StandardCharsets.UTF_8 );
+    int newId = stringList.size();
+    dicMap.put( str , Integer.valueOf( newId ) );
+    stringList.add( stringBytes );
+    totalLength += stringBytes.length;
+    return newId;
+  }
+
+  public int getDicSize(){
+    return stringList.size();
+  }
+
+  public int getBinarySize(){
+    return totalLength + ( PrimitiveByteLength.INT_LENGTH * stringList.size() );
+  }
+
+  public byte[] toBinary() throws IOException{
+    ByteBuffer buffer = ByteBuffer.allocate( getBinarySize() );
+    BinaryDump.appendBytesToByteBuffer( stringList , totalLength , buffer );
+    return buffer.array();
+  }
+
+  public void clear(){
+    dicMap.clear();
+    stringList.clear();
+    dicMap.put( null , Integer.valueOf(0) );
+    stringList.add( new byte[0] );
+    totalLength = 0;
+  }
+
+}
@@ -0,0 +1,289 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.IBytesLink;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.StringRangeBlockIndex;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.dataplatform.mds.binary.maker.cache.ByteBufferCache;
+import jp.co.yahoo.dataplatform.mds.binary.maker.index.SortedUTF8BytesStringCellIndex;
+import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
+
+import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
+import jp.co.yahoo.dataplatform.mds.util.UTF8BytesOrderUtils;
+
+public class SortedUniqStringToUTF8BytesColumnBinaryMaker implements IColumnBinaryMaker{
+
+  @Override
+  public ColumnBinary toBinary(final ColumnBinaryMakerConfig commonConfig , final ColumnBinaryMakerCustomConfigNode currentConfigNode , final IColumn column , final MakerCache makerCache ) throws IOException{
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if( currentConfigNode != null ){
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    Map<String,byte[]> uniqMap = new HashMap<String,byte[]>();
+    List<String> columnStringList = new ArrayList<String>();
+
+    int totalLength = 0;
+    int logicalTotalLength = 0;
+    int rowCount = 0;
+    String min = null;
+    String max = null;
+    int columnSize = column.size();
+    for( int i = 0 ; i < columnSize ; i++ ){
+      ICell cell = column.get(i);
+      String targetStr = null;
+      if( cell.getType() != ColumnType.NULL ){
+        rowCount++;
+        PrimitiveCell stringCell = (PrimitiveCell) cell;
+        targetStr = stringCell.getRow().getString();
+        if( targetStr != null ){
+          logicalTotalLength += targetStr.length() * PrimitiveByteLength.CHAR_LENGTH;
+        }
+      }
+      if( targetStr != null && ! uniqMap.containsKey( targetStr ) ){
+        if( min == null || UTF8BytesOrderUtils.compare( targetStr , min ) < 0 ){
+          min = targetStr;
+        }
+        if( max == null || 0 < UTF8BytesOrderUtils.compare( targetStr , max ) ){
+          max = targetStr;
+        }
+        byte[] stringBytes = targetStr.getBytes( "UTF-8" );
+        uniqMap.put( targetStr , stringBytes );
+        totalLength += stringBytes.length;
+      }
+      columnStringList.add( targetStr );
+    }
+
+    List<String> sortedList = new ArrayList<String>( uniqMap.keySet() );
+    Collections.sort( sortedList , new Comparator<String>(){
+      @Override
+      public int compare( final String a , final String b ){
+        byte[] aBytes = uniqMap.get( a );
+        byte[] bBytes = uniqMap.get( b );
+        return SortedUTF8BytesStringCellIndex.compareUTF8Bytes( aBytes , 0 , aBytes.length , bBytes , 0 , bBytes.length );
+      }
+    });
+
+    Map<String,Integer> dicMap = new HashMap<String,Integer>();
+    List<byte[]> stringList = new ArrayList<byte[]>();
+    dicMap.put( null , Integer.valueOf(0) );
+    stringList.add( new byte[0] );
+    for( String str : sortedList ){
+      dicMap.put( str , Integer.valueOf( stringList.size() ) );
+      stringList.add( uniqMap.get( str ) );
+    }
+
+    List<Integer> columnIndexList = new ArrayList<Integer>( columnSize );
+    for( String str : columnStringList ){
+      columnIndexList.add( dicMap.get( str ) );
+    }
+
+    byte[] columnIndexBinaryRaw = DictionaryIndexConverter.toLengthBytesBinary( columnIndexList , stringList.size() );
+    int rawSize = columnIndexBinaryRaw.length + ( totalLength + ( PrimitiveByteLength.INT_LENGTH * stringList.size() ) ) + PrimitiveByteLength.INT_LENGTH;
+    ICache toBinaryCache = makerCache.getCache( "to_binary_raw_cache" );
+    if( ! ( toBinaryCache instanceof ByteBufferCache) ){
+      toBinaryCache = new ByteBufferCache();
+      makerCache.registerCache( "to_binary_raw_cache" , toBinaryCache );
+    }
+    ByteBuffer rawByteBuffer = ( (ByteBufferCache)toBinaryCache ).get();
+    if( rawByteBuffer == null || rawByteBuffer.capacity() < rawSize ){
+      rawByteBuffer = ByteBuffer.allocate( rawSize );
+      toBinaryCache.register( rawByteBuffer );
+    }
+    rawByteBuffer.position(0);
+    rawByteBuffer.put( columnIndexBinaryRaw );
+    rawByteBuffer.putInt( totalLength + ( PrimitiveByteLength.INT_LENGTH * stringList.size() ) );
+    BinaryDump.appendBytesToByteBuffer( stringList , totalLength , rawByteBuffer );
+
+    int rawLength = rawByteBuffer.position();
+    byte[] binaryRaw = rawByteBuffer.array();
+
+    byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , rawLength );
+
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.STRING , rowCount , rawLength , logicalTotalLength , dicMap.size() , binary , 0 , binary.length , null );
+    if( min != null ){
+      columnBinary.blockIndex = new StringRangeBlockIndex( min , max );
+    }
+    return columnBinary;
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+    return new LazyColumn( columnBinary.columnName , columnBinary.columnType , new StringColumnManager( columnBinary , primitiveObjectConnector ) );
+  }
+
+  @Override
+  public void loadInMemoryStorage( final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException{
+    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    int decompressSize = compressor.getDecompressSize( columnBinary.binary , columnBinary.binaryStart , columnBinary.
+binaryLength );
+    byte[] decompressBuffer = new byte[decompressSize];
+
+    int binaryLength = compressor.decompressAndSet( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength , decompressBuffer );
+
+    byte[] binary = decompressBuffer;
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
+    int offset = 0;
+
+    int columnIndexBinaryStart = offset;
+    offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
+
+    int dicBinaryLength = wrapBuffer.getInt( offset );
+    offset += PrimitiveByteLength.INT_LENGTH;
+    int dicBinaryStart = offset;
+    offset += dicBinaryLength;
+
+    IntBuffer indexIntBuffer = DictionaryIndexConverter.toIntBuffer( decompressBuffer , columnIndexBinaryStart );
+    List<PrimitiveObject> dicList = new ArrayList<PrimitiveObject>();
+    BinaryDump.binaryToUTF8BytesLinkObjList( decompressBuffer , dicBinaryStart , dicBinaryLength , new DefaultPrimitiveObjectConnector() , dicList );
+    int size = indexIntBuffer.capacity();
+    for( int i = 0 ; i < size ; i++ ){
+      int dicIndex = indexIntBuffer.get();
+      if( dicIndex != 0 ){
+        IBytesLink linkObj =  (IBytesLink)( dicList.get( dicIndex ) );
+        allocator.setBytes( i , linkObj.getLinkBytes() , linkObj.getStart() , linkObj.getLength() );
+      }
+    }
+  }
+
+  public class StringDicManager implements IDicManager{
+
+    private final List<PrimitiveObject> dicList;
+    private final int dicSize;
+
+    public StringDicManager( final List<PrimitiveObject> dicList ) throws IOException{
+      this.dicList = dicList;
+      dicSize = dicList.size();
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException{
+      return dicList.get( index );
+    }
+
+    @Override
+    public int getDicSize() throws IOException{
+      return dicSize;
+    }
+  }
+
+  public class StringColumnManager implements IColumnManager{
+
+    private final IPrimitiveObjectConnector primitiveObjectConnector;
+    private final ColumnBinary columnBinary;
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    public StringColumnManager( final ColumnBinary columnBinary , final IPrimitiveObjectConnector primitiveObjectConnector ) throws IOException{
+      this.columnBinary = columnBinary;
+      this.primitiveObjectConnector = primitiveObjectConnector;
+    }
+
+    private void create() throws IOException{
+      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      int decompressSize = compressor.getDecompressSize( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+
+      byte[] decompressBuffer = new byte[decompressSize];
+
+      List<PrimitiveObject> dicList = new ArrayList<PrimitiveObject>();
+
+      int binaryLength = compressor.decompressAndSet( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength , decompressBuffer );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( decompressBuffer , 0 , binaryLength );
+      int offset = 0;
+
+      int columnIndexBinaryStart = offset;
+      offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
+
+      int dicBinaryLength = wrapBuffer.getInt( offset );
+      offset += PrimitiveByteLength.INT_LENGTH;
+      int dicBinaryStart = offset;
+      offset += dicBinaryLength;
+
+      DictionaryIndexSection indexSection = new DictionaryIndexSection( decompressBuffer , columnIndexBinaryStart );
+
+      BinaryDump.binaryToUTF8BytesLinkObjList( decompressBuffer , dicBinaryStart , dicBinaryLength , primitiveObjectConnector , dicList );
+
+      IDicManager dicManager = new StringDicManager( dicList );
+
+      column = new PrimitiveColumn( ColumnType.STRING , columnBinary.columnName );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.STRING , dicManager , indexSection ) );
+      int dicSize = dicList.size();
+      int[] dicStart = new int[dicSize];
+      int[] dicLength = new int[dicSize];
+      int dicOffset = dicBinaryStart;
+      for( int i = 0 ; i < dicSize ; i++ ){
+        dicLength[i] = wrapBuffer.getInt( dicOffset );
+        dicOffset += PrimitiveByteLength.INT_LENGTH;
+        dicStart[i] = dicOffset;
+        dicOffset += dicLength[i];
+      }
+      column.setIndex( new SortedUTF8BytesStringCellIndex( dicManager , decompressBuffer , dicStart , dicLength , indexSection ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get(){
+      if( ! isCreate ){
+        try{
+          create();
+        }catch( IOException e ){
+          throw new UncheckedIOException( e );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys(){
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize(){
+      return 0;
+    }
+  }
+
+}
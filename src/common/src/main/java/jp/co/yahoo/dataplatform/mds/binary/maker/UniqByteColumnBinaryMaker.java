@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.HashMap;
 
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.maker.index.BufferDirectSequentialNumberCellIndex;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
@@ -41,7 +42,10 @@ import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
 import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
 
 import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.INT_LENGTH;
@@ -63,6 +67,8 @@ public class UniqByteColumnBinaryMaker implements IColumnBinaryMaker{
     dicList.add( Byte.valueOf( (byte)0 ) );
 
     int rowCount = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       Byte target = null;
@@ -70,6 +76,12 @@ public class UniqByteColumnBinaryMaker implements IColumnBinaryMaker{
         rowCount++;
         PrimitiveCell stringCell = (PrimitiveCell) cell;
         target = Byte.valueOf( stringCell.getRow().getByte() );
+        if( target.longValue() < min ){
+          min = target.longValue();
+        }
+        if( max < target.longValue() ){
+          max = target.longValue();
+        }
       }
       if( ! dicMap.containsKey( target ) ){
         dicMap.put( target , dicList.size() );
@@ -78,7 +90,7 @@ public class UniqByteColumnBinaryMaker implements IColumnBinaryMaker{
       columnIndexList.add( dicMap.get( target ) );
     }
 
-    byte[] columnIndexBinaryRaw = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpInteger( columnIndexList ) );
+    byte[] columnIndexBinaryRaw = DictionaryIndexConverter.toLengthBytesBinary( columnIndexList , dicList.size() );
     byte[] dicRawBinary = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpByte( dicList ) );
 
     byte[] binaryRaw = new byte[ columnIndexBinaryRaw.length + dicRawBinary.length ];
@@ -89,7 +101,11 @@ public class UniqByteColumnBinaryMaker implements IColumnBinaryMaker{
 
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
 
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.BYTE , rowCount , binaryRaw.length , rowCount * BYTE_LENGTH , dicMap.size() , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.BYTE , rowCount , binaryRaw.length , rowCount * BYTE_LENGTH , dicMap.size() , binary , 0 , binary.length , null );
+    if( 0 < rowCount ){
+      columnBinary.blockIndex = new LongRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -109,17 +125,15 @@ public class UniqByteColumnBinaryMaker implements IColumnBinaryMaker{
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
     int offset = 0;
 
-    int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-    offset += INT_LENGTH;
     int columnIndexBinaryStart = offset;
-    offset += columnIndexBinaryLength;
+    offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
     int dicBinaryLength = wrapBuffer.getInt( offset );
     offset += INT_LENGTH;
     int dicBinaryStart = offset;
     offset += dicBinaryLength;
 
-    IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+    IntBuffer indexIntBuffer = DictionaryIndexConverter.toIntBuffer( decompressBuffer , columnIndexBinaryStart );
     List<Byte> dicArray = BinaryDump.binaryToByteList( binary , dicBinaryStart , dicBinaryLength );
     int size = indexIntBuffer.capacity();
     for( int i = 0 ; i < size ; i++ ){
@@ -174,24 +188,23 @@ public class UniqByteColumnBinaryMaker implements IColumnBinaryMaker{
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
       int offset = 0;
 
-      int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-      offset += INT_LENGTH;
       int columnIndexBinaryStart = offset;
-      offset += columnIndexBinaryLength;
+      offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
       int dicBinaryLength = wrapBuffer.getInt( offset );
       offset += INT_LENGTH;
       int dicBinaryStart = offset;
       offset += dicBinaryLength;
 
-      IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+      DictionaryIndexSection indexSection = new DictionaryIndexSection( decompressBuffer , columnIndexBinaryStart );
 
       PrimitiveObject[] dicArray = BinaryDump.binaryToByteArray( binary , dicBinaryStart , dicBinaryLength , primitiveObjectConnector );
 
       IDicManager dicManager = new ByteDicManager( dicArray );
 
       column = new PrimitiveColumn( ColumnType.BYTE , columnBinary.columnName );
-      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.BYTE , dicManager , indexIntBuffer ) );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.BYTE , dicManager , indexSection ) );
+      column.setIndex( new BufferDirectSequentialNumberCellIndex( ColumnType.BYTE , dicManager , indexSection ) );
 
       isCreate = true;
     }
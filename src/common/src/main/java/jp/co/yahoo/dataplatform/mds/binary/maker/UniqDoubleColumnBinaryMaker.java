@@ -39,8 +39,12 @@ import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
+import jp.co.yahoo.dataplatform.mds.binary.maker.index.BufferDirectSequentialNumberCellIndex;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.DoubleRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
@@ -61,6 +65,8 @@ public class UniqDoubleColumnBinaryMaker implements IColumnBinaryMaker{
     dicList.add( Double.valueOf( (byte)0 ) );
 
     int rowCount = 0;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       Double target = null;
@@ -68,6 +74,8 @@ public class UniqDoubleColumnBinaryMaker implements IColumnBinaryMaker{
         rowCount++;
         PrimitiveCell stringCell = (PrimitiveCell) cell;
         target = Double.valueOf( stringCell.getRow().getDouble() );
+        min = Math.min( min , target.doubleValue() );
+        max = Math.max( max , target.doubleValue() );
       }
       if( ! dicMap.containsKey( target ) ){
         dicMap.put( target , dicList.size() );
@@ -76,7 +84,7 @@ public class UniqDoubleColumnBinaryMaker implements IColumnBinaryMaker{
       columnIndexList.add( dicMap.get( target ) );
     }
 
-    byte[] columnIndexBinaryRaw = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpInteger( columnIndexList ) );
+    byte[] columnIndexBinaryRaw = DictionaryIndexConverter.toLengthBytesBinary( columnIndexList , dicList.size() );
     byte[] dicRawBinary = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpDouble( dicList ) );
 
     byte[] binaryRaw = new byte[ columnIndexBinaryRaw.length + dicRawBinary.length ];
@@ -87,7 +95,11 @@ public class UniqDoubleColumnBinaryMaker implements IColumnBinaryMaker{
 
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
 
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.DOUBLE , rowCount , binaryRaw.length , rowCount * PrimitiveByteLength.DOUBLE_LENGTH , dicMap.size() , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.DOUBLE , rowCount , binaryRaw.length , rowCount * PrimitiveByteLength.DOUBLE_LENGTH , dicMap.size() , binary , 0 , binary.length , null );
+    if( 0 < rowCount && ! Double.isNaN( min ) && ! Double.isNaN( max ) ){
+      columnBinary.blockIndex = new DoubleRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -107,17 +119,15 @@ public class UniqDoubleColumnBinaryMaker implements IColumnBinaryMaker{
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
     int offset = 0;
 
-    int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-    offset += PrimitiveByteLength.INT_LENGTH;
     int columnIndexBinaryStart = offset;
-    offset += columnIndexBinaryLength;
+    offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
     int dicBinaryLength = wrapBuffer.getInt( offset );
     offset += PrimitiveByteLength.INT_LENGTH;
     int dicBinaryStart = offset;
     offset += dicBinaryLength;
 
-    IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+    IntBuffer indexIntBuffer = DictionaryIndexConverter.toIntBuffer( decompressBuffer , columnIndexBinaryStart );
     List<Double> dicArray = BinaryDump.binaryToDoubleList( binary , dicBinaryStart , dicBinaryLength );
     int size = indexIntBuffer.capacity();
     for( int i = 0 ; i < size ; i++ ){
@@ -172,24 +182,23 @@ public class UniqDoubleColumnBinaryMaker implements IColumnBinaryMaker{
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
       int offset = 0;
 
-      int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-      offset += PrimitiveByteLength.INT_LENGTH;
       int columnIndexBinaryStart = offset;
-      offset += columnIndexBinaryLength;
+      offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
       int dicBinaryLength = wrapBuffer.getInt( offset );
       offset += PrimitiveByteLength.INT_LENGTH;
       int dicBinaryStart = offset;
       offset += dicBinaryLength;
 
-      IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+      DictionaryIndexSection indexSection = new DictionaryIndexSection( decompressBuffer , columnIndexBinaryStart );
 
       PrimitiveObject[] dicArray = BinaryDump.binaryToDoubleArray( binary , dicBinaryStart , dicBinaryLength , primitiveObjectConnector );
 
       IDicManager dicManager = new DoubleDicManager( dicArray );
 
       column = new PrimitiveColumn( ColumnType.DOUBLE , columnBinary.columnName );
-      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.DOUBLE , dicManager , indexIntBuffer ) );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.DOUBLE , dicManager , indexSection ) );
+      column.setIndex( new BufferDirectSequentialNumberCellIndex( ColumnType.DOUBLE , dicManager , indexSection ) );
 
       isCreate = true;
     }
@@ -30,7 +30,11 @@ import java.util.HashMap;
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.maker.index.BufferDirectSequentialNumberCellIndex;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.DoubleRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
@@ -60,6 +64,8 @@ public class UniqFloatColumnBinaryMaker implements IColumnBinaryMaker{
     dicList.add( Float.valueOf( (byte)0 ) );
 
     int rowCount = 0;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       Float target = null;
@@ -67,6 +73,8 @@ public class UniqFloatColumnBinaryMaker implements IColumnBinaryMaker{
         rowCount++;
         PrimitiveCell stringCell = (PrimitiveCell) cell;
         target = Float.valueOf( stringCell.getRow().getFloat() );
+        min = Math.min( min , target.doubleValue() );
+        max = Math.max( max , target.doubleValue() );
       }
       if( ! dicMap.containsKey( target ) ){
         dicMap.put( target , dicList.size() );
@@ -75,7 +83,7 @@ public class UniqFloatColumnBinaryMaker implements IColumnBinaryMaker{
       columnIndexList.add( dicMap.get( target ) );
     }
 
-    byte[] columnIndexBinaryRaw = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpInteger( columnIndexList ) );
+    byte[] columnIndexBinaryRaw = DictionaryIndexConverter.toLengthBytesBinary( columnIndexList , dicList.size() );
     byte[] dicRawBinary = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpFloat( dicList ) );
 
     byte[] binaryRaw = new byte[ columnIndexBinaryRaw.length + dicRawBinary.length ];
@@ -86,7 +94,11 @@ public class UniqFloatColumnBinaryMaker implements IColumnBinaryMaker{
 
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
 
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.FLOAT , rowCount , binaryRaw.length , rowCount * PrimitiveByteLength.FLOAT_LENGTH , dicMap.size() , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.FLOAT , rowCount , binaryRaw.length , rowCount * PrimitiveByteLength.FLOAT_LENGTH , dicMap.size() , binary , 0 , binary.length , null );
+    if( 0 < rowCount && ! Double.isNaN( min ) && ! Double.isNaN( max ) ){
+      columnBinary.blockIndex = new DoubleRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -107,17 +119,15 @@ binaryLength );
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
     int offset = 0;
 
-    int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-    offset += PrimitiveByteLength.INT_LENGTH;
     int columnIndexBinaryStart = offset;
-    offset += columnIndexBinaryLength;
+    offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
     int dicBinaryLength = wrapBuffer.getInt( offset );
     offset += PrimitiveByteLength.INT_LENGTH;
     int dicBinaryStart = offset;
     offset += dicBinaryLength;
 
-    IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+    IntBuffer indexIntBuffer = DictionaryIndexConverter.toIntBuffer( decompressBuffer , columnIndexBinaryStart );
     List<Float> dicArray = BinaryDump.binaryToFloatList( binary , dicBinaryStart , dicBinaryLength );
     int size = indexIntBuffer.capacity();
     for( int i = 0 ; i < size ; i++ ){
@@ -172,24 +182,23 @@ binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
       int offset = 0;
 
-      int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-      offset += PrimitiveByteLength.INT_LENGTH;
       int columnIndexBinaryStart = offset;
-      offset += columnIndexBinaryLength;
+      offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
       int dicBinaryLength = wrapBuffer.getInt( offset );
       offset += PrimitiveByteLength.INT_LENGTH;
       int dicBinaryStart = offset;
       offset += dicBinaryLength;
 
-      IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+      DictionaryIndexSection indexSection = new DictionaryIndexSection( decompressBuffer , columnIndexBinaryStart );
 
       PrimitiveObject[] dicArray = BinaryDump.binaryToFloatArray( binary , dicBinaryStart , dicBinaryLength , primitiveObjectConnector );
 
       IDicManager dicManager = new FloatDicManager( dicArray );
 
       column = new PrimitiveColumn( ColumnType.FLOAT , columnBinary.columnName );
-      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.FLOAT , dicManager , indexIntBuffer ) );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.FLOAT , dicManager , indexSection ) );
+      column.setIndex( new BufferDirectSequentialNumberCellIndex( ColumnType.FLOAT , dicManager , indexSection ) );
 
       isCreate = true;
     }
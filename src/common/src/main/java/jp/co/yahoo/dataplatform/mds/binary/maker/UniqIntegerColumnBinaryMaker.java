@@ -38,8 +38,12 @@ import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
+import jp.co.yahoo.dataplatform.mds.binary.maker.index.BufferDirectSequentialNumberCellIndex;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
@@ -60,6 +64,8 @@ public class UniqIntegerColumnBinaryMaker implements IColumnBinaryMaker{
     dicList.add( Integer.valueOf( (byte)0 ) );
 
     int rowCount = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       Integer target = null;
@@ -67,6 +73,12 @@ public class UniqIntegerColumnBinaryMaker implements IColumnBinaryMaker{
         rowCount++;
         PrimitiveCell stringCell = (PrimitiveCell) cell;
         target = Integer.valueOf( stringCell.getRow().getInt() );
+        if( target.longValue() < min ){
+          min = target.longValue();
+        }
+        if( max < target.longValue() ){
+          max = target.longValue();
+        }
       }
       if( ! dicMap.containsKey( target ) ){
         dicMap.put( target , dicList.size() );
@@ -75,7 +87,7 @@ public class UniqIntegerColumnBinaryMaker implements IColumnBinaryMaker{
       columnIndexList.add( dicMap.get( target ) );
     }
 
-    byte[] columnIndexBinaryRaw = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpInteger( columnIndexList ) );
+    byte[] columnIndexBinaryRaw = DictionaryIndexConverter.toLengthBytesBinary( columnIndexList , dicList.size() );
     byte[] dicRawBinary = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpInteger( dicList ) );
 
     byte[] binaryRaw = new byte[ columnIndexBinaryRaw.length + dicRawBinary.length ];
@@ -86,7 +98,11 @@ public class UniqIntegerColumnBinaryMaker implements IColumnBinaryMaker{
 
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
 
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.INTEGER , rowCount , binaryRaw.length , PrimitiveByteLength.INT_LENGTH * rowCount , dicMap.size() , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.INTEGER , rowCount , binaryRaw.length , PrimitiveByteLength.INT_LENGTH * rowCount , dicMap.size() , binary , 0 , binary.length , null );
+    if( 0 < rowCount ){
+      columnBinary.blockIndex = new LongRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -107,17 +123,15 @@ binaryLength );
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
     int offset = 0;
 
-    int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-    offset += PrimitiveByteLength.INT_LENGTH;
     int columnIndexBinaryStart = offset;
-    offset += columnIndexBinaryLength;
+    offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
     int dicBinaryLength = wrapBuffer.getInt( offset );
     offset += PrimitiveByteLength.INT_LENGTH;
     int dicBinaryStart = offset;
     offset += dicBinaryLength;
 
-    IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+    IntBuffer indexIntBuffer = DictionaryIndexConverter.toIntBuffer( decompressBuffer , columnIndexBinaryStart );
     List<Integer> dicArray = BinaryDump.binaryToIntegerList( binary , dicBinaryStart , dicBinaryLength );
     int size = indexIntBuffer.capacity();
     for( int i = 0 ; i < size ; i++ ){
@@ -172,24 +186,23 @@ binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
       int offset = 0;
 
-      int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-      offset += PrimitiveByteLength.INT_LENGTH;
       int columnIndexBinaryStart = offset;
-      offset += columnIndexBinaryLength;
+      offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
       int dicBinaryLength = wrapBuffer.getInt( offset );
       offset += PrimitiveByteLength.INT_LENGTH;
       int dicBinaryStart = offset;
       offset += dicBinaryLength;
 
-      IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+      DictionaryIndexSection indexSection = new DictionaryIndexSection( decompressBuffer , columnIndexBinaryStart );
 
       PrimitiveObject[] dicArray = BinaryDump.binaryToIntegerArray( binary , dicBinaryStart , dicBinaryLength , primitiveObjectConnector );
 
       IDicManager dicManager = new IntegerDicManager( dicArray );
 
       column = new PrimitiveColumn( ColumnType.INTEGER , columnBinary.columnName );
-      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.INTEGER , dicManager , indexIntBuffer ) );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.INTEGER , dicManager , indexSection ) );
+      column.setIndex( new BufferDirectSequentialNumberCellIndex( ColumnType.INTEGER , dicManager , indexSection ) );
 
       isCreate = true;
     }
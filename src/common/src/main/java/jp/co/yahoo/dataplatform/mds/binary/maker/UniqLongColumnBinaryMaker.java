@@ -37,8 +37,12 @@ import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
 import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
+import jp.co.yahoo.dataplatform.mds.binary.maker.index.BufferDirectSequentialNumberCellIndex;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
@@ -62,6 +66,8 @@ public class UniqLongColumnBinaryMaker implements IColumnBinaryMaker{
     dicList.add( Long.valueOf( (byte)0 ) );
 
     int rowCount = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       Long target = null;
@@ -69,6 +75,12 @@ public class UniqLongColumnBinaryMaker implements IColumnBinaryMaker{
         rowCount++;
         PrimitiveCell stringCell = (PrimitiveCell) cell;
         target = Long.valueOf( stringCell.getRow().getLong() );
+        if( target.longValue() < min ){
+          min = target.longValue();
+        }
+        if( max < target.longValue() ){
+          max = target.longValue();
+        }
       }
       if( ! dicMap.containsKey( target ) ){
         dicMap.put( target , dicList.size() );
@@ -77,7 +89,7 @@ public class UniqLongColumnBinaryMaker implements IColumnBinaryMaker{
       columnIndexList.add( dicMap.get( target ) );
     }
 
-    byte[] columnIndexBinaryRaw = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpInteger( columnIndexList ) );
+    byte[] columnIndexBinaryRaw = DictionaryIndexConverter.toLengthBytesBinary( columnIndexList , dicList.size() );
     byte[] dicRawBinary = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpLong( dicList ) );
 
     byte[] binaryRaw = new byte[ columnIndexBinaryRaw.length + dicRawBinary.length ];
@@ -88,7 +100,11 @@ public class UniqLongColumnBinaryMaker implements IColumnBinaryMaker{
 
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
 
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.LONG , rowCount , binaryRaw.length , rowCount * LONG_LENGTH , dicMap.size() , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.LONG , rowCount , binaryRaw.length , rowCount * LONG_LENGTH , dicMap.size() , binary , 0 , binary.length , null );
+    if( 0 < rowCount ){
+      columnBinary.blockIndex = new LongRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -109,17 +125,15 @@ binaryLength );
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
     int offset = 0;
 
-    int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-    offset += INT_LENGTH;
     int columnIndexBinaryStart = offset;
-    offset += columnIndexBinaryLength;
+    offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
     int dicBinaryLength = wrapBuffer.getInt( offset );
     offset += INT_LENGTH;
     int dicBinaryStart = offset;
     offset += dicBinaryLength;
 
-    IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+    IntBuffer indexIntBuffer = DictionaryIndexConverter.toIntBuffer( decompressBuffer , columnIndexBinaryStart );
     List<Long> dicArray = BinaryDump.binaryToLongList( binary , dicBinaryStart , dicBinaryLength );
     int size = indexIntBuffer.capacity();
     for( int i = 0 ; i < size ; i++ ){
@@ -174,24 +188,23 @@ binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
       int offset = 0;
 
-      int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-      offset += INT_LENGTH;
       int columnIndexBinaryStart = offset;
-      offset += columnIndexBinaryLength;
+      offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
       int dicBinaryLength = wrapBuffer.getInt( offset );
       offset += INT_LENGTH;
       int dicBinaryStart = offset;
       offset += dicBinaryLength;
 
-      IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+      DictionaryIndexSection indexSection = new DictionaryIndexSection( decompressBuffer , columnIndexBinaryStart );
 
       PrimitiveObject[] dicArray = BinaryDump.binaryToLongArray( binary , dicBinaryStart , dicBinaryLength , primitiveObjectConnector );
 
       IDicManager dicManager = new LongDicManager( dicArray );
 
       column = new PrimitiveColumn( ColumnType.LONG , columnBinary.columnName );
-      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.LONG , dicManager , indexIntBuffer ) );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.LONG , dicManager , indexSection ) );
+      column.setIndex( new BufferDirectSequentialNumberCellIndex( ColumnType.LONG , dicManager , indexSection ) );
 
       isCreate = true;
     }
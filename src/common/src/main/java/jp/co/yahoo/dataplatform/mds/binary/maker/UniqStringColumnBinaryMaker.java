@@ -32,7 +32,10 @@ import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 import jp.co.yahoo.dataplatform.schema.objects.StringObj;
 
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.dataplatform.mds.binary.maker.cache.ByteBufferCache;
@@ -45,6 +48,7 @@ import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.util.UTF8BytesOrderUtils;
 import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
 
 public class UniqStringColumnBinaryMaker implements IColumnBinaryMaker{
@@ -65,6 +69,8 @@ public class UniqStringColumnBinaryMaker implements IColumnBinaryMaker{
     int totalLength = 0;
     int logicalTotalLength = 0;
     int rowCount = 0;
+    String min = null;
+    String max = null;
     for( int i = 0 ; i < column.size() ; i++ ){
       ICell cell = column.get(i);
       String targetStr = null;
@@ -81,12 +87,21 @@ public class UniqStringColumnBinaryMaker implements IColumnBinaryMaker{
       if( ! dicMap.containsKey( targetStr ) ){
         dicMap.put( targetStr , stringList.size() );
         stringList.add( targetStr );
+        if( targetStr != null ){
+          if( min == null || UTF8BytesOrderUtils.compare( targetStr , min ) < 0 ){
+            min = targetStr;
+          }
+          if( max == null || 0 < UTF8BytesOrderUtils.compare( targetStr , max ) ){
+            max = targetStr;
+          }
+        }
         totalLength += strLength;
       }
       columnIndexList.add( dicMap.get( targetStr ) );
     }
 
-    int rawSize = ( PrimitiveByteLength.INT_LENGTH * columnIndexList.size() ) + ( PrimitiveByteLength.INT_LENGTH + totalLength + ( PrimitiveByteLength.INT_LENGTH * stringList.size() ) ) + ( PrimitiveByteLength.INT_LENGTH * 2 );
+    byte[] columnIndexBinaryRaw = DictionaryIndexConverter.toLengthBytesBinary( columnIndexList , stringList.size() );
+    int rawSize = columnIndexBinaryRaw.length + ( PrimitiveByteLength.INT_LENGTH + totalLength + ( PrimitiveByteLength.INT_LENGTH * stringList.size() ) ) + PrimitiveByteLength.INT_LENGTH;
     ICache toBinaryCache = makerCache.getCache( "to_binary_raw_cache" );
     if( ! ( toBinaryCache instanceof ByteBufferCache) ){
       toBinaryCache = new ByteBufferCache();
@@ -98,8 +113,7 @@ public class UniqStringColumnBinaryMaker implements IColumnBinaryMaker{
       toBinaryCache.register( rawByteBuffer );
     }
     rawByteBuffer.position(0);
-    rawByteBuffer.putInt( PrimitiveByteLength.INT_LENGTH * columnIndexList.size() );
-    BinaryDump.appendIntegerToByteBuffer( columnIndexList , rawByteBuffer );
+    rawByteBuffer.put( columnIndexBinaryRaw );
     rawByteBuffer.putInt( PrimitiveByteLength.INT_LENGTH + totalLength + ( PrimitiveByteLength.INT_LENGTH * stringList.size() ) );
     BinaryDump.appendStringToByteBuffer( stringList , totalLength , rawByteBuffer );
 
@@ -108,7 +122,11 @@ public class UniqStringColumnBinaryMaker implements IColumnBinaryMaker{
 
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , rawLength );
 
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.STRING , rowCount , binaryRaw.length , logicalTotalLength , dicMap.size() , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.STRING , rowCount , rawLength , logicalTotalLength , dicMap.size() , binary , 0 , binary.length , null );
+    if( min != null ){
+      columnBinary.blockIndex = new StringRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -129,17 +147,15 @@ binaryLength );
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
     int offset = 0;
 
-    int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-    offset += PrimitiveByteLength.INT_LENGTH;
     int columnIndexBinaryStart = offset;
-    offset += columnIndexBinaryLength;
+    offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
     int dicBinaryLength = wrapBuffer.getInt( offset );
     offset += PrimitiveByteLength.INT_LENGTH;
     int dicBinaryStart = offset;
     offset += dicBinaryLength;
 
-    IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+    IntBuffer indexIntBuffer = DictionaryIndexConverter.toIntBuffer( decompressBuffer , columnIndexBinaryStart );
     List<String> dicArray = BinaryDump.binaryToStringList( binary , dicBinaryStart , dicBinaryLength );
     int size = indexIntBuffer.capacity();
     for( int i = 0 ; i < size ; i++ ){
@@ -195,17 +211,15 @@ binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
       int offset = 0;
 
-      int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-      offset += PrimitiveByteLength.INT_LENGTH;
       int columnIndexBinaryStart = offset;
-      offset += columnIndexBinaryLength;
+      offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
       int dicBinaryLength = wrapBuffer.getInt( offset );
       offset += PrimitiveByteLength.INT_LENGTH;
       int dicBinaryStart = offset;
       offset += dicBinaryLength;
 
-      IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+      DictionaryIndexSection indexSection = new DictionaryIndexSection( decompressBuffer , columnIndexBinaryStart );
 
       List<String> readString = BinaryDump.binaryToStringList( binary , dicBinaryStart , dicBinaryLength );
       for( String str : readString ){
@@ -214,8 +228,8 @@ binaryLength );
       IDicManager dicManager = new StringDicManager( dicList );
 
       column = new PrimitiveColumn( ColumnType.STRING , columnBinary.columnName );
-      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.STRING , dicManager , indexIntBuffer ) );
-      column.setIndex( new BufferDirectSequentialStringCellIndex( dicManager , indexIntBuffer ) );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.STRING , dicManager , indexSection ) );
+      column.setIndex( new BufferDirectSequentialStringCellIndex( dicManager , indexSection ) );
 
       isCreate = true;
     }
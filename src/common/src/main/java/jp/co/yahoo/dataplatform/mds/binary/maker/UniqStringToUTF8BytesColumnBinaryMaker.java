@@ -30,8 +30,11 @@ import java.util.HashMap;
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
 import jp.co.yahoo.dataplatform.mds.binary.BinaryDump;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
 import jp.co.yahoo.dataplatform.mds.binary.IBytesLink;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.dataplatform.mds.binary.maker.cache.ByteBufferCache;
@@ -43,6 +46,7 @@ import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
 import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.util.UTF8BytesOrderUtils;
 import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
 
 import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
@@ -65,6 +69,8 @@ public class UniqStringToUTF8BytesColumnBinaryMaker implements IColumnBinaryMake
     int totalLength = 0;
     int logicalTotalLength = 0;
     int rowCount = 0;
+    String min = null;
+    String max = null;
     int columnSize = column.size();
     for( int i = 0 ; i < columnSize ; i++ ){
       ICell cell = column.get(i);
@@ -79,6 +85,14 @@ public class UniqStringToUTF8BytesColumnBinaryMaker implements IColumnBinaryMake
       }
       if( ! dicMap.containsKey( targetStr ) ){
         dicMap.put( targetStr , stringList.size() );
+        if( targetStr != null ){
+          if( min == null || UTF8BytesOrderUtils.compare( targetStr , min ) < 0 ){
+            min = targetStr;
+          }
+          if( max == null || 0 < UTF8BytesOrderUtils.compare( targetStr , max ) ){
+            max = targetStr;
+          }
+        }
         byte[] stringBytes = targetStr.getBytes( "UTF-8" );
         stringList.add( stringBytes );
         totalLength += stringBytes.length;
@@ -86,7 +100,8 @@ public class UniqStringToUTF8BytesColumnBinaryMaker implements IColumnBinaryMake
       columnIndexList.add( dicMap.get( targetStr ) );
     }
 
-    int rawSize = ( PrimitiveByteLength.INT_LENGTH * columnIndexList.size() ) + ( totalLength + ( PrimitiveByteLength.INT_LENGTH * stringList.size() ) ) + ( PrimitiveByteLength.INT_LENGTH * 2 );
+    byte[] columnIndexBinaryRaw = DictionaryIndexConverter.toLengthBytesBinary( columnIndexList , stringList.size() );
+    int rawSize = columnIndexBinaryRaw.length + ( totalLength + ( PrimitiveByteLength.INT_LENGTH * stringList.size() ) ) + PrimitiveByteLength.INT_LENGTH;
     ICache toBinaryCache = makerCache.getCache( "to_binary_raw_cache" );
     if( ! ( toBinaryCache instanceof ByteBufferCache) ){
       toBinaryCache = new ByteBufferCache();
@@ -98,8 +113,7 @@ public class UniqStringToUTF8BytesColumnBinaryMaker implements IColumnBinaryMake
       toBinaryCache.register( rawByteBuffer );
     }
     rawByteBuffer.position(0);
-    rawByteBuffer.putInt( PrimitiveByteLength.INT_LENGTH * columnIndexList.size() );
-    BinaryDump.appendIntegerToByteBuffer( columnIndexList , rawByteBuffer );
+    rawByteBuffer.put( columnIndexBinaryRaw );
     rawByteBuffer.putInt( totalLength + ( PrimitiveByteLength.INT_LENGTH * stringList.size() ) );
     BinaryDump.appendBytesToByteBuffer( stringList , totalLength , rawByteBuffer );
 
@@ -108,7 +122,11 @@ public class UniqStringToUTF8BytesColumnBinaryMaker implements IColumnBinaryMake
 
     byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , rawLength );
 
-    return new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.STRING , rowCount , binaryRaw.length , logicalTotalLength , dicMap.size() , binary , 0 , binary.length , null );
+    ColumnBinary columnBinary = new ColumnBinary( this.getClass().getName() , currentConfig.compressorClass.getClass().getName() , column.getColumnName() , ColumnType.STRING , rowCount , rawLength , logicalTotalLength , dicMap.size() , binary , 0 , binary.length , null );
+    if( min != null ){
+      columnBinary.blockIndex = new StringRangeBlockIndex( min , max );
+    }
+    return columnBinary;
   }
 
   @Override
@@ -129,17 +147,15 @@ binaryLength );
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
     int offset = 0;
 
-    int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-    offset += PrimitiveByteLength.INT_LENGTH;
     int columnIndexBinaryStart = offset;
-    offset += columnIndexBinaryLength;
+    offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
     int dicBinaryLength = wrapBuffer.getInt( offset );
     offset += PrimitiveByteLength.INT_LENGTH;
     int dicBinaryStart = offset;
     offset += dicBinaryLength;
 
-    IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+    IntBuffer indexIntBuffer = DictionaryIndexConverter.toIntBuffer( decompressBuffer , columnIndexBinaryStart );
     List<PrimitiveObject> dicList = new ArrayList<PrimitiveObject>();
     BinaryDump.binaryToUTF8BytesLinkObjList( decompressBuffer , dicBinaryStart , dicBinaryLength , new DefaultPrimitiveObjectConnector() , dicList );
     int size = indexIntBuffer.capacity();
@@ -197,25 +213,23 @@ binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( decompressBuffer , 0 , binaryLength );
       int offset = 0;
 
-      int columnIndexBinaryLength = wrapBuffer.getInt( offset );
-      offset += PrimitiveByteLength.INT_LENGTH;
       int columnIndexBinaryStart = offset;
-      offset += columnIndexBinaryLength;
+      offset += DictionaryIndexConverter.getSectionLength( decompressBuffer , offset );
 
       int dicBinaryLength = wrapBuffer.getInt( offset );
       offset += PrimitiveByteLength.INT_LENGTH;
       int dicBinaryStart = offset;
       offset += dicBinaryLength;
 
-      IntBuffer indexIntBuffer = BinaryDump.binaryToIntBuffer( decompressBuffer , columnIndexBinaryStart , columnIndexBinaryLength );
+      DictionaryIndexSection indexSection = new DictionaryIndexSection( decompressBuffer , columnIndexBinaryStart );
 
       BinaryDump.binaryToUTF8BytesLinkObjList( decompressBuffer , dicBinaryStart , dicBinaryLength , primitiveObjectConnector , dicList );
 
       IDicManager dicManager = new StringDicManager( dicList );
 
       column = new PrimitiveColumn( ColumnType.STRING , columnBinary.columnName );
-      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.STRING , dicManager , indexIntBuffer ) );
-      column.setIndex( new BufferDirectSequentialStringCellIndex( dicManager , indexIntBuffer ) );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager( ColumnType.STRING , dicManager , indexSection ) );
+      column.setIndex( new BufferDirectSequentialStringCellIndex( dicManager , indexSection ) );
 
       isCreate = true;
     }
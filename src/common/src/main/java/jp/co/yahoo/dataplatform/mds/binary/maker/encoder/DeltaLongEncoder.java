@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.encoder;
+
+import jp.co.yahoo.dataplatform.mds.binary.VarintUtil;
+
+public class DeltaLongEncoder implements ILongEncoder{
+
+  @Override
+  public int calcBinarySize( final long[] values , final int length ){
+    int size = 0;
+    long previous = 0;
+    for( int i = 0 ; i < length ; i++ ){
+      size += VarintUtil.getVarintSize( VarintUtil.encodeZigZag( values[i] - previous ) );
+      previous = values[i];
+    }
+    return size;
+  }
+
+  @Override
+  public int encode( final long[] values , final int length , final byte[] buffer , final int start ){
+    int offset = start;
+    long previous = 0;
+    for( int i = 0 ; i < length ; i++ ){
+      offset = VarintUtil.writeVarint( VarintUtil.encodeZigZag( values[i] - previous ) , buffer , offset );
+      previous = values[i];
+    }
+    return offset - start;
+  }
+
+  @Override
+  public void decode( final byte[] buffer , final int start , final int binaryLength , final long[] result , final int length ){
+    int[] offset = new int[]{ start };
+    long previous = 0;
+    for( int i = 0 ; i < length ; i++ ){
+      previous += VarintUtil.decodeZigZag( VarintUtil.readVarint( buffer , offset ) );
+      result[i] = previous;
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.encoder;
+
+import java.nio.ByteBuffer;
+
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+
+public class FrameOfReferenceLongEncoder implements ILongEncoder{
+
+  private static final int HEADER_LENGTH = PrimitiveByteLength.LONG_LENGTH + PrimitiveByteLength.BYTE_LENGTH;
+
+  private static long getMin( final long[] values , final int length ){
+    long min = Long.MAX_VALUE;
+    for( int i = 0 ; i < length ; i++ ){
+      if( values[i] < min ){
+        min = values[i];
+      }
+    }
+    return min;
+  }
+
+  private static int getBitWidth( final long[] values , final int length , final long min ){
+    long range = 0;
+    for( int i = 0 ; i < length ; i++ ){
+      range |= values[i] - min;
+    }
+    return Long.SIZE - Long.numberOfLeadingZeros( range );
+  }
+
+  @Override
+  public int calcBinarySize( final long[] values , final int length ){
+    if( length == 0 ){
+      return HEADER_LENGTH;
+    }
+    int bitWidth = getBitWidth( values , length , getMin( values , length ) );
+    return HEADER_LENGTH + (int)( ( (long)length * bitWidth + 7 ) / 8 );
+  }
+
+  @Override
+  public int encode( final long[] values , final int length , final byte[] buffer , final int start ){
+    long min = length == 0 ? 0 : getMin( values , length );
+    int bitWidth = length == 0 ? 0 : getBitWidth( values , length , min );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    wrapBuffer.putLong( start , min );
+    buffer[ start + PrimitiveByteLength.LONG_LENGTH ] = (byte)bitWidth;
+
+    int dataStart = start + HEADER_LENGTH;
+    int dataLength = (int)( ( (long)length * bitWidth + 7 ) / 8 );
+    for( int i = dataStart ; i < dataStart + dataLength ; i++ ){
+      buffer[i] = 0;
+    }
+    long bitPos = 0;
+    for( int i = 0 ; i < length ; i++ ){
+      long delta = values[i] - min;
+      int bit = 0;
+      while( bit < bitWidth ){
+        int byteIndex = dataStart + (int)( bitPos >>> 3 );
+        int bitOffset = (int)( bitPos & 7 );
+        int writeBits = Math.min( 8 - bitOffset , bitWidth - bit );
+        buffer[byteIndex] |= (byte)( ( ( delta >>> bit ) & ( ( 1 << writeBits ) - 1 ) ) << bitOffset );
+        bit += writeBits;
+        bitPos += writeBits;
+      }
+    }
+    return HEADER_LENGTH + dataLength;
+  }
+
+  @Override
+  public void decode( final byte[] buffer , final int start , final int binaryLength , final long[] result , final int length ){
+    long min = ByteBuffer.wrap( buffer ).getLong( start );
+    int bitWidth = buffer[ start + PrimitiveByteLength.LONG_LENGTH ] & 0xFF;
+    int dataStart = start + HEADER_LENGTH;
+    if( bitWidth == 0 ){
+      for( int i = 0 ; i < length ; i++ ){
+        result[i] = min;
+      }
+      return;
+    }
+    long bitPos = 0;
+    for( int i = 0 ; i < length ; i++ ){
+      long delta = 0;
+      int bit = 0;
+      while( bit < bitWidth ){
+        int byteIndex = dataStart + (int)( bitPos >>> 3 );
+        int bitOffset = (int)( bitPos & 7 );
+        int readBits = Math.min( 8 - bitOffset , bitWidth - bit );
+        long bits = ( ( buffer[byteIndex] & 0xFF ) >>> bitOffset ) & ( ( 1 << readBits ) - 1 );
+        delta |= bits << bit;
+        bit += readBits;
+        bitPos += readBits;
+      }
+      result[i] = min + delta;
+    }
+  }
+
+}
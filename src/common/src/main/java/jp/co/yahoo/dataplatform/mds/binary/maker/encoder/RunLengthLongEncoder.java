@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.encoder;
+
+import jp.co.yahoo.dataplatform.mds.binary.VarintUtil;
+
+public class RunLengthLongEncoder implements ILongEncoder{
+
+  @Override
+  public int calcBinarySize( final long[] values , final int length ){
+    int size = 0;
+    int i = 0;
+    while( i < length ){
+      long value = values[i];
+      int runLength = 1;
+      while( ( i + runLength ) < length && values[ i + runLength ] == value ){
+        runLength++;
+      }
+      size += VarintUtil.getVarintSize( VarintUtil.encodeZigZag( value ) ) + VarintUtil.getVarintSize( runLength );
+      i += runLength;
+    }
+    return size;
+  }
+
+  @Override
+  public int encode( final long[] values , final int length , final byte[] buffer , final int start ){
+    int offset = start;
+    int i = 0;
+    while( i < length ){
+      long value = values[i];
+      int runLength = 1;
+      while( ( i + runLength ) < length && values[ i + runLength ] == value ){
+        runLength++;
+      }
+      offset = VarintUtil.writeVarint( VarintUtil.encodeZigZag( value ) , buffer , offset );
+      offset = VarintUtil.writeVarint( runLength , buffer , offset );
+      i += runLength;
+    }
+    return offset - start;
+  }
+
+  @Override
+  public void decode( final byte[] buffer , final int start , final int binaryLength , final long[] result , final int length ){
+    int[] offset = new int[]{ start };
+    int i = 0;
+    while( i < length ){
+      long value = VarintUtil.decodeZigZag( VarintUtil.readVarint( buffer , offset ) );
+      int runEnd = i + (int)VarintUtil.readVarint( buffer , offset );
+      for( ; i < runEnd ; i++ ){
+        result[i] = value;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.index;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+
+import java.util.BitSet;
+import java.util.List;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IDicManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
+import jp.co.yahoo.dataplatform.mds.util.NumberOrderUtils;
+
+public class BufferDirectSequentialNumberCellIndex implements ICellIndex{
+
+  private final ColumnType columnType;
+  private final IDicManager dicManager;
+  private final DictionaryIndexSection indexSection;
+
+  public BufferDirectSequentialNumberCellIndex( final ColumnType columnType , final IDicManager dicManager , final IntBuffer dicIndexIntBuffer ){
+    this( columnType , dicManager , new DictionaryIndexSection( dicIndexIntBuffer ) );
+  }
+
+  public BufferDirectSequentialNumberCellIndex( final ColumnType columnType , final IDicManager dicManager , final DictionaryIndexSection indexSection ){
+    this.columnType = columnType;
+    this.dicManager = dicManager;
+    this.indexSection = indexSection;
+  }
+
+  @Override
+  public List<Integer> filter( final IFilter filter ) throws IOException{
+    return CollectionUtils.toList( filter( filter , new BitSet( indexSection.size() ) ) );
+  }
+
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    switch( filter.getFilterType() ){
+      case NUMBER:
+        NumberFilter numberFilter = (NumberFilter)filter;
+        if( ! isNumberObject( numberFilter.getNumberObject() ) ){
+          return null;
+        }
+        return toColumnBitSet( numberMatch( numberFilter ) , filterBitSet );
+      case NUMBER_RANGE:
+        NumberRangeFilter numberRangeFilter = (NumberRangeFilter)filter;
+        if( ( numberRangeFilter.getMinObject() != null && ! isNumberObject( numberRangeFilter.getMinObject() ) )
+            || ( numberRangeFilter.getMaxObject() != null && ! isNumberObject( numberRangeFilter.getMaxObject() ) ) ){
+          return null;
+        }
+        return toColumnBitSet( rangeMatch( numberRangeFilter ) , filterBitSet );
+      case NUMBER_SET:
+        return toColumnBitSet( setMatch( (NumberSetFilter)filter ) , filterBitSet );
+      default:
+        return null;
+    }
+  }
+
+  private BitSet toColumnBitSet( final boolean[] dicMatchArray , final BitSet filterBitSet ){
+    return indexSection.select( dicMatchArray , filterBitSet );
+  }
+
+  private boolean isIntegerColumn(){
+    switch( columnType ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isNumberObject( final PrimitiveObject obj ){
+    switch( obj.getPrimitiveType() ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private int compareNumber( final PrimitiveObject dicObj , final PrimitiveObject target ) throws IOException{
+    if( isIntegerColumn() ){
+      switch( target.getPrimitiveType() ){
+        case BYTE:
+        case SHORT:
+        case INTEGER:
+        case LONG:
+          return Long.compare( dicObj.getLong() , target.getLong() );
+        default:
+          break;
+      }
+    }
+    return NumberOrderUtils.compare( dicObj.getDouble() , target.getDouble() );
+  }
+
+  private boolean[] numberMatch( final NumberFilter filter ) throws IOException{
+    PrimitiveObject target = filter.getNumberObject();
+    int dicSize = dicManager.getDicSize();
+    boolean[] result = new boolean[dicSize];
+    for( int i = 1 ; i < dicSize ; i++ ){
+      int compare = compareNumber( dicManager.get( i ) , target );
+      switch( filter.getNumberFilterType() ){
+        case EQUAL:
+          result[i] = compare == 0;
+          break;
+        case NOT_EQUAL:
+          result[i] = compare != 0;
+          break;
+        case LT:
+          result[i] = compare < 0;
+          break;
+        case LE:
+          result[i] = compare <= 0;
+          break;
+        case GT:
+          result[i] = 0 < compare;
+          break;
+        case GE:
+          result[i] = 0 <= compare;
+          break;
+        default:
+          break;
+      }
+    }
+    return result;
+  }
+
+  private boolean[] rangeMatch( final NumberRangeFilter filter ) throws IOException{
+    int dicSize = dicManager.getDicSize();
+    boolean[] result = new boolean[dicSize];
+    for( int i = 1 ; i < dicSize ; i++ ){
+      PrimitiveObject dicObj = dicManager.get( i );
+      boolean isMatch = true;
+      if( filter.getMinObject() != null ){
+        int compare = compareNumber( dicObj , filter.getMinObject() );
+        isMatch = 0 < compare || ( compare == 0 && filter.isMinHasEquals() );
+      }
+      if( isMatch && filter.getMaxObject() != null ){
+        int compare = compareNumber( dicObj , filter.getMaxObject() );
+        isMatch = compare < 0 || ( compare == 0 && filter.isMaxHasEquals() );
+      }
+      result[i] = isMatch != filter.isInvert();
+    }
+    return result;
+  }
+
+  private boolean[] setMatch( final NumberSetFilter filter ) throws IOException{
+    int dicSize = dicManager.getDicSize();
+    boolean[] result = new boolean[dicSize];
+    for( int i = 1 ; i < dicSize ; i++ ){
+      PrimitiveObject dicObj = dicManager.get( i );
+      if( isIntegerColumn() ){
+        result[i] = filter.getLongSet().contains( Long.valueOf( dicObj.getLong() ) );
+      }
+      else{
+        result[i] = filter.containsDouble( dicObj.getDouble() );
+      }
+    }
+    return result;
+  }
+
+}
@@ -18,121 +18,178 @@
 package jp.co.yahoo.dataplatform.mds.binary.maker.index;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
 
+import java.util.BitSet;
 import java.util.List;
-import java.util.ArrayList;
 import java.util.Set;
 import java.util.HashSet;
 
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.IBytesLink;
+import jp.co.yahoo.dataplatform.mds.binary.UTF8BytesLinkObj;
 import jp.co.yahoo.dataplatform.mds.binary.maker.IDicManager;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
 import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
+import jp.co.yahoo.dataplatform.mds.util.UTF8BytesOrderUtils;
 
 public class BufferDirectSequentialStringCellIndex implements ICellIndex{
 
   private final IDicManager dicManager;
-  private final IntBuffer dicIndexIntBuffer;
+  private final DictionaryIndexSection indexSection;
+  private final DictionaryMatchCache matchCache;
+  private IBytesLink[] utf8DicArray;
 
   public BufferDirectSequentialStringCellIndex( final IDicManager dicManager , final IntBuffer dicIndexIntBuffer ){
+    this( dicManager , new DictionaryIndexSection( dicIndexIntBuffer ) );
+  }
+
+  public BufferDirectSequentialStringCellIndex( final IDicManager dicManager , final DictionaryIndexSection indexSection ){
+    this( dicManager , indexSection , new DictionaryMatchCache() );
+  }
+
+  public BufferDirectSequentialStringCellIndex( final IDicManager dicManager , final DictionaryIndexSection indexSection , final DictionaryMatchCache matchCache ){
     this.dicManager = dicManager;
-    this.dicIndexIntBuffer = dicIndexIntBuffer;
+    this.indexSection = indexSection;
+    this.matchCache = matchCache;
   }
 
   @Override
   public List<Integer> filter( final IFilter filter ) throws IOException{
+    return CollectionUtils.toList( filter( filter , new BitSet( indexSection.size() ) ) );
+  }
+
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
     switch( filter.getFilterType() ){
       case STRING:
         IStringFilter stringFilter = (IStringFilter)filter;
-        String targetStr = stringFilter.getSearchString(); 
         switch( stringFilter.getStringFilterType() ){
           case PERFECT:
-            return toColumnList( perfectMatch( targetStr ) );
           case PARTIAL:
-            return toColumnList( partialMatch( targetStr ) );
           case FORWARD:
-            return toColumnList( forwardMatch( targetStr ) );
           case BACKWARD:
-            return toColumnList( backwardMatch( targetStr ) );
           case REGEXP:
-            return toColumnList( regexpMatch( targetStr ) );
+            return toColumnBitSet( filter , filterBitSet );
           default:
             return null;
         }
+      case STRING_RANGE:
+      case STRING_SET:
+        return toColumnBitSet( filter , filterBitSet );
       default:
         return null;
     }
   }
 
-  private List<Integer> toColumnList( final Set<Integer> targetDicSet ){
-    if( targetDicSet.isEmpty() ){
-      return new ArrayList<Integer>();
-    }
-    int length = dicIndexIntBuffer.capacity();
-    List<Integer> result = new ArrayList<Integer>( length );
-    for( int i = 0 ; i < length ; i++ ){
-      Integer dicIndex = Integer.valueOf( dicIndexIntBuffer.get(i) );
-      if( targetDicSet.contains( dicIndex ) ){
-        result.add( Integer.valueOf( i ) );
+  private BitSet toColumnBitSet( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    boolean[] dicMatchArray = matchCache.get( filter );
+    if( dicMatchArray == null ){
+      switch( filter.getFilterType() ){
+        case STRING_RANGE:
+          dicMatchArray = rangeMatch( (StringRangeFilter)filter );
+          break;
+        case STRING_SET:
+          dicMatchArray = setMatch( (StringSetFilter)filter );
+          break;
+        default:
+          dicMatchArray = stringMatch( UTF8BytesMatcherFactory.get( (IStringFilter)filter ) );
+          break;
       }
+      matchCache.put( filter , dicMatchArray );
+    }
+    if( ! hasMatch( dicMatchArray ) ){
+      return filterBitSet;
     }
-    return result;
+    return indexSection.select( dicMatchArray , filterBitSet );
   }
 
-  private Set<Integer> perfectMatch( final String targetStr ) throws IOException{
-    Set<Integer> matchDicList = new HashSet<Integer>();
-    for( int i = 0 ; i < dicManager.getDicSize() ; i++ ){
-      if( targetStr.equals( dicManager.get( i ).getString() ) ){
-        matchDicList.add( Integer.valueOf( i ) );
+  private static boolean hasMatch( final boolean[] dicMatchArray ){
+    for( boolean isMatch : dicMatchArray ){
+      if( isMatch ){
+        return true;
       }
     }
-
-    return matchDicList;
+    return false;
   }
 
-  private Set<Integer> partialMatch( final String targetStr ) throws IOException{
-    Set<Integer> matchDicList = new HashSet<Integer>();
-    for( int i = 0 ; i < dicManager.getDicSize() ; i++ ){
-      if( ( -1 < dicManager.get( i ).getString().indexOf( targetStr) ) ){
-        matchDicList.add( Integer.valueOf( i ) );
+  private IBytesLink[] getUTF8Dictionary() throws IOException{
+    if( utf8DicArray == null ){
+      int dicSize = dicManager.getDicSize();
+      IBytesLink[] dicArray = new IBytesLink[dicSize];
+      for( int i = 0 ; i < dicSize ; i++ ){
+        PrimitiveObject obj = dicManager.get( i );
+        if( obj instanceof IBytesLink ){
+          dicArray[i] = (IBytesLink)obj;
+        }
+        else if( obj != null ){
+          byte[] bytes = obj.getString().getBytes( StandardCharsets.UTF_8 );
+          dicArray[i] = new UTF8BytesLinkObj( bytes , 0 , bytes.length );
+        }
       }
+      utf8DicArray = dicArray;
     }
-
-    return matchDicList;
+    return utf8DicArray;
   }
 
-  private Set<Integer> forwardMatch( final String targetStr ) throws IOException{
-    Set<Integer> matchDicList = new HashSet<Integer>();
-    for( int i = 0 ; i < dicManager.getDicSize() ; i++ ){
-      if( dicManager.get( i ).getString().startsWith( targetStr ) ){
-        matchDicList.add( Integer.valueOf( i ) );
+  private boolean[] stringMatch( final IUTF8BytesMatcher matcher ) throws IOException{
+    IBytesLink[] dicArray = getUTF8Dictionary();
+    boolean[] dicMatchArray = new boolean[ dicArray.length ];
+    for( int i = 0 ; i < dicArray.length ; i++ ){
+      IBytesLink link = dicArray[i];
+      if( link != null ){
+        dicMatchArray[i] = matcher.isMatch( link.getLinkBytes() , link.getStart() , link.getLength() );
       }
     }
-
-    return matchDicList;
+    return dicMatchArray;
   }
 
-  private Set<Integer> backwardMatch( final String targetStr ) throws IOException{
-    Set<Integer> matchDicList = new HashSet<Integer>();
-    for( int i = 0 ; i < dicManager.getDicSize() ; i++ ){
-      if( dicManager.get( i ).getString().endsWith( targetStr ) ){
-        matchDicList.add( Integer.valueOf( i ) );
+  private boolean[] rangeMatch( final StringRangeFilter filter ) throws IOException{
+    byte[] min = filter.getMin() == null ? null : filter.getMin().getBytes( StandardCharsets.UTF_8 );
+    byte[] max = filter.getMax() == null ? null : filter.getMax().getBytes( StandardCharsets.UTF_8 );
+    IBytesLink[] dicArray = getUTF8Dictionary();
+    boolean[] dicMatchArray = new boolean[ dicArray.length ];
+    for( int i = 1 ; i < dicArray.length ; i++ ){
+      IBytesLink link = dicArray[i];
+      if( link == null ){
+        continue;
       }
+      boolean isMatch = true;
+      if( min != null ){
+        int compare = UTF8BytesOrderUtils.compare( link.getLinkBytes() , link.getStart() , link.getLength() , min , 0 , min.length );
+        isMatch = 0 < compare || ( compare == 0 && filter.isMinHasEquals() );
+      }
+      if( isMatch && max != null ){
+        int compare = UTF8BytesOrderUtils.compare( link.getLinkBytes() , link.getStart() , link.getLength() , max , 0 , max.length );
+        isMatch = compare < 0 || ( compare == 0 && filter.isMaxHasEquals() );
+      }
+      dicMatchArray[i] = ( isMatch != filter.isInvert() );
     }
-
-    return matchDicList;
+    return dicMatchArray;
   }
 
-  private Set<Integer> regexpMatch( final String targetStr ) throws IOException{
-    Set<Integer> matchDicList = new HashSet<Integer>();
-    for( int i = 0 ; i < dicManager.getDicSize() ; i++ ){
-      if( dicManager.get( i ).getString().matches( targetStr ) ){
-        matchDicList.add( Integer.valueOf( i ) );
+  private boolean[] setMatch( final StringSetFilter filter ) throws IOException{
+    Set<ByteBuffer> targetSet = new HashSet<ByteBuffer>();
+    for( String target : filter.getStringSet() ){
+      targetSet.add( ByteBuffer.wrap( target.getBytes( StandardCharsets.UTF_8 ) ) );
+    }
+    IBytesLink[] dicArray = getUTF8Dictionary();
+    boolean[] dicMatchArray = new boolean[ dicArray.length ];
+    for( int i = 1 ; i < dicArray.length ; i++ ){
+      IBytesLink link = dicArray[i];
+      if( link != null ){
+        dicMatchArray[i] = targetSet.contains( ByteBuffer.wrap( link.getLinkBytes() , link.getStart() , link.getLength() ) );
       }
     }
-
-    return matchDicList;
+    return dicMatchArray;
   }
 
 }
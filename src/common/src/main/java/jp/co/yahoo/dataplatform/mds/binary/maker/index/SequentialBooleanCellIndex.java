@@ -19,13 +19,14 @@ package jp.co.yahoo.dataplatform.mds.binary.maker.index;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
-import java.util.ArrayList;
 
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.FilterType;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.BooleanFilter;
 import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 
 public class SequentialBooleanCellIndex implements ICellIndex{
 
@@ -37,6 +38,11 @@ public class SequentialBooleanCellIndex implements ICellIndex{
 
   @Override
   public List<Integer> filter( final IFilter filter ) throws IOException{
+    return CollectionUtils.toList( filter( filter , new BitSet( buffer.length ) ) );
+  }
+
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
     if( filter == null ){
       return null;
     }
@@ -48,13 +54,12 @@ public class SequentialBooleanCellIndex implements ICellIndex{
       else{
         target = 0;
       }
-      List<Integer> result = new ArrayList<Integer>();
       for( int i = 0 ; i < buffer.length ; i++ ){
         if( buffer[i] == target ){
-          result.add( Integer.valueOf( i ) );
+          filterBitSet.set( i );
         }
       }
-      return result;
+      return filterBitSet;
     }
     return null;
   }
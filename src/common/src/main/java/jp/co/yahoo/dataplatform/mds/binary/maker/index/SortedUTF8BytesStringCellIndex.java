@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.index;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.BitSet;
+import java.util.List;
+
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IDicManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
+import jp.co.yahoo.dataplatform.mds.util.UTF8BytesOrderUtils;
+
+public class SortedUTF8BytesStringCellIndex implements ICellIndex{
+
+  private final byte[] dicBuffer;
+  private final int[] dicStart;
+  private final int[] dicLength;
+  private final DictionaryIndexSection indexSection;
+  private final ICellIndex sequentialIndex;
+
+  public SortedUTF8BytesStringCellIndex( final IDicManager dicManager , final byte[] dicBuffer , final int[] dicStart , final int[] dicLength , final IntBuffer dicIndexIntBuffer ){
+    this( dicManager , dicBuffer , dicStart , dicLength , new DictionaryIndexSection( dicIndexIntBuffer ) );
+  }
+
+  public SortedUTF8BytesStringCellIndex( final IDicManager dicManager , final byte[] dicBuffer , final int[] dicStart , final int[] dicLength , final DictionaryIndexSection indexSection ){
+    this.dicBuffer = dicBuffer;
+    this.dicStart = dicStart;
+    this.dicLength = dicLength;
+    this.indexSection = indexSection;
+    sequentialIndex = new BufferDirectSequentialStringCellIndex( dicManager , indexSection );
+  }
+
+  public static int compareUTF8Bytes( final byte[] a , final int aStart , final int aLength , final byte[] b , final int bStart , final int bLength ){
+    return UTF8BytesOrderUtils.compare( a , aStart , aLength , b , bStart , bLength );
+  }
+
+  @Override
+  public List<Integer> filter( final IFilter filter ) throws IOException{
+    return CollectionUtils.toList( filter( filter , new BitSet( indexSection.size() ) ) );
+  }
+
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    switch( filter.getFilterType() ){
+      case STRING:
+        IStringFilter stringFilter = (IStringFilter)filter;
+        byte[] target = stringFilter.getSearchString().getBytes( StandardCharsets.UTF_8 );
+        switch( stringFilter.getStringFilterType() ){
+          case PERFECT:
+            return toColumnBitSet( lowerBound( target , false ) , upperBound( target , false ) , false , filterBitSet );
+          case FORWARD:
+            return toColumnBitSet( lowerBound( target , true ) , upperBound( target , true ) , false , filterBitSet );
+          default:
+            return sequentialIndex.filter( filter , filterBitSet );
+        }
+      case STRING_RANGE:
+        return rangeMatch( (StringRangeFilter)filter , filterBitSet );
+      case STRING_SET:
+        return setMatch( (StringSetFilter)filter , filterBitSet );
+      default:
+        return null;
+    }
+  }
+
+  private int compareEntry( final int dicIndex , final byte[] target , final boolean asPrefix ){
+    int length = dicLength[dicIndex];
+    if( asPrefix && target.length < length ){
+      length = target.length;
+    }
+    return compareUTF8Bytes( dicBuffer , dicStart[dicIndex] , length , target , 0 , target.length );
+  }
+
+  private int lowerBound( final byte[] target , final boolean asPrefix ){
+    int low = 1;
+    int high = dicStart.length;
+    while( low < high ){
+      int mid = ( low + high ) >>> 1;
+      if( compareEntry( mid , target , asPrefix ) < 0 ){
+        low = mid + 1;
+      }
+      else{
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int upperBound( final byte[] target , final boolean asPrefix ){
+    int low = 1;
+    int high = dicStart.length;
+    while( low < high ){
+      int mid = ( low + high ) >>> 1;
+      if( compareEntry( mid , target , asPrefix ) <= 0 ){
+        low = mid + 1;
+      }
+      else{
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private BitSet rangeMatch( final StringRangeFilter filter , final BitSet filterBitSet ){
+    int from = 1;
+    if( filter.getMin() != null ){
+      byte[] min = filter.getMin().getBytes( StandardCharsets.UTF_8 );
+      from = filter.isMinHasEquals() ? lowerBound( min , false ) : upperBound( min , false );
+    }
+    int to = dicStart.length;
+    if( filter.getMax() != null ){
+      byte[] max = filter.getMax().getBytes( StandardCharsets.UTF_8 );
+      to = filter.isMaxHasEquals() ? upperBound( max , false ) : lowerBound( max , false );
+    }
+    if( to < from ){
+      to = from;
+    }
+    return toColumnBitSet( from , to , filter.isInvert() , filterBitSet );
+  }
+
+  private BitSet setMatch( final StringSetFilter filter , final BitSet filterBitSet ){
+    boolean[] dicMatchArray = new boolean[ dicStart.length ];
+    boolean hasMatch = false;
+    for( String str : filter.getStringSet() ){
+      byte[] target = str.getBytes( StandardCharsets.UTF_8 );
+      int dicIndex = lowerBound( target , false );
+      if( dicIndex < dicStart.length && compareEntry( dicIndex , target , false ) == 0 ){
+        dicMatchArray[dicIndex] = true;
+        hasMatch = true;
+      }
+    }
+    if( ! hasMatch ){
+      return filterBitSet;
+    }
+    return indexSection.select( dicMatchArray , filterBitSet );
+  }
+
+  private BitSet toColumnBitSet( final int from , final int to , final boolean invert , final BitSet filterBitSet ){
+    if( from == to && ! invert ){
+      return filterBitSet;
+    }
+    boolean[] dicMatchArray = new boolean[ dicStart.length ];
+    for( int i = 1 ; i < dicMatchArray.length ; i++ ){
+      dicMatchArray[i] = ( from <= i && i < to ) != invert;
+    }
+    return indexSection.select( dicMatchArray , filterBitSet );
+  }
+
+}
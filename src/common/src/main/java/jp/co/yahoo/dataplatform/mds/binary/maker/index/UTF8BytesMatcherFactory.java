@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.RegexpMatchStringFilter;
+
+public final class UTF8BytesMatcherFactory{
+
+  private UTF8BytesMatcherFactory(){}
+
+  public static IUTF8BytesMatcher get( final IStringFilter filter ){
+    final byte[] target = filter.getSearchString().getBytes( StandardCharsets.UTF_8 );
+    switch( filter.getStringFilterType() ){
+      case PERFECT:
+        return ( buffer , start , length ) -> equals( buffer , start , length , target );
+      case PARTIAL:
+        return ( buffer , start , length ) -> -1 < indexOf( buffer , start , length , target );
+      case FORWARD:
+        return ( buffer , start , length ) -> startsWith( buffer , start , length , target );
+      case BACKWARD:
+        return ( buffer , start , length ) -> endsWith( buffer , start , length , target );
+      case REGEXP:
+        final Pattern pattern = ( (RegexpMatchStringFilter)filter ).getPattern();
+        return ( buffer , start , length ) -> pattern.matcher( new String( buffer , start , length , StandardCharsets.UTF_8 ) ).matches();
+      default:
+        return null;
+    }
+  }
+
+  public static boolean equals( final byte[] buffer , final int start , final int length , final byte[] target ){
+    if( length != target.length ){
+      return false;
+    }
+    return regionMatches( buffer , start , target , 0 , length );
+  }
+
+  public static boolean startsWith( final byte[] buffer , final int start , final int length , final byte[] target ){
+    if( length < target.length ){
+      return false;
+    }
+    return regionMatches( buffer , start , target , 0 , target.length );
+  }
+
+  public static boolean endsWith( final byte[] buffer , final int start , final int length , final byte[] target ){
+    if( length < target.length ){
+      return false;
+    }
+    return regionMatches( buffer , start + length - target.length , target , 0 , target.length );
+  }
+
+  public static int indexOf( final byte[] buffer , final int start , final int length , final byte[] target ){
+    if( target.length == 0 ){
+      return 0;
+    }
+    byte first = target[0];
+    int last = start + length - target.length;
+    for( int i = start ; i <= last ; i++ ){
+      if( buffer[i] != first ){
+        continue;
+      }
+      if( regionMatches( buffer , i + 1 , target , 1 , target.length - 1 ) ){
+        return i - start;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean regionMatches( final byte[] a , final int aStart , final byte[] b , final int bStart , final int length ){
+    for( int i = 0 ; i < length ; i++ ){
+      if( a[aStart + i] != b[bStart + i] ){
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import jp.co.yahoo.dataplatform.mds.util.ByteArrayData;
+import jp.co.yahoo.dataplatform.mds.util.InputStreamUtils;
+
+public class BlockReadAheadReader implements Runnable{
+
+  private static final ByteBuffer END_OF_BLOCK = ByteBuffer.allocate( 0 );
+  private static final ByteBuffer SKIP_BLOCK = ByteBuffer.allocate( 0 );
+  private static final long POLL_INTERVAL_MILLIS = 100;
+  private static final long CLOSE_WAIT_MILLIS = 1000;
+  private static final int HEADER_BUFFER_SIZE = 64 * 1024;
+
+  private final InputStream in;
+  private final long startOffset;
+  private final long[] blockStartArray;
+  private final int[] blockLengthArray;
+  private final IBlockSkipChecker skipChecker;
+  private final int maxBufferCount;
+  private final BlockingQueue<ByteBuffer> queue;
+  private final BlockingQueue<byte[]> freeBufferQueue;
+  private final Thread thread;
+
+  private volatile IOException readException;
+  private volatile boolean isClosed;
+  private volatile int bufferCount;
+  private int takeCount;
+
+  public BlockReadAheadReader( final InputStream in , final long startOffset , final long[] blockStartArray , final int[] blockLengthArray , final int depth ){
+    this( in , startOffset , blockStartArray , blockLengthArray , depth , null );
+  }
+
+  public BlockReadAheadReader( final InputStream in , final long startOffset , final long[] blockStartArray , final int[] blockLengthArray , final int depth , final IBlockSkipChecker skipChecker ){
+    this.in = in;
+    this.startOffset = startOffset;
+    this.blockStartArray = blockStartArray;
+    this.blockLengthArray = blockLengthArray;
+    this.skipChecker = skipChecker;
+    int queueSize = Math.max( 1 , depth );
+    maxBufferCount = queueSize + 2;
+    queue = new ArrayBlockingQueue<ByteBuffer>( queueSize );
+    freeBufferQueue = new ArrayBlockingQueue<byte[]>( maxBufferCount );
+    thread = new Thread( this , "mds-block-read-ahead" );
+    thread.setDaemon( true );
+  }
+
+  public void start(){
+    thread.start();
+  }
+
+  public int getBufferCount(){
+    return bufferCount;
+  }
+
+  private byte[] takeBuffer( final int length ) throws InterruptedException{
+    byte[] buffer = freeBufferQueue.poll();
+    if( buffer == null && bufferCount < maxBufferCount ){
+      bufferCount++;
+      buffer = new byte[length];
+    }
+    while( buffer == null && ! isClosed ){
+      buffer = freeBufferQueue.poll( POLL_INTERVAL_MILLIS , TimeUnit.MILLISECONDS );
+    }
+    if( buffer != null && buffer.length < length ){
+      buffer = new byte[length];
+    }
+    return buffer;
+  }
+
+  private boolean putBlock( final ByteBuffer blockBuffer ) throws InterruptedException{
+    while( ! isClosed ){
+      if( queue.offer( blockBuffer , POLL_INTERVAL_MILLIS , TimeUnit.MILLISECONDS ) ){
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void readBlocks() throws IOException , InterruptedException{
+    ByteArrayData header = new ByteArrayData( HEADER_BUFFER_SIZE );
+    long offset = startOffset;
+    for( int i = 0 ; i < blockStartArray.length && ! isClosed ; i++ ){
+      offset += InputStreamUtils.skip( in , blockStartArray[i] - offset );
+      int headerLength = 0;
+      if( skipChecker != null ){
+        header.clear();
+        boolean isSkip = skipChecker.canBlockSkip( in , header );
+        headerLength = header.getLength();
+        offset += headerLength;
+        if( isSkip ){
+          offset += InputStreamUtils.skip( in , blockLengthArray[i] - headerLength );
+          if( ! putBlock( SKIP_BLOCK ) ){
+            return;
+          }
+          continue;
+        }
+      }
+      byte[] buffer = takeBuffer( blockLengthArray[i] );
+      if( buffer == null ){
+        return;
+      }
+      if( 0 < headerLength ){
+        System.arraycopy( header.getBytes() , 0 , buffer , 0 , headerLength );
+      }
+      int readLength = headerLength + InputStreamUtils.read( in , buffer , headerLength , blockLengthArray[i] - headerLength );
+      offset += readLength - headerLength;
+      if( ! putBlock( ByteBuffer.wrap( buffer , 0 , readLength ) ) ){
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void run(){
+    try{
+      readBlocks();
+    }catch( IOException e ){
+      readException = e;
+    }catch( InterruptedException e ){
+      Thread.currentThread().interrupt();
+      readException = new IOException( e );
+    }
+    try{
+      putBlock( END_OF_BLOCK );
+    }catch( InterruptedException e ){
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public ByteBuffer next() throws IOException{
+    if( blockStartArray.length <= takeCount ){
+      throw new IOException( "All blocks have already been read." );
+    }
+    ByteBuffer blockBuffer;
+    try{
+      blockBuffer = queue.take();
+    }catch( InterruptedException e ){
+      Thread.currentThread().interrupt();
+      throw new IOException( e );
+    }
+    if( blockBuffer == END_OF_BLOCK ){
+      if( readException != null ){
+        throw readException;
+      }
+      throw new IOException( "Block read ahead thread finished unexpectedly." );
+    }
+    takeCount++;
+    if( blockBuffer == SKIP_BLOCK ){
+      return null;
+    }
+    return blockBuffer;
+  }
+
+  public void release( final ByteBuffer blockBuffer ){
+    if( blockBuffer != null ){
+      freeBufferQueue.offer( blockBuffer.array() );
+    }
+  }
+
+  public void close() throws IOException{
+    isClosed = true;
+    queue.clear();
+    try{
+      thread.join( CLOSE_WAIT_MILLIS );
+    }catch( InterruptedException e ){
+      Thread.currentThread().interrupt();
+      throw new IOException( e );
+    }
+    queue.clear();
+    freeBufferQueue.clear();
+  }
+
+}
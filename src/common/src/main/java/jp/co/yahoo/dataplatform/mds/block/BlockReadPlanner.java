@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import jp.co.yahoo.dataplatform.mds.stats.ReadIOStats;
+
+public class BlockReadPlanner{
+
+  private final int maxGapSize;
+  private final ReadIOStats readIOStats;
+
+  public BlockReadPlanner( final int maxGapSize , final ReadIOStats readIOStats ){
+    this.maxGapSize = Math.max( 0 , maxGapSize );
+    this.readIOStats = readIOStats;
+  }
+
+  public int getMaxGapSize(){
+    return maxGapSize;
+  }
+
+  public List<BlockReadOffset> plan( final List<BlockReadOffset> readOffsetList ){
+    List<BlockReadOffset> sortedList = new ArrayList<BlockReadOffset>( readOffsetList );
+    Collections.sort( sortedList );
+
+    List<BlockReadOffset> planList = new ArrayList<BlockReadOffset>();
+    long usedBytes = 0;
+    long requestBytes = 0;
+    int currentStart = 0;
+    int currentEnd = 0;
+    for( BlockReadOffset blockReadOffset : sortedList ){
+      if( blockReadOffset.length <= 0 ){
+        continue;
+      }
+      usedBytes += blockReadOffset.length;
+      int end = blockReadOffset.start + blockReadOffset.length;
+      if( currentStart != currentEnd && blockReadOffset.start <= (long)currentEnd + maxGapSize ){
+        currentEnd = Math.max( currentEnd , end );
+        continue;
+      }
+      if( currentStart != currentEnd ){
+        planList.add( new BlockReadOffset( currentStart , currentEnd - currentStart ) );
+        requestBytes += currentEnd - currentStart;
+      }
+      currentStart = blockReadOffset.start;
+      currentEnd = end;
+    }
+    if( currentStart != currentEnd ){
+      planList.add( new BlockReadOffset( currentStart , currentEnd - currentStart ) );
+      requestBytes += currentEnd - currentStart;
+    }
+    readIOStats.add( planList.size() , requestBytes , usedBytes );
+    return planList;
+  }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class BlockSourceInputStream extends InputStream{
+
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final IBlockSource source;
+  private final long length;
+  private final byte[] oneByte = new byte[1];
+  private final byte[] buffer;
+  private long position;
+  private long bufferStart;
+  private int bufferLength;
+
+  public BlockSourceInputStream( final IBlockSource source ) throws IOException{
+    this( source , DEFAULT_BUFFER_SIZE );
+  }
+
+  public BlockSourceInputStream( final IBlockSource source , final int bufferSize ) throws IOException{
+    this.source = source;
+    length = source.length();
+    buffer = new byte[ Math.max( 0 , bufferSize ) ];
+  }
+
+  public IBlockSource getSource(){
+    return source;
+  }
+
+  public long getPosition(){
+    return position;
+  }
+
+  @Override
+  public int read() throws IOException{
+    if( read( oneByte , 0 , 1 ) == -1 ){
+      return -1;
+    }
+    return oneByte[0] & 0xFF;
+  }
+
+  @Override
+  public int read( final byte[] readBuffer , final int offset , final int readLength ) throws IOException{
+    if( readLength == 0 ){
+      return 0;
+    }
+    if( length <= position ){
+      return -1;
+    }
+    int targetLength = (int)Math.min( (long)readLength , length - position );
+    int copyLength = copyFromBuffer( readBuffer , offset , targetLength );
+    if( copyLength == targetLength ){
+      return targetLength;
+    }
+    int remainingLength = targetLength - copyLength;
+    if( buffer.length <= remainingLength ){
+      source.readFully( position , readBuffer , offset + copyLength , remainingLength );
+      position += remainingLength;
+      return targetLength;
+    }
+    fillBuffer();
+    copyFromBuffer( readBuffer , offset + copyLength , remainingLength );
+    return targetLength;
+  }
+
+  private int copyFromBuffer( final byte[] dest , final int offset , final int copyLength ){
+    if( position < bufferStart || bufferStart + bufferLength <= position ){
+      return 0;
+    }
+    int bufferOffset = (int)( position - bufferStart );
+    int targetLength = Math.min( copyLength , bufferLength - bufferOffset );
+    System.arraycopy( buffer , bufferOffset , dest , offset , targetLength );
+    position += targetLength;
+    return targetLength;
+  }
+
+  private void fillBuffer() throws IOException{
+    int fillLength = (int)Math.min( (long)buffer.length , length - position );
+    bufferLength = 0;
+    source.readFully( position , buffer , 0 , fillLength );
+    bufferStart = position;
+    bufferLength = fillLength;
+  }
+
+  @Override
+  public long skip( final long skipLength ) throws IOException{
+    if( skipLength <= 0 || length <= position ){
+      return 0;
+    }
+    long targetLength = Math.min( skipLength , length - position );
+    position += targetLength;
+    return targetLength;
+  }
+
+  @Override
+  public int available() throws IOException{
+    return (int)Math.min( (long)Integer.MAX_VALUE , length - position );
+  }
+
+  @Override
+  public void close() throws IOException{
+    source.close();
+  }
+
+}
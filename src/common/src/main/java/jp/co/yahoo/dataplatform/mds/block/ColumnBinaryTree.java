@@ -30,10 +30,20 @@ import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnTypeFactory;
 import jp.co.yahoo.dataplatform.mds.util.ByteArrayData;
 import jp.co.yahoo.dataplatform.mds.binary.BinaryUtil;
+import jp.co.yahoo.dataplatform.mds.binary.VarintUtil;
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexFactory;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 
 public class ColumnBinaryTree{
 
+  public static final int COMPACT_META_MARKER = -2;
+
+  private static final byte COMPACT_META_NULL = (byte)0;
+  private static final byte COMPACT_META_COLUMN_BINARY = (byte)1;
+  private static final byte COMPACT_META_WITH_BLOCK_INDEX = (byte)2;
+  private static final int VARINT_BUFFER_SIZE = 10;
+  private static final int TREE_BUFFER_SIZE = 64 * 1024;
+
   private final List<ColumnBinary> currentColumnBinaryList = new ArrayList<ColumnBinary>();
   private final Map<String,ColumnBinaryTree> childTreeMap = new HashMap<String,ColumnBinaryTree>();
 
@@ -117,6 +127,34 @@ public class ColumnBinaryTree{
     return blockReadOffsetList;
   }
 
+  public List<BlockReadOffset> getColumnBinaryReadOffset(){
+    List<BlockReadOffset> blockReadOffsetList = new ArrayList<BlockReadOffset>();
+    int currentStart = 0;
+    int currentEnd = 0;
+    for( ColumnBinary columnBinary : currentColumnBinaryList ){
+      if( columnBinary == null || columnBinary.binaryLength == 0 ){
+        continue;
+      }
+      if( currentStart != currentEnd && columnBinary.binaryStart == currentEnd ){
+        currentEnd += columnBinary.binaryLength;
+        continue;
+      }
+      if( currentStart != currentEnd ){
+        blockReadOffsetList.add( new BlockReadOffset( currentStart , currentEnd - currentStart ) );
+      }
+      currentStart = columnBinary.binaryStart;
+      currentEnd = columnBinary.binaryStart + columnBinary.binaryLength;
+    }
+    if( currentStart != currentEnd ){
+      blockReadOffsetList.add( new BlockReadOffset( currentStart , currentEnd - currentStart ) );
+    }
+    for( Map.Entry<String,ColumnBinaryTree> entry : childTreeMap.entrySet() ){
+      blockReadOffsetList.addAll( entry.getValue().getColumnBinaryReadOffset() );
+    }
+
+    return blockReadOffsetList;
+  }
+
   public void setColumnFilter( final ColumnNameNode columnNameNode ){
     if( columnNameNode == null ){
       return;
@@ -124,6 +162,97 @@ public class ColumnBinaryTree{
     this.columnNameNode = columnNameNode;
   }
 
+  private boolean setChildColumnFilter( final ColumnBinaryTree childColumnBinary , final String childName , final boolean isNeedAllChild ){
+    if( isNeedAllChild ){
+      return true;
+    }
+    if( columnNameNode.containsChild( childName ) ){
+      childColumnBinary.setColumnFilter( columnNameNode.getChild( childName ) );
+      return true;
+    }
+    else if( ColumnTypeFactory.getColumnTypeFromName( childName ) != ColumnType.UNKNOWN ){
+      childColumnBinary.setColumnFilter( columnNameNode.getChild( childName ) );
+      return true;
+    }
+    ColumnNameNode childColumnNameNode = new ColumnNameNode( childName );
+    childColumnNameNode.setNeedAllChild( false );
+    childColumnBinary.setColumnFilter( childColumnNameNode );
+    return false;
+  }
+
+  public static boolean isCompactMeta( final byte[] metaBinary , final int start , final int length ){
+    return PrimitiveByteLength.INT_LENGTH <= length && ByteBuffer.wrap( metaBinary ).getInt( start ) == COMPACT_META_MARKER;
+  }
+
+  public int toColumnBinaryTreeFromCompactMeta( final byte[] metaBinary , final int start , final byte[] dataBuffer ) throws IOException{
+    int[] offset = new int[]{ start + PrimitiveByteLength.INT_LENGTH };
+    MetaStringTable stringTable = MetaStringTable.read( metaBinary , offset );
+    toColumnBinaryTreeFromCompactMeta( metaBinary , offset , dataBuffer , stringTable );
+    return offset[0];
+  }
+
+  private void toColumnBinaryTreeFromCompactMeta( final byte[] metaBinary , final int[] offset , final byte[] dataBuffer , final MetaStringTable stringTable ) throws IOException{
+    boolean isNeedAllChild = columnNameNode.isNeedAllChild();
+    int childSize = readInt( metaBinary , offset );
+    for( int i = 0 ; i < childSize ; i++ ){
+      String childName = stringTable.get( readInt( metaBinary , offset ) );
+      ColumnBinaryTree childColumnBinary = new ColumnBinaryTree();
+      boolean isAppend = setChildColumnFilter( childColumnBinary , childName , isNeedAllChild );
+      childColumnBinary.toColumnBinaryTreeFromCompactMeta( metaBinary , offset , dataBuffer , stringTable );
+      if( isAppend ){
+        childCount = childColumnBinary.size();
+        childTreeMap.put( childName , childColumnBinary );
+      }
+    }
+    allBinaryStart = readInt( metaBinary , offset );
+    allBinaryLength = readInt( metaBinary , offset );
+    int columnBinaryCount = readInt( metaBinary , offset );
+    for( int index = 0 ; index < columnBinaryCount ; index++ ){
+      currentCount++;
+      byte flag = metaBinary[offset[0]++];
+      if( flag == COMPACT_META_NULL ){
+        currentColumnBinaryList.add( null );
+        continue;
+      }
+      int makerId = readInt( metaBinary , offset );
+      String compressorClassName = stringTable.get( readInt( metaBinary , offset ) );
+      String columnName = stringTable.get( readInt( metaBinary , offset ) );
+      ColumnType columnType = ColumnTypeFactory.getColumnTypeFromByte( metaBinary[offset[0]++] );
+      int rowCount = readInt( metaBinary , offset );
+      int rawDataSize = readInt( metaBinary , offset );
+      int logicalDataSize = readInt( metaBinary , offset );
+      int cardinality = (int)VarintUtil.decodeZigZag( VarintUtil.readVarint( metaBinary , offset ) );
+      int binaryStart = readInt( metaBinary , offset );
+      int binaryLength = readInt( metaBinary , offset );
+
+      List<ColumnBinary> childList = new ArrayList<ColumnBinary>();
+      for( Map.Entry<String,ColumnBinaryTree> entry : childTreeMap.entrySet() ){
+        ColumnBinary childColumnBinary = entry.getValue().getColumnBinary( index );
+        if( childColumnBinary != null ){
+          childList.add( childColumnBinary );
+        }
+      }
+      ColumnBinary columnBinary = new ColumnBinary( stringTable.get( makerId ) , compressorClassName , columnName , columnType , rowCount , rawDataSize , logicalDataSize , cardinality , dataBuffer , binaryStart , binaryLength , childList );
+      columnBinary.maker = stringTable.getColumnBinaryMaker( makerId );
+      if( flag == COMPACT_META_WITH_BLOCK_INDEX ){
+        byte blockIndexTypeByte = metaBinary[offset[0]++];
+        int blockIndexLength = readInt( metaBinary , offset );
+        columnBinary.blockIndex = BlockIndexFactory.get( blockIndexTypeByte , metaBinary , offset[0] , blockIndexLength );
+        offset[0] += blockIndexLength;
+      }
+      currentColumnBinaryList.add( columnBinary );
+    }
+  }
+
+  private static int readInt( final byte[] metaBinary , final int[] offset ){
+    return (int)VarintUtil.readVarint( metaBinary , offset );
+  }
+
+  private static void writeInt( final ByteArrayData metaBuffer , final byte[] varintBuffer , final int value ){
+    int length = VarintUtil.writeVarint( value & 0xFFFFFFFFL , varintBuffer , 0 );
+    metaBuffer.append( varintBuffer , 0 , length );
+  }
+
   public int toColumnBinaryTree( final byte[] metaBinary , final int start , final byte[] dataBuffer ) throws IOException{
     return toColumnBinaryTree( metaBinary , start , dataBuffer , columnNameNode.isNeedAllChild() );
   }
@@ -139,26 +268,7 @@ public class ColumnBinaryTree{
       String childName = new String( metaBinary , offset , childNameLength );
       offset += childNameLength;
       ColumnBinaryTree childColumnBinary = new ColumnBinaryTree();
-      boolean isAppend = true;
-      if( isNeedAllChild ){
-        isAppend = true;
-      }
-      else{
-        if( columnNameNode.containsChild( childName ) ){
-          childColumnBinary.setColumnFilter( columnNameNode.getChild( childName ) );
-          isAppend = true;
-        }
-        else if( ColumnTypeFactory.getColumnTypeFromName( childName ) != ColumnType.UNKNOWN ){
-          childColumnBinary.setColumnFilter( columnNameNode.getChild( childName ) );
-          isAppend = true;
-        }
-        else{
-          ColumnNameNode childColumnNameNode = new ColumnNameNode( childName );
-          childColumnNameNode.setNeedAllChild( false );
-          childColumnBinary.setColumnFilter( childColumnNameNode );
-          isAppend = false;
-        }
-      }
+      boolean isAppend = setChildColumnFilter( childColumnBinary , childName , isNeedAllChild );
       offset = childColumnBinary.toColumnBinaryTree( metaBinary , offset , dataBuffer ); 
       if( isAppend ){
         childCount = childColumnBinary.size();
@@ -198,6 +308,83 @@ public class ColumnBinaryTree{
     return offset;
   }
 
+  public void createCompactMeta( final ByteArrayData metaBuffer , final ByteArrayData buffer ) throws IOException{
+    MetaStringTable stringTable = new MetaStringTable();
+    ByteArrayData treeBuffer = new ByteArrayData( TREE_BUFFER_SIZE );
+    createCompactMeta( treeBuffer , buffer , stringTable , new byte[VARINT_BUFFER_SIZE] );
+
+    byte[] markerBytes = new byte[PrimitiveByteLength.INT_LENGTH];
+    ByteBuffer.wrap( markerBytes ).putInt( COMPACT_META_MARKER );
+    metaBuffer.append( markerBytes );
+    stringTable.write( metaBuffer );
+    metaBuffer.append( treeBuffer );
+  }
+
+  private void createCompactMeta( final ByteArrayData metaBuffer , final ByteArrayData buffer , final MetaStringTable stringTable , final byte[] varintBuffer ) throws IOException{
+    writeInt( metaBuffer , varintBuffer , childTreeMap.size() );
+    for( Map.Entry<String,ColumnBinaryTree> entry : childTreeMap.entrySet() ){
+      writeInt( metaBuffer , varintBuffer , stringTable.getId( entry.getKey() ) );
+      entry.getValue().createCompactMeta( metaBuffer , buffer , stringTable , varintBuffer );
+    }
+
+    int allBinaryEnd = 0;
+    allBinaryStart = -1;
+    if( buffer != null ){
+      allBinaryStart = buffer.getLength();
+    }
+    for( ColumnBinary columnBinary : currentColumnBinaryList ){
+      if( columnBinary == null ){
+        continue;
+      }
+      if( buffer != null ){
+        int binaryStart = buffer.getLength();
+        buffer.append( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+        columnBinary.binaryStart = binaryStart;
+        columnBinary.binaryLength = buffer.getLength() - binaryStart;
+      }
+      if( allBinaryStart == -1 || columnBinary.binaryStart < allBinaryStart ){
+        allBinaryStart = columnBinary.binaryStart;
+      }
+      allBinaryEnd = Math.max( allBinaryEnd , columnBinary.binaryStart + columnBinary.binaryLength );
+    }
+    if( allBinaryStart == -1 ){
+      allBinaryStart = 0;
+    }
+    allBinaryLength = Math.max( 0 , allBinaryEnd - allBinaryStart );
+
+    writeInt( metaBuffer , varintBuffer , allBinaryStart );
+    writeInt( metaBuffer , varintBuffer , allBinaryLength );
+    writeInt( metaBuffer , varintBuffer , currentColumnBinaryList.size() );
+    for( ColumnBinary columnBinary : currentColumnBinaryList ){
+      if( columnBinary == null ){
+        metaBuffer.append( COMPACT_META_NULL );
+        continue;
+      }
+      metaBuffer.append( columnBinary.blockIndex == null ? COMPACT_META_COLUMN_BINARY : COMPACT_META_WITH_BLOCK_INDEX );
+      writeInt( metaBuffer , varintBuffer , stringTable.getId( columnBinary.makerClassName ) );
+      writeInt( metaBuffer , varintBuffer , stringTable.getId( columnBinary.compressorClassName ) );
+      writeInt( metaBuffer , varintBuffer , stringTable.getId( columnBinary.columnName ) );
+      metaBuffer.append( ColumnTypeFactory.getColumnTypeByte( columnBinary.columnType ) );
+      writeInt( metaBuffer , varintBuffer , columnBinary.rowCount );
+      writeInt( metaBuffer , varintBuffer , columnBinary.rawDataSize );
+      writeInt( metaBuffer , varintBuffer , columnBinary.logicalDataSize );
+      int cardinalityLength = VarintUtil.writeVarint( VarintUtil.encodeZigZag( columnBinary.cardinality ) , varintBuffer , 0 );
+      metaBuffer.append( varintBuffer , 0 , cardinalityLength );
+      writeInt( metaBuffer , varintBuffer , columnBinary.binaryStart );
+      writeInt( metaBuffer , varintBuffer , columnBinary.binaryLength );
+      if( columnBinary.blockIndex != null ){
+        byte[] blockIndexBinary = columnBinary.blockIndex.toBinary();
+        metaBuffer.append( BlockIndexFactory.getBlockIndexTypeByte( columnBinary.blockIndex.getBlockIndexType() ) );
+        writeInt( metaBuffer , varintBuffer , blockIndexBinary.length );
+        metaBuffer.append( blockIndexBinary );
+      }
+    }
+  }
+
+  public void createMeta( final ByteArrayData metaBuffer ) throws IOException{
+    create( metaBuffer , null );
+  }
+
   public void create( final ByteArrayData metaBuffer , final ByteArrayData buffer ) throws IOException{
     byte[] binaryOffsetMetaData = new byte[PrimitiveByteLength.INT_LENGTH * 3];
     if( ! currentColumnBinaryList.isEmpty() ){
@@ -205,7 +392,11 @@ public class ColumnBinaryTree{
       ByteBuffer wrapMetaBinaryBuffer = ByteBuffer.wrap( currentMetaBinary );
       int currentMetaBinaryOffset = 0;
 
-      allBinaryStart = buffer.getLength();
+      int allBinaryEnd = 0;
+      allBinaryStart = -1;
+      if( buffer != null ){
+        allBinaryStart = buffer.getLength();
+      }
       for( int i = 0 ; i < currentColumnBinaryList.size() ; i++ ){
         ColumnBinary columnBinary = currentColumnBinaryList.get(i); 
         wrapMetaBinaryBuffer.putInt( currentMetaBinaryOffset , i );
@@ -215,17 +406,26 @@ public class ColumnBinaryTree{
           currentMetaBinaryOffset+= PrimitiveByteLength.INT_LENGTH;
         }
         else{
-          int binaryStart = buffer.getLength();
-          buffer.append( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
-          int binaryLength = buffer.getLength() - binaryStart;
-          columnBinary.binaryStart = binaryStart;
-          columnBinary.binaryLength = binaryLength;
+          if( buffer != null ){
+            int binaryStart = buffer.getLength();
+            buffer.append( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+            int binaryLength = buffer.getLength() - binaryStart;
+            columnBinary.binaryStart = binaryStart;
+            columnBinary.binaryLength = binaryLength;
+          }
+          if( allBinaryStart == -1 || columnBinary.binaryStart < allBinaryStart ){
+            allBinaryStart = columnBinary.binaryStart;
+          }
+          allBinaryEnd = Math.max( allBinaryEnd , columnBinary.binaryStart + columnBinary.binaryLength );
           byte[] metaBinary = BinaryUtil.toLengthBytesBinary( columnBinary.toMetaBinary() );
           System.arraycopy( metaBinary , 0 , currentMetaBinary , currentMetaBinaryOffset , metaBinary.length );
           currentMetaBinaryOffset+=metaBinary.length;
         }
       }
-      allBinaryLength = buffer.getLength() - allBinaryStart;
+      if( allBinaryStart == -1 ){
+        allBinaryStart = 0;
+      }
+      allBinaryLength = Math.max( 0 , allBinaryEnd - allBinaryStart );
       binaryOffsetMetaData = new byte[ PrimitiveByteLength.INT_LENGTH * 3 + currentMetaBinary.length ];
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binaryOffsetMetaData );
       wrapBuffer.putInt( allBinaryStart );
@@ -20,6 +20,7 @@ package jp.co.yahoo.dataplatform.mds.block;
 import java.io.IOException;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import jp.co.yahoo.dataplatform.config.Configuration;
 
@@ -40,12 +41,16 @@ public interface IBlockMaker{
 
   int size();
 
+  int getBufferedSize();
+
   byte[] createFixedBlock() throws IOException;
 
   byte[] createVariableBlock() throws IOException;
 
   byte[] create( final int dataSize ) throws IOException;
 
+  Callable<byte[]> detachBlock( final int dataSize ) throws IOException;
+
   String getReaderClassName();
 
   void close() throws IOException;
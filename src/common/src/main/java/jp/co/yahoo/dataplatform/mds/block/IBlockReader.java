@@ -24,9 +24,11 @@ import java.util.List;
 
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
 import jp.co.yahoo.dataplatform.config.Configuration;
 
 import jp.co.yahoo.dataplatform.mds.stats.SummaryStats;
+import jp.co.yahoo.dataplatform.mds.stats.ReadIOStats;
 
 public interface IBlockReader{
 
@@ -34,6 +36,10 @@ public interface IBlockReader{
 
   void setBlockSize( final int blockSize );
 
+  void setBlockSkipIndex( final IExpressionNode blockSkipIndex );
+
+  IBlockSkipChecker createBlockSkipChecker();
+
   void setStream( final InputStream in , final int blockSize ) throws IOException;
 
   boolean hasNext() throws IOException;
@@ -48,6 +54,8 @@ public interface IBlockReader{
 
   SummaryStats getReadStats();
 
+  ReadIOStats getReadIOStats();
+
   Integer getCurrentSpreadSize();
 
   void close() throws IOException;
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+public class MappedFileBlockSource implements IBlockSource{
+
+  private static final long MAX_MAP_SIZE = Integer.MAX_VALUE;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer[] mappedBufferArray;
+  private final long length;
+
+  public MappedFileBlockSource( final File file ) throws IOException{
+    this( FileChannel.open( file.toPath() , StandardOpenOption.READ ) );
+  }
+
+  public MappedFileBlockSource( final FileChannel channel ) throws IOException{
+    this.channel = channel;
+    length = channel.size();
+    int mapCount = (int)( ( length + MAX_MAP_SIZE - 1 ) / MAX_MAP_SIZE );
+    mappedBufferArray = new MappedByteBuffer[mapCount];
+    for( int i = 0 ; i < mapCount ; i++ ){
+      long mapStart = i * MAX_MAP_SIZE;
+      mappedBufferArray[i] = channel.map( FileChannel.MapMode.READ_ONLY , mapStart , Math.min( MAX_MAP_SIZE , length - mapStart ) );
+    }
+  }
+
+  @Override
+  public long length(){
+    return length;
+  }
+
+  @Override
+  public void readFully( final long position , final byte[] buffer , final int offset , final int readLength ) throws IOException{
+    if( position < 0 || length < position + readLength ){
+      throw new IOException( "Read range is out of file. position=" + position + " length=" + readLength + " file length=" + length );
+    }
+    long currentPosition = position;
+    int currentOffset = offset;
+    int remaining = readLength;
+    while( 0 < remaining ){
+      ByteBuffer mappedBuffer = mappedBufferArray[ (int)( currentPosition / MAX_MAP_SIZE ) ].duplicate();
+      mappedBuffer.position( (int)( currentPosition % MAX_MAP_SIZE ) );
+      int copyLength = Math.min( remaining , mappedBuffer.remaining() );
+      mappedBuffer.get( buffer , currentOffset , copyLength );
+      currentPosition += copyLength;
+      currentOffset += copyLength;
+      remaining -= copyLength;
+    }
+  }
+
+  @Override
+  public void close() throws IOException{
+    channel.close();
+  }
+
+}
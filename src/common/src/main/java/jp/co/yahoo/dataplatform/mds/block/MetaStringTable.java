@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+
+import jp.co.yahoo.dataplatform.mds.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.VarintUtil;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.util.ByteArrayData;
+
+public class MetaStringTable{
+
+  private final Map<String,Integer> idMap = new HashMap<String,Integer>();
+  private final List<String> stringList = new ArrayList<String>();
+  private IColumnBinaryMaker[] makerArray = new IColumnBinaryMaker[0];
+
+  public int getId( final String str ){
+    Integer id = idMap.get( str );
+    if( id == null ){
+      id = Integer.valueOf( stringList.size() );
+      idMap.put( str , id );
+      stringList.add( str );
+    }
+    return id.intValue();
+  }
+
+  public String get( final int id ) throws IOException{
+    if( id < 0 || stringList.size() <= id ){
+      throw new IOException( "Invalid meta string id : " + id + " , string table size : " + stringList.size() );
+    }
+    return stringList.get( id );
+  }
+
+  public IColumnBinaryMaker getColumnBinaryMaker( final int id ) throws IOException{
+    String makerClassName = get( id );
+    if( makerArray.length <= id ){
+      IColumnBinaryMaker[] newMakerArray = new IColumnBinaryMaker[ stringList.size() ];
+      System.arraycopy( makerArray , 0 , newMakerArray , 0 , makerArray.length );
+      makerArray = newMakerArray;
+    }
+    if( makerArray[id] == null ){
+      makerArray[id] = FindColumnBinaryMaker.get( makerClassName );
+    }
+    return makerArray[id];
+  }
+
+  public int size(){
+    return stringList.size();
+  }
+
+  public void write( final ByteArrayData buffer ) throws IOException{
+    byte[] varintBuffer = new byte[VarintUtil.getVarintSize( Long.MAX_VALUE )];
+    int length = VarintUtil.writeVarint( stringList.size() , varintBuffer , 0 );
+    buffer.append( varintBuffer , 0 , length );
+    for( String str : stringList ){
+      byte[] strBytes = str.getBytes( StandardCharsets.UTF_8 );
+      length = VarintUtil.writeVarint( strBytes.length , varintBuffer , 0 );
+      buffer.append( varintBuffer , 0 , length );
+      buffer.append( strBytes );
+    }
+  }
+
+  public static MetaStringTable read( final byte[] buffer , final int[] offset ) throws IOException{
+    MetaStringTable stringTable = new MetaStringTable();
+    int size = (int)VarintUtil.readVarint( buffer , offset );
+    if( size < 0 ){
+      throw new IOException( "Invalid meta string table size : " + size );
+    }
+    for( int i = 0 ; i < size ; i++ ){
+      int length = (int)VarintUtil.readVarint( buffer , offset );
+      if( length < 0 || buffer.length < offset[0] + length ){
+        throw new IOException( "Invalid meta string length : " + length );
+      }
+      stringTable.stringList.add( new String( buffer , offset[0] , length , StandardCharsets.UTF_8 ) );
+      offset[0] += length;
+    }
+    return stringTable;
+  }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
+import jp.co.yahoo.dataplatform.mds.util.ByteArrayData;
+
+import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.INT_LENGTH;
+
+public class PredicateBlockCreator implements Callable<byte[]>{
+
+  private final ColumnBinaryTree columnTree;
+  private final List<Integer> spreadSizeList;
+  private final byte[] headerBytes;
+  private final byte[] sharedDictionaryBytes;
+  private final ICompressor compressor;
+  private final byte[] compressorNameBytes;
+  private final int metaBufferSize;
+  private final int binaryDataSize;
+  private final int dataSize;
+  private final boolean isCompactMeta;
+
+  public PredicateBlockCreator( final ColumnBinaryTree columnTree , final List<Integer> spreadSizeList , final byte[] headerBytes , final byte[] sharedDictionaryBytes , final ICompressor compressor , final byte[] compressorNameBytes , final int metaBufferSize , final int binaryDataSize , final int dataSize , final boolean isCompactMeta ){
+    this.columnTree = columnTree;
+    this.spreadSizeList = spreadSizeList;
+    this.headerBytes = headerBytes;
+    this.sharedDictionaryBytes = sharedDictionaryBytes;
+    this.compressor = compressor;
+    this.compressorNameBytes = compressorNameBytes;
+    this.metaBufferSize = metaBufferSize;
+    this.binaryDataSize = binaryDataSize;
+    this.dataSize = dataSize;
+    this.isCompactMeta = isCompactMeta;
+  }
+
+  @Override
+  public byte[] call() throws IOException{
+    return create();
+  }
+
+  public byte[] create() throws IOException{
+    ByteArrayData metaBuffer = new ByteArrayData( metaBufferSize );
+    ByteArrayData dataBuffer = new ByteArrayData( binaryDataSize );
+    if( isCompactMeta ){
+      columnTree.createCompactMeta( metaBuffer , dataBuffer );
+    }
+    else{
+      columnTree.create( metaBuffer , dataBuffer );
+    }
+    metaBuffer.append( sharedDictionaryBytes );
+
+    byte[] metaBinary = compressor.compress( metaBuffer.getBytes() , 0 , metaBuffer.getLength() );
+
+    byte[] result;
+    if( dataSize == -1 ){
+      result = new byte[ headerBytes.length + getBlockMetaLength( metaBinary ) + dataBuffer.getLength() ];
+    }
+    else{
+      result = new byte[dataSize];
+    }
+
+    int offset = 0;
+    System.arraycopy( headerBytes , 0 , result , offset , headerBytes.length );
+    offset += headerBytes.length;
+
+    offset = putBlockMeta( result , offset , metaBinary );
+    System.arraycopy( dataBuffer.getBytes() , 0 , result , offset , dataBuffer.getLength() );
+
+    columnTree.clear();
+    return result;
+  }
+
+  public byte[] createTrailer() throws IOException{
+    ByteArrayData metaBuffer = new ByteArrayData( metaBufferSize );
+    if( isCompactMeta ){
+      columnTree.createCompactMeta( metaBuffer , null );
+    }
+    else{
+      columnTree.createMeta( metaBuffer );
+    }
+    metaBuffer.append( sharedDictionaryBytes );
+
+    byte[] metaBinary = compressor.compress( metaBuffer.getBytes() , 0 , metaBuffer.getLength() );
+    int trailerLength = getBlockMetaLength( metaBinary );
+    byte[] trailer = new byte[ INT_LENGTH + trailerLength ];
+    ByteBuffer.wrap( trailer ).putInt( 0 , -trailerLength );
+    putBlockMeta( trailer , INT_LENGTH , metaBinary );
+
+    columnTree.clear();
+    return trailer;
+  }
+
+  private int getBlockMetaLength( final byte[] metaBinary ){
+    return INT_LENGTH + ( INT_LENGTH * spreadSizeList.size() ) + INT_LENGTH + compressorNameBytes.length + metaBinary.length;
+  }
+
+  private int putBlockMeta( final byte[] result , final int start , final byte[] metaBinary ){
+    int offset = start;
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.putInt( offset , spreadSizeList.size() );
+    offset += INT_LENGTH;
+    for( Integer spreadSize : spreadSizeList ){
+      wrapBuffer.putInt( offset , spreadSize.intValue() );
+      offset += INT_LENGTH;
+    }
+
+    if( compressorNameBytes.length == 0 ){
+      wrapBuffer.putInt( offset , metaBinary.length );
+      offset += INT_LENGTH;
+    }
+    else{
+      wrapBuffer.putInt( offset , -metaBinary.length );
+      offset += INT_LENGTH;
+      System.arraycopy( compressorNameBytes , 0 , result , offset , compressorNameBytes.length );
+      offset += compressorNameBytes.length;
+    }
+
+    System.arraycopy( metaBinary , 0 , result , offset , metaBinary.length );
+    offset += metaBinary.length;
+    return offset;
+  }
+
+}
@@ -18,14 +18,25 @@
 package jp.co.yahoo.dataplatform.mds.block;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.SharedDictionaryStringColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.SharedStringDictionaryBuilder;
 import jp.co.yahoo.dataplatform.config.Configuration;
 
 import jp.co.yahoo.dataplatform.schema.parser.IParser;
@@ -33,35 +44,66 @@ import jp.co.yahoo.dataplatform.schema.parser.JacksonMessageReader;
 
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
 import jp.co.yahoo.dataplatform.mds.compressor.GzipCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
 import jp.co.yahoo.dataplatform.mds.util.ByteArrayData;
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
 import jp.co.yahoo.dataplatform.mds.binary.maker.MakerCache;
+import jp.co.yahoo.dataplatform.mds.binary.maker.ColumnBinaryMakerTask;
+import jp.co.yahoo.dataplatform.mds.blockindex.BloomFilterBlockIndex;
 
 import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.INT_LENGTH;
+import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.CHAR_LENGTH;
 
-public class PredicateBlockMaker implements IBlockMaker{
+public class PredicateBlockMaker implements IStreamBlockMaker{
 
   private static final int META_BUFFER_SIZE = 1024 * 1024 * 1;
 
-  private final ICompressor compressor = new GzipCompressor();
   private final MakerCache makerCache = new MakerCache();
   private final List<Integer> spreadSizeList = new ArrayList<Integer>();
+  private final Set<String> bloomFilterColumnSet = new HashSet<String>();
+  private final Set<String> sharedDictionaryColumnSet = new HashSet<String>();
+  private final Map<String,SharedStringDictionaryBuilder> sharedDictionaryMap = new LinkedHashMap<String,SharedStringDictionaryBuilder>();
+  private final SharedDictionaryStringColumnBinaryMaker sharedDictionaryMaker = new SharedDictionaryStringColumnBinaryMaker();
 
   private ColumnBinaryMakerCustomConfigNode configNode;
-  private ByteArrayData dataBuffer;
-  private ByteArrayData metaBuffer;
   private int blockSize;
   private ColumnBinaryTree columnTree;
   private byte[] headerBytes;
   private int bufferSize;
+  private int binaryDataSize;
+  private ForkJoinPool encodePool;
+  private ICompressor compressor;
+  private byte[] compressorNameBytes;
+  private double bloomFilterFpp;
+  private int sharedDictionaryMaxSize;
+  private boolean isStreamWrite;
+  private boolean isCompactMeta;
+  private int streamDataLength;
+  private int sharedDictionaryGeneration;
+  private int convertedGeneration;
+  private Spread convertedSpread;
+  private List<ColumnBinary> sourceBinaryList;
+  private List<ColumnBinary> convertedBinaryList;
 
   @Override
   public void setup( final int blockSize , final Configuration config ) throws IOException{
     this.blockSize = blockSize;
     spreadSizeList.clear();
 
+    compressor = FindCompressor.get( config.get( "block.maker.meta.compressor.class" , GzipCompressor.class.getName() ) );
+    compressorNameBytes = new byte[0];
+    if( compressor.getClass() != GzipCompressor.class ){
+      String compressorClassName = compressor.getClass().getName();
+      compressorNameBytes = new byte[ INT_LENGTH + compressorClassName.length() * CHAR_LENGTH ];
+      ByteBuffer nameBuffer = ByteBuffer.wrap( compressorNameBytes );
+      nameBuffer.putInt( compressorClassName.length() * CHAR_LENGTH );
+      CharBuffer viewCharBuffer = nameBuffer.asCharBuffer();
+      viewCharBuffer.put( compressorClassName.toCharArray() );
+    }
+
     ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
     if( config.containsKey( "spread.column.maker.setting" ) ){
       JacksonMessageReader jsonReader = new JacksonMessageReader();
@@ -72,12 +114,50 @@ public class PredicateBlockMaker implements IBlockMaker{
       configNode = new ColumnBinaryMakerCustomConfigNode( "root" , defaultConfig );
     }
 
-    dataBuffer = new ByteArrayData( blockSize );
-    metaBuffer = new ByteArrayData( blockSize );
+    isStreamWrite = Boolean.parseBoolean( config.get( "block.stream.write" , "false" ) );
+    isCompactMeta = Boolean.parseBoolean( config.get( "block.maker.meta.compact" , "false" ) );
+    streamDataLength = 0;
+    binaryDataSize = 0;
     columnTree = new ColumnBinaryTree();
 
     bufferSize = 0;
     headerBytes = new byte[0];
+
+    bloomFilterColumnSet.clear();
+    for( String columnName : config.get( "spread.column.bloom.filter.columns" , "" ).split( "," ) ){
+      if( ! columnName.trim().isEmpty() ){
+        bloomFilterColumnSet.add( columnName.trim() );
+      }
+    }
+    bloomFilterFpp = Double.parseDouble( config.get( "spread.column.bloom.filter.fpp" , "0.01" ) );
+    if( bloomFilterFpp <= 0 || 1 <= bloomFilterFpp ){
+      throw new IOException( "spread.column.bloom.filter.fpp must be greater than 0 and less than 1 : " + bloomFilterFpp );
+    }
+
+    sharedDictionaryColumnSet.clear();
+    sharedDictionaryMap.clear();
+    for( String columnName : config.get( "spread.column.shared.dictionary.columns" , "" ).split( "," ) ){
+      if( ! columnName.trim().isEmpty() ){
+        sharedDictionaryColumnSet.add( columnName.trim() );
+      }
+    }
+    sharedDictionaryMaxSize = config.getInt( "spread.column.shared.dictionary.max.size" , 65536 );
+    if( sharedDictionaryMaxSize <= 1 ){
+      throw new IOException( "spread.column.shared.dictionary.max.size must be greater than 1 : " + sharedDictionaryMaxSize );
+    }
+
+    int encodeParallelism = config.getInt( "spread.column.maker.parallelism" , 0 );
+    shutdownEncodePool();
+    if( 0 < encodeParallelism ){
+      encodePool = new ForkJoinPool( encodeParallelism );
+    }
+  }
+
+  private void shutdownEncodePool(){
+    if( encodePool != null ){
+      encodePool.shutdownNow();
+      encodePool = null;
+    }
   }
 
   @Override
@@ -93,42 +173,213 @@ public class PredicateBlockMaker implements IBlockMaker{
     return length;
   }
 
+  private List<ColumnBinary> getAppendBinaryList( final List<ColumnBinary> binaryList ) throws IOException{
+    boolean isStale = convertedGeneration != sharedDictionaryGeneration && hasSharedDictionaryBinary( binaryList );
+    if( binaryList != sourceBinaryList ){
+      if( isStale ){
+        throw new IOException( "The shared dictionary referenced by this spread was written to the previous block." );
+      }
+      return binaryList;
+    }
+    if( isStale ){
+      convertedBinaryList = encodeRow( convertedSpread );
+      convertedGeneration = sharedDictionaryGeneration;
+    }
+    return convertedBinaryList;
+  }
+
   @Override
   public void append( final int spreadSize , final List<ColumnBinary> binaryList ) throws IOException{
-    bufferSize += getColumnBinarySize( binaryList ) + INT_LENGTH * 2;
+    if( isStreamWrite ){
+      throw new IOException( "append is not supported when block.stream.write is enabled. Use writeSpread." );
+    }
+    addSpread( spreadSize , getAppendBinaryList( binaryList ) );
+  }
+
+  private void addSpread( final int spreadSize , final List<ColumnBinary> appendBinaryList ) throws IOException{
+    bufferSize += getColumnBinarySize( appendBinaryList ) + INT_LENGTH * 2;
+    binaryDataSize += getBinaryDataLength( appendBinaryList );
     spreadSizeList.add( spreadSize );
 
-    columnTree.addChild( binaryList );
+    columnTree.addChild( appendBinaryList );
     if( blockSize <= size() ){
       throw new IOException( "Buffer overflow." );
     }
   }
 
+  private boolean hasSharedDictionaryBinary( final List<ColumnBinary> binaryList ){
+    if( sharedDictionaryColumnSet.isEmpty() ){
+      return false;
+    }
+    for( ColumnBinary columnBinary : binaryList ){
+      if( columnBinary != null && SharedDictionaryStringColumnBinaryMaker.class.getName().equals( columnBinary.makerClassName ) ){
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private ColumnBinary toSharedDictionaryBinary( final IColumn column , final ColumnBinaryMakerConfig commonConfig , final ColumnBinaryMakerCustomConfigNode childConfigNode ) throws IOException{
+    if( column.getColumnType() != ColumnType.STRING || ! sharedDictionaryColumnSet.contains( column.getColumnName() ) ){
+      return null;
+    }
+    SharedStringDictionaryBuilder dictionaryBuilder = sharedDictionaryMap.get( column.getColumnName() );
+    if( dictionaryBuilder == null ){
+      dictionaryBuilder = new SharedStringDictionaryBuilder();
+      sharedDictionaryMap.put( column.getColumnName() , dictionaryBuilder );
+    }
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if( childConfigNode != null ){
+      currentConfig = childConfigNode.getCurrentConfig();
+    }
+    return sharedDictionaryMaker.toBinary( currentConfig , column , dictionaryBuilder , sharedDictionaryMaxSize );
+  }
+
   @Override
   public List<ColumnBinary> convertRow( final Spread spread ) throws IOException{
+    List<ColumnBinary> result = encodeRow( spread );
+    convertedGeneration = sharedDictionaryGeneration;
+    convertedSpread = spread;
+    sourceBinaryList = result;
+    convertedBinaryList = result;
+    return result;
+  }
+
+  private List<ColumnBinary> encodeRow( final Spread spread ) throws IOException{
+    if( encodePool != null ){
+      return convertRowParallel( spread );
+    }
+    return convertRowSequential( spread );
+  }
+
+  private List<ColumnBinary> convertRowSequential( final Spread spread ) throws IOException{
     List<ColumnBinary> result = new ArrayList<ColumnBinary>();
     for( int i = 0 ; i < spread.getColumnSize() ; i++ ){
       IColumn column = spread.getColumn( i );
       ColumnBinaryMakerConfig commonConfig = configNode.getCurrentConfig();
       ColumnBinaryMakerCustomConfigNode childConfigNode = configNode.getChildConfigNode( column.getColumnName() );
+      ColumnBinary sharedDictionaryBinary = toSharedDictionaryBinary( column , commonConfig , childConfigNode );
+      if( sharedDictionaryBinary != null ){
+        result.add( sharedDictionaryBinary );
+        continue;
+      }
+      IColumnBinaryMaker maker = commonConfig.getColumnMaker( column.getColumnType() );
+      if( childConfigNode != null ){
+        maker = childConfigNode.getCurrentConfig().getColumnMaker( column.getColumnType() );
+      }
+      result.add( maker.toBinary( commonConfig , childConfigNode , column , makerCache.getChild( column.getColumnName() ) ) );
+    }
+    addBloomFilter( spread , result );
+    return result;
+  }
+
+  private void addBloomFilter( final Spread spread , final List<ColumnBinary> binaryList ) throws IOException{
+    if( bloomFilterColumnSet.isEmpty() ){
+      return;
+    }
+    for( int i = 0 ; i < spread.getColumnSize() ; i++ ){
+      IColumn column = spread.getColumn( i );
+      ColumnBinary columnBinary = binaryList.get( i );
+      if( columnBinary == null || ! bloomFilterColumnSet.contains( column.getColumnName() ) ){
+        continue;
+      }
+      BloomFilterBlockIndex bloomFilter = BloomFilterBlockIndex.create( column , columnBinary.blockIndex , bloomFilterFpp );
+      if( bloomFilter != null ){
+        columnBinary.blockIndex = bloomFilter;
+      }
+    }
+  }
+
+  private List<ColumnBinary> convertRowParallel( final Spread spread ) throws IOException{
+    List<ColumnBinaryMakerTask> taskList = new ArrayList<ColumnBinaryMakerTask>();
+    List<ColumnBinary> sharedDictionaryBinaryList = new ArrayList<ColumnBinary>();
+    for( int i = 0 ; i < spread.getColumnSize() ; i++ ){
+      IColumn column = spread.getColumn( i );
+      ColumnBinaryMakerConfig commonConfig = configNode.getCurrentConfig();
+      ColumnBinaryMakerCustomConfigNode childConfigNode = configNode.getChildConfigNode( column.getColumnName() );
+      ColumnBinary sharedDictionaryBinary = toSharedDictionaryBinary( column , commonConfig , childConfigNode );
+      sharedDictionaryBinaryList.add( sharedDictionaryBinary );
+      if( sharedDictionaryBinary != null ){
+        taskList.add( null );
+        continue;
+      }
       IColumnBinaryMaker maker = commonConfig.getColumnMaker( column.getColumnType() );
       if( childConfigNode != null ){
         maker = childConfigNode.getCurrentConfig().getColumnMaker( column.getColumnType() );
       }
-      result.add( maker.toBinary( commonConfig , childConfigNode , column , makerCache ) );
+      ColumnBinaryMakerTask task = new ColumnBinaryMakerTask( maker , commonConfig , childConfigNode , column , makerCache.getChild( column.getColumnName() ) );
+      encodePool.execute( task );
+      taskList.add( task );
+    }
+    List<ColumnBinary> result = new ArrayList<ColumnBinary>();
+    for( int i = 0 ; i < taskList.size() ; i++ ){
+      ColumnBinaryMakerTask task = taskList.get( i );
+      if( task == null ){
+        result.add( sharedDictionaryBinaryList.get( i ) );
+      }
+      else{
+        result.add( task.getColumnBinary() );
+      }
     }
+    addBloomFilter( spread , result );
     return result;
   }
 
   @Override
   public boolean canAppend( final List<ColumnBinary> binaryList ) throws IOException{
-    int length = getColumnBinarySize( binaryList );
+    int length = getColumnBinarySize( getAppendBinaryList( binaryList ) );
     return ( size() + length + INT_LENGTH + INT_LENGTH + ( INT_LENGTH * spreadSizeList.size() + 1 ) ) < blockSize;
   }
 
+  private int getSharedDictionarySize(){
+    if( sharedDictionaryMap.isEmpty() ){
+      return 0;
+    }
+    int length = INT_LENGTH;
+    for( Map.Entry<String,SharedStringDictionaryBuilder> entry : sharedDictionaryMap.entrySet() ){
+      length += INT_LENGTH + entry.getKey().getBytes( StandardCharsets.UTF_8 ).length + INT_LENGTH + entry.getValue().getBinarySize();
+    }
+    return length;
+  }
+
+  private void appendSharedDictionary( final ByteArrayData metaBuffer ) throws IOException{
+    if( sharedDictionaryMap.isEmpty() ){
+      return;
+    }
+    byte[] countBytes = new byte[INT_LENGTH];
+    ByteBuffer.wrap( countBytes ).putInt( sharedDictionaryMap.size() );
+    metaBuffer.append( countBytes );
+    for( Map.Entry<String,SharedStringDictionaryBuilder> entry : sharedDictionaryMap.entrySet() ){
+      byte[] nameBytes = entry.getKey().getBytes( StandardCharsets.UTF_8 );
+      byte[] dicBytes = entry.getValue().toBinary();
+      byte[] sectionBytes = new byte[ INT_LENGTH + nameBytes.length + INT_LENGTH + dicBytes.length ];
+      ByteBuffer sectionBuffer = ByteBuffer.wrap( sectionBytes );
+      sectionBuffer.putInt( nameBytes.length );
+      sectionBuffer.put( nameBytes );
+      sectionBuffer.putInt( dicBytes.length );
+      sectionBuffer.put( dicBytes );
+      metaBuffer.append( sectionBytes );
+    }
+  }
+
+  private void clearSharedDictionary(){
+    if( ! sharedDictionaryMap.isEmpty() ){
+      sharedDictionaryMap.clear();
+      sharedDictionaryGeneration++;
+    }
+  }
+
+  @Override
+  public int getBufferedSize(){
+    if( isStreamWrite ){
+      return bufferSize - binaryDataSize + getSharedDictionarySize();
+    }
+    return bufferSize + getSharedDictionarySize();
+  }
+
   @Override
   public int size(){
-    return headerBytes.length + bufferSize + META_BUFFER_SIZE;
+    return headerBytes.length + bufferSize + compressorNameBytes.length + META_BUFFER_SIZE + getSharedDictionarySize();
   }
 
   @Override
@@ -143,44 +394,108 @@ public class PredicateBlockMaker implements IBlockMaker{
 
   @Override
   public byte[] create( final int dataSize ) throws IOException{
-    columnTree.create( metaBuffer , dataBuffer );
-
-    byte[] metaBinary = compressor.compress( metaBuffer.getBytes() , 0 , metaBuffer.getLength() );
-
-    byte[] result;
-    if( dataSize == -1 ){
-      result = new byte[ headerBytes.length + dataBuffer.getLength() + metaBinary.length + INT_LENGTH + INT_LENGTH + ( INT_LENGTH * spreadSizeList.size() ) ];
-    }
-    else{
-      result = new byte[dataSize];
-    }
-
-    int offset = 0;
-    System.arraycopy( headerBytes , 0 , result , offset , headerBytes.length );
-    offset += headerBytes.length;
+    return detachBlock( dataSize ).create();
+  }
 
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
-    wrapBuffer.putInt( offset , spreadSizeList.size() );
-    offset += INT_LENGTH;
-    for( Integer spreadSize : spreadSizeList ){
-      wrapBuffer.putInt( offset , spreadSize.intValue() );
-      offset += INT_LENGTH;
+  @Override
+  public PredicateBlockCreator detachBlock( final int dataSize ) throws IOException{
+    if( isStreamWrite ){
+      throw new IOException( "create is not supported when block.stream.write is enabled. Use writeTrailer." );
     }
+    return detach( dataSize );
+  }
 
-    wrapBuffer.putInt( offset , metaBinary.length );
-    offset += INT_LENGTH;
+  private PredicateBlockCreator detach( final int dataSize ) throws IOException{
+    ByteArrayData sharedDictionaryBuffer = new ByteArrayData( getSharedDictionarySize() );
+    appendSharedDictionary( sharedDictionaryBuffer );
+    byte[] sharedDictionaryBytes = Arrays.copyOf( sharedDictionaryBuffer.getBytes() , sharedDictionaryBuffer.getLength() );
+    int metaBufferSize = bufferSize - binaryDataSize + sharedDictionaryBytes.length;
 
-    System.arraycopy( metaBinary , 0 , result , offset , metaBinary.length );
-    offset += metaBinary.length;
-    System.arraycopy( dataBuffer.getBytes() , 0 , result , offset , dataBuffer.getLength() );
+    PredicateBlockCreator creator = new PredicateBlockCreator( columnTree , new ArrayList<Integer>( spreadSizeList ) , headerBytes , sharedDictionaryBytes , compressor , compressorNameBytes , metaBufferSize , binaryDataSize , dataSize , isCompactMeta );
+    columnTree = new ColumnBinaryTree();
+    clearBlock();
+    return creator;
+  }
 
+  private void clearBlock(){
     spreadSizeList.clear();
-    dataBuffer.clear();
-    metaBuffer.clear();
     columnTree.clear();
+    clearSharedDictionary();
     headerBytes = new byte[0];
     bufferSize = 0;
-    return result;
+    binaryDataSize = 0;
+    streamDataLength = 0;
+  }
+
+  @Override
+  public boolean isStreamWrite(){
+    return isStreamWrite;
+  }
+
+  private int getBinaryDataLength( final List<ColumnBinary> binaryList ){
+    int length = 0;
+    for( ColumnBinary columnBinary : binaryList ){
+      if( columnBinary != null ){
+        length += columnBinary.binaryLength;
+        if( columnBinary.columnBinaryList != null ){
+          length += getBinaryDataLength( columnBinary.columnBinaryList );
+        }
+      }
+    }
+    return length;
+  }
+
+  private void writeStreamBinary( final List<ColumnBinary> binaryList , final OutputStream out ) throws IOException{
+    for( ColumnBinary columnBinary : binaryList ){
+      if( columnBinary == null ){
+        continue;
+      }
+      out.write( columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+      columnBinary.binaryStart = streamDataLength;
+      columnBinary.binary = null;
+      streamDataLength += columnBinary.binaryLength;
+      if( columnBinary.columnBinaryList != null ){
+        writeStreamBinary( columnBinary.columnBinaryList , out );
+      }
+    }
+  }
+
+  @Override
+  public int writeSpread( final int spreadSize , final List<ColumnBinary> binaryList , final OutputStream out ) throws IOException{
+    if( ! isStreamWrite ){
+      throw new IOException( "writeSpread requires block.stream.write=true." );
+    }
+    List<ColumnBinary> appendBinaryList = getAppendBinaryList( binaryList );
+    int chunkLength = getBinaryDataLength( appendBinaryList );
+    if( chunkLength != 0 && Integer.MAX_VALUE - streamDataLength < chunkLength ){
+      throw new IOException( "Buffer overflow." );
+    }
+    int writeLength = 0;
+    if( chunkLength != 0 ){
+      byte[] lengthBytes = new byte[INT_LENGTH];
+      ByteBuffer.wrap( lengthBytes ).putInt( chunkLength );
+      out.write( lengthBytes , 0 , lengthBytes.length );
+      writeStreamBinary( appendBinaryList , out );
+      writeLength = INT_LENGTH + chunkLength;
+    }
+    addSpread( spreadSize , appendBinaryList );
+    return writeLength;
+  }
+
+  @Override
+  public int writeTrailer( final OutputStream out ) throws IOException{
+    if( ! isStreamWrite ){
+      throw new IOException( "writeTrailer requires block.stream.write=true." );
+    }
+    int dataLength = streamDataLength;
+    byte[] trailer = detach( -1 ).createTrailer();
+    out.write( trailer , 0 , trailer.length );
+    byte[] tail = new byte[StreamBlockInputStream.TAIL_LENGTH];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( tail );
+    wrapBuffer.putInt( 0 , dataLength );
+    wrapBuffer.putInt( INT_LENGTH , trailer.length - INT_LENGTH );
+    out.write( tail , 0 , tail.length );
+    return trailer.length + tail.length;
   }
 
   @Override
@@ -191,10 +506,15 @@ public class PredicateBlockMaker implements IBlockMaker{
   @Override
   public void close() throws IOException{
     spreadSizeList.clear();
-    dataBuffer.clear();
-    metaBuffer.clear();
     columnTree.clear();
+    clearSharedDictionary();
+    convertedSpread = null;
+    sourceBinaryList = null;
+    convertedBinaryList = null;
     bufferSize = 0;
+    binaryDataSize = 0;
+    streamDataLength = 0;
+    shutdownEncodePool();
   }
 
 }
@@ -20,52 +20,78 @@ package jp.co.yahoo.dataplatform.mds.block;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
 import jp.co.yahoo.dataplatform.mds.binary.maker.DefaultPrimitiveObjectConnector;
 import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.SharedStringDictionary;
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexNode;
 import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
 import jp.co.yahoo.dataplatform.config.Configuration;
 
 import jp.co.yahoo.dataplatform.mds.spread.flatten.IFlattenFunction;
 import jp.co.yahoo.dataplatform.mds.spread.flatten.FlattenFunctionFactory;
 import jp.co.yahoo.dataplatform.mds.spread.expand.IExpandFunction;
 import jp.co.yahoo.dataplatform.mds.spread.expand.ExpandFunctionFactory;
+import jp.co.yahoo.dataplatform.mds.spread.expand.NotExpandFunction;
 import jp.co.yahoo.dataplatform.mds.compressor.ICompressor;
 import jp.co.yahoo.dataplatform.mds.compressor.GzipCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.FindCompressor;
 import jp.co.yahoo.dataplatform.mds.binary.maker.IPrimitiveObjectConnector;
 import jp.co.yahoo.dataplatform.mds.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.util.ByteArrayData;
 import jp.co.yahoo.dataplatform.mds.util.InputStreamUtils;
 import jp.co.yahoo.dataplatform.mds.stats.SummaryStats;
+import jp.co.yahoo.dataplatform.mds.stats.ReadIOStats;
 
 public class PredicateBlockReader implements IBlockReader{
 
   private final Block block;
-  private final ICompressor compressor = new GzipCompressor();
+  private final ICompressor defaultCompressor = new GzipCompressor();
   private final ColumnBinaryTree columnBinaryTree = new ColumnBinaryTree();
   private final List<Integer> spreadSizeList = new ArrayList<Integer>();
   private final SummaryStats readSummaryStats = new SummaryStats();
+  private final ReadIOStats readIOStats = new ReadIOStats();
 
   private IPrimitiveObjectConnector primitiveObjectConnector;
 
   private IExpandFunction expandFunction;
   private IFlattenFunction flattenFunction;
   private ColumnNameNode columnFilterNode;
+  private IExpressionNode blockSkipIndex;
+  private ExecutorService decompressExecutor;
+  private BlockReadPlanner readPlanner;
+  private boolean[] skipSpreadArray;
   private byte[] buffer;
   private byte[] metaBinary;
 
   private byte[] metaBytes;
   private int readCount;
+  private int currentSpreadIndex;
 
   public PredicateBlockReader(){
+    this( 1024*1024*16 );
+  }
+
+  private PredicateBlockReader( final int metaBufferSize ){
     block = new Block();
     buffer = new byte[0];
-    metaBytes = new byte[1024*1024*16];
+    skipSpreadArray = new boolean[0];
+    metaBytes = new byte[metaBufferSize];
   }
 
   private String[] mergeLinkColumnName( final String[] original , final String[] merge ){
@@ -85,6 +111,18 @@ public class PredicateBlockReader implements IBlockReader{
     expandFunction = ExpandFunctionFactory.get( config );
     flattenFunction = FlattenFunctionFactory.get( config );
 
+    readPlanner = new BlockReadPlanner( config.getInt( "spread.reader.read.merge.gap.size" , 0 ) , readIOStats );
+
+    int decompressThreadCount = config.getInt( "spread.reader.decompress.thread.count" , 0 );
+    shutdownDecompressExecutor();
+    if( 0 < decompressThreadCount ){
+      decompressExecutor = Executors.newFixedThreadPool( decompressThreadCount , runnable -> {
+        Thread thread = new Thread( runnable , "mds-column-decompress" );
+        thread.setDaemon( true );
+        return thread;
+      });
+    }
+
     columnFilterNode = new ColumnNameNode( "root" );
     List<String[]> needColumnList = ReadColumnUtil.readColumnSetting( config.get( "spread.reader.read.column.names" ) );
     for( String[] needColumn : needColumnList ){
@@ -136,71 +174,198 @@ public class PredicateBlockReader implements IBlockReader{
   }
 
   @Override
-  public void setStream( final InputStream in , final int blockSize ) throws IOException{
+  public void setBlockSkipIndex( final IExpressionNode blockSkipIndex ){
+    this.blockSkipIndex = blockSkipIndex;
+  }
+
+  private BlockIndexNode createBlockIndexNode( final List<ColumnBinary> columnBinaryList , final int spreadSize ){
+    BlockIndexNode rootNode = new BlockIndexNode();
+    for( ColumnBinary columnBinary : columnBinaryList ){
+      if( columnBinary == null ){
+        continue;
+      }
+      int nullCount = -1;
+      if( columnBinary.blockIndex != null ){
+        nullCount = spreadSize - columnBinary.rowCount;
+      }
+      BlockIndexNode childNode = new BlockIndexNode( columnBinary.blockIndex , nullCount );
+      addChildBlockIndexNode( childNode , columnBinary.columnBinaryList );
+      rootNode.putChildNode( columnBinary.columnName , childNode );
+    }
+    return rootNode;
+  }
+
+  private void addChildBlockIndexNode( final BlockIndexNode parentNode , final List<ColumnBinary> columnBinaryList ){
+    if( columnBinaryList == null ){
+      return;
+    }
+    for( ColumnBinary columnBinary : columnBinaryList ){
+      if( columnBinary == null ){
+        continue;
+      }
+      BlockIndexNode childNode = new BlockIndexNode( columnBinary.blockIndex , -1 );
+      addChildBlockIndexNode( childNode , columnBinary.columnBinaryList );
+      parentNode.putChildNode( columnBinary.columnName , childNode );
+    }
+  }
+
+  private int setSkipSpread() throws IOException{
+    int spreadCount = block.size();
+    if( skipSpreadArray.length < spreadCount ){
+      skipSpreadArray = new boolean[spreadCount];
+    }
+    Arrays.fill( skipSpreadArray , false );
+    if( blockSkipIndex == null || flattenFunction.isFlatten() || ! ( expandFunction instanceof NotExpandFunction ) ){
+      return 0;
+    }
+    int skipCount = 0;
+    for( int i = 0 ; i < spreadCount ; i++ ){
+      BlockIndexNode blockIndexNode = createBlockIndexNode( block.get( i ) , spreadSizeList.get( i ).intValue() );
+      if( blockSkipIndex.canBlockSkip( blockIndexNode ) ){
+        skipSpreadArray[i] = true;
+        skipCount++;
+      }
+    }
+    return skipCount;
+  }
+
+  private void setSharedDictionary( final byte[] metaBinary , final int start ) throws IOException{
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( metaBinary );
+    int offset = start;
+    int dictionaryCount = wrapBuffer.getInt( offset );
+    offset += PrimitiveByteLength.INT_LENGTH;
+    Map<String,SharedStringDictionary> dictionaryMap = new HashMap<String,SharedStringDictionary>();
+    for( int i = 0 ; i < dictionaryCount ; i++ ){
+      int nameLength = wrapBuffer.getInt( offset );
+      offset += PrimitiveByteLength.INT_LENGTH;
+      String columnName = new String( metaBinary , offset , nameLength , StandardCharsets.UTF_8 );
+      offset += nameLength;
+      int dicLength = wrapBuffer.getInt( offset );
+      offset += PrimitiveByteLength.INT_LENGTH;
+      byte[] dicBinary = Arrays.copyOfRange( metaBinary , offset , offset + dicLength );
+      offset += dicLength;
+      dictionaryMap.put( columnName , new SharedStringDictionary( dicBinary , 0 , dicLength ) );
+    }
+    for( int i = 0 ; i < block.size() ; i++ ){
+      for( ColumnBinary columnBinary : block.get( i ) ){
+        if( columnBinary != null ){
+          columnBinary.sharedDictionary = dictionaryMap.get( columnBinary.columnName );
+        }
+      }
+    }
+  }
+
+  private void skipSpread(){
+    while( readCount < block.size() && skipSpreadArray[readCount] ){
+      readCount++;
+    }
+  }
+
+  private static void readHeaderBytes( final InputStream in , final byte[] bytes , final int length , final ByteArrayData header ) throws IOException{
+    InputStreamUtils.read( in , bytes , 0 , length );
+    if( header != null ){
+      header.append( bytes , 0 , length );
+    }
+  }
+
+  private int readBlockMeta( final InputStream in , final ByteArrayData header ) throws IOException{
     spreadSizeList.clear();
     columnBinaryTree.clear();
     columnBinaryTree.setColumnFilter( columnFilterNode );
-    if( buffer.length < blockSize ){
-      buffer = new byte[blockSize];
-    }
 
     byte[] spreadSizeLengthBytes = new byte[PrimitiveByteLength.INT_LENGTH];
     ByteBuffer wrapBuffer = ByteBuffer.wrap( spreadSizeLengthBytes );
-    InputStreamUtils.read( in , spreadSizeLengthBytes , 0 , PrimitiveByteLength.INT_LENGTH );
+    readHeaderBytes( in , spreadSizeLengthBytes , PrimitiveByteLength.INT_LENGTH , header );
     int spreadSizeLength = wrapBuffer.getInt(0);
 
     byte[] spreadSizeBytes = new byte[ PrimitiveByteLength.INT_LENGTH * spreadSizeLength ];
     wrapBuffer = ByteBuffer.wrap( spreadSizeBytes );
-    InputStreamUtils.read( in , spreadSizeBytes , 0 , PrimitiveByteLength.INT_LENGTH * spreadSizeLength );
+    readHeaderBytes( in , spreadSizeBytes , PrimitiveByteLength.INT_LENGTH * spreadSizeLength , header );
     for( int i = 0 ; i < spreadSizeLength ; i++ ){
       spreadSizeList.add( wrapBuffer.getInt() );
     }
 
     byte[] lengthBytes = new byte[PrimitiveByteLength.INT_LENGTH];
     wrapBuffer = ByteBuffer.wrap( lengthBytes );
-    InputStreamUtils.read( in , lengthBytes , 0 , PrimitiveByteLength.INT_LENGTH );
+    readHeaderBytes( in , lengthBytes , PrimitiveByteLength.INT_LENGTH , header );
 
     int metaLength = wrapBuffer.getInt( 0 );
+    ICompressor compressor = defaultCompressor;
+    int compressorNameLength = 0;
+    if( metaLength < 0 ){
+      metaLength = -metaLength;
+      readHeaderBytes( in , lengthBytes , PrimitiveByteLength.INT_LENGTH , header );
+      int classNameLength = wrapBuffer.getInt( 0 );
+      byte[] classNameBytes = new byte[classNameLength];
+      readHeaderBytes( in , classNameBytes , classNameLength , header );
+      char[] classNameChars = new char[ classNameLength / PrimitiveByteLength.CHAR_LENGTH ];
+      ByteBuffer.wrap( classNameBytes ).asCharBuffer().get( classNameChars );
+      compressor = FindCompressor.get( new String( classNameChars ) );
+      compressorNameLength = PrimitiveByteLength.INT_LENGTH + classNameLength;
+    }
     if( metaBytes.length < metaLength ){
       metaBytes = new byte[metaLength];
     }
 
-    InputStreamUtils.read( in , metaBytes , 0 , metaLength );
+    readHeaderBytes( in , metaBytes , metaLength , header );
 
     int decompressSize = compressor.getDecompressSize( metaBytes , 0 , metaLength );
     if( metaBinary == null || metaBinary.length < decompressSize ){
       metaBinary = new byte[decompressSize];
     }
     int binaryLength = compressor.decompressAndSet(  metaBytes , 0 , metaLength , metaBinary );
-    columnBinaryTree.toColumnBinaryTree( metaBinary , 0 , buffer );
+    int metaOffset;
+    if( ColumnBinaryTree.isCompactMeta( metaBinary , 0 , binaryLength ) ){
+      metaOffset = columnBinaryTree.toColumnBinaryTreeFromCompactMeta( metaBinary , 0 , buffer );
+    }
+    else{
+      metaOffset = columnBinaryTree.toColumnBinaryTree( metaBinary , 0 , buffer );
+    }
 
     block.setColumnBinaryTree( columnBinaryTree );
+    if( metaOffset < binaryLength ){
+      setSharedDictionary( metaBinary , metaOffset );
+    }
+    return metaLength + compressorNameLength + PrimitiveByteLength.INT_LENGTH + PrimitiveByteLength.INT_LENGTH + PrimitiveByteLength.INT_LENGTH * spreadSizeLength;
+  }
 
-    int dataBufferLength = blockSize - metaLength - PrimitiveByteLength.INT_LENGTH - PrimitiveByteLength.INT_LENGTH - PrimitiveByteLength.INT_LENGTH * spreadSizeLength;
-    if( columnFilterNode.isChildEmpty() ){
+  private boolean canBlockSkip( final InputStream in , final ByteArrayData header ) throws IOException{
+    readBlockMeta( in , header );
+    return setSkipSpread() == block.size();
+  }
+
+  @Override
+  public IBlockSkipChecker createBlockSkipChecker(){
+    if( blockSkipIndex == null || flattenFunction.isFlatten() || ! ( expandFunction instanceof NotExpandFunction ) ){
+      return null;
+    }
+    PredicateBlockReader checker = new PredicateBlockReader( 0 );
+    checker.primitiveObjectConnector = primitiveObjectConnector;
+    checker.expandFunction = expandFunction;
+    checker.flattenFunction = flattenFunction;
+    checker.columnFilterNode = columnFilterNode;
+    checker.blockSkipIndex = blockSkipIndex;
+    return checker::canBlockSkip;
+  }
+
+  @Override
+  public void setStream( final InputStream in , final int blockSize ) throws IOException{
+    if( buffer.length < blockSize ){
+      buffer = new byte[blockSize];
+    }
+    int headerLength = readBlockMeta( in , null );
+    readCount = 0;
+
+    int dataBufferLength = blockSize - headerLength;
+    if( setSkipSpread() == block.size() ){
+      InputStreamUtils.skip( in , dataBufferLength );
+    }
+    else if( columnFilterNode.isChildEmpty() ){
       InputStreamUtils.read( in , buffer , 0 , dataBufferLength );
+      readIOStats.add( 1 , dataBufferLength , dataBufferLength );
     }
     else{
-      List<BlockReadOffset> readOffsetList = columnBinaryTree.getBlockReadOffset();
-      List<BlockReadOffset> margeList = new ArrayList<BlockReadOffset>();
-      int currentStart = 0;
-      int totalLength = 0;
-      Collections.sort( readOffsetList );
-      for( BlockReadOffset blockReadOffset : readOffsetList ){
-        if( ( currentStart + totalLength ) == blockReadOffset.start ){
-          totalLength += blockReadOffset.length;
-        }
-        else{
-          if( totalLength != 0 ){
-            margeList.add( new BlockReadOffset( currentStart , totalLength ) );
-          }
-          currentStart = blockReadOffset.start;
-          totalLength = blockReadOffset.length;
-        }
-      }
-      if( totalLength != 0 ){
-        margeList.add( new BlockReadOffset( currentStart , totalLength ) );
-      }
+      List<BlockReadOffset> margeList = readPlanner.plan( columnBinaryTree.getColumnBinaryReadOffset() );
 
       int inOffset = 0;
       for( BlockReadOffset blockReadOffset : margeList ){
@@ -213,7 +378,7 @@ public class PredicateBlockReader implements IBlockReader{
       }
     }
 
-    readCount = 0;
+    skipSpread();
   }
 
   @Override
@@ -224,25 +389,59 @@ public class PredicateBlockReader implements IBlockReader{
   @Override
   public Spread next() throws IOException{
     Spread spread = new Spread();
+    currentSpreadIndex = readCount;
     int spreadSize = spreadSizeList.get( readCount ).intValue();
+    List<IColumn> columnList = new ArrayList<IColumn>();
     for( ColumnBinary columnBinary : block.get( readCount ) ){
       if( columnBinary != null ){
-        IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
-        spread.addColumn( maker.toColumn( columnBinary , primitiveObjectConnector ) );
+        IColumnBinaryMaker maker = FindColumnBinaryMaker.getFromColumnBinary( columnBinary );
+        IColumn column = maker.toColumn( columnBinary , primitiveObjectConnector );
+        spread.addColumn( column );
+        columnList.add( column );
         readSummaryStats.marge( columnBinary.toSummaryStats() );
       }
     }
     spread.setRowCount( spreadSize );
+    if( decompressExecutor != null ){
+      createColumnParallel( columnList );
+    }
 
     readCount++;
+    skipSpread();
     Spread expandSpread = expandFunction.expand( spread );
     return flattenFunction.flatten( expandSpread );
   }
 
+  private void createColumnParallel( final List<IColumn> columnList ) throws IOException{
+    List<Future<Integer>> futureList = new ArrayList<Future<Integer>>();
+    for( IColumn column : columnList ){
+      futureList.add( decompressExecutor.submit( () -> column.size() ) );
+    }
+    for( Future<Integer> future : futureList ){
+      try{
+        future.get();
+      }catch( InterruptedException e ){
+        Thread.currentThread().interrupt();
+        throw new IOException( e );
+      }catch( ExecutionException e ){
+        throw new IOException( e.getCause() );
+      }
+    }
+  }
+
+  private void shutdownDecompressExecutor(){
+    if( decompressExecutor != null ){
+      decompressExecutor.shutdownNow();
+      decompressExecutor = null;
+    }
+  }
+
   @Override
   public List<ColumnBinary> nextRaw() throws IOException{
+    currentSpreadIndex = readCount;
     List<ColumnBinary> columnBinaryList = block.get( readCount );
     readCount++;
+    skipSpread();
     return columnBinaryList;
   }
 
@@ -261,13 +460,19 @@ public class PredicateBlockReader implements IBlockReader{
     return readSummaryStats;
   }
 
+  @Override
+  public ReadIOStats getReadIOStats(){
+    return readIOStats;
+  }
+
   @Override
   public Integer getCurrentSpreadSize(){
-    return spreadSizeList.get( readCount - 1 );
+    return spreadSizeList.get( currentSpreadIndex );
   }
 
   @Override
   public void close() throws IOException{
+    shutdownDecompressExecutor();
   }
 
 }
@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.INT_LENGTH;
+
+public class StreamBlockInputStream extends InputStream{
+
+  public static final int TAIL_LENGTH = INT_LENGTH + INT_LENGTH;
+
+  private final IBlockSource source;
+  private final byte[] blockBytes;
+  private final byte[] oneByte = new byte[1];
+  private final byte[] chunkLengthBytes = new byte[INT_LENGTH];
+  private final byte[] trailer;
+  private final int length;
+  private final long dataEnd;
+  private long dataPosition;
+  private int chunkRemaining;
+  private int position;
+
+  public StreamBlockInputStream( final IBlockSource source , final long blockStart , final int blockLength ) throws IOException{
+    this( source , null , blockStart , blockLength );
+  }
+
+  public StreamBlockInputStream( final byte[] blockBytes , final int blockStart , final int blockLength ) throws IOException{
+    this( null , blockBytes , blockStart , blockLength );
+  }
+
+  private StreamBlockInputStream( final IBlockSource source , final byte[] blockBytes , final long blockStart , final int blockLength ) throws IOException{
+    this.source = source;
+    this.blockBytes = blockBytes;
+    if( blockLength < INT_LENGTH + TAIL_LENGTH ){
+      throw new IOException( "Invalid stream block." );
+    }
+    byte[] tail = new byte[TAIL_LENGTH];
+    readBlock( blockStart + blockLength - TAIL_LENGTH , tail , 0 , TAIL_LENGTH );
+    ByteBuffer tailBuffer = ByteBuffer.wrap( tail );
+    int dataLength = tailBuffer.getInt( 0 );
+    int trailerLength = tailBuffer.getInt( INT_LENGTH );
+    dataEnd = blockStart + blockLength - TAIL_LENGTH - trailerLength - INT_LENGTH;
+    if( dataLength < 0 || trailerLength <= 0 || dataEnd < blockStart || dataEnd - blockStart < dataLength ){
+      throw new IOException( "Invalid stream block." );
+    }
+
+    readBlock( dataEnd , chunkLengthBytes , 0 , INT_LENGTH );
+    if( ByteBuffer.wrap( chunkLengthBytes ).getInt( 0 ) != -trailerLength ){
+      throw new IOException( "Invalid stream block." );
+    }
+    trailer = new byte[trailerLength];
+    readBlock( dataEnd + INT_LENGTH , trailer , 0 , trailerLength );
+
+    length = trailerLength + dataLength;
+    dataPosition = blockStart;
+  }
+
+  public int getLength(){
+    return length;
+  }
+
+  private void readBlock( final long blockPosition , final byte[] buffer , final int offset , final int readLength ) throws IOException{
+    if( source != null ){
+      source.readFully( blockPosition , buffer , offset , readLength );
+    }
+    else{
+      System.arraycopy( blockBytes , (int)blockPosition , buffer , offset , readLength );
+    }
+  }
+
+  private void nextChunk() throws IOException{
+    if( dataEnd < dataPosition + INT_LENGTH ){
+      throw new IOException( "Invalid stream block." );
+    }
+    readBlock( dataPosition , chunkLengthBytes , 0 , INT_LENGTH );
+    dataPosition += INT_LENGTH;
+    chunkRemaining = ByteBuffer.wrap( chunkLengthBytes ).getInt( 0 );
+    if( chunkRemaining <= 0 || dataEnd < dataPosition + chunkRemaining ){
+      throw new IOException( "Invalid stream block." );
+    }
+  }
+
+  @Override
+  public int read() throws IOException{
+    if( read( oneByte , 0 , 1 ) == -1 ){
+      return -1;
+    }
+    return oneByte[0] & 0xFF;
+  }
+
+  @Override
+  public int read( final byte[] readBuffer , final int offset , final int readLength ) throws IOException{
+    if( readLength == 0 ){
+      return 0;
+    }
+    if( length <= position ){
+      return -1;
+    }
+    int targetLength = Math.min( readLength , length - position );
+    int readOffset = 0;
+    if( position < trailer.length ){
+      int copyLength = Math.min( targetLength , trailer.length - position );
+      System.arraycopy( trailer , position , readBuffer , offset , copyLength );
+      position += copyLength;
+      readOffset += copyLength;
+    }
+    while( readOffset < targetLength ){
+      if( chunkRemaining == 0 ){
+        nextChunk();
+      }
+      int copyLength = Math.min( targetLength - readOffset , chunkRemaining );
+      readBlock( dataPosition , readBuffer , offset + readOffset , copyLength );
+      dataPosition += copyLength;
+      chunkRemaining -= copyLength;
+      position += copyLength;
+      readOffset += copyLength;
+    }
+    return targetLength;
+  }
+
+  @Override
+  public long skip( final long skipLength ) throws IOException{
+    if( skipLength <= 0 || length <= position ){
+      return 0;
+    }
+    int targetLength = (int)Math.min( skipLength , (long)( length - position ) );
+    if( position + targetLength == length ){
+      position = length;
+      return targetLength;
+    }
+    int skipOffset = 0;
+    if( position < trailer.length ){
+      int trailerSkipLength = Math.min( targetLength , trailer.length - position );
+      position += trailerSkipLength;
+      skipOffset += trailerSkipLength;
+    }
+    while( skipOffset < targetLength ){
+      if( chunkRemaining == 0 ){
+        nextChunk();
+      }
+      int chunkSkipLength = Math.min( targetLength - skipOffset , chunkRemaining );
+      dataPosition += chunkSkipLength;
+      chunkRemaining -= chunkSkipLength;
+      position += chunkSkipLength;
+      skipOffset += chunkSkipLength;
+    }
+    return targetLength;
+  }
+
+  @Override
+  public int available(){
+    return length - position;
+  }
+
+}
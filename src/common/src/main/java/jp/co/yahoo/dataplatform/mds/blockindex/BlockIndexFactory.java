@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blockindex;
+
+import java.io.IOException;
+
+public final class BlockIndexFactory{
+
+  public static final byte B__UNKNOWN = 0;
+  public static final byte B__LONG_RANGE = 1;
+  public static final byte B__DOUBLE_RANGE = 2;
+  public static final byte B__STRING_RANGE = 3;
+  public static final byte B__BLOOM_FILTER = 4;
+
+  private BlockIndexFactory(){}
+
+  public static byte getBlockIndexTypeByte( final BlockIndexType blockIndexType ){
+    switch( blockIndexType ){
+      case LONG_RANGE:
+        return B__LONG_RANGE;
+      case DOUBLE_RANGE:
+        return B__DOUBLE_RANGE;
+      case STRING_RANGE:
+        return B__STRING_RANGE;
+      case BLOOM_FILTER:
+        return B__BLOOM_FILTER;
+      default:
+        return B__UNKNOWN;
+    }
+  }
+
+  public static IBlockIndex get( final byte blockIndexTypeByte , final byte[] buffer , final int start , final int length ) throws IOException{
+    switch( blockIndexTypeByte ){
+      case B__LONG_RANGE:
+        return LongRangeBlockIndex.fromBinary( buffer , start , length );
+      case B__DOUBLE_RANGE:
+        return DoubleRangeBlockIndex.fromBinary( buffer , start , length );
+      case B__STRING_RANGE:
+        return StringRangeBlockIndex.fromBinary( buffer , start , length );
+      case B__BLOOM_FILTER:
+        return BloomFilterBlockIndex.fromBinary( buffer , start , length );
+      default:
+        return null;
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blockindex;
+
+import java.io.IOException;
+
+import java.util.Map;
+import java.util.HashMap;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+
+public class BlockIndexNode{
+
+  private final Map<String,BlockIndexNode> childNodeMap = new HashMap<String,BlockIndexNode>();
+  private final IBlockIndex blockIndex;
+  private final int nullCount;
+
+  public BlockIndexNode(){
+    this( null , -1 );
+  }
+
+  public BlockIndexNode( final IBlockIndex blockIndex , final int nullCount ){
+    this.blockIndex = blockIndex;
+    this.nullCount = nullCount;
+  }
+
+  public IBlockIndex getBlockIndex(){
+    return blockIndex;
+  }
+
+  public int getNullCount(){
+    return nullCount;
+  }
+
+  public void putChildNode( final String columnName , final BlockIndexNode childNode ){
+    childNodeMap.put( columnName , childNode );
+  }
+
+  public BlockIndexNode getChildNode( final String columnName ){
+    return childNodeMap.get( columnName );
+  }
+
+  public boolean canBlockSkip( final IFilter filter ) throws IOException{
+    switch( filter.getFilterType() ){
+      case NULL:
+        return nullCount == 0;
+      default:
+        if( blockIndex == null ){
+          return false;
+        }
+        return blockIndex.canBlockSkip( filter );
+    }
+  }
+
+}
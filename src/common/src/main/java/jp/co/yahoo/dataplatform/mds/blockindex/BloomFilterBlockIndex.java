@@ -0,0 +1,299 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blockindex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.Set;
+import java.util.HashSet;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+
+import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.BYTE_LENGTH;
+import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.INT_LENGTH;
+import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.LONG_LENGTH;
+
+public class BloomFilterBlockIndex implements IBlockIndex{
+
+  private static final long SECOND_HASH_SEED = 0x9e3779b97f4a7c15L;
+
+  private final IBlockIndex rangeIndex;
+  private final boolean isNumber;
+  private final int hashCount;
+  private final long[] bits;
+  private final long bitSize;
+
+  public BloomFilterBlockIndex( final IBlockIndex rangeIndex , final boolean isNumber , final int expectedCount , final double fpp ){
+    this( rangeIndex , isNumber , getHashCount( expectedCount , getBitSize( expectedCount , fpp ) ) , new long[ (int)( getBitSize( expectedCount , fpp ) / Long.SIZE ) ] );
+  }
+
+  private BloomFilterBlockIndex( final IBlockIndex rangeIndex , final boolean isNumber , final int hashCount , final long[] bits ){
+    this.rangeIndex = rangeIndex;
+    this.isNumber = isNumber;
+    this.hashCount = hashCount;
+    this.bits = bits;
+    bitSize = (long)bits.length * Long.SIZE;
+  }
+
+  public static long getBitSize( final int expectedCount , final double fpp ){
+    double bitSize = -1 * Math.max( 1 , expectedCount ) * Math.log( fpp ) / ( Math.log( 2 ) * Math.log( 2 ) );
+    long words = (long)Math.ceil( bitSize / Long.SIZE );
+    return Math.max( 1 , Math.min( words , Integer.MAX_VALUE / Long.SIZE ) ) * Long.SIZE;
+  }
+
+  public static int getHashCount( final int expectedCount , final long bitSize ){
+    return Math.max( 1 , (int)Math.round( (double)bitSize / Math.max( 1 , expectedCount ) * Math.log( 2 ) ) );
+  }
+
+  public static BloomFilterBlockIndex create( final IColumn column , final IBlockIndex rangeIndex , final double fpp ) throws IOException{
+    boolean isNumber;
+    switch( column.getColumnType() ){
+      case STRING:
+        isNumber = false;
+        break;
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        isNumber = true;
+        break;
+      default:
+        return null;
+    }
+    Set<Object> valueSet = new HashSet<Object>();
+    for( int i = 0 ; i < column.size() ; i++ ){
+      ICell cell = column.get(i);
+      if( cell.getType() == ColumnType.NULL ){
+        continue;
+      }
+      PrimitiveObject obj = ( (PrimitiveCell)cell ).getRow();
+      if( isNumber ){
+        valueSet.add( Long.valueOf( obj.getLong() ) );
+      }
+      else{
+        valueSet.add( obj.getString() );
+      }
+    }
+    if( valueSet.isEmpty() ){
+      return null;
+    }
+    BloomFilterBlockIndex result = new BloomFilterBlockIndex( rangeIndex , isNumber , valueSet.size() , fpp );
+    for( Object value : valueSet ){
+      if( isNumber ){
+        result.add( ( (Long)value ).longValue() );
+      }
+      else{
+        result.add( (String)value );
+      }
+    }
+    return result;
+  }
+
+  public IBlockIndex getRangeIndex(){
+    return rangeIndex;
+  }
+
+  public boolean isNumber(){
+    return isNumber;
+  }
+
+  public void add( final String value ){
+    addHash( hash( value ) );
+  }
+
+  public void add( final long value ){
+    addHash( hash( value ) );
+  }
+
+  public boolean mightContain( final String value ){
+    return mightContainHash( hash( value ) );
+  }
+
+  public boolean mightContain( final long value ){
+    return mightContainHash( hash( value ) );
+  }
+
+  private static long mix( final long value ){
+    long k = value;
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+
+  private static long hash( final String value ){
+    byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+    long h = 0xcbf29ce484222325L;
+    for( byte b : bytes ){
+      h ^= b & 0xFF;
+      h *= 0x100000001b3L;
+    }
+    return mix( h ^ bytes.length );
+  }
+
+  private static long hash( final long value ){
+    return mix( value );
+  }
+
+  private void addHash( final long hash ){
+    long secondHash = mix( hash + SECOND_HASH_SEED ) | 1;
+    long combined = hash;
+    for( int i = 0 ; i < hashCount ; i++ ){
+      long bitIndex = ( combined & Long.MAX_VALUE ) % bitSize;
+      bits[ (int)( bitIndex >>> 6 ) ] |= 1L << bitIndex;
+      combined += secondHash;
+    }
+  }
+
+  private boolean mightContainHash( final long hash ){
+    long secondHash = mix( hash + SECOND_HASH_SEED ) | 1;
+    long combined = hash;
+    for( int i = 0 ; i < hashCount ; i++ ){
+      long bitIndex = ( combined & Long.MAX_VALUE ) % bitSize;
+      if( ( bits[ (int)( bitIndex >>> 6 ) ] & ( 1L << bitIndex ) ) == 0 ){
+        return false;
+      }
+      combined += secondHash;
+    }
+    return true;
+  }
+
+  private static boolean isIntegerObject( final PrimitiveObject obj ){
+    switch( obj.getPrimitiveType() ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public BlockIndexType getBlockIndexType(){
+    return BlockIndexType.BLOOM_FILTER;
+  }
+
+  @Override
+  public int getBinarySize() throws IOException{
+    int rangeIndexSize = 0;
+    if( rangeIndex != null ){
+      rangeIndexSize = rangeIndex.getBinarySize();
+    }
+    return BYTE_LENGTH + INT_LENGTH + INT_LENGTH + LONG_LENGTH * bits.length + BYTE_LENGTH + INT_LENGTH + rangeIndexSize;
+  }
+
+  @Override
+  public byte[] toBinary() throws IOException{
+    byte[] result = new byte[getBinarySize()];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.put( isNumber ? (byte)1 : (byte)0 );
+    wrapBuffer.putInt( hashCount );
+    wrapBuffer.putInt( bits.length );
+    for( long word : bits ){
+      wrapBuffer.putLong( word );
+    }
+    if( rangeIndex == null ){
+      wrapBuffer.put( BlockIndexFactory.B__UNKNOWN );
+      wrapBuffer.putInt( 0 );
+    }
+    else{
+      byte[] rangeIndexBinary = rangeIndex.toBinary();
+      wrapBuffer.put( BlockIndexFactory.getBlockIndexTypeByte( rangeIndex.getBlockIndexType() ) );
+      wrapBuffer.putInt( rangeIndexBinary.length );
+      wrapBuffer.put( rangeIndexBinary );
+    }
+    return result;
+  }
+
+  @Override
+  public boolean canBlockSkip( final IFilter filter ) throws IOException{
+    if( rangeIndex != null && rangeIndex.canBlockSkip( filter ) ){
+      return true;
+    }
+    switch( filter.getFilterType() ){
+      case STRING:
+        IStringFilter stringFilter = (IStringFilter)filter;
+        if( isNumber || stringFilter.getStringFilterType() != StringFilterType.PERFECT ){
+          return false;
+        }
+        return ! mightContain( stringFilter.getSearchString() );
+      case STRING_SET:
+        if( isNumber ){
+          return false;
+        }
+        for( String value : ( (StringSetFilter)filter ).getStringSet() ){
+          if( mightContain( value ) ){
+            return false;
+          }
+        }
+        return true;
+      case NUMBER:
+        NumberFilter numberFilter = (NumberFilter)filter;
+        PrimitiveObject numberObj = numberFilter.getNumberObject();
+        if( ! isNumber || numberFilter.getNumberFilterType() != NumberFilterType.EQUAL || ! isIntegerObject( numberObj ) ){
+          return false;
+        }
+        return ! mightContain( numberObj.getLong() );
+      case NUMBER_SET:
+        if( ! isNumber ){
+          return false;
+        }
+        for( Long value : ( (NumberSetFilter)filter ).getLongSet() ){
+          if( mightContain( value.longValue() ) ){
+            return false;
+          }
+        }
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  public static BloomFilterBlockIndex fromBinary( final byte[] buffer , final int start , final int length ) throws IOException{
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    boolean isNumber = wrapBuffer.get() == (byte)1;
+    int hashCount = wrapBuffer.getInt();
+    long[] bits = new long[ wrapBuffer.getInt() ];
+    for( int i = 0 ; i < bits.length ; i++ ){
+      bits[i] = wrapBuffer.getLong();
+    }
+    byte rangeIndexTypeByte = wrapBuffer.get();
+    int rangeIndexLength = wrapBuffer.getInt();
+    IBlockIndex rangeIndex = BlockIndexFactory.get( rangeIndexTypeByte , buffer , wrapBuffer.position() , rangeIndexLength );
+    return new BloomFilterBlockIndex( rangeIndex , isNumber , hashCount , bits );
+  }
+
+}
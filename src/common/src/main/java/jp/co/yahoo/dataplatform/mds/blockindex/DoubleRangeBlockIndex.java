@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blockindex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+
+import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.DOUBLE_LENGTH;
+
+public class DoubleRangeBlockIndex implements IBlockIndex{
+
+  private final double min;
+  private final double max;
+
+  public DoubleRangeBlockIndex( final double min , final double max ){
+    this.min = min;
+    this.max = max;
+  }
+
+  public double getMin(){
+    return min;
+  }
+
+  public double getMax(){
+    return max;
+  }
+
+  @Override
+  public BlockIndexType getBlockIndexType(){
+    return BlockIndexType.DOUBLE_RANGE;
+  }
+
+  @Override
+  public int getBinarySize() throws IOException{
+    return DOUBLE_LENGTH * 2;
+  }
+
+  @Override
+  public byte[] toBinary() throws IOException{
+    byte[] result = new byte[getBinarySize()];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.putDouble( min );
+    wrapBuffer.putDouble( max );
+    return result;
+  }
+
+  @Override
+  public boolean canBlockSkip( final IFilter filter ) throws IOException{
+    switch( filter.getFilterType() ){
+      case NUMBER:
+        NumberFilter numberFilter = (NumberFilter)filter;
+        PrimitiveObject numberObj = numberFilter.getNumberObject();
+        switch( numberObj.getPrimitiveType() ){
+          case BYTE:
+          case SHORT:
+          case INTEGER:
+          case LONG:
+          case FLOAT:
+          case DOUBLE:
+            break;
+          default:
+            return false;
+        }
+        double target = numberObj.getDouble();
+        if( Double.isNaN( target ) ){
+          return false;
+        }
+        switch( numberFilter.getNumberFilterType() ){
+          case EQUAL:
+            return target < min || max < target;
+          case NOT_EQUAL:
+            return min == target && max == target;
+          case LT:
+            return target <= min;
+          case LE:
+            return target < min;
+          case GT:
+            return max <= target;
+          case GE:
+            return max < target;
+          default:
+            return false;
+        }
+      case NUMBER_RANGE:
+        NumberRangeFilter numberRangeFilter = (NumberRangeFilter)filter;
+        PrimitiveObject minObj = numberRangeFilter.getMinObject();
+        PrimitiveObject maxObj = numberRangeFilter.getMaxObject();
+        if( ( minObj != null && ! isNumberObject( minObj ) ) || ( maxObj != null && ! isNumberObject( maxObj ) ) ){
+          return false;
+        }
+        boolean isOutOfMin = false;
+        boolean isCoverMin = true;
+        if( minObj != null ){
+          double rangeMin = minObj.getDouble();
+          if( Double.isNaN( rangeMin ) ){
+            return false;
+          }
+          if( numberRangeFilter.isMinHasEquals() ){
+            isOutOfMin = max < rangeMin;
+            isCoverMin = rangeMin <= min;
+          }
+          else{
+            isOutOfMin = max <= rangeMin;
+            isCoverMin = rangeMin < min;
+          }
+        }
+        boolean isOutOfMax = false;
+        boolean isCoverMax = true;
+        if( maxObj != null ){
+          double rangeMax = maxObj.getDouble();
+          if( Double.isNaN( rangeMax ) ){
+            return false;
+          }
+          if( numberRangeFilter.isMaxHasEquals() ){
+            isOutOfMax = rangeMax < min;
+            isCoverMax = max <= rangeMax;
+          }
+          else{
+            isOutOfMax = rangeMax <= min;
+            isCoverMax = max < rangeMax;
+          }
+        }
+        if( numberRangeFilter.isInvert() ){
+          return isCoverMin && isCoverMax;
+        }
+        return isOutOfMin || isOutOfMax;
+      case NUMBER_SET:
+        NumberSetFilter numberSetFilter = (NumberSetFilter)filter;
+        for( Double value : numberSetFilter.getDoubleSet() ){
+          if( min <= value.doubleValue() && value.doubleValue() <= max ){
+            return false;
+          }
+          if( Double.isNaN( value.doubleValue() ) ){
+            return false;
+          }
+        }
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isNumberObject( final PrimitiveObject obj ){
+    switch( obj.getPrimitiveType() ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  public static DoubleRangeBlockIndex fromBinary( final byte[] buffer , final int start , final int length ) throws IOException{
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    double min = wrapBuffer.getDouble();
+    double max = wrapBuffer.getDouble();
+    return new DoubleRangeBlockIndex( min , max );
+  }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blockindex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+import jp.co.yahoo.dataplatform.mds.util.UTF8BytesOrderUtils;
+
+import static jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength.INT_LENGTH;
+
+public class StringRangeBlockIndex implements IBlockIndex{
+
+  private final String min;
+  private final String max;
+  private final byte[] minBytes;
+  private final byte[] maxBytes;
+  private final boolean isSameOrderAsUTF16;
+
+  public StringRangeBlockIndex( final String min , final String max ) throws IOException{
+    this.min = min;
+    this.max = max;
+    minBytes = min.getBytes( "UTF-8" );
+    maxBytes = max.getBytes( "UTF-8" );
+    isSameOrderAsUTF16 = UTF8BytesOrderUtils.isSameOrderAsUTF16( min ) && UTF8BytesOrderUtils.isSameOrderAsUTF16( max );
+  }
+
+  public String getMin(){
+    return min;
+  }
+
+  public String getMax(){
+    return max;
+  }
+
+  @Override
+  public BlockIndexType getBlockIndexType(){
+    return BlockIndexType.STRING_RANGE;
+  }
+
+  @Override
+  public int getBinarySize() throws IOException{
+    return INT_LENGTH + minBytes.length + INT_LENGTH + maxBytes.length;
+  }
+
+  @Override
+  public byte[] toBinary() throws IOException{
+    byte[] result = new byte[getBinarySize()];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.putInt( minBytes.length );
+    wrapBuffer.put( minBytes );
+    wrapBuffer.putInt( maxBytes.length );
+    wrapBuffer.put( maxBytes );
+    return result;
+  }
+
+  @Override
+  public boolean canBlockSkip( final IFilter filter ) throws IOException{
+    if( ! isSameOrderAsUTF16 ){
+      return false;
+    }
+    switch( filter.getFilterType() ){
+      case STRING:
+        IStringFilter stringFilter = (IStringFilter)filter;
+        String target = stringFilter.getSearchString();
+        switch( stringFilter.getStringFilterType() ){
+          case PERFECT:
+            return UTF8BytesOrderUtils.compare( target , min ) < 0 || 0 < UTF8BytesOrderUtils.compare( target , max );
+          case FORWARD:
+            if( UTF8BytesOrderUtils.compare( max , target ) < 0 ){
+              return true;
+            }
+            return 0 < UTF8BytesOrderUtils.compare( min , target ) && ! min.startsWith( target );
+          default:
+            return false;
+        }
+      case STRING_RANGE:
+        StringRangeFilter stringRangeFilter = (StringRangeFilter)filter;
+        boolean isOutOfMin = false;
+        boolean isCoverMin = true;
+        if( stringRangeFilter.getMin() != null ){
+          int maxCompare = UTF8BytesOrderUtils.compare( max , stringRangeFilter.getMin() );
+          int minCompare = UTF8BytesOrderUtils.compare( min , stringRangeFilter.getMin() );
+          if( stringRangeFilter.isMinHasEquals() ){
+            isOutOfMin = maxCompare < 0;
+            isCoverMin = 0 <= minCompare;
+          }
+          else{
+            isOutOfMin = maxCompare <= 0;
+            isCoverMin = 0 < minCompare;
+          }
+        }
+        boolean isOutOfMax = false;
+        boolean isCoverMax = true;
+        if( stringRangeFilter.getMax() != null ){
+          int minCompare = UTF8BytesOrderUtils.compare( min , stringRangeFilter.getMax() );
+          int maxCompare = UTF8BytesOrderUtils.compare( max , stringRangeFilter.getMax() );
+          if( stringRangeFilter.isMaxHasEquals() ){
+            isOutOfMax = 0 < minCompare;
+            isCoverMax = maxCompare <= 0;
+          }
+          else{
+            isOutOfMax = 0 <= minCompare;
+            isCoverMax = maxCompare < 0;
+          }
+        }
+        if( stringRangeFilter.isInvert() ){
+          return isCoverMin && isCoverMax;
+        }
+        return isOutOfMin || isOutOfMax;
+      case STRING_SET:
+        StringSetFilter stringSetFilter = (StringSetFilter)filter;
+        for( String value : stringSetFilter.getStringSet() ){
+          if( 0 <= UTF8BytesOrderUtils.compare( value , min ) && UTF8BytesOrderUtils.compare( value , max ) <= 0 ){
+            return false;
+          }
+        }
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  public static StringRangeBlockIndex fromBinary( final byte[] buffer , final int start , final int length ) throws IOException{
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    int offset = start;
+    int minLength = wrapBuffer.getInt( offset );
+    offset += INT_LENGTH;
+    String min = new String( buffer , offset , minLength , "UTF-8" );
+    offset += minLength;
+    int maxLength = wrapBuffer.getInt( offset );
+    offset += INT_LENGTH;
+    String max = new String( buffer , offset , maxLength , "UTF-8" );
+    return new StringRangeBlockIndex( min , max );
+  }
+
+}
@@ -28,6 +28,20 @@ public class DefaultCompressor implements ICompressor{
     return result;
   }
 
+  @Override
+  public int compress( final byte[] data , final int start , final int length , final byte[] dest ) throws IOException{
+    if( dest.length < length ){
+      throw new IOException( "Compress buffer is too small." );
+    }
+    System.arraycopy( data , start , dest , 0 , length );
+    return length;
+  }
+
+  @Override
+  public int getMaxCompressSize( final int length ) throws IOException{
+    return length;
+  }
+
   @Override
   public int getDecompressSize( final byte[] data , final int start , final int length ) throws IOException {
     return length;
@@ -20,18 +20,21 @@ package jp.co.yahoo.dataplatform.mds.compressor;
 import java.io.IOException;
 
 import java.util.Map;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jp.co.yahoo.dataplatform.config.FindClass;
 
 public final class FindCompressor{
 
   private final static Object LOCK = new Object();
-  private final static Map<String,ICompressor> CACHE = new HashMap<String,ICompressor>();
+  private final static Map<String,ICompressor> CACHE = new ConcurrentHashMap<String,ICompressor>();
 
   private FindCompressor(){}
 
   public static ICompressor get( final String target ) throws IOException{
+    if( target == null || target.isEmpty() ){
+      throw new IOException( "ICompressor class name is null or empty." );
+    }
     if( CACHE.containsKey( target ) ){
       return CACHE.get( target );
     }
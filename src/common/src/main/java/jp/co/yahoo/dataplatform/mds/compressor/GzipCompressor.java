@@ -18,36 +18,76 @@
 package jp.co.yahoo.dataplatform.mds.compressor;
 
 import java.io.IOException;
-import java.io.ByteArrayOutputStream;
-import java.io.ByteArrayInputStream;
 import java.nio.ByteBuffer;
 
-import java.util.zip.GZIPOutputStream;
-import java.util.zip.GZIPInputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
-import jp.co.yahoo.dataplatform.mds.util.InputStreamUtils;
 
 public class GzipCompressor implements ICompressor{
 
+  private static final byte[] GZIP_HEADER = new byte[]{ (byte)0x1f , (byte)0x8b , (byte)Deflater.DEFLATED , 0 , 0 , 0 , 0 , 0 , 0 , 0 };
+  private static final int GZIP_TRAILER_LENGTH = 8;
+
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+
+  private static final ThreadLocal<GzipContext> CONTEXT = ThreadLocal.withInitial( () -> new GzipContext() );
+
+  private static final class GzipContext{
+
+    private final Deflater deflater = new Deflater( Deflater.DEFAULT_COMPRESSION , true );
+    private final Inflater inflater = new Inflater( true );
+    private final CRC32 crc = new CRC32();
+
+  }
+
   @Override
   public byte[] compress( final byte[] data , final int start , final int length ) throws IOException{
-    ByteArrayOutputStream bOut = new ByteArrayOutputStream();
-    GZIPOutputStream out = new GZIPOutputStream( bOut );
-
-    out.write( data , start , length );
-    out.flush();
-    out.finish();
-    byte[] compressByte = bOut.toByteArray();
-    byte[] retVal = new byte[ PrimitiveByteLength.INT_LENGTH + compressByte.length ];
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( retVal );
-    wrapBuffer.putInt( length );
-    wrapBuffer.put( compressByte );
+    byte[] buffer = CompressBufferPool.get( getMaxCompressSize( length ) );
+    int compressLength = compress( data , start , length , buffer );
+    return Arrays.copyOf( buffer , compressLength );
+  }
 
-    bOut.close();
-    out.close();
+  @Override
+  public int compress( final byte[] data , final int start , final int length , final byte[] dest ) throws IOException{
+    int trailerStart = dest.length - GZIP_TRAILER_LENGTH;
+    int offset = PrimitiveByteLength.INT_LENGTH + GZIP_HEADER.length;
+    if( trailerStart <= offset ){
+      throw new IOException( "Compress buffer is too small." );
+    }
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( dest );
+    wrapBuffer.putInt( length );
+    wrapBuffer.put( GZIP_HEADER );
+
+    GzipContext context = CONTEXT.get();
+    Deflater deflater = context.deflater;
+    deflater.reset();
+    deflater.setInput( data , start , length );
+    deflater.finish();
+    while( ! deflater.finished() ){
+      if( trailerStart <= offset ){
+        throw new IOException( "Compress buffer is too small." );
+      }
+      offset += deflater.deflate( dest , offset , trailerStart - offset );
+    }
+
+    context.crc.reset();
+    context.crc.update( data , start , length );
+    writeIntLE( (int)context.crc.getValue() , dest , offset );
+    writeIntLE( length , dest , offset + 4 );
+    return offset + GZIP_TRAILER_LENGTH;
+  }
 
-    return retVal;
+  @Override
+  public int getMaxCompressSize( final int length ) throws IOException{
+    return PrimitiveByteLength.INT_LENGTH + GZIP_HEADER.length + length + ( ( length + 7 ) >> 3 ) + ( ( length + 63 ) >> 6 ) + 5 + GZIP_TRAILER_LENGTH;
   }
 
   @Override
@@ -58,30 +98,80 @@ public class GzipCompressor implements ICompressor{
 
   @Override
   public byte[] decompress( final byte[] data , final int start , final int length ) throws IOException{
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
-    int dataLength = wrapBuffer.getInt();
-
-    ByteArrayInputStream bIn = new ByteArrayInputStream( data , start + PrimitiveByteLength.INT_LENGTH , length );
-    GZIPInputStream in = new GZIPInputStream( bIn );
-
+    int dataLength = getDecompressSize( data , start , length );
     byte[] retVal = new byte[dataLength];
-    InputStreamUtils.read( in , retVal , 0 , dataLength );
-
+    inflate( data , start , length , retVal , dataLength );
     return retVal;
   }
 
   @Override
   public int decompressAndSet( final byte[] data , final int start , final int length , final byte[] buffer ) throws IOException{
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
-    int dataLength = wrapBuffer.getInt();
+    int dataLength = getDecompressSize( data , start , length );
+    inflate( data , start , length , buffer , dataLength );
+    return dataLength;
+  }
 
-    ByteArrayInputStream bIn = new ByteArrayInputStream( data , start + PrimitiveByteLength.INT_LENGTH , length );
-    GZIPInputStream in = new GZIPInputStream( bIn );
+  private void inflate( final byte[] data , final int start , final int length , final byte[] buffer , final int dataLength ) throws IOException{
+    int end = start + length;
+    int offset = skipHeader( data , start + PrimitiveByteLength.INT_LENGTH , end );
+
+    Inflater inflater = CONTEXT.get().inflater;
+    inflater.reset();
+    inflater.setInput( data , offset , end - offset );
+    int readLength = 0;
+    try{
+      while( readLength < dataLength ){
+        int inflateLength = inflater.inflate( buffer , readLength , dataLength - readLength );
+        if( inflateLength == 0 && ( inflater.finished() || inflater.needsInput() || inflater.needsDictionary() ) ){
+          break;
+        }
+        readLength += inflateLength;
+      }
+    }catch( DataFormatException e ){
+      throw new IOException( e );
+    }
+    if( readLength != dataLength ){
+      throw new IOException( "Invalid gzip data. Expected length " + dataLength + " , but read " + readLength );
+    }
+  }
 
-    InputStreamUtils.read( in , buffer , 0 , dataLength );
+  private int skipHeader( final byte[] data , final int start , final int end ) throws IOException{
+    if( end - start < GZIP_HEADER.length || data[start] != GZIP_HEADER[0] || data[start+1] != GZIP_HEADER[1] || data[start+2] != GZIP_HEADER[2] ){
+      throw new IOException( "Invalid gzip header." );
+    }
+    int flag = data[start+3] & 0xFF;
+    int offset = start + GZIP_HEADER.length;
+    if( ( flag & FEXTRA ) != 0 ){
+      offset += PrimitiveByteLength.SHORT_LENGTH + ( ( data[offset] & 0xFF ) | ( ( data[offset+1] & 0xFF ) << 8 ) );
+    }
+    if( ( flag & FNAME ) != 0 ){
+      offset = skipZeroTerminated( data , offset , end );
+    }
+    if( ( flag & FCOMMENT ) != 0 ){
+      offset = skipZeroTerminated( data , offset , end );
+    }
+    if( ( flag & FHCRC ) != 0 ){
+      offset += PrimitiveByteLength.SHORT_LENGTH;
+    }
+    if( end < offset ){
+      throw new IOException( "Invalid gzip header." );
+    }
+    return offset;
+  }
 
-    return dataLength;
+  private int skipZeroTerminated( final byte[] data , final int start , final int end ){
+    int offset = start;
+    while( offset < end && data[offset] != 0 ){
+      offset++;
+    }
+    return offset + 1;
   }
 
+  private static void writeIntLE( final int value , final byte[] dest , final int offset ){
+    dest[offset] = (byte)value;
+    dest[offset+1] = (byte)( value >>> 8 );
+    dest[offset+2] = (byte)( value >>> 16 );
+    dest[offset+3] = (byte)( value >>> 24 );
+  }
 
 }
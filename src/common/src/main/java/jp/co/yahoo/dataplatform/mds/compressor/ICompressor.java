@@ -23,6 +23,19 @@ public interface ICompressor{
 
   byte[] compress( final byte[] data , final int start , final int length ) throws IOException;
 
+  default int compress( final byte[] data , final int start , final int length , final byte[] dest ) throws IOException{
+    byte[] compressBinary = compress( data , start , length );
+    if( dest.length < compressBinary.length ){
+      throw new IOException( "Compress buffer is too small." );
+    }
+    System.arraycopy( compressBinary , 0 , dest , 0 , compressBinary.length );
+    return compressBinary.length;
+  }
+
+  default int getMaxCompressSize( final int length ) throws IOException{
+    return -1;
+  }
+
   int getDecompressSize( final byte[] data , final int start , final int length ) throws IOException; 
 
   byte[] decompress( final byte[] data , final int start , final int length ) throws IOException;
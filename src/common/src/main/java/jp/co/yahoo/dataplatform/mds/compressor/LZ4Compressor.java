@@ -18,35 +18,80 @@
 package jp.co.yahoo.dataplatform.mds.compressor;
 
 import java.io.IOException;
-import java.io.ByteArrayOutputStream;
-import java.io.ByteArrayInputStream;
 import java.nio.ByteBuffer;
 
+import java.util.Arrays;
+
 import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
-import jp.co.yahoo.dataplatform.mds.util.InputStreamUtils;
-import net.jpountz.lz4.LZ4BlockOutputStream;
-import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import net.jpountz.xxhash.XXHash32;
+import net.jpountz.xxhash.XXHashFactory;
 
 public class LZ4Compressor implements ICompressor{
 
-  private static final byte[] LENGTH_DUMMY = new byte[PrimitiveByteLength.INT_LENGTH];
+  private static final byte[] MAGIC = new byte[]{ 'L' , 'Z' , '4' , 'B' , 'l' , 'o' , 'c' , 'k' };
+  private static final int HEADER_LENGTH = MAGIC.length + 1 + PrimitiveByteLength.INT_LENGTH * 3;
+  private static final int BLOCK_SIZE = 1 << 16;
+  private static final int COMPRESSION_LEVEL = 32 - Integer.numberOfLeadingZeros( BLOCK_SIZE - 1 ) - 10;
+  private static final int COMPRESSION_METHOD_RAW = 0x10;
+  private static final int COMPRESSION_METHOD_LZ4 = 0x20;
+  private static final int CHECKSUM_SEED = 0x9747b28c;
+  private static final int CHECKSUM_MASK = 0xFFFFFFF;
+
+  private static final net.jpountz.lz4.LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+  private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+  private static final XXHash32 CHECKSUM = XXHashFactory.fastestInstance().hash32();
 
   @Override
   public byte[] compress( final byte[] data , final int start , final int length ) throws IOException{
-    ByteArrayOutputStream bOut = new ByteArrayOutputStream();
-    bOut.write( LENGTH_DUMMY , 0 , LENGTH_DUMMY.length );
-    LZ4BlockOutputStream out = new LZ4BlockOutputStream( bOut );
-
-    out.write( data , start , length );
-    out.flush();
-    out.finish();
-    byte[] compressByte = bOut.toByteArray();
-    ByteBuffer.wrap( compressByte ).putInt( length );
+    byte[] buffer = CompressBufferPool.get( getMaxCompressSize( length ) );
+    int compressLength = compress( data , start , length , buffer );
+    return Arrays.copyOf( buffer , compressLength );
+  }
 
-    bOut.close();
-    out.close();
+  @Override
+  public int compress( final byte[] data , final int start , final int length , final byte[] dest ) throws IOException{
+    if( dest.length < PrimitiveByteLength.INT_LENGTH ){
+      throw new IOException( "Compress buffer is too small." );
+    }
+    ByteBuffer.wrap( dest ).putInt( length );
+    int offset = PrimitiveByteLength.INT_LENGTH;
+    int end = start + length;
+    for( int blockStart = start ; blockStart < end ; blockStart += BLOCK_SIZE ){
+      int blockLength = Math.min( BLOCK_SIZE , end - blockStart );
+      int dataStart = offset + HEADER_LENGTH;
+      if( dest.length - dataStart < COMPRESSOR.maxCompressedLength( blockLength ) ){
+        throw new IOException( "Compress buffer is too small." );
+      }
+      int method = COMPRESSION_METHOD_LZ4;
+      int compressedLength = COMPRESSOR.compress( data , blockStart , blockLength , dest , dataStart , dest.length - dataStart );
+      if( blockLength <= compressedLength ){
+        method = COMPRESSION_METHOD_RAW;
+        compressedLength = blockLength;
+        System.arraycopy( data , blockStart , dest , dataStart , blockLength );
+      }
+      int checksum = CHECKSUM.hash( data , blockStart , blockLength , CHECKSUM_SEED ) & CHECKSUM_MASK;
+      writeHeader( dest , offset , method , compressedLength , blockLength , checksum );
+      offset = dataStart + compressedLength;
+    }
+    if( dest.length - offset < HEADER_LENGTH ){
+      throw new IOException( "Compress buffer is too small." );
+    }
+    writeHeader( dest , offset , COMPRESSION_METHOD_RAW , 0 , 0 , 0 );
+    return offset + HEADER_LENGTH;
+  }
 
-    return compressByte;
+  @Override
+  public int getMaxCompressSize( final int length ) throws IOException{
+    int fullBlockCount = length / BLOCK_SIZE;
+    int lastBlockLength = length % BLOCK_SIZE;
+    int maxSize = PrimitiveByteLength.INT_LENGTH + HEADER_LENGTH + fullBlockCount * ( HEADER_LENGTH + COMPRESSOR.maxCompressedLength( BLOCK_SIZE ) );
+    if( 0 < lastBlockLength ){
+      maxSize += HEADER_LENGTH + COMPRESSOR.maxCompressedLength( lastBlockLength );
+    }
+    return maxSize;
   }
 
   @Override
@@ -57,28 +102,86 @@ public class LZ4Compressor implements ICompressor{
 
   @Override
   public byte[] decompress( final byte[] data , final int start , final int length ) throws IOException{
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
-    int dataLength = wrapBuffer.getInt();
-
-    ByteArrayInputStream bIn = new ByteArrayInputStream( data , start + PrimitiveByteLength.INT_LENGTH , length );
-    LZ4BlockInputStream in = new LZ4BlockInputStream( bIn );
-
+    int dataLength = getDecompressSize( data , start , length );
     byte[] retVal = new byte[dataLength];
-    InputStreamUtils.read( in , retVal , 0 , dataLength );
-
+    decompressBlocks( data , start , length , retVal , dataLength );
     return retVal;
   }
 
   @Override
   public int decompressAndSet( final byte[] data , final int start , final int length , final byte[] buffer ) throws IOException{
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
-    int dataLength = wrapBuffer.getInt();
+    int dataLength = getDecompressSize( data , start , length );
+    decompressBlocks( data , start , length , buffer , dataLength );
+    return dataLength;
+  }
+
+  private void decompressBlocks( final byte[] data , final int start , final int length , final byte[] buffer , final int dataLength ) throws IOException{
+    int end = start + length;
+    int offset = start + PrimitiveByteLength.INT_LENGTH;
+    int writeLength = 0;
+    while( writeLength < dataLength ){
+      if( end - offset < HEADER_LENGTH ){
+        throw new IOException( "Stream ended prematurely." );
+      }
+      for( int i = 0 ; i < MAGIC.length ; i++ ){
+        if( data[offset+i] != MAGIC[i] ){
+          throw new IOException( "Stream is corrupted." );
+        }
+      }
+      int method = data[offset+MAGIC.length] & 0xF0;
+      int compressedLength = readIntLE( data , offset + MAGIC.length + 1 );
+      int originalLength = readIntLE( data , offset + MAGIC.length + 5 );
+      int checksum = readIntLE( data , offset + MAGIC.length + 9 );
+      offset += HEADER_LENGTH;
+      if( originalLength == 0 ){
+        break;
+      }
+      if( originalLength < 0 || dataLength - writeLength < originalLength || compressedLength < 0 || end - offset < compressedLength ){
+        throw new IOException( "Stream is corrupted." );
+      }
+      if( method == COMPRESSION_METHOD_RAW ){
+        System.arraycopy( data , offset , buffer , writeLength , originalLength );
+      }
+      else if( method == COMPRESSION_METHOD_LZ4 ){
+        try{
+          if( DECOMPRESSOR.decompress( data , offset , buffer , writeLength , originalLength ) != compressedLength ){
+            throw new IOException( "Stream is corrupted." );
+          }
+        }catch( LZ4Exception e ){
+          throw new IOException( "Stream is corrupted." , e );
+        }
+      }
+      else{
+        throw new IOException( "Unknown compression method : " + method );
+      }
+      if( ( CHECKSUM.hash( buffer , writeLength , originalLength , CHECKSUM_SEED ) & CHECKSUM_MASK ) != checksum ){
+        throw new IOException( "Stream is corrupted." );
+      }
+      offset += compressedLength;
+      writeLength += originalLength;
+    }
+    if( writeLength != dataLength ){
+      throw new IOException( "Stream ended prematurely." );
+    }
+  }
 
-    ByteArrayInputStream bIn = new ByteArrayInputStream( data , start + PrimitiveByteLength.INT_LENGTH , length );
-    LZ4BlockInputStream in = new LZ4BlockInputStream( bIn );
+  private static void writeHeader( final byte[] dest , final int offset , final int method , final int compressedLength , final int originalLength , final int checksum ){
+    System.arraycopy( MAGIC , 0 , dest , offset , MAGIC.length );
+    dest[offset+MAGIC.length] = (byte)( method | COMPRESSION_LEVEL );
+    writeIntLE( compressedLength , dest , offset + MAGIC.length + 1 );
+    writeIntLE( originalLength , dest , offset + MAGIC.length + 5 );
+    writeIntLE( checksum , dest , offset + MAGIC.length + 9 );
+  }
 
-    InputStreamUtils.read( in , buffer , 0 , dataLength );
+  private static void writeIntLE( final int value , final byte[] dest , final int offset ){
+    dest[offset] = (byte)value;
+    dest[offset+1] = (byte)( value >>> 8 );
+    dest[offset+2] = (byte)( value >>> 16 );
+    dest[offset+3] = (byte)( value >>> 24 );
+  }
 
-    return dataLength;
+  private static int readIntLE( final byte[] data , final int offset ){
+    return ( data[offset] & 0xFF ) | ( ( data[offset+1] & 0xFF ) << 8 ) | ( ( data[offset+2] & 0xFF ) << 16 ) | ( ( data[offset+3] & 0xFF ) << 24 );
   }
+
 }
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.compressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import java.util.Arrays;
+
+import org.xerial.snappy.Snappy;
+
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+
+public class SnappyCompressor implements ICompressor{
+
+  @Override
+  public byte[] compress( final byte[] data , final int start , final int length ) throws IOException{
+    byte[] buffer = CompressBufferPool.get( getMaxCompressSize( length ) );
+    int compressLength = compress( data , start , length , buffer );
+    return Arrays.copyOf( buffer , compressLength );
+  }
+
+  @Override
+  public int compress( final byte[] data , final int start , final int length , final byte[] dest ) throws IOException{
+    if( dest.length < getMaxCompressSize( length ) ){
+      throw new IOException( "Compress buffer is too small." );
+    }
+    ByteBuffer.wrap( dest ).putInt( length );
+    return PrimitiveByteLength.INT_LENGTH + Snappy.compress( data , start , length , dest , PrimitiveByteLength.INT_LENGTH );
+  }
+
+  @Override
+  public int getMaxCompressSize( final int length ) throws IOException{
+    return PrimitiveByteLength.INT_LENGTH + Snappy.maxCompressedLength( length );
+  }
+
+  @Override
+  public int getDecompressSize( final byte[] data , final int start , final int length ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
+    return wrapBuffer.getInt();
+  }
+
+  @Override
+  public byte[] decompress( final byte[] data , final int start , final int length ) throws IOException{
+    int dataLength = getDecompressSize( data , start , length );
+    byte[] retVal = new byte[dataLength];
+    decompressAndSet( data , start , length , retVal );
+    return retVal;
+  }
+
+  @Override
+  public int decompressAndSet( final byte[] data , final int start , final int length , final byte[] buffer ) throws IOException{
+    int dataLength = getDecompressSize( data , start , length );
+    if( buffer.length < dataLength ){
+      throw new IOException( "Decompress buffer is too small." );
+    }
+    int decompressLength = Snappy.uncompress( data , start + PrimitiveByteLength.INT_LENGTH , length - PrimitiveByteLength.INT_LENGTH , buffer , 0 );
+    if( decompressLength != dataLength ){
+      throw new IOException( "Invalid snappy data. Expected length " + dataLength + " , but read " + decompressLength );
+    }
+    return dataLength;
+  }
+
+}
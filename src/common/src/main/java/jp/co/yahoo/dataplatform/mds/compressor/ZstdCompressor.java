@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.compressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+import jp.co.yahoo.dataplatform.mds.constants.PrimitiveByteLength;
+
+public class ZstdCompressor implements ICompressor{
+
+  public static final int DEFAULT_LEVEL = 3;
+
+  private final int level;
+  private final ZstdDictCompress dictCompress;
+  private final ZstdDictDecompress dictDecompress;
+
+  public ZstdCompressor(){
+    this( DEFAULT_LEVEL );
+  }
+
+  public ZstdCompressor( final int level ){
+    this( level , null );
+  }
+
+  protected ZstdCompressor( final int level , final byte[] dictionary ){
+    this.level = level;
+    if( dictionary == null ){
+      dictCompress = null;
+      dictDecompress = null;
+    }
+    else{
+      dictCompress = new ZstdDictCompress( dictionary , level );
+      dictDecompress = new ZstdDictDecompress( dictionary );
+    }
+  }
+
+  public static byte[] trainDictionary( final List<byte[]> sampleList , final int dictionarySize ) throws IOException{
+    byte[] dictionary = new byte[dictionarySize];
+    long dictionaryLength = Zstd.trainFromBuffer( sampleList.toArray( new byte[sampleList.size()][] ) , dictionary );
+    if( Zstd.isError( dictionaryLength ) ){
+      throw new IOException( "Failed to train zstd dictionary : " + Zstd.getErrorName( dictionaryLength ) );
+    }
+    return Arrays.copyOf( dictionary , (int)dictionaryLength );
+  }
+
+  public int getLevel(){
+    return level;
+  }
+
+  @Override
+  public byte[] compress( final byte[] data , final int start , final int length ) throws IOException{
+    byte[] buffer = CompressBufferPool.get( getMaxCompressSize( length ) );
+    int compressLength = compress( data , start , length , buffer );
+    return Arrays.copyOf( buffer , compressLength );
+  }
+
+  @Override
+  public int compress( final byte[] data , final int start , final int length , final byte[] dest ) throws IOException{
+    if( dest.length < PrimitiveByteLength.INT_LENGTH ){
+      throw new IOException( "Compress buffer is too small." );
+    }
+    ByteBuffer.wrap( dest ).putInt( length );
+    long compressLength;
+    if( dictCompress == null ){
+      compressLength = Zstd.compressByteArray( dest , PrimitiveByteLength.INT_LENGTH , dest.length - PrimitiveByteLength.INT_LENGTH , data , start , length , level );
+    }
+    else{
+      compressLength = Zstd.compressFastDict( dest , PrimitiveByteLength.INT_LENGTH , data , start , length , dictCompress );
+    }
+    if( Zstd.isError( compressLength ) ){
+      throw new IOException( "Failed to compress with zstd : " + Zstd.getErrorName( compressLength ) );
+    }
+    return PrimitiveByteLength.INT_LENGTH + (int)compressLength;
+  }
+
+  @Override
+  public int getMaxCompressSize( final int length ) throws IOException{
+    return PrimitiveByteLength.INT_LENGTH + (int)Zstd.compressBound( length );
+  }
+
+  @Override
+  public int getDecompressSize( final byte[] data , final int start , final int length ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
+    return wrapBuffer.getInt();
+  }
+
+  @Override
+  public byte[] decompress( final byte[] data , final int start , final int length ) throws IOException{
+    int dataLength = getDecompressSize( data , start , length );
+    byte[] retVal = new byte[dataLength];
+    decompressAndSet( data , start , length , retVal );
+    return retVal;
+  }
+
+  @Override
+  public int decompressAndSet( final byte[] data , final int start , final int length , final byte[] buffer ) throws IOException{
+    int dataLength = getDecompressSize( data , start , length );
+    if( buffer.length < dataLength ){
+      throw new IOException( "Decompress buffer is too small." );
+    }
+    if( dataLength == 0 ){
+      return 0;
+    }
+    long decompressLength;
+    if( dictDecompress == null ){
+      decompressLength = Zstd.decompressByteArray( buffer , 0 , dataLength , data , start + PrimitiveByteLength.INT_LENGTH , length - PrimitiveByteLength.INT_LENGTH );
+    }
+    else{
+      decompressLength = Zstd.decompressFastDict( buffer , 0 , data , start + PrimitiveByteLength.INT_LENGTH , length - PrimitiveByteLength.INT_LENGTH , dictDecompress );
+    }
+    if( Zstd.isError( decompressLength ) ){
+      throw new IOException( "Failed to decompress with zstd : " + Zstd.getErrorName( decompressLength ) );
+    }
+    if( decompressLength != dataLength ){
+      throw new IOException( "Invalid zstd data. Expected length " + dataLength + " , but read " + decompressLength );
+    }
+    return dataLength;
+  }
+
+}
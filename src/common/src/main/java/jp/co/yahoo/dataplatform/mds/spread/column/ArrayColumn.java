@@ -19,6 +19,7 @@ package jp.co.yahoo.dataplatform.mds.spread.column;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -126,6 +127,11 @@ public class ArrayColumn implements IColumn{
     this.cellManager = cellManager;
   }
 
+  @Override
+  public ICellManager getCellManager(){
+    return cellManager;
+  }
+
   @Override
   public ICell get( final int index ){
     return cellManager.get( index , defaultCell );
@@ -199,6 +205,11 @@ public class ArrayColumn implements IColumn{
     return cellManager.filter( filter );
   }
 
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    return cellManager.filter( filter , filterBitSet );
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(final IExpressionIndex indexList , final int start , final int length ){
     PrimitiveObject[] result = new PrimitiveObject[length];
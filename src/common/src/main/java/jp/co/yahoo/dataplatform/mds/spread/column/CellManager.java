@@ -19,10 +19,12 @@ package jp.co.yahoo.dataplatform.mds.spread.column;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 import jp.co.yahoo.dataplatform.mds.spread.column.index.DefaultCellIndex;
 import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
 import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionIndex;
@@ -86,17 +88,21 @@ public class CellManager implements ICellManager{
 
   @Override
   public List<Integer> filter( final IFilter filter ) throws IOException{
+    return CollectionUtils.toList( filter( filter , new BitSet() ) );
+  }
+
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
     switch( filter.getFilterType() ){
       case NOT_NULL:
-        List<Integer> result = new ArrayList<Integer>();
         for( CellIndex index : cellIndex ){
-          index.addIndex( result );
+          index.addIndex( filterBitSet );
         }
-        return result;
+        return filterBitSet;
       case NULL:
         return null;
       default:
-        return index.filter( filter );
+        return index.filter( filter , filterBitSet );
     }
   }
 
@@ -159,10 +165,8 @@ public class CellManager implements ICellManager{
       }
     }
 
-    public void addIndex( final List<Integer> list ){
-      for( int i = 0 ; i < cellList.size() ; i++ ){
-        list.add( Integer.valueOf( i + startIndex ) );
-      }
+    public void addIndex( final BitSet bitSet ){
+      bitSet.set( startIndex , startIndex + cellList.size() );
     }
 
     public int getNextIndex(){
@@ -19,6 +19,7 @@ package jp.co.yahoo.dataplatform.mds.spread.column;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
@@ -43,6 +44,8 @@ public interface ICellManager{
 
   List<Integer> filter( final IFilter filter ) throws IOException;
 
+  BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException;
+
   PrimitiveObject[] getPrimitiveObjectArray( final IExpressionIndex indexList , final int start , final int length );
 
 }
@@ -19,6 +19,7 @@ package jp.co.yahoo.dataplatform.mds.spread.column;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
@@ -46,6 +47,8 @@ public interface IColumn{
 
   void setCellManager( final ICellManager cellManager );
 
+  ICellManager getCellManager();
+
   ICell get( final int index );
 
   List<String> getColumnKeys();
@@ -72,6 +75,8 @@ public interface IColumn{
 
   List<Integer> filter( final IFilter filter ) throws IOException;
 
+  BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException;
+
   PrimitiveObject[] getPrimitiveObjectArray( final IExpressionIndex indexList , final int start , final int length );
 
 }
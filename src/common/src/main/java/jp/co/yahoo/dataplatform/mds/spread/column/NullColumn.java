@@ -19,6 +19,7 @@ package jp.co.yahoo.dataplatform.mds.spread.column;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -81,6 +82,11 @@ public final class NullColumn implements IColumn {
   public void setCellManager( final ICellManager cellManager ){
   }
 
+  @Override
+  public ICellManager getCellManager(){
+    return null;
+  }
+
   @Override
   public ICell get( final int index ){
     return defaultCell;
@@ -145,6 +151,11 @@ public final class NullColumn implements IColumn {
     return EMPTY_LIST;
   }
 
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    return filterBitSet;
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(final IExpressionIndex indexList , final int start , final int length ){
     PrimitiveObject[] result = new PrimitiveObject[length];
@@ -19,6 +19,7 @@ package jp.co.yahoo.dataplatform.mds.spread.column;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -89,6 +90,11 @@ public class PrimitiveColumn implements IColumn{
     this.cellManager = cellManager;
   }
 
+  @Override
+  public ICellManager getCellManager(){
+    return cellManager;
+  }
+
   @Override
   public ICell get( final int index ){
     return cellManager.get( index , defaultCell );
@@ -154,6 +160,11 @@ public class PrimitiveColumn implements IColumn{
     return cellManager.filter( filter );
   }
 
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    return cellManager.filter( filter , filterBitSet );
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray( final IExpressionIndex indexList , final int start , final int length ){
     return cellManager.getPrimitiveObjectArray( indexList , start , length );
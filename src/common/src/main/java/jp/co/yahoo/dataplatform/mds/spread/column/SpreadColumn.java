@@ -20,6 +20,7 @@ package jp.co.yahoo.dataplatform.mds.spread.column;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -103,6 +104,11 @@ public class SpreadColumn implements IColumn{
   public void setCellManager( final ICellManager cellManager ){
   }
 
+  @Override
+  public ICellManager getCellManager(){
+    return null;
+  }
+
   public void setSpread( final Spread spread ){
     this.spread = spread;
   }
@@ -180,6 +186,11 @@ public class SpreadColumn implements IColumn{
     return null;
   }
 
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    return null;
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray( final IExpressionIndex indexList , final int start , final int length ){
     PrimitiveObject[] result = new PrimitiveObject[length];
@@ -20,6 +20,7 @@ package jp.co.yahoo.dataplatform.mds.spread.column;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
@@ -111,6 +112,11 @@ public class UnionColumn implements IColumn {
     this.cellManager = cellManager;
   }
 
+  @Override
+  public ICellManager getCellManager(){
+    return cellManager;
+  }
+
   @Override
   public ICell get( final int index ){
     return cellManager.get( index , defaultCell );
@@ -177,6 +183,11 @@ public class UnionColumn implements IColumn {
     return null;
   }
 
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    return null;
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(final IExpressionIndex indexList , final int start , final int length ){
     return cellManager.getPrimitiveObjectArray( indexList , start , length );
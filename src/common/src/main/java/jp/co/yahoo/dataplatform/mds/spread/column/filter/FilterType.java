@@ -23,6 +23,10 @@ public enum FilterType {
   NULL,
   STRING,
   NUMBER,
+  NUMBER_RANGE,
+  NUMBER_SET,
+  STRING_RANGE,
+  STRING_SET,
   BOOLEAN,
 
 }
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.spread.column.filter;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.HashSet;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.util.NumberOrderUtils;
+
+public class NumberSetFilter implements IFilter{
+
+  private final Set<Long> longSet = new HashSet<Long>();
+  private final Set<Double> doubleSet = new HashSet<Double>();
+
+  public NumberSetFilter( final List<PrimitiveObject> numberObjList ) throws IOException{
+    for( PrimitiveObject numberObj : numberObjList ){
+      switch( numberObj.getPrimitiveType() ){
+        case BYTE:
+        case SHORT:
+        case INTEGER:
+        case LONG:
+          longSet.add( Long.valueOf( numberObj.getLong() ) );
+          doubleSet.add( Double.valueOf( (double)numberObj.getLong() ) );
+          break;
+        case FLOAT:
+        case DOUBLE:
+          double doubleValue = numberObj.getDouble();
+          doubleSet.add( Double.valueOf( NumberOrderUtils.normalizeZero( doubleValue ) ) );
+          if( NumberOrderUtils.isLongValue( doubleValue ) ){
+            longSet.add( Long.valueOf( (long)doubleValue ) );
+          }
+          break;
+        default:
+          throw new IOException( "Unsupported number set value type : " + numberObj.getPrimitiveType() );
+      }
+    }
+  }
+
+  public Set<Long> getLongSet(){
+    return longSet;
+  }
+
+  public Set<Double> getDoubleSet(){
+    return doubleSet;
+  }
+
+  public boolean containsDouble( final double value ){
+    return doubleSet.contains( Double.valueOf( NumberOrderUtils.normalizeZero( value ) ) );
+  }
+
+  @Override
+  public FilterType getFilterType(){
+    return FilterType.NUMBER_SET;
+  }
+
+}
@@ -17,9 +17,12 @@
  */
 package jp.co.yahoo.dataplatform.mds.spread.column.filter;
 
+import java.util.regex.Pattern;
+
 public class RegexpMatchStringFilter implements IStringFilter {
 
   private final String str;
+  private volatile Pattern pattern;
 
   public RegexpMatchStringFilter( final String str ){
     this.str = str;
@@ -30,6 +33,13 @@ public class RegexpMatchStringFilter implements IStringFilter {
     return str;
   }
 
+  public Pattern getPattern(){
+    if( pattern == null ){
+      pattern = Pattern.compile( str );
+    }
+    return pattern;
+  }
+
   @Override
   public StringFilterType getStringFilterType(){
     return StringFilterType.REGEXP;
@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.spread.column.filter;
+
+public class StringRangeFilter implements IFilter{
+
+  private final String min;
+  private final boolean minHasEquals;
+  private final String max;
+  private final boolean maxHasEquals;
+  private final boolean invert;
+
+  public StringRangeFilter( final String min , final boolean minHasEquals , final String max , final boolean maxHasEquals , final boolean invert ){
+    this.min = min;
+    this.minHasEquals = minHasEquals;
+    this.max = max;
+    this.maxHasEquals = maxHasEquals;
+    this.invert = invert;
+  }
+
+  public String getMin(){
+    return min;
+  }
+
+  public boolean isMinHasEquals(){
+    return minHasEquals;
+  }
+
+  public String getMax(){
+    return max;
+  }
+
+  public boolean isMaxHasEquals(){
+    return maxHasEquals;
+  }
+
+  public boolean isInvert(){
+    return invert;
+  }
+
+  @Override
+  public FilterType getFilterType(){
+    return FilterType.STRING_RANGE;
+  }
+
+}
@@ -19,6 +19,7 @@ package jp.co.yahoo.dataplatform.mds.spread.column.index;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
@@ -30,4 +31,9 @@ public class DefaultCellIndex implements ICellIndex{
     return null;
   }
 
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    return null;
+  }
+
 }
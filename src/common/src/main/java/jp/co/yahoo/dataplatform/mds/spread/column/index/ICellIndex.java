@@ -19,6 +19,7 @@ package jp.co.yahoo.dataplatform.mds.spread.column.index;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
@@ -27,4 +28,6 @@ public interface ICellIndex{
 
   List<Integer> filter( final IFilter filter ) throws IOException;
 
+  BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException;
+
 }
@@ -19,6 +19,7 @@ package jp.co.yahoo.dataplatform.mds.spread.expand;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -33,6 +34,7 @@ import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
 import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
 import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionIndex;
 import jp.co.yahoo.dataplatform.mds.spread.expression.FilterdExpressionIndex;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 
 public class ExpandColumn implements IColumn{
 
@@ -88,6 +90,11 @@ public class ExpandColumn implements IColumn{
     throw new UnsupportedOperationException( "Expand column is read only." );
   }
 
+  @Override
+  public ICellManager getCellManager(){
+    return null;
+  }
+
   @Override
   public ICell get( final int index ){
     return original.get( columnIndexArray[index] );
@@ -166,23 +173,22 @@ public class ExpandColumn implements IColumn{
 
   @Override
   public List<Integer> filter( final IFilter filter ) throws IOException{
-    List<Integer> searchResult = original.filter( filter );
+    return CollectionUtils.toList( filter( filter , new BitSet( columnIndexArray.length ) ) );
+  }
+
+  @Override
+  public BitSet filter( final IFilter filter , final BitSet filterBitSet ) throws IOException{
+    BitSet searchResult = original.filter( filter , new BitSet() );
     if( searchResult == null ){
       return null;
     }
 
-    int currentIndex = 0;
-    List<Integer> result = new ArrayList<Integer>();
-    for( Integer innerIndex : searchResult ){
-      while( currentIndex < columnIndexArray.length && columnIndexArray[currentIndex] < innerIndex.intValue() ){
-        currentIndex++;
-      }
-      while( currentIndex < columnIndexArray.length && innerIndex.equals( columnIndexArray[currentIndex] ) ){
-        result.add( currentIndex );
-        currentIndex++;
+    for( int i = 0 ; i < columnIndexArray.length ; i++ ){
+      if( searchResult.get( columnIndexArray[i] ) ){
+        filterBitSet.set( i );
       }
     }
-    return result;
+    return filterBitSet;
   }
 
   @Override
@@ -19,11 +19,13 @@ package jp.co.yahoo.dataplatform.mds.spread.expression;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
 import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexNode;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
 
 public class AndExpressionNode implements IExpressionNode {
@@ -59,14 +61,19 @@ public class AndExpressionNode implements IExpressionNode {
 
   @Override
   public List<Integer> exec( final Spread spread , final List<Integer> parentList ) throws IOException{
+    return CollectionUtils.toList( execBitSet( spread , CollectionUtils.toBitSet( parentList ) ) );
+  }
+
+  @Override
+  public BitSet execBitSet( final Spread spread , final BitSet parentBitSet ) throws IOException{
     if( denominator == 0 ){
       return null;
     }
-    List<Integer> intersection = parentList;
+    BitSet intersection = parentBitSet;
     long min = spread.size() / denominator;
     for( IExpressionNode node : childNode ){
-      List<Integer> result = node.exec( spread , intersection );
-      if( result != null && min < result.size() ){
+      BitSet result = node.execBitSet( spread , intersection );
+      if( result != null && min < result.cardinality() ){
         result = null;
       }
       if( result != null ){
@@ -74,7 +81,7 @@ public class AndExpressionNode implements IExpressionNode {
           intersection = result;
         }
         else{
-          intersection = CollectionUtils.intersectionFromSortedCollection( intersection , result ); 
+          intersection = CollectionUtils.intersection( intersection , result );
         }
 
         if( intersection.isEmpty() ){
@@ -86,4 +93,17 @@ public class AndExpressionNode implements IExpressionNode {
     return intersection;
   }
 
+  @Override
+  public boolean canBlockSkip( final BlockIndexNode blockIndexNode ) throws IOException{
+    if( denominator == 0 ){
+      return false;
+    }
+    for( IExpressionNode node : childNode ){
+      if( node.canBlockSkip( blockIndexNode ) ){
+        return true;
+      }
+    }
+    return false;
+  }
+
 }
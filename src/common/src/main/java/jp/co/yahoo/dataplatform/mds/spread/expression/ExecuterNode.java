@@ -19,11 +19,14 @@ package jp.co.yahoo.dataplatform.mds.spread.expression;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexNode;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 
 public class ExecuterNode implements IExpressionNode{
 
@@ -35,6 +38,10 @@ public class ExecuterNode implements IExpressionNode{
     this.filter = filter;
   }
 
+  public IFilter getFilter(){
+    return filter;
+  }
+
   @Override
   public void addChildNode( final IExpressionNode node ){
     throw new UnsupportedOperationException( "Executer node can not have child node." );
@@ -45,9 +52,24 @@ public class ExecuterNode implements IExpressionNode{
     return exec( spread , null );
   }
 
+  @Override
   public List<Integer> exec( final Spread spread , final List<Integer> parentList ) throws IOException{
+    return CollectionUtils.toList( execBitSet( spread , null ) );
+  }
+
+  @Override
+  public BitSet execBitSet( final Spread spread , final BitSet parentBitSet ) throws IOException{
     IColumn column = columnExtractNode.get( spread );
-    return column.filter( filter );
+    return column.filter( filter , new BitSet( spread.size() ) );
+  }
+
+  @Override
+  public boolean canBlockSkip( final BlockIndexNode blockIndexNode ) throws IOException{
+    BlockIndexNode currentNode = columnExtractNode.get( blockIndexNode );
+    if( currentNode == null ){
+      return false;
+    }
+    return currentNode.canBlockSkip( filter );
   }
 
 }
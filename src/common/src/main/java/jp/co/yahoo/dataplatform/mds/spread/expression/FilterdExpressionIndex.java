@@ -17,26 +17,34 @@
  */
 package jp.co.yahoo.dataplatform.mds.spread.expression;
 
+import java.util.BitSet;
 import java.util.List;
-import java.util.ArrayList;
+
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 
 public class FilterdExpressionIndex implements IExpressionIndex{
 
-  private final List<Integer> indexList;
+  private final int[] indexArray;
 
   public FilterdExpressionIndex( final List<Integer> indexCollection ){
-    indexList = new ArrayList<Integer>();
-    indexList.addAll( indexCollection );
+    indexArray = new int[ indexCollection.size() ];
+    for( int i = 0 ; i < indexArray.length ; i++ ){
+      indexArray[i] = indexCollection.get( i ).intValue();
+    }
+  }
+
+  public FilterdExpressionIndex( final BitSet indexBitSet ){
+    indexArray = CollectionUtils.toIntArray( indexBitSet );
   }
 
   @Override
   public int size(){
-    return indexList.size();
+    return indexArray.length;
   }
 
   @Override
   public int get( final int index ){
-    return indexList.get( index ).intValue();
+    return indexArray[index];
   }
 
 }
@@ -19,8 +19,10 @@ package jp.co.yahoo.dataplatform.mds.spread.expression;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexNode;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
 
 public interface IExpressionNode {
@@ -31,4 +33,8 @@ public interface IExpressionNode {
 
   List<Integer> exec( final Spread spread , final List<Integer> parentList ) throws IOException;
 
+  BitSet execBitSet( final Spread spread , final BitSet parentBitSet ) throws IOException;
+
+  boolean canBlockSkip( final BlockIndexNode blockIndexNode ) throws IOException;
+
 }
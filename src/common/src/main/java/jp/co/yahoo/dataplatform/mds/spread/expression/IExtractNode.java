@@ -17,6 +17,7 @@
  */
 package jp.co.yahoo.dataplatform.mds.spread.expression;
 
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexNode;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 
@@ -26,6 +27,8 @@ public interface IExtractNode{
 
   IColumn get( final Spread spread );
 
+  BlockIndexNode get( final BlockIndexNode blockIndexNode );
+
   void pushChild( final IExtractNode childColumnNode );
 
 }
@@ -17,6 +17,7 @@
  */
 package jp.co.yahoo.dataplatform.mds.spread.expression;
 
+import java.util.BitSet;
 import java.util.List;
 
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
@@ -34,4 +35,13 @@ public final class IndexFactory{
     }
   }
 
+  public static IExpressionIndex toExpressionIndex( final Spread spread , final BitSet indexBitSet ){
+    if( indexBitSet == null ){
+      return new AllExpressionIndex( spread.size() );
+    }
+    else{
+      return new FilterdExpressionIndex( indexBitSet );
+    }
+  }
+
 }
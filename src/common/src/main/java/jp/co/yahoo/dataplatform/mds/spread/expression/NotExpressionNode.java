@@ -19,10 +19,12 @@ package jp.co.yahoo.dataplatform.mds.spread.expression;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
-import java.util.ArrayList;
 
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexNode;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 
 public class NotExpressionNode implements IExpressionNode {
 
@@ -63,65 +65,42 @@ public class NotExpressionNode implements IExpressionNode {
 
   @Override
   public List<Integer> exec( final Spread spread , final List<Integer> parentList ) throws IOException{
+    return CollectionUtils.toList( execBitSet( spread , CollectionUtils.toBitSet( parentList ) ) );
+  }
+
+  @Override
+  public BitSet execBitSet( final Spread spread , final BitSet parentBitSet ) throws IOException{
     if( denominator == 0 ){
       return null;
     }
-    List<Integer> childCollection = null;
     if( childNode == null ){
       return null;
     }
     long min = spread.size() / denominator;
-    childCollection = childNode.exec( spread );
-    if( childCollection != null && min < ( spread.size() - childCollection.size() ) ){
-      childCollection = null;
+    BitSet childBitSet = childNode.execBitSet( spread , null );
+    if( childBitSet != null && min < ( spread.size() - childBitSet.cardinality() ) ){
+      childBitSet = null;
     }
-    
-    if( childCollection == null ){
+
+    if( childBitSet == null ){
       return null;
     }
 
-    if( parentList == null ){
-      return createNewReverseList( childCollection , spread.size() );
+    BitSet result;
+    if( parentBitSet == null ){
+      result = new BitSet( spread.size() );
+      result.set( 0 , spread.size() );
     }
     else{
-      return createReverseList( childCollection , parentList );
-    }
-  }
-
-  private List<Integer> createNewReverseList( final List<Integer> childCollection , final int spreadSize ){
-    List<Integer> result = new ArrayList<Integer>();
-    int offset = 0;
-    for( Integer removeNumber : childCollection ){
-      for( int i = offset ; i < removeNumber.intValue() ; i++ ){
-        result.add( Integer.valueOf( i ) );
-      }
-      offset = removeNumber.intValue() + 1;
+      result = (BitSet)parentBitSet.clone();
     }
-    for( int i = offset ; i < spreadSize ; i++ ){
-      result.add( Integer.valueOf( i ) );
-    }
-
+    result.andNot( childBitSet );
     return result;
   }
 
-  private List<Integer> createReverseList( final List<Integer> childCollection , final List<Integer> parentList ){
-    List<Integer> result = new ArrayList<Integer>();
-    int childOffset = 0;
-    int childCollectionSize = childCollection.size();
-    for( Integer parentIndexObj : parentList ){
-      int parentIndex = parentIndexObj.intValue();
-      while( childOffset < childCollectionSize && childCollection.get( childOffset ).intValue() < parentIndex ){
-        childOffset++;
-      }
-      if( childOffset == childCollectionSize ){
-        result.add( parentIndexObj );
-      }
-      else if( ! parentIndexObj.equals( childCollection.get( childOffset ) ) ){
-        result.add( parentIndexObj );
-      }
-    }
-
-    return result;
+  @Override
+  public boolean canBlockSkip( final BlockIndexNode blockIndexNode ) throws IOException{
+    return false;
   }
 
 }
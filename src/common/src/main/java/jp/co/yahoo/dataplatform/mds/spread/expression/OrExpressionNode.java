@@ -19,9 +19,11 @@ package jp.co.yahoo.dataplatform.mds.spread.expression;
 
 import java.io.IOException;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexNode;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
 import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 
@@ -58,14 +60,19 @@ public class OrExpressionNode implements IExpressionNode {
 
   @Override
   public List<Integer> exec( final Spread spread , final List<Integer> parentList ) throws IOException{
+    return CollectionUtils.toList( execBitSet( spread , CollectionUtils.toBitSet( parentList ) ) );
+  }
+
+  @Override
+  public BitSet execBitSet( final Spread spread , final BitSet parentBitSet ) throws IOException{
     if( denominator == 0 ){
       return null;
     }
-    List<Integer> union = parentList;
+    BitSet union = parentBitSet;
     long min = spread.size() / denominator;
     for( IExpressionNode node : childNode ){
-      List<Integer> result = node.exec( spread , null );
-      if( result != null && min < result.size() ){
+      BitSet result = node.execBitSet( spread , null );
+      if( result != null && min < result.cardinality() ){
         result = null;
       }
       if( result == null ){
@@ -75,10 +82,10 @@ public class OrExpressionNode implements IExpressionNode {
         union = result;
       }
       else{
-        union = CollectionUtils.unionFromSortedCollection( union , result );
+        union = CollectionUtils.union( union , result );
       }
 
-      if( spread.size() == union.size() ){
+      if( spread.size() == union.cardinality() ){
         return union;
       }
     }
@@ -86,4 +93,17 @@ public class OrExpressionNode implements IExpressionNode {
     return union;
   }
 
+  @Override
+  public boolean canBlockSkip( final BlockIndexNode blockIndexNode ) throws IOException{
+    if( denominator == 0 || childNode.isEmpty() ){
+      return false;
+    }
+    for( IExpressionNode node : childNode ){
+      if( ! node.canBlockSkip( blockIndexNode ) ){
+        return false;
+      }
+    }
+    return true;
+  }
+
 }
@@ -17,6 +17,7 @@
  */
 package jp.co.yahoo.dataplatform.mds.spread.expression;
 
+import jp.co.yahoo.dataplatform.mds.blockindex.BlockIndexNode;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 
@@ -53,6 +54,18 @@ public class StringExtractNode implements IExtractNode{
     return currentColumn;
   }
 
+  @Override
+  public BlockIndexNode get( final BlockIndexNode blockIndexNode ){
+    BlockIndexNode currentNode = blockIndexNode.getChildNode( columnName );
+    if( currentNode == null ){
+      return null;
+    }
+    if( childColumnNode != null ){
+      return childColumnNode.get( currentNode );
+    }
+    return currentNode;
+  }
+
   @Override
   public void pushChild( final IExtractNode childColumnNode ){
     if( this.childColumnNode == null ){
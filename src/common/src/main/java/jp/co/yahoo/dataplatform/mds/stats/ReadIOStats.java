@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.stats;
+
+import java.util.Map;
+import java.util.LinkedHashMap;
+
+public class ReadIOStats{
+
+  private long readCount;
+  private long requestBytes;
+  private long usedBytes;
+
+  public void add( final long readCount , final long requestBytes , final long usedBytes ){
+    this.readCount += readCount;
+    this.requestBytes += requestBytes;
+    this.usedBytes += usedBytes;
+  }
+
+  public void marge( final ReadIOStats readIOStats ){
+    add( readIOStats.getReadCount() , readIOStats.getRequestBytes() , readIOStats.getUsedBytes() );
+  }
+
+  public long getReadCount(){
+    return readCount;
+  }
+
+  public long getRequestBytes(){
+    return requestBytes;
+  }
+
+  public long getUsedBytes(){
+    return usedBytes;
+  }
+
+  public double getUsedRate(){
+    return (double)usedBytes / (double)requestBytes;
+  }
+
+  public Map<Object,Object> toJavaObject(){
+    Map<Object,Object> result = new LinkedHashMap<Object,Object>();
+    result.put( "read_count" , readCount );
+    result.put( "request_bytes" , requestBytes );
+    result.put( "used_bytes" , usedBytes );
+
+    return result;
+  }
+
+  public void clear(){
+    readCount = 0;
+    requestBytes = 0;
+    usedBytes = 0;
+  }
+
+  @Override
+  public String toString(){
+    return String.format( "Read count=%d , Request bytes=%d , Used bytes=%d , Used rate=%f" , readCount , requestBytes , usedBytes , getUsedRate() );
+  }
+
+}
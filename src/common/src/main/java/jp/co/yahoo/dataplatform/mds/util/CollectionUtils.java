@@ -17,6 +17,7 @@
  */
 package jp.co.yahoo.dataplatform.mds.util;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -99,4 +100,48 @@ public final class CollectionUtils{
     return result;
   }
 
+  public static BitSet intersection( final BitSet bitSet1 , final BitSet bitSet2 ){
+    BitSet result = (BitSet)bitSet1.clone();
+    result.and( bitSet2 );
+    return result;
+  }
+
+  public static BitSet union( final BitSet bitSet1 , final BitSet bitSet2 ){
+    BitSet result = (BitSet)bitSet1.clone();
+    result.or( bitSet2 );
+    return result;
+  }
+
+  public static BitSet toBitSet( final List<Integer> list ){
+    if( list == null ){
+      return null;
+    }
+    BitSet result = new BitSet();
+    for( Integer index : list ){
+      result.set( index.intValue() );
+    }
+    return result;
+  }
+
+  public static List<Integer> toList( final BitSet bitSet ){
+    if( bitSet == null ){
+      return null;
+    }
+    List<Integer> result = new ArrayList<Integer>( bitSet.cardinality() );
+    for( int i = bitSet.nextSetBit( 0 ) ; 0 <= i ; i = bitSet.nextSetBit( i + 1 ) ){
+      result.add( Integer.valueOf( i ) );
+    }
+    return result;
+  }
+
+  public static int[] toIntArray( final BitSet bitSet ){
+    int[] result = new int[ bitSet.cardinality() ];
+    int offset = 0;
+    for( int i = bitSet.nextSetBit( 0 ) ; 0 <= i ; i = bitSet.nextSetBit( i + 1 ) ){
+      result[offset] = i;
+      offset++;
+    }
+    return result;
+  }
+
 }
@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.util;
+
+public final class NumberOrderUtils{
+
+  private static final double LONG_RANGE_END = 0x1p63;
+
+  private NumberOrderUtils(){}
+
+  public static double normalizeZero( final double value ){
+    if( value == 0.0d ){
+      return 0.0d;
+    }
+    return value;
+  }
+
+  public static int compare( final double value1 , final double value2 ){
+    return Double.compare( normalizeZero( value1 ) , normalizeZero( value2 ) );
+  }
+
+  public static boolean isLongValue( final double value ){
+    return value == Math.rint( value ) && (double)Long.MIN_VALUE <= value && value < LONG_RANGE_END;
+  }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.util;
+
+public final class UTF8BytesOrderUtils{
+
+  private static final char SURROGATE_MIN = '\uD800';
+  private static final char SURROGATE_MAX = '\uDFFF';
+
+  private UTF8BytesOrderUtils(){}
+
+  public static int compare( final byte[] a , final int aStart , final int aLength , final byte[] b , final int bStart , final int bLength ){
+    int length = Math.min( aLength , bLength );
+    for( int i = 0 ; i < length ; i++ ){
+      int compare = ( a[aStart + i] & 0xFF ) - ( b[bStart + i] & 0xFF );
+      if( compare != 0 ){
+        return compare;
+      }
+    }
+    return aLength - bLength;
+  }
+
+  public static int compare( final String a , final String b ){
+    int length = Math.min( a.length() , b.length() );
+    for( int i = 0 ; i < length ; i++ ){
+      char aChar = a.charAt( i );
+      char bChar = b.charAt( i );
+      if( aChar != bChar ){
+        return toCodePointOrder( aChar ) - toCodePointOrder( bChar );
+      }
+    }
+    return a.length() - b.length();
+  }
+
+  public static boolean isSameOrderAsUTF16( final String str ){
+    for( int i = 0 ; i < str.length() ; i++ ){
+      if( SURROGATE_MIN <= str.charAt( i ) ){
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int toCodePointOrder( final char c ){
+    if( c < SURROGATE_MIN ){
+      return c;
+    }
+    if( c <= SURROGATE_MAX ){
+      return c + 0x2000;
+    }
+    return c - 0x800;
+  }
+
+}
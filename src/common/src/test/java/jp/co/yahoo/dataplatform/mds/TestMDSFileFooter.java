@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds;
+
+import java.io.IOException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.mds.block.ByteArrayBlockSource;
+
+public class TestMDSFileFooter{
+
+  private byte[] withPrefix( final byte[] footerBytes , final int prefixLength ){
+    byte[] data = new byte[ prefixLength + footerBytes.length ];
+    System.arraycopy( footerBytes , 0 , data , prefixLength , footerBytes.length );
+    return data;
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    MDSFileFooter footer = new MDSFileFooter();
+    footer.addBlock( 30L , 100 , 10 , 1 );
+    footer.addBlock( 134L , 200 , 20 , 2 );
+    footer.addBlock( 3000000000L , 300 , 30 , 3 );
+
+    MDSFileFooter result = MDSFileFooter.read( new ByteArrayBlockSource( withPrefix( footer.toBinary() , 50 ) ) );
+    assertEquals( result.getBlockCount() , 3 );
+    assertEquals( result.getBlockOffset( 0 ) , 30L );
+    assertEquals( result.getBlockLength( 1 ) , 200 );
+    assertEquals( result.getBlockOffset( 2 ) , 3000000000L );
+    assertEquals( result.getRowCount( 2 ) , 30 );
+    assertEquals( result.getSpreadCount( 1 ) , 2 );
+    assertEquals( result.getTotalRowCount() , 60L );
+  }
+
+  @Test
+  public void T_read_2() throws IOException{
+    MDSFileFooter result = MDSFileFooter.read( new ByteArrayBlockSource( new MDSFileFooter().toBinary() ) );
+    assertEquals( result.getBlockCount() , 0 );
+  }
+
+  @Test
+  public void T_read_3() throws IOException{
+    assertNull( MDSFileFooter.read( new ByteArrayBlockSource( new byte[100] ) ) );
+    assertNull( MDSFileFooter.read( new ByteArrayBlockSource( new byte[2] ) ) );
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_read_4() throws IOException{
+    byte[] data = new MDSFileFooter().toBinary();
+    data[ data.length - MDSFileFooter.MAGIC.length - 1 ] = (byte)100;
+    MDSFileFooter.read( new ByteArrayBlockSource( data ) );
+  }
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+public class TestWriterMemoryManager{
+
+  @Test
+  public void T_update_1(){
+    WriterMemoryManager manager = new WriterMemoryManager();
+    manager.setMaxSize( 100 );
+    WriterMemoryManager.Allocation a1 = manager.register();
+    WriterMemoryManager.Allocation a2 = manager.register();
+    a1.update( 40 );
+    a2.update( 50 );
+    assertEquals( manager.getTotalSize() , 90L );
+    assertFalse( a1.isFlushRequested() );
+    assertFalse( a2.isFlushRequested() );
+
+    a1.update( 60 );
+    assertEquals( manager.getTotalSize() , 110L );
+    assertTrue( a1.isFlushRequested() );
+    assertFalse( a2.isFlushRequested() );
+  }
+
+  @Test
+  public void T_update_2(){
+    WriterMemoryManager manager = new WriterMemoryManager();
+    manager.setMaxSize( 100 );
+    WriterMemoryManager.Allocation a1 = manager.register();
+    WriterMemoryManager.Allocation a2 = manager.register();
+    WriterMemoryManager.Allocation a3 = manager.register();
+    a1.update( 60 );
+    a2.update( 50 );
+    a3.update( 45 );
+    assertTrue( a1.isFlushRequested() );
+    assertFalse( a2.isFlushRequested() );
+    assertFalse( a3.isFlushRequested() );
+
+    a1.flushed( 0 );
+    assertFalse( a1.isFlushRequested() );
+    assertEquals( manager.getTotalSize() , 95L );
+    a2.update( 70 );
+    assertTrue( a2.isFlushRequested() );
+    assertFalse( a3.isFlushRequested() );
+    a2.flushed( 0 );
+    assertEquals( manager.getTotalSize() , 45L );
+    assertFalse( a2.isFlushRequested() );
+  }
+
+  @Test
+  public void T_update_3(){
+    WriterMemoryManager manager = new WriterMemoryManager();
+    WriterMemoryManager.Allocation a1 = manager.register();
+    a1.update( Long.MAX_VALUE / 2 );
+    assertFalse( a1.isFlushRequested() );
+
+    manager.setMaxSize( 100 );
+    assertTrue( a1.isFlushRequested() );
+  }
+
+  @Test
+  public void T_configure_1(){
+    WriterMemoryManager manager = new WriterMemoryManager();
+    assertTrue( manager.configure( 100 ) );
+    assertFalse( manager.configure( 200 ) );
+    assertEquals( manager.getMaxSize() , 100L );
+
+    manager.setMaxSize( 300 );
+    assertEquals( manager.getMaxSize() , 300L );
+  }
+
+  @Test
+  public void T_flushStarted_1(){
+    WriterMemoryManager manager = new WriterMemoryManager();
+    manager.setMaxSize( 100 );
+    WriterMemoryManager.Allocation a1 = manager.register();
+    a1.update( 120 );
+    assertTrue( a1.isFlushRequested() );
+
+    a1.flushStarted( 110 , 10 );
+    assertFalse( a1.isFlushRequested() );
+    assertEquals( a1.getSize() , 10L );
+    assertEquals( a1.getPendingSize() , 110L );
+    assertEquals( manager.getTotalSize() , 120L );
+
+    a1.update( 30 );
+    assertEquals( manager.getTotalSize() , 140L );
+    a1.flushCompleted( 110 );
+    assertEquals( a1.getPendingSize() , 0L );
+    assertEquals( manager.getTotalSize() , 30L );
+
+    a1.flushStarted( 30 , 0 );
+    a1.close();
+    assertEquals( manager.getTotalSize() , 0L );
+    a1.flushCompleted( 30 );
+    assertEquals( manager.getTotalSize() , 0L );
+  }
+
+  @Test
+  public void T_flushStarted_2(){
+    WriterMemoryManager manager = new WriterMemoryManager();
+    manager.setMaxSize( 100 );
+    WriterMemoryManager.Allocation a1 = manager.register();
+    WriterMemoryManager.Allocation a2 = manager.register();
+    a2.update( 40 );
+    a1.update( 80 );
+    assertTrue( a1.isFlushRequested() );
+    assertFalse( a2.isFlushRequested() );
+
+    a1.flushStarted( 80 , 0 );
+    assertEquals( manager.getTotalSize() , 120L );
+    assertFalse( a1.isFlushRequested() );
+    assertFalse( a2.isFlushRequested() );
+  }
+
+  @Test
+  public void T_close_1(){
+    WriterMemoryManager manager = new WriterMemoryManager();
+    manager.setMaxSize( 100 );
+    WriterMemoryManager.Allocation a1 = manager.register();
+    WriterMemoryManager.Allocation a2 = manager.register();
+    a1.update( 80 );
+    a2.update( 10 );
+    assertEquals( manager.getAllocationCount() , 2 );
+    a1.close();
+    assertEquals( manager.getAllocationCount() , 1 );
+    assertEquals( manager.getTotalSize() , 10L );
+
+    a1.update( 500 );
+    assertEquals( manager.getTotalSize() , 10L );
+    assertFalse( a1.isFlushRequested() );
+    assertFalse( a2.isFlushRequested() );
+  }
+
+}
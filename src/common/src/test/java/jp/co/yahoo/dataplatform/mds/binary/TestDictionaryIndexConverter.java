@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary;
+
+import java.nio.IntBuffer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.testng.annotations.Test;
+import org.testng.annotations.DataProvider;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestDictionaryIndexConverter{
+
+  @DataProvider(name = "T_toBinary")
+  public Object[][] data1(){
+    int[] alternate = new int[100];
+    int[] runs = new int[100];
+    int[] mixed = new int[103];
+    int[] wide = new int[20];
+    for( int i = 0 ; i < alternate.length ; i++ ){
+      alternate[i] = i % 3;
+    }
+    for( int i = 0 ; i < runs.length ; i++ ){
+      runs[i] = i / 25;
+    }
+    for( int i = 0 ; i < mixed.length ; i++ ){
+      mixed[i] = ( i < 50 ) ? i % 5 : ( i < 90 ? 4 : i % 2 );
+    }
+    for( int i = 0 ; i < wide.length ; i++ ){
+      wide[i] = i * 100000;
+    }
+    return new Object[][]{
+      { new int[0] , 1 },
+      { new int[]{ 0 , 0 , 0 } , 1 },
+      { new int[]{ 0 , 1 , 2 } , 3 },
+      { alternate , 3 },
+      { runs , 4 },
+      { mixed , 5 },
+      { wide , 1900001 },
+    };
+  }
+
+  @Test
+  public void T_getBitWidth_1(){
+    assertEquals( DictionaryIndexConverter.getBitWidth( 1 ) , 0 );
+    assertEquals( DictionaryIndexConverter.getBitWidth( 2 ) , 1 );
+    assertEquals( DictionaryIndexConverter.getBitWidth( 3 ) , 2 );
+    assertEquals( DictionaryIndexConverter.getBitWidth( 4 ) , 2 );
+    assertEquals( DictionaryIndexConverter.getBitWidth( 5 ) , 3 );
+    assertEquals( DictionaryIndexConverter.getBitWidth( 65536 ) , 16 );
+    assertEquals( DictionaryIndexConverter.getBitWidth( 65537 ) , 17 );
+  }
+
+  @Test( dataProvider = "T_toBinary" )
+  public void T_toBinary_1( final int[] indexArray , final int dicSize ){
+    byte[] binary = DictionaryIndexConverter.toBinary( indexArray , indexArray.length , dicSize );
+    int[] result = DictionaryIndexConverter.toIntArray( binary , 0 );
+    assertEquals( result.length , indexArray.length );
+    for( int i = 0 ; i < indexArray.length ; i++ ){
+      assertEquals( result[i] , indexArray[i] );
+    }
+  }
+
+  @Test( dataProvider = "T_toBinary" )
+  public void T_toSelection_1( final int[] indexArray , final int dicSize ){
+    boolean[] dicMatch = new boolean[dicSize];
+    for( int i = 0 ; i < dicSize ; i += 2 ){
+      dicMatch[i] = true;
+    }
+    byte[] binary = DictionaryIndexConverter.toBinary( indexArray , indexArray.length , dicSize );
+    BitSet result = DictionaryIndexConverter.toSelection( binary , 0 , dicMatch , new BitSet() );
+    for( int i = 0 ; i < indexArray.length ; i++ ){
+      assertEquals( result.get( i ) , dicMatch[ indexArray[i] ] );
+    }
+    assertTrue( result.length() <= indexArray.length );
+  }
+
+  @Test
+  public void T_toBinary_2(){
+    int[] indexArray = new int[1000];
+    for( int i = 0 ; i < indexArray.length ; i++ ){
+      indexArray[i] = i % 3;
+    }
+    byte[] binary = DictionaryIndexConverter.toBinary( indexArray , indexArray.length , 3 );
+    assertTrue( binary.length * 15 < indexArray.length * 4 );
+  }
+
+  @Test
+  public void T_toBinary_3(){
+    int[] indexArray = new int[1000];
+    for( int i = 0 ; i < indexArray.length ; i++ ){
+      indexArray[i] = i / 200;
+    }
+    byte[] binary = DictionaryIndexConverter.toBinary( indexArray , indexArray.length , 5 );
+    assertEquals( binary[0] , (byte)DictionaryIndexConverter.EncodeType.RLE_HYBRID.ordinal() );
+    assertTrue( binary.length < 30 );
+  }
+
+  @Test
+  public void T_toIntBuffer_1(){
+    List<Integer> indexList = new ArrayList<Integer>();
+    for( int i = 0 ; i < 50 ; i++ ){
+      indexList.add( i % 4 );
+    }
+    byte[] section = DictionaryIndexConverter.toLengthBytesBinary( indexList , 4 );
+    byte[] binary = new byte[ section.length + 10 ];
+    System.arraycopy( section , 0 , binary , 3 , section.length );
+    assertEquals( DictionaryIndexConverter.getSectionLength( binary , 3 ) , section.length );
+
+    IntBuffer intBuffer = DictionaryIndexConverter.toIntBuffer( binary , 3 );
+    assertEquals( intBuffer.capacity() , 50 );
+    for( int i = 0 ; i < 50 ; i++ ){
+      assertEquals( intBuffer.get( i ) , i % 4 );
+    }
+  }
+
+  @Test
+  public void T_toIntBuffer_2(){
+    List<Integer> indexList = new ArrayList<Integer>();
+    for( int i = 0 ; i < 50 ; i++ ){
+      indexList.add( i % 4 );
+    }
+    byte[] legacy = BinaryUtil.toLengthBytesBinary( BinaryDump.dumpInteger( indexList ) );
+    assertEquals( DictionaryIndexConverter.getSectionLength( legacy , 0 ) , legacy.length );
+
+    IntBuffer intBuffer = DictionaryIndexConverter.toIntBuffer( legacy , 0 );
+    assertEquals( intBuffer.capacity() , 50 );
+    for( int i = 0 ; i < 50 ; i++ ){
+      assertEquals( intBuffer.get( i ) , i % 4 );
+    }
+
+    BitSet result = DictionaryIndexConverter.toSectionSelection( legacy , 0 , new boolean[]{ false , true , false , false } , new BitSet() );
+    assertEquals( result.cardinality() , 13 );
+    assertTrue( result.get( 1 ) );
+    assertTrue( result.get( 49 ) );
+  }
+
+}
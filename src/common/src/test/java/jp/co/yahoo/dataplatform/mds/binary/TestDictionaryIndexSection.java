@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary;
+
+import java.nio.IntBuffer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.testng.annotations.Test;
+import org.testng.annotations.DataProvider;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestDictionaryIndexSection{
+
+  private List<Integer> createIndexList( final int rows , final int dicSize ){
+    List<Integer> indexList = new ArrayList<Integer>();
+    for( int i = 0 ; i < rows ; i++ ){
+      indexList.add( ( i / 10 ) % dicSize );
+    }
+    return indexList;
+  }
+
+  @DataProvider(name = "T_section")
+  public Object[][] data1(){
+    List<Integer> indexList = createIndexList( 120 , 5 );
+    return new Object[][]{
+      { DictionaryIndexConverter.toLengthBytesBinary( indexList , 5 ) , indexList },
+      { BinaryUtil.toLengthBytesBinary( BinaryDump.dumpInteger( indexList ) ) , indexList },
+    };
+  }
+
+  @Test( dataProvider = "T_section" )
+  public void T_size_1( final byte[] section , final List<Integer> indexList ){
+    assertEquals( DictionaryIndexConverter.getSectionRowCount( section , 0 ) , indexList.size() );
+    DictionaryIndexSection indexSection = new DictionaryIndexSection( section , 0 );
+    assertEquals( indexSection.size() , indexList.size() );
+    assertFalse( indexSection.isDecoded() );
+  }
+
+  @Test( dataProvider = "T_section" )
+  public void T_select_1( final byte[] section , final List<Integer> indexList ){
+    boolean[] dicMatch = new boolean[]{ false , true , false , true , false };
+    DictionaryIndexSection indexSection = new DictionaryIndexSection( section , 0 );
+    BitSet encoded = indexSection.select( dicMatch , new BitSet() );
+    assertFalse( indexSection.isDecoded() );
+
+    IntBuffer intBuffer = indexSection.getIntBuffer();
+    assertTrue( indexSection.isDecoded() );
+    assertEquals( intBuffer.capacity() , indexList.size() );
+    BitSet decoded = indexSection.select( dicMatch , new BitSet() );
+    assertEquals( encoded , decoded );
+    for( int i = 0 ; i < indexList.size() ; i++ ){
+      assertEquals( intBuffer.get( i ) , indexList.get( i ).intValue() );
+      assertEquals( encoded.get( i ) , dicMatch[ indexList.get( i ) ] );
+    }
+  }
+
+  @Test
+  public void T_select_2(){
+    DictionaryIndexSection indexSection = new DictionaryIndexSection( IntBuffer.wrap( new int[]{ 0 , 2 , 1 , 2 } ) );
+    assertTrue( indexSection.isDecoded() );
+    assertEquals( indexSection.size() , 4 );
+    BitSet result = indexSection.select( new boolean[]{ false , false , true } , new BitSet() );
+    assertEquals( result.cardinality() , 2 );
+    assertTrue( result.get( 1 ) );
+    assertTrue( result.get( 3 ) );
+  }
+
+}
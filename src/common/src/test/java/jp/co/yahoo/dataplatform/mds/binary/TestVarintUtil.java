@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+
+public class TestVarintUtil{
+
+  @Test
+  public void T_zigZag_1(){
+    long[] values = new long[]{ 0L , -1L , 1L , -2L , 2L , Long.MIN_VALUE , Long.MAX_VALUE };
+    assertEquals( VarintUtil.encodeZigZag( 0L ) , 0L );
+    assertEquals( VarintUtil.encodeZigZag( -1L ) , 1L );
+    assertEquals( VarintUtil.encodeZigZag( 1L ) , 2L );
+    for( long value : values ){
+      assertEquals( VarintUtil.decodeZigZag( VarintUtil.encodeZigZag( value ) ) , value );
+    }
+  }
+
+  @Test
+  public void T_varint_1(){
+    long[] values = new long[]{ 0L , 127L , 128L , 16383L , 16384L , -1L , Long.MAX_VALUE };
+    int[] sizes = new int[]{ 1 , 1 , 2 , 2 , 3 , 10 , 9 };
+    byte[] buffer = new byte[128];
+    int offset = 0;
+    for( int i = 0 ; i < values.length ; i++ ){
+      assertEquals( VarintUtil.getVarintSize( values[i] ) , sizes[i] );
+      int next = VarintUtil.writeVarint( values[i] , buffer , offset );
+      assertEquals( next - offset , sizes[i] );
+      offset = next;
+    }
+    int[] readOffset = new int[]{ 0 };
+    for( long value : values ){
+      assertEquals( VarintUtil.readVarint( buffer , readOffset ) , value );
+    }
+    assertEquals( readOffset[0] , offset );
+  }
+
+}
@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.IPrimitiveArrayCellManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.BooleanFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NotNullFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NullFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.AllExpressionIndex;
+import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.BooleanObj;
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+public class TestBitSetBooleanColumnBinaryMaker {
+
+  private class TestBooleanMemoryAllocator implements IMemoryAllocator{
+
+    public final List<Boolean> list;
+
+    public TestBooleanMemoryAllocator(){
+      list = new ArrayList<Boolean>();
+      for( int i = 0 ; i < 6 ; i++ ){
+        list.add( null );
+      }
+    }
+
+    @Override
+    public void setNull( final int index ) throws IOException{
+    }
+
+    @Override
+    public void setBoolean( final int index , final boolean value ) throws IOException{
+      list.set( index , value );
+    }
+
+    @Override
+    public void setByte( final int index , final byte value ) throws IOException{
+    }
+
+    @Override
+    public void setShort( final int index , final short value ) throws IOException{
+    }
+
+    @Override
+    public void setInteger( final int index , final int value ) throws IOException{
+    }
+
+    @Override
+    public void setLong( final int index , final long value ) throws IOException{
+    }
+
+    @Override
+    public void setFloat( final int index , final float value ) throws IOException{
+    }
+
+    @Override
+    public void setDouble( final int index , final double value ) throws IOException{
+    }
+
+    @Override
+    public void setBytes( final int index , final byte[] value ) throws IOException{
+    }
+
+    @Override
+    public void setBytes( final int index , final byte[] value , final int start , final int length ) throws IOException{
+    }
+
+    @Override
+    public void setString( final int index , final String value ) throws IOException{
+    }
+
+    @Override
+    public void setString( final int index , final char[] value ) throws IOException{
+    }
+
+    @Override
+    public void setString( final int index , final char[] value , final int start , final int length ) throws IOException{
+    }
+
+    @Override
+    public void setArrayIndex( final int index , final int start , final int end ) throws IOException{
+    }
+
+    @Override
+    public IMemoryAllocator getChild( final String columnName , final ColumnType type ) throws IOException{
+      return null;
+    }
+  }
+
+  @Test
+  public void T_toBinary_1() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "boolean" );
+    column.add( ColumnType.BOOLEAN , new BooleanObj( true ) , 0 );
+    column.add( ColumnType.BOOLEAN , new BooleanObj( false ) , 1 );
+
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    ColumnBinaryMakerCustomConfigNode configNode = new ColumnBinaryMakerCustomConfigNode( "root" , defaultConfig );
+
+    IColumnBinaryMaker maker = new BitSetBooleanColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( defaultConfig , null , column , new MakerCache() );
+
+    assertEquals( columnBinary.columnName , "boolean" );
+    assertEquals( columnBinary.rowCount , 2 );
+    Assert.assertEquals( columnBinary.columnType , ColumnType.BOOLEAN );
+
+    IColumn decodeColumn = maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+    assertEquals( decodeColumn.getColumnKeys().size() , 0 );
+    assertEquals( decodeColumn.getColumnSize() , 0 );
+
+    assertTrue( ( (PrimitiveObject)( decodeColumn.get(0).getRow() ) ).getBoolean() );
+    assertFalse( ( (PrimitiveObject)( decodeColumn.get(1).getRow() ) ).getBoolean() );
+
+    assertEquals( decodeColumn.getColumnKeys().size() , 0 );
+    assertEquals( decodeColumn.getColumnSize() , 0 );
+  }
+
+  @Test
+  public void T_loadInMemoryStorage_1() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "boolean" );
+    column.add( ColumnType.BOOLEAN , new BooleanObj( true ) , 0 );
+    column.add( ColumnType.BOOLEAN , new BooleanObj( false ) , 1 );
+    column.add( ColumnType.BOOLEAN , new BooleanObj( true ) , 5 );
+
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    ColumnBinaryMakerCustomConfigNode configNode = new ColumnBinaryMakerCustomConfigNode( "root" , defaultConfig );
+
+    IColumnBinaryMaker maker = new BitSetBooleanColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( defaultConfig , null , column , new MakerCache() );
+
+    assertEquals( columnBinary.columnName , "boolean" );
+    assertEquals( columnBinary.rowCount , 3 );
+    Assert.assertEquals( columnBinary.columnType , ColumnType.BOOLEAN );
+
+    TestBooleanMemoryAllocator allocator = new TestBooleanMemoryAllocator();
+    maker.loadInMemoryStorage( columnBinary , allocator );
+
+    assertEquals( allocator.list.get( 0 ).booleanValue() , true );
+    assertEquals( allocator.list.get( 1 ).booleanValue() , false );
+    assertEquals( allocator.list.get( 2 ) , null );
+    assertEquals( allocator.list.get( 3 ) , null );
+    assertEquals( allocator.list.get( 4 ) , null );
+    assertEquals( allocator.list.get( 5 ).booleanValue() , true );
+  }
+
+
+  @Test
+  public void T_filter_1() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "boolean" );
+    for( int i = 0 ; i < 200 ; i++ ){
+      if( ( i % 5 ) != 0 ){
+        column.add( ColumnType.BOOLEAN , new BooleanObj( ( i % 2 ) == 0 ) , i );
+      }
+    }
+
+    IColumnBinaryMaker maker = new BitSetBooleanColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+    assertEquals( columnBinary.rowCount , 160 );
+    assertTrue( columnBinary.rawDataSize < 200 / 4 + 16 );
+
+    IColumn decodeColumn = maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+    assertEquals( decodeColumn.size() , 200 );
+
+    BitSet trueBitSet = decodeColumn.filter( new BooleanFilter( true ) , new BitSet() );
+    BitSet falseBitSet = decodeColumn.filter( new BooleanFilter( false ) , new BitSet() );
+    BitSet nullBitSet = decodeColumn.filter( new NullFilter() , new BitSet() );
+    BitSet notNullBitSet = decodeColumn.filter( new NotNullFilter() , new BitSet() );
+    for( int i = 0 ; i < 200 ; i++ ){
+      boolean isNull = ( i % 5 ) == 0;
+      assertEquals( trueBitSet.get( i ) , ! isNull && ( i % 2 ) == 0 );
+      assertEquals( falseBitSet.get( i ) , ! isNull && ( i % 2 ) != 0 );
+      assertEquals( nullBitSet.get( i ) , isNull );
+      assertEquals( notNullBitSet.get( i ) , ! isNull );
+    }
+    assertEquals( decodeColumn.filter( new BooleanFilter( true ) ).size() , 80 );
+  }
+
+  @Test
+  public void T_setLongArray_1() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "boolean" );
+    column.add( ColumnType.BOOLEAN , new BooleanObj( true ) , 0 );
+    column.add( ColumnType.BOOLEAN , new BooleanObj( false ) , 1 );
+    column.add( ColumnType.BOOLEAN , new BooleanObj( true ) , 3 );
+
+    IColumnBinaryMaker maker = new BitSetBooleanColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+    IColumn decodeColumn = maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+
+    IPrimitiveArrayCellManager cellManager = (IPrimitiveArrayCellManager)( decodeColumn.getCellManager() );
+    long[] result = new long[6];
+    boolean[] isNull = new boolean[6];
+    assertTrue( cellManager.setLongArray( new AllExpressionIndex( decodeColumn.size() ) , 0 , 6 , result , isNull ) );
+    assertEquals( result[0] , 1L );
+    assertEquals( result[1] , 0L );
+    assertTrue( isNull[2] );
+    assertEquals( result[3] , 1L );
+    assertFalse( isNull[3] );
+    assertTrue( isNull[4] );
+    assertTrue( isNull[5] );
+  }
+
+}
+
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertFalse;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexConverter;
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.maker.index.BufferDirectSequentialNumberCellIndex;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NullFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NotNullFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+
+public class TestBufferDirectDictionaryLinkCellManager{
+
+  private class TestDicManager implements IDicManager{
+
+    private final PrimitiveObject[] dicArray;
+
+    public TestDicManager( final PrimitiveObject[] dicArray ){
+      this.dicArray = dicArray;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException{
+      return dicArray[index];
+    }
+
+    @Override
+    public int getDicSize() throws IOException{
+      return dicArray.length;
+    }
+
+  }
+
+  private BufferDirectDictionaryLinkCellManager createIntegerCellManager(){
+    PrimitiveObject[] dicArray = new PrimitiveObject[]{ null , new IntegerObj( 10 ) , new IntegerObj( 20 ) , new IntegerObj( 30 ) };
+    IntBuffer indexBuffer = IntBuffer.wrap( new int[]{ 1 , 0 , 2 , 3 , 2 , 1 } );
+    return new BufferDirectDictionaryLinkCellManager( ColumnType.INTEGER , new TestDicManager( dicArray ) , indexBuffer );
+  }
+
+  private BufferDirectDictionaryLinkCellManager createStringCellManager(){
+    PrimitiveObject[] dicArray = new PrimitiveObject[]{ null , new StringObj( "aaa" ) , new StringObj( "bbb" ) , new StringObj( "ccc" ) };
+    IntBuffer indexBuffer = IntBuffer.wrap( new int[]{ 1 , 0 , 2 , 3 , 2 , 1 } );
+    return new BufferDirectDictionaryLinkCellManager( ColumnType.STRING , new TestDicManager( dicArray ) , indexBuffer );
+  }
+
+  @Test
+  public void T_filter_numberRange_1() throws IOException{
+    List<Integer> result = createIntegerCellManager().filter( new NumberRangeFilter( new IntegerObj( 10 ) , false , new LongObj( 30L ) , true , false ) );
+    assertEquals( result , Arrays.asList( 2 , 3 , 4 ) );
+  }
+
+  @Test
+  public void T_filter_numberRange_2() throws IOException{
+    List<Integer> result = createIntegerCellManager().filter( new NumberRangeFilter( new IntegerObj( 15 ) , true , new DoubleObj( 25.5d ) , true , true ) );
+    assertEquals( result , Arrays.asList( 0 , 3 , 5 ) );
+  }
+
+  @Test
+  public void T_filter_numberSet_1() throws IOException{
+    List<Integer> result = createIntegerCellManager().filter( new NumberSetFilter( Arrays.<PrimitiveObject>asList( new IntegerObj( 10 ) , new DoubleObj( 30d ) , new DoubleObj( 20.5d ) ) ) );
+    assertEquals( result , Arrays.asList( 0 , 3 , 5 ) );
+  }
+
+  @Test
+  public void T_filter_stringRange_1() throws IOException{
+    List<Integer> result = createStringCellManager().filter( new StringRangeFilter( "aaa" , false , null , false , false ) );
+    assertEquals( result , Arrays.asList( 2 , 3 , 4 ) );
+  }
+
+  @Test
+  public void T_filter_stringSet_1() throws IOException{
+    List<Integer> result = createStringCellManager().filter( new StringSetFilter( new HashSet<String>( Arrays.asList( "bbb" , "zzz" ) ) ) );
+    assertEquals( result , Arrays.asList( 2 , 4 ) );
+  }
+
+  @Test
+  public void T_filter_unmatchType_1() throws IOException{
+    assertNull( createStringCellManager().filter( new NumberSetFilter( Arrays.<PrimitiveObject>asList( new IntegerObj( 10 ) ) ) ) );
+    assertNull( createIntegerCellManager().filter( new StringSetFilter( new HashSet<String>( Arrays.asList( "10" ) ) ) ) );
+  }
+
+  @Test
+  public void T_filter_stringRange_2() throws IOException{
+    PrimitiveObject[] dicArray = new PrimitiveObject[]{ null , new StringObj( "\uff21" ) , new StringObj( "\ud83d\ude00" ) };
+    IntBuffer indexBuffer = IntBuffer.wrap( new int[]{ 1 , 2 , 0 } );
+    BufferDirectDictionaryLinkCellManager cellManager = new BufferDirectDictionaryLinkCellManager( ColumnType.STRING , new TestDicManager( dicArray ) , indexBuffer );
+    List<Integer> result = cellManager.filter( new StringRangeFilter( "\uffff" , true , null , false , false ) );
+    assertEquals( result , Arrays.asList( 1 ) );
+  }
+
+  @Test
+  public void T_filter_cellIndex_1() throws IOException{
+    PrimitiveObject[] dicArray = new PrimitiveObject[]{ null , new IntegerObj( 10 ) , new IntegerObj( 20 ) , new IntegerObj( 30 ) };
+    IntBuffer indexBuffer = IntBuffer.wrap( new int[]{ 1 , 0 , 2 , 3 , 2 , 1 } );
+    IDicManager dicManager = new TestDicManager( dicArray );
+    BufferDirectDictionaryLinkCellManager cellManager = new BufferDirectDictionaryLinkCellManager( ColumnType.INTEGER , dicManager , indexBuffer );
+    cellManager.setIndex( new BufferDirectSequentialNumberCellIndex( ColumnType.INTEGER , dicManager , indexBuffer ) );
+    List<Integer> result = cellManager.filter( new NumberRangeFilter( new IntegerObj( 10 ) , false , new LongObj( 30L ) , true , false ) );
+    assertEquals( result , Arrays.asList( 2 , 3 , 4 ) );
+  }
+
+  @Test
+  public void T_filter_indexSection_1() throws IOException{
+    PrimitiveObject[] dicArray = new PrimitiveObject[]{ null , new IntegerObj( 10 ) , new IntegerObj( 20 ) , new IntegerObj( 30 ) };
+    byte[] section = DictionaryIndexConverter.toLengthBytesBinary( Arrays.asList( 1 , 0 , 2 , 3 , 2 , 1 ) , dicArray.length );
+    DictionaryIndexSection indexSection = new DictionaryIndexSection( section , 0 );
+    IDicManager dicManager = new TestDicManager( dicArray );
+    BufferDirectDictionaryLinkCellManager cellManager = new BufferDirectDictionaryLinkCellManager( ColumnType.INTEGER , dicManager , indexSection );
+    cellManager.setIndex( new BufferDirectSequentialNumberCellIndex( ColumnType.INTEGER , dicManager , indexSection ) );
+    assertEquals( cellManager.filter( new NumberRangeFilter( new IntegerObj( 10 ) , false , new LongObj( 30L ) , true , false ) ) , Arrays.asList( 2 , 3 , 4 ) );
+    assertEquals( cellManager.filter( new NullFilter() ) , Arrays.asList( 1 ) );
+    assertEquals( cellManager.filter( new NotNullFilter() ) , Arrays.asList( 0 , 2 , 3 , 4 , 5 ) );
+    assertFalse( indexSection.isDecoded() );
+    assertEquals( ( (PrimitiveObject)( cellManager.get( 3 , null ).getRow() ) ).getInt() , 30 );
+  }
+
+}
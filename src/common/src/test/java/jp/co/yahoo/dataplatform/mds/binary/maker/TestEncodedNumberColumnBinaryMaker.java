@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import org.testng.annotations.Test;
+import org.testng.annotations.DataProvider;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberRangeFilter;
+
+import jp.co.yahoo.dataplatform.schema.objects.IntegerObj;
+import jp.co.yahoo.dataplatform.schema.objects.LongObj;
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+import jp.co.yahoo.dataplatform.schema.objects.ShortObj;
+import jp.co.yahoo.dataplatform.schema.objects.StringObj;
+
+public class TestEncodedNumberColumnBinaryMaker{
+
+  private class TestNumberMemoryAllocator implements IMemoryAllocator{
+
+    public final List<Long> list;
+
+    public TestNumberMemoryAllocator( final int size ){
+      list = new ArrayList<Long>();
+      for( int i = 0 ; i < size ; i++ ){
+        list.add( null );
+      }
+    }
+
+    @Override
+    public void setNull( final int index ) throws IOException{
+    }
+
+    @Override
+    public void setBoolean( final int index , final boolean value ) throws IOException{
+    }
+
+    @Override
+    public void setByte( final int index , final byte value ) throws IOException{
+      list.set( index , (long)value );
+    }
+
+    @Override
+    public void setShort( final int index , final short value ) throws IOException{
+      list.set( index , (long)value );
+    }
+
+    @Override
+    public void setInteger( final int index , final int value ) throws IOException{
+      list.set( index , (long)value );
+    }
+
+    @Override
+    public void setLong( final int index , final long value ) throws IOException{
+      list.set( index , value );
+    }
+
+    @Override
+    public void setFloat( final int index , final float value ) throws IOException{
+    }
+
+    @Override
+    public void setDouble( final int index , final double value ) throws IOException{
+    }
+
+    @Override
+    public void setBytes( final int index , final byte[] value ) throws IOException{
+    }
+
+    @Override
+    public void setBytes( final int index , final byte[] value , final int start , final int length ) throws IOException{
+    }
+
+    @Override
+    public void setString( final int index , final String value ) throws IOException{
+    }
+
+    @Override
+    public void setString( final int index , final char[] value ) throws IOException{
+    }
+
+    @Override
+    public void setString( final int index , final char[] value , final int start , final int length ) throws IOException{
+    }
+
+    @Override
+    public void setArrayIndex( final int index , final int start , final int end ) throws IOException{
+    }
+
+    @Override
+    public IMemoryAllocator getChild( final String columnName , final ColumnType type ) throws IOException{
+      return null;
+    }
+  }
+
+  @DataProvider(name = "T_maker")
+  public Object[][] data1(){
+    return new Object[][]{
+      { new RunLengthNumberColumnBinaryMaker() },
+      { new DeltaNumberColumnBinaryMaker() },
+      { new FrameOfReferenceNumberColumnBinaryMaker() },
+      { new OptimizeNumberColumnBinaryMaker() },
+    };
+  }
+
+  private IColumn createColumn( final ColumnType columnType ) throws IOException{
+    IColumn column = new PrimitiveColumn( columnType , "column" );
+    long[] values = new long[]{ -3L , 0L , 10L , 10L , 10L , 2000L };
+    int[] indexes = new int[]{ 0 , 2 , 3 , 4 , 6 , 7 };
+    for( int i = 0 ; i < values.length ; i++ ){
+      switch( columnType ){
+        case SHORT:
+          column.add( columnType , new ShortObj( (short)values[i] ) , indexes[i] );
+          break;
+        case INTEGER:
+          column.add( columnType , new IntegerObj( (int)values[i] ) , indexes[i] );
+          break;
+        default:
+          column.add( columnType , new LongObj( values[i] ) , indexes[i] );
+          break;
+      }
+    }
+    return column;
+  }
+
+  private void assertColumn( final IColumn decodeColumn ) throws IOException{
+    assertEquals( decodeColumn.size() , 8 );
+    assertEquals( ( (PrimitiveObject)( decodeColumn.get(0).getRow() ) ).getLong() , -3L );
+    assertNull( decodeColumn.get(1).getRow() );
+    assertEquals( ( (PrimitiveObject)( decodeColumn.get(2).getRow() ) ).getLong() , 0L );
+    assertEquals( ( (PrimitiveObject)( decodeColumn.get(3).getRow() ) ).getLong() , 10L );
+    assertEquals( ( (PrimitiveObject)( decodeColumn.get(4).getRow() ) ).getLong() , 10L );
+    assertNull( decodeColumn.get(5).getRow() );
+    assertEquals( ( (PrimitiveObject)( decodeColumn.get(6).getRow() ) ).getLong() , 10L );
+    assertEquals( ( (PrimitiveObject)( decodeColumn.get(7).getRow() ) ).getLong() , 2000L );
+  }
+
+  @Test( dataProvider = "T_maker" )
+  public void T_toBinary_1( final IColumnBinaryMaker maker ) throws IOException{
+    ColumnType[] types = new ColumnType[]{ ColumnType.SHORT , ColumnType.INTEGER , ColumnType.LONG };
+    for( ColumnType columnType : types ){
+      ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , createColumn( columnType ) , new MakerCache() );
+      assertEquals( columnBinary.columnName , "column" );
+      assertEquals( columnBinary.columnType , columnType );
+      assertEquals( columnBinary.rowCount , 6 );
+      assertTrue( columnBinary.blockIndex instanceof LongRangeBlockIndex );
+
+      IColumn decodeColumn = FindColumnBinaryMaker.get( columnBinary.makerClassName ).toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+      assertEquals( decodeColumn.getColumnType() , columnType );
+      assertColumn( decodeColumn );
+      assertColumn( maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() ) );
+    }
+  }
+
+  @Test( dataProvider = "T_maker" )
+  public void T_filter_1( final IColumnBinaryMaker maker ) throws IOException{
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , createColumn( ColumnType.LONG ) , new MakerCache() );
+    IColumn decodeColumn = maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+
+    List<Integer> result = decodeColumn.filter( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 10L ) ) );
+    assertEquals( result.size() , 3 );
+    assertEquals( result.get(0).intValue() , 3 );
+    assertEquals( result.get(1).intValue() , 4 );
+    assertEquals( result.get(2).intValue() , 6 );
+
+    result = decodeColumn.filter( new NumberRangeFilter( new LongObj( -3L ) , false , new LongObj( 2000L ) , true , false ) );
+    assertEquals( result.size() , 5 );
+    assertEquals( result.get(0).intValue() , 2 );
+    assertEquals( result.get(4).intValue() , 7 );
+  }
+
+  @Test( dataProvider = "T_maker" )
+  public void T_loadInMemoryStorage_1( final IColumnBinaryMaker maker ) throws IOException{
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , createColumn( ColumnType.INTEGER ) , new MakerCache() );
+    TestNumberMemoryAllocator allocator = new TestNumberMemoryAllocator( 8 );
+    maker.loadInMemoryStorage( columnBinary , allocator );
+    assertEquals( allocator.list.get(0).longValue() , -3L );
+    assertNull( allocator.list.get(1) );
+    assertEquals( allocator.list.get(2).longValue() , 0L );
+    assertEquals( allocator.list.get(6).longValue() , 10L );
+    assertNull( allocator.list.get(5) );
+    assertEquals( allocator.list.get(7).longValue() , 2000L );
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_toBinary_2() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
+    column.add( ColumnType.STRING , new StringObj( "a" ) , 0 );
+    new DeltaNumberColumnBinaryMaker().toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+  }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+
+import jp.co.yahoo.dataplatform.schema.objects.LongObj;
+
+public class TestOptimizeNumberColumnBinaryMaker{
+
+  private ColumnBinary toBinary( final long[] values ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    for( int i = 0 ; i < values.length ; i++ ){
+      column.add( ColumnType.LONG , new LongObj( values[i] ) , i );
+    }
+    return new OptimizeNumberColumnBinaryMaker().toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+  }
+
+  @Test
+  public void T_toBinary_1() throws IOException{
+    long[] values = new long[1000];
+    for( int i = 0 ; i < values.length ; i++ ){
+      values[i] = 5L;
+    }
+    assertEquals( toBinary( values ).makerClassName , RunLengthNumberColumnBinaryMaker.class.getName() );
+  }
+
+  @Test
+  public void T_toBinary_2() throws IOException{
+    long[] values = new long[1000];
+    for( int i = 0 ; i < values.length ; i++ ){
+      values[i] = 1500000000000L + i;
+    }
+    assertEquals( toBinary( values ).makerClassName , DeltaNumberColumnBinaryMaker.class.getName() );
+  }
+
+  @Test
+  public void T_toBinary_3() throws IOException{
+    long[] values = new long[1000];
+    for( int i = 0 ; i < values.length ; i++ ){
+      values[i] = 1000000L + ( ( i * 7919L ) % 15L );
+    }
+    assertEquals( toBinary( values ).makerClassName , FrameOfReferenceNumberColumnBinaryMaker.class.getName() );
+  }
+
+}
@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.blockindex.StringRangeBlockIndex;
+import jp.co.yahoo.dataplatform.mds.inmemory.IMemoryAllocator;
+
+import jp.co.yahoo.dataplatform.schema.objects.StringObj;
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+
+public class TestSharedDictionaryStringColumnBinaryMaker {
+
+  private class TestStringMemoryAllocator implements IMemoryAllocator{
+
+    public final List<String> list;
+
+    public TestStringMemoryAllocator(){
+      list = new ArrayList<String>();
+      for( int i = 0 ; i < 4 ; i++ ){
+        list.add( null );
+      }
+    }
+
+    @Override
+    public void setNull( final int index ) throws IOException{
+    }
+
+    @Override
+    public void setBoolean( final int index , final boolean value ) throws IOException{
+    }
+
+    @Override
+    public void setByte( final int index , final byte value ) throws IOException{
+    }
+
+    @Override
+    public void setShort( final int index , final short value ) throws IOException{
+    }
+
+    @Override
+    public void setInteger( final int index , final int value ) throws IOException{
+    }
+
+    @Override
+    public void setLong( final int index , final long value ) throws IOException{
+    }
+
+    @Override
+    public void setFloat( final int index , final float value ) throws IOException{
+    }
+
+    @Override
+    public void setDouble( final int index , final double value ) throws IOException{
+    }
+
+    @Override
+    public void setBytes( final int index , final byte[] value ) throws IOException{
+    }
+
+    @Override
+    public void setBytes( final int index , final byte[] value , final int start , final int length ) throws IOException{
+      list.set( index , new String( value , start , length , "UTF-8" ) );
+    }
+
+    @Override
+    public void setString( final int index , final String value ) throws IOException{
+    }
+
+    @Override
+    public void setString( final int index , final char[] value ) throws IOException{
+    }
+
+    @Override
+    public void setString( final int index , final char[] value , final int start , final int length ) throws IOException{
+    }
+
+    @Override
+    public void setArrayIndex( final int index , final int start , final int end ) throws IOException{
+    }
+
+    @Override
+    public IMemoryAllocator getChild( final String columnName , final ColumnType type ) throws IOException{
+      return null;
+    }
+  }
+
+  private IColumn createColumn( final String... values ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "STRING" );
+    for( int i = 0 ; i < values.length ; i++ ){
+      if( values[i] != null ){
+        column.add( ColumnType.STRING , new StringObj( values[i] ) , i );
+      }
+    }
+    return column;
+  }
+
+  private SharedStringDictionary toDictionary( final SharedStringDictionaryBuilder builder ) throws IOException{
+    byte[] binary = builder.toBinary();
+    return new SharedStringDictionary( binary , 0 , binary.length );
+  }
+
+  @Test
+  public void T_toBinary_1() throws IOException{
+    SharedStringDictionaryBuilder builder = new SharedStringDictionaryBuilder();
+    SharedDictionaryStringColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    ColumnBinary columnBinary1 = maker.toBinary( defaultConfig , createColumn( "a" , null , "b" , "a" ) , builder , 100 );
+    ColumnBinary columnBinary2 = maker.toBinary( defaultConfig , createColumn( "b" , "c" ) , builder , 100 );
+
+    assertEquals( columnBinary1.makerClassName , SharedDictionaryStringColumnBinaryMaker.class.getName() );
+    assertEquals( columnBinary1.rowCount , 3 );
+    assertEquals( columnBinary2.rowCount , 2 );
+    assertEquals( builder.getDicSize() , 4 );
+
+    SharedStringDictionary dictionary = toDictionary( builder );
+    columnBinary1.sharedDictionary = dictionary;
+    columnBinary2.sharedDictionary = dictionary;
+
+    IColumn decodeColumn1 = maker.toColumn( columnBinary1 , new DefaultPrimitiveObjectConnector() );
+    assertEquals( "a" , ( (PrimitiveObject)( decodeColumn1.get(0).getRow() ) ).getString() );
+    assertEquals( decodeColumn1.get(1).getType() , ColumnType.NULL );
+    assertEquals( "b" , ( (PrimitiveObject)( decodeColumn1.get(2).getRow() ) ).getString() );
+    assertEquals( "a" , ( (PrimitiveObject)( decodeColumn1.get(3).getRow() ) ).getString() );
+
+    IColumn decodeColumn2 = maker.toColumn( columnBinary2 , new DefaultPrimitiveObjectConnector() );
+    assertEquals( "b" , ( (PrimitiveObject)( decodeColumn2.get(0).getRow() ) ).getString() );
+    assertEquals( "c" , ( (PrimitiveObject)( decodeColumn2.get(1).getRow() ) ).getString() );
+
+    List<Integer> result = decodeColumn1.filter( new PerfectMatchStringFilter( "a" ) );
+    assertEquals( result.size() , 2 );
+    assertEquals( result.get(0).intValue() , 0 );
+    assertEquals( result.get(1).intValue() , 3 );
+  }
+
+  @Test
+  public void T_toBinary_2() throws IOException{
+    SharedStringDictionaryBuilder builder = new SharedStringDictionaryBuilder();
+    SharedDictionaryStringColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    maker.toBinary( defaultConfig , createColumn( "a" , "b" ) , builder , 3 );
+    assertNull( maker.toBinary( defaultConfig , createColumn( "a" , "c" ) , builder , 3 ) );
+    assertEquals( builder.getDicSize() , 3 );
+  }
+
+  @Test
+  public void T_toBinary_3() throws IOException{
+    IColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    ColumnBinary columnBinary = maker.toBinary( defaultConfig , null , createColumn( "a" , "b" ) , new MakerCache() );
+    assertEquals( columnBinary.makerClassName , UniqStringToUTF8BytesColumnBinaryMaker.class.getName() );
+  }
+
+  @Test
+  public void T_loadInMemoryStorage_1() throws IOException{
+    SharedStringDictionaryBuilder builder = new SharedStringDictionaryBuilder();
+    SharedDictionaryStringColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , createColumn( "a" , null , "あ" , "a" ) , builder , 100 );
+    columnBinary.sharedDictionary = toDictionary( builder );
+
+    TestStringMemoryAllocator allocator = new TestStringMemoryAllocator();
+    maker.loadInMemoryStorage( columnBinary , allocator );
+    assertEquals( allocator.list.get(0) , "a" );
+    assertEquals( allocator.list.get(1) , null );
+    assertEquals( allocator.list.get(2) , "あ" );
+    assertEquals( allocator.list.get(3) , "a" );
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_loadInMemoryStorage_2() throws IOException{
+    SharedStringDictionaryBuilder builder = new SharedStringDictionaryBuilder();
+    SharedDictionaryStringColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , createColumn( "a" ) , builder , 100 );
+    maker.loadInMemoryStorage( columnBinary , new TestStringMemoryAllocator() );
+  }
+
+  @Test
+  public void T_getDicManager_1() throws IOException{
+    SharedStringDictionaryBuilder builder = new SharedStringDictionaryBuilder();
+    builder.getId( "a" );
+    builder.getId( "b" );
+    assertEquals( builder.getId( "a" ) , 1 );
+    SharedStringDictionary dictionary = toDictionary( builder );
+    assertEquals( dictionary.getDicSize() , 3 );
+    IPrimitiveObjectConnector connector = new DefaultPrimitiveObjectConnector();
+    IDicManager dicManager = dictionary.getDicManager( connector );
+    assertSame( dictionary.getDicManager( connector ) , dicManager );
+    assertEquals( dicManager.getDicSize() , 3 );
+    assertEquals( dicManager.get(2).getString() , "b" );
+  }
+
+  @Test
+  public void T_toBinary_supplementary_1() throws IOException{
+    SharedStringDictionaryBuilder builder = new SharedStringDictionaryBuilder();
+    SharedDictionaryStringColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , createColumn( "\ud83d\ude00" , "\uff21" , "a" ) , builder , 100 );
+    StringRangeBlockIndex blockIndex = (StringRangeBlockIndex)( columnBinary.blockIndex );
+    assertEquals( blockIndex.getMin() , "a" );
+    assertEquals( blockIndex.getMax() , "\ud83d\ude00" );
+  }
+
+}
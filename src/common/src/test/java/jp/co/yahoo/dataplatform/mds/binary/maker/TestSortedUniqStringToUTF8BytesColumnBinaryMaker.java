@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.blockindex.StringRangeBlockIndex;
+
+import jp.co.yahoo.dataplatform.schema.objects.StringObj;
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.ForwardMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PartialMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+
+public class TestSortedUniqStringToUTF8BytesColumnBinaryMaker {
+
+  private IColumn createColumn() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "STRING" );
+    column.add( ColumnType.STRING , new StringObj( "dog" ) , 0 );
+    column.add( ColumnType.STRING , new StringObj( "apple" ) , 1 );
+    column.add( ColumnType.STRING , new StringObj( "cat" ) , 2 );
+    column.add( ColumnType.STRING , new StringObj( "app" ) , 3 );
+    column.add( ColumnType.STRING , new StringObj( "apple" ) , 4 );
+    column.add( ColumnType.STRING , new StringObj( "あ" ) , 6 );
+    column.add( ColumnType.STRING , new StringObj( "b" ) , 7 );
+
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    IColumnBinaryMaker maker = new SortedUniqStringToUTF8BytesColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( defaultConfig , null , column , new MakerCache() );
+    assertEquals( columnBinary.rowCount , 7 );
+    assertEquals( columnBinary.cardinality , 7 );
+    return maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+  }
+
+  private void assertFilter( final List<Integer> result , final int... expected ){
+    assertEquals( result.size() , expected.length );
+    for( int i = 0 ; i < expected.length ; i++ ){
+      assertEquals( result.get(i).intValue() , expected[i] );
+    }
+  }
+
+  @Test
+  public void T_toBinary_1() throws IOException{
+    IColumn decodeColumn = createColumn();
+    assertEquals( decodeColumn.getColumnKeys().size() , 0 );
+    assertEquals( decodeColumn.getColumnSize() , 0 );
+
+    assertEquals( "dog" , ( (PrimitiveObject)( decodeColumn.get(0).getRow() ) ).getString() );
+    assertEquals( "apple" , ( (PrimitiveObject)( decodeColumn.get(1).getRow() ) ).getString() );
+    assertEquals( "cat" , ( (PrimitiveObject)( decodeColumn.get(2).getRow() ) ).getString() );
+    assertEquals( "app" , ( (PrimitiveObject)( decodeColumn.get(3).getRow() ) ).getString() );
+    assertEquals( "apple" , ( (PrimitiveObject)( decodeColumn.get(4).getRow() ) ).getString() );
+    assertEquals( decodeColumn.get(5).getType() , ColumnType.NULL );
+    assertEquals( "あ" , ( (PrimitiveObject)( decodeColumn.get(6).getRow() ) ).getString() );
+    assertEquals( "b" , ( (PrimitiveObject)( decodeColumn.get(7).getRow() ) ).getString() );
+  }
+
+  @Test
+  public void T_filter_perfect_1() throws IOException{
+    IColumn decodeColumn = createColumn();
+    assertFilter( decodeColumn.filter( new PerfectMatchStringFilter( "apple" ) ) , 1 , 4 );
+    assertFilter( decodeColumn.filter( new PerfectMatchStringFilter( "あ" ) ) , 6 );
+    assertFilter( decodeColumn.filter( new PerfectMatchStringFilter( "ap" ) ) );
+    assertFilter( decodeColumn.filter( new PerfectMatchStringFilter( "zzz" ) ) );
+  }
+
+  @Test
+  public void T_filter_forward_1() throws IOException{
+    IColumn decodeColumn = createColumn();
+    assertFilter( decodeColumn.filter( new ForwardMatchStringFilter( "app" ) ) , 1 , 3 , 4 );
+    assertFilter( decodeColumn.filter( new ForwardMatchStringFilter( "c" ) ) , 2 );
+    assertFilter( decodeColumn.filter( new ForwardMatchStringFilter( "e" ) ) );
+  }
+
+  @Test
+  public void T_filter_partial_1() throws IOException{
+    IColumn decodeColumn = createColumn();
+    assertFilter( decodeColumn.filter( new PartialMatchStringFilter( "pl" ) ) , 1 , 4 );
+  }
+
+  @Test
+  public void T_filter_range_1() throws IOException{
+    IColumn decodeColumn = createColumn();
+    assertFilter( decodeColumn.filter( new StringRangeFilter( "apple" , true , "cat" , true , false ) ) , 1 , 2 , 4 , 7 );
+    assertFilter( decodeColumn.filter( new StringRangeFilter( "apple" , false , "cat" , false , false ) ) , 7 );
+    assertFilter( decodeColumn.filter( new StringRangeFilter( "b" , true , null , false , false ) ) , 0 , 2 , 6 , 7 );
+    assertFilter( decodeColumn.filter( new StringRangeFilter( null , false , "b" , false , false ) ) , 1 , 3 , 4 );
+    assertFilter( decodeColumn.filter( new StringRangeFilter( "apple" , true , "cat" , true , true ) ) , 0 , 3 , 6 );
+    assertFilter( decodeColumn.filter( new StringRangeFilter( "x" , true , "a" , true , false ) ) );
+  }
+
+  @Test
+  public void T_filter_set_1() throws IOException{
+    IColumn decodeColumn = createColumn();
+    Set<String> set = new HashSet<String>();
+    set.add( "cat" );
+    set.add( "app" );
+    set.add( "zzz" );
+    assertFilter( decodeColumn.filter( new StringSetFilter( set ) ) , 2 , 3 );
+  }
+
+  @Test
+  public void T_toBinary_allNull_1() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "STRING" );
+    column.add( ColumnType.STRING , new StringObj( "a" ) , 3 );
+    IColumnBinaryMaker maker = new SortedUniqStringToUTF8BytesColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+    IColumn decodeColumn = maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+    assertEquals( decodeColumn.get(0).getType() , ColumnType.NULL );
+    assertEquals( "a" , ( (PrimitiveObject)( decodeColumn.get(3).getRow() ) ).getString() );
+    assertFilter( decodeColumn.filter( new StringRangeFilter( "a" , true , "a" , true , true ) ) );
+  }
+
+  @Test
+  public void T_toBinary_supplementary_1() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "STRING" );
+    column.add( ColumnType.STRING , new StringObj( "\ud83d\ude00" ) , 0 );
+    column.add( ColumnType.STRING , new StringObj( "\uff21" ) , 1 );
+    column.add( ColumnType.STRING , new StringObj( "a" ) , 2 );
+
+    IColumnBinaryMaker maker = new SortedUniqStringToUTF8BytesColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+    StringRangeBlockIndex blockIndex = (StringRangeBlockIndex)( columnBinary.blockIndex );
+    assertEquals( blockIndex.getMin() , "a" );
+    assertEquals( blockIndex.getMax() , "\ud83d\ude00" );
+
+    IColumn decodeColumn = maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+    assertFilter( decodeColumn.filter( new StringRangeFilter( "\uffff" , true , null , false , false ) ) , 0 );
+  }
+}
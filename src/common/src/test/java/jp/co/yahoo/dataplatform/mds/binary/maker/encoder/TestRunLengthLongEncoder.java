@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.encoder;
+
+import org.testng.annotations.Test;
+import org.testng.annotations.DataProvider;
+import static org.testng.Assert.assertEquals;
+
+public class TestRunLengthLongEncoder{
+
+  @DataProvider(name = "T_encode")
+  public Object[][] data1(){
+    return new Object[][]{
+      { new long[0] },
+      { new long[]{ 5L } },
+      { new long[]{ 1L , 1L , 1L , 1L , 2L , 2L , 3L } },
+      { new long[]{ 100L , 101L , 102L , 103L , 104L } },
+      { new long[]{ -5L , 3L , -1000L , 0L , 70000L , -70000L } },
+      { new long[]{ Long.MIN_VALUE , Long.MAX_VALUE , 0L , Long.MIN_VALUE , -1L } },
+    };
+  }
+
+  @Test( dataProvider = "T_encode" )
+  public void T_encode_1( final long[] values ){
+    ILongEncoder encoder = new RunLengthLongEncoder();
+    int size = encoder.calcBinarySize( values , values.length );
+    byte[] buffer = new byte[ size + 3 ];
+    assertEquals( encoder.encode( values , values.length , buffer , 3 ) , size );
+    long[] result = new long[ values.length ];
+    encoder.decode( buffer , 3 , size , result , result.length );
+    for( int i = 0 ; i < values.length ; i++ ){
+      assertEquals( result[i] , values[i] );
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.index;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+
+import java.util.List;
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IDicManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.*;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+
+public class TestBufferDirectSequentialNumberCellIndex{
+
+  private class TestDicManager implements IDicManager {
+
+    private final PrimitiveObject[] dic;
+
+    public TestDicManager( final PrimitiveObject[] dic ){
+      this.dic = dic;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException{
+      return dic[index];
+    }
+
+    @Override
+    public int getDicSize() throws IOException{
+      return dic.length;
+    }
+
+  }
+
+  private ICellIndex createIntegerIndex(){
+    PrimitiveObject[] dic = new PrimitiveObject[]{ new IntegerObj( 0 ) , new IntegerObj( 10 ) , new IntegerObj( 20 ) , new IntegerObj( 30 ) };
+    IntBuffer buffer = IntBuffer.wrap( new int[]{ 1 , 0 , 2 , 3 , 2 , 1 } );
+    return new BufferDirectSequentialNumberCellIndex( ColumnType.INTEGER , new TestDicManager( dic ) , buffer );
+  }
+
+  private ICellIndex createDoubleIndex(){
+    PrimitiveObject[] dic = new PrimitiveObject[]{ new DoubleObj( 0d ) , new DoubleObj( 1.5d ) , new DoubleObj( 2.5d ) , new DoubleObj( 3d ) };
+    IntBuffer buffer = IntBuffer.wrap( new int[]{ 1 , 0 , 2 , 3 , 2 , 1 } );
+    return new BufferDirectSequentialNumberCellIndex( ColumnType.DOUBLE , new TestDicManager( dic ) , buffer );
+  }
+
+  @Test
+  public void T_newInstance_1() throws IOException{
+    ICellIndex index = new BufferDirectSequentialNumberCellIndex( ColumnType.INTEGER , null , (DictionaryIndexSection)null );
+  }
+
+  @Test
+  public void T_filter_1() throws IOException{
+    ICellIndex index = createIntegerIndex();
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 20 ) ) ) , Arrays.asList( 2 , 4 ) );
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.NOT_EQUAL , new LongObj( 20L ) ) ) , Arrays.asList( 0 , 3 , 5 ) );
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.LT , new IntegerObj( 20 ) ) ) , Arrays.asList( 0 , 5 ) );
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.LE , new IntegerObj( 20 ) ) ) , Arrays.asList( 0 , 2 , 4 , 5 ) );
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.GT , new IntegerObj( 20 ) ) ) , Arrays.asList( 3 ) );
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.GE , new DoubleObj( 19.5d ) ) ) , Arrays.asList( 2 , 3 , 4 ) );
+  }
+
+  @Test
+  public void T_filter_2() throws IOException{
+    ICellIndex index = createDoubleIndex();
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.EQUAL , new DoubleObj( 2.5d ) ) ) , Arrays.asList( 2 , 4 ) );
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.GT , new IntegerObj( 2 ) ) ) , Arrays.asList( 2 , 3 , 4 ) );
+  }
+
+  @Test
+  public void T_filter_3() throws IOException{
+    ICellIndex index = createIntegerIndex();
+    assertEquals( index.filter( new NumberRangeFilter( new IntegerObj( 10 ) , false , new LongObj( 30L ) , true , false ) ) , Arrays.asList( 2 , 3 , 4 ) );
+    assertEquals( index.filter( new NumberRangeFilter( new IntegerObj( 15 ) , true , new DoubleObj( 25.5d ) , true , true ) ) , Arrays.asList( 0 , 3 , 5 ) );
+  }
+
+  @Test
+  public void T_filter_4() throws IOException{
+    ICellIndex index = createIntegerIndex();
+    List<PrimitiveObject> list = Arrays.<PrimitiveObject>asList( new IntegerObj( 10 ) , new DoubleObj( 30d ) , new DoubleObj( 20.5d ) );
+    assertEquals( index.filter( new NumberSetFilter( list ) ) , Arrays.asList( 0 , 3 , 5 ) );
+  }
+
+  @Test
+  public void T_filter_5() throws IOException{
+    ICellIndex index = createIntegerIndex();
+    assertNull( index.filter( new NumberFilter( NumberFilterType.EQUAL , new StringObj( "10" ) ) ) );
+    assertNull( index.filter( new PerfectMatchStringFilter( "10" ) ) );
+  }
+
+  @Test
+  public void T_filter_6() throws IOException{
+    PrimitiveObject[] dic = new PrimitiveObject[]{ new LongObj( 0L ) , new LongObj( Long.MAX_VALUE ) , new LongObj( Long.MIN_VALUE ) };
+    IntBuffer buffer = IntBuffer.wrap( new int[]{ 1 , 2 , 1 } );
+    ICellIndex index = new BufferDirectSequentialNumberCellIndex( ColumnType.LONG , new TestDicManager( dic ) , buffer );
+    assertEquals( index.filter( new NumberSetFilter( Arrays.<PrimitiveObject>asList( new DoubleObj( 1e19 ) ) ) ) , Arrays.asList() );
+    assertEquals( index.filter( new NumberSetFilter( Arrays.<PrimitiveObject>asList( new DoubleObj( -0x1p63 ) ) ) ) , Arrays.asList( 1 ) );
+  }
+
+  @Test
+  public void T_filter_7() throws IOException{
+    PrimitiveObject[] dic = new PrimitiveObject[]{ new DoubleObj( 0d ) , new DoubleObj( -0.0d ) , new DoubleObj( 1.5d ) };
+    IntBuffer buffer = IntBuffer.wrap( new int[]{ 1 , 2 , 1 } );
+    ICellIndex index = new BufferDirectSequentialNumberCellIndex( ColumnType.DOUBLE , new TestDicManager( dic ) , buffer );
+    assertEquals( index.filter( new NumberSetFilter( Arrays.<PrimitiveObject>asList( new DoubleObj( 0.0d ) ) ) ) , Arrays.asList( 0 , 2 ) );
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.EQUAL , new DoubleObj( 0.0d ) ) ) , Arrays.asList( 0 , 2 ) );
+    assertEquals( index.filter( new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 0 ) ) ) , Arrays.asList( 0 , 2 ) );
+  }
+
+}
@@ -22,11 +22,14 @@ import java.nio.IntBuffer;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.assertNull;
 
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
 import jp.co.yahoo.dataplatform.mds.binary.maker.IDicManager;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.*;
 import org.testng.annotations.Test;
@@ -59,7 +62,7 @@ public class TestBufferDirectSequentialStringCellIndex{
 
   @Test
   public void T_newInstance_1() throws IOException{
-    ICellIndex index = new BufferDirectSequentialStringCellIndex( null , null );
+    ICellIndex index = new BufferDirectSequentialStringCellIndex( null , (DictionaryIndexSection)null );
   }
 
   @Test
@@ -190,4 +193,44 @@ public class TestBufferDirectSequentialStringCellIndex{
     assertEquals( result , null );
   }
 
+  @Test
+  public void T_filter_range_1() throws IOException{
+    List<PrimitiveObject> dic = new ArrayList<PrimitiveObject>();
+    dic.add( new StringObj( "" ) );
+    dic.add( new StringObj( "aaa" ) );
+    dic.add( new StringObj( "bbb" ) );
+    dic.add( new StringObj( "ccc" ) );
+    IntBuffer buffer = IntBuffer.wrap( new int[]{ 1 , 0 , 2 , 3 , 2 , 1 } );
+    ICellIndex index = new BufferDirectSequentialStringCellIndex( new TestDicManager( dic ) , buffer );
+
+    assertEquals( index.filter( new StringRangeFilter( "aaa" , false , null , false , false ) ) , Arrays.asList( 2 , 3 , 4 ) );
+    assertEquals( index.filter( new StringRangeFilter( "aaa" , true , "bbb" , true , true ) ) , Arrays.asList( 3 ) );
+  }
+
+  @Test
+  public void T_filter_set_1() throws IOException{
+    List<PrimitiveObject> dic = new ArrayList<PrimitiveObject>();
+    dic.add( new StringObj( "" ) );
+    dic.add( new StringObj( "aaa" ) );
+    dic.add( new StringObj( "bbb" ) );
+    dic.add( new StringObj( "ccc" ) );
+    IntBuffer buffer = IntBuffer.wrap( new int[]{ 1 , 0 , 2 , 3 , 2 , 1 } );
+    ICellIndex index = new BufferDirectSequentialStringCellIndex( new TestDicManager( dic ) , buffer );
+
+    assertEquals( index.filter( new StringSetFilter( new HashSet<String>( Arrays.asList( "bbb" , "zzz" ) ) ) ) , Arrays.asList( 2 , 4 ) );
+  }
+
+  @Test
+  public void T_filter_range_2() throws IOException{
+    List<PrimitiveObject> dic = new ArrayList<PrimitiveObject>();
+    dic.add( new StringObj( "" ) );
+    dic.add( new StringObj( "\uff21" ) );
+    dic.add( new StringObj( "\ud83d\ude00" ) );
+    IntBuffer buffer = IntBuffer.wrap( new int[]{ 1 , 2 , 0 , 2 } );
+    ICellIndex index = new BufferDirectSequentialStringCellIndex( new TestDicManager( dic ) , buffer );
+
+    assertEquals( index.filter( new StringRangeFilter( "\uffff" , true , null , false , false ) ) , Arrays.asList( 1 , 3 ) );
+    assertEquals( index.filter( new StringRangeFilter( null , false , "\uffff" , true , false ) ) , Arrays.asList( 0 ) );
+    assertEquals( index.filter( new StringRangeFilter( "\uff21" , true , "\ud83d\ude00" , false , false ) ) , Arrays.asList( 0 ) );
+  }
 }
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.index;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.mds.binary.DictionaryIndexSection;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IDicManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.*;
+import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+import jp.co.yahoo.dataplatform.schema.objects.*;
+
+public class TestDictionaryMatchCache{
+
+  private class TestDicManager implements IDicManager {
+
+    private final List<PrimitiveObject> dic;
+    public int getCount;
+
+    public TestDicManager( final List<PrimitiveObject> dic ){
+      this.dic = dic;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException{
+      getCount++;
+      return dic.get( index );
+    }
+
+    @Override
+    public int getDicSize() throws IOException{
+      return dic.size();
+    }
+
+  }
+
+  @Test
+  public void T_get_1(){
+    DictionaryMatchCache cache = new DictionaryMatchCache();
+    IFilter filter = new PerfectMatchStringFilter( "a" );
+    assertNull( cache.get( filter ) );
+    boolean[] matchArray = new boolean[]{ true };
+    cache.put( filter , matchArray );
+    assertSame( cache.get( filter ) , matchArray );
+    assertNull( cache.get( new PerfectMatchStringFilter( "a" ) ) );
+    assertNull( new DictionaryMatchCache().get( filter ) );
+  }
+
+  @Test
+  public void T_sharedDictionary_1() throws IOException{
+    List<PrimitiveObject> dic = new ArrayList<PrimitiveObject>();
+    dic.add( new StringObj( "abc" ) );
+    dic.add( new StringObj( "bcd" ) );
+    TestDicManager dicManager = new TestDicManager( dic );
+    DictionaryMatchCache cache = new DictionaryMatchCache();
+    DictionaryIndexSection section1 = new DictionaryIndexSection( IntBuffer.wrap( new int[]{ 0 , 1 , 0 } ) );
+    DictionaryIndexSection section2 = new DictionaryIndexSection( IntBuffer.wrap( new int[]{ 1 , 1 , 0 , 1 } ) );
+    ICellIndex index1 = new BufferDirectSequentialStringCellIndex( dicManager , section1 , cache );
+    ICellIndex index2 = new BufferDirectSequentialStringCellIndex( dicManager , section2 , cache );
+    IFilter filter = new RegexpMatchStringFilter( "b.*" );
+
+    assertEquals( index1.filter( filter ).size() , 1 );
+    assertEquals( dicManager.getCount , 2 );
+    assertEquals( index2.filter( filter ).size() , 3 );
+    assertEquals( dicManager.getCount , 2 );
+  }
+
+  @Test
+  public void T_sharedDictionary_2() throws IOException{
+    List<PrimitiveObject> dic = new ArrayList<PrimitiveObject>();
+    dic.add( new StringObj( "" ) );
+    dic.add( new StringObj( "abc" ) );
+    dic.add( new StringObj( "bcd" ) );
+    TestDicManager dicManager = new TestDicManager( dic );
+    ICellIndex index1 = new BufferDirectSequentialStringCellIndex( dicManager , IntBuffer.wrap( new int[]{ 1 , 2 } ) );
+    ICellIndex index2 = new BufferDirectSequentialStringCellIndex( dicManager , IntBuffer.wrap( new int[]{ 2 , 2 } ) );
+    IFilter filter = new StringSetFilter( new HashSet<String>( Arrays.asList( "bcd" ) ) );
+
+    assertEquals( index1.filter( filter ) , Arrays.asList( 1 ) );
+    assertEquals( index1.filter( filter ) , Arrays.asList( 1 ) );
+    assertEquals( dicManager.getCount , 3 );
+    assertEquals( index2.filter( filter ) , Arrays.asList( 0 , 1 ) );
+    assertEquals( dicManager.getCount , 6 );
+  }
+
+}
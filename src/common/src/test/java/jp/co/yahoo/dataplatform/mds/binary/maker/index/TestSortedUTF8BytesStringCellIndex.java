@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.index;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertNull;
+
+import jp.co.yahoo.dataplatform.mds.binary.maker.IDicManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.*;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.index.ICellIndex;
+
+public class TestSortedUTF8BytesStringCellIndex{
+
+  private class TestDicManager implements IDicManager {
+
+    private final List<PrimitiveObject> dic;
+
+    public TestDicManager( final List<PrimitiveObject> dic ){
+      this.dic = dic;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException{
+      return dic.get( index );
+    }
+
+    @Override
+    public int getDicSize() throws IOException{
+      return dic.size();
+    }
+
+  }
+
+  private ICellIndex createIndex( final String[] sortedDic , final int rows ){
+    List<PrimitiveObject> dic = new ArrayList<PrimitiveObject>();
+    dic.add( new StringObj( "" ) );
+    int totalLength = 0;
+    byte[][] bytesArray = new byte[sortedDic.length][];
+    for( int i = 0 ; i < sortedDic.length ; i++ ){
+      dic.add( new StringObj( sortedDic[i] ) );
+      bytesArray[i] = sortedDic[i].getBytes( StandardCharsets.UTF_8 );
+      totalLength += bytesArray[i].length;
+    }
+    byte[] dicBuffer = new byte[totalLength];
+    int[] dicStart = new int[ sortedDic.length + 1 ];
+    int[] dicLength = new int[ sortedDic.length + 1 ];
+    int offset = 0;
+    for( int i = 0 ; i < bytesArray.length ; i++ ){
+      System.arraycopy( bytesArray[i] , 0 , dicBuffer , offset , bytesArray[i].length );
+      dicStart[i+1] = offset;
+      dicLength[i+1] = bytesArray[i].length;
+      offset += bytesArray[i].length;
+    }
+    IntBuffer buffer = IntBuffer.allocate( rows );
+    for( int i = 0 ; i < rows ; i++ ){
+      buffer.put( i % dicStart.length );
+    }
+    return new SortedUTF8BytesStringCellIndex( new TestDicManager( dic ) , dicBuffer , dicStart , dicLength , buffer );
+  }
+
+  @Test
+  public void T_compareUTF8Bytes_1(){
+    byte[] a = "abc".getBytes( StandardCharsets.UTF_8 );
+    byte[] b = "abd".getBytes( StandardCharsets.UTF_8 );
+    byte[] c = "あ".getBytes( StandardCharsets.UTF_8 );
+    assertTrue( SortedUTF8BytesStringCellIndex.compareUTF8Bytes( a , 0 , a.length , b , 0 , b.length ) < 0 );
+    assertTrue( SortedUTF8BytesStringCellIndex.compareUTF8Bytes( a , 0 , 2 , b , 0 , 2 ) == 0 );
+    assertTrue( SortedUTF8BytesStringCellIndex.compareUTF8Bytes( a , 0 , 2 , a , 0 , 3 ) < 0 );
+    assertTrue( 0 < SortedUTF8BytesStringCellIndex.compareUTF8Bytes( c , 0 , c.length , a , 0 , a.length ) );
+  }
+
+  @Test
+  public void T_filter_perfect_1() throws IOException{
+    ICellIndex index = createIndex( new String[]{ "abc" , "bcd" , "cde" , "def" } , 100 );
+    List<Integer> result = index.filter( new PerfectMatchStringFilter( "cde" ) );
+    assertEquals( result.size() , 20 );
+    for( int i = 0,n=3 ; n < 100 ; i++,n+=5 ){
+      assertEquals( result.get(i).intValue() , n );
+    }
+    assertEquals( index.filter( new PerfectMatchStringFilter( "cd" ) ).size() , 0 );
+    assertEquals( index.filter( new PerfectMatchStringFilter( "a" ) ).size() , 0 );
+    assertEquals( index.filter( new PerfectMatchStringFilter( "zzz" ) ).size() , 0 );
+  }
+
+  @Test
+  public void T_filter_forward_1() throws IOException{
+    ICellIndex index = createIndex( new String[]{ "ab" , "abc" , "abd" , "b" } , 10 );
+    List<Integer> result = index.filter( new ForwardMatchStringFilter( "ab" ) );
+    assertEquals( result.size() , 6 );
+    assertEquals( result.get(0).intValue() , 1 );
+    assertEquals( result.get(1).intValue() , 2 );
+    assertEquals( result.get(2).intValue() , 3 );
+    assertEquals( result.get(3).intValue() , 6 );
+    assertEquals( result.get(4).intValue() , 7 );
+    assertEquals( result.get(5).intValue() , 8 );
+  }
+
+  @Test
+  public void T_filter_backward_1() throws IOException{
+    ICellIndex index = createIndex( new String[]{ "ab" , "abc" , "bbc" , "c" } , 5 );
+    List<Integer> result = index.filter( new BackwardMatchStringFilter( "bc" ) );
+    assertEquals( result.size() , 2 );
+    assertEquals( result.get(0).intValue() , 2 );
+    assertEquals( result.get(1).intValue() , 3 );
+  }
+
+  @Test
+  public void T_filter_range_1() throws IOException{
+    ICellIndex index = createIndex( new String[]{ "a" , "b" , "c" , "d" } , 5 );
+    List<Integer> result = index.filter( new StringRangeFilter( "b" , true , "c" , false , false ) );
+    assertEquals( result.size() , 1 );
+    assertEquals( result.get(0).intValue() , 2 );
+
+    result = index.filter( new StringRangeFilter( "b" , true , "c" , false , true ) );
+    assertEquals( result.size() , 3 );
+    assertEquals( result.get(0).intValue() , 1 );
+    assertEquals( result.get(1).intValue() , 3 );
+    assertEquals( result.get(2).intValue() , 4 );
+  }
+
+  @Test
+  public void T_filter_unsupported_1() throws IOException{
+    ICellIndex index = createIndex( new String[]{ "a" } , 5 );
+    assertNull( index.filter( new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 1 ) ) , new java.util.BitSet() ) );
+  }
+
+  @Test
+  public void T_filter_range_2() throws IOException{
+    ICellIndex index = createIndex( new String[]{ "a" , "\uff21" , "\ud83d\ude00" } , 4 );
+    List<Integer> result = index.filter( new StringRangeFilter( "\uffff" , true , null , false , false ) );
+    assertEquals( result.size() , 1 );
+    assertEquals( result.get(0).intValue() , 3 );
+
+    result = index.filter( new StringRangeFilter( "a" , false , "\ud83d\ude00" , false , false ) );
+    assertEquals( result.size() , 1 );
+    assertEquals( result.get(0).intValue() , 2 );
+  }
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.binary.maker.index;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.*;
+
+public class TestUTF8BytesMatcherFactory{
+
+  private boolean isMatch( final IStringFilter filter , final String value ){
+    byte[] bytes = ( "xx" + value + "yy" ).getBytes( StandardCharsets.UTF_8 );
+    int prefixLength = "xx".getBytes( StandardCharsets.UTF_8 ).length;
+    int length = value.getBytes( StandardCharsets.UTF_8 ).length;
+    return UTF8BytesMatcherFactory.get( filter ).isMatch( bytes , prefixLength , length );
+  }
+
+  @DataProvider( name = "T_isMatch" )
+  public Object[][] data(){
+    return new Object[][]{
+      { new PerfectMatchStringFilter( "abc" ) , "abc" , true },
+      { new PerfectMatchStringFilter( "abc" ) , "abcd" , false },
+      { new PerfectMatchStringFilter( "abc" ) , "ab" , false },
+      { new PerfectMatchStringFilter( "あいう" ) , "あいう" , true },
+      { new ForwardMatchStringFilter( "ab" ) , "abc" , true },
+      { new ForwardMatchStringFilter( "ab" ) , "a" , false },
+      { new ForwardMatchStringFilter( "ab" ) , "cab" , false },
+      { new BackwardMatchStringFilter( "bc" ) , "abc" , true },
+      { new BackwardMatchStringFilter( "bc" ) , "bcd" , false },
+      { new BackwardMatchStringFilter( "bc" ) , "c" , false },
+      { new PartialMatchStringFilter( "b" ) , "abc" , true },
+      { new PartialMatchStringFilter( "bcd" ) , "abcbcd" , true },
+      { new PartialMatchStringFilter( "bd" ) , "abc" , false },
+      { new PartialMatchStringFilter( "い" ) , "あいう" , true },
+      { new PartialMatchStringFilter( "" ) , "" , true },
+      { new RegexpMatchStringFilter( "a.c" ) , "abc" , true },
+      { new RegexpMatchStringFilter( "a.c" ) , "abcd" , false },
+      { new RegexpMatchStringFilter( "あ.う" ) , "あいう" , true },
+    };
+  }
+
+  @Test( dataProvider = "T_isMatch" )
+  public void T_isMatch_1( final IStringFilter filter , final String value , final boolean expected ){
+    assertEquals( isMatch( filter , value ) , expected );
+  }
+
+  @Test
+  public void T_indexOf_1(){
+    byte[] buffer = "abcabd".getBytes( StandardCharsets.UTF_8 );
+    assertEquals( UTF8BytesMatcherFactory.indexOf( buffer , 0 , buffer.length , "abd".getBytes( StandardCharsets.UTF_8 ) ) , 3 );
+    assertEquals( UTF8BytesMatcherFactory.indexOf( buffer , 1 , 4 , "abd".getBytes( StandardCharsets.UTF_8 ) ) , -1 );
+    assertEquals( UTF8BytesMatcherFactory.indexOf( buffer , 1 , 5 , "abd".getBytes( StandardCharsets.UTF_8 ) ) , 2 );
+  }
+
+}
@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.Map;
+import java.util.HashMap;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+
+public class TestAsyncBlockFlush{
+
+  private static final int BLOCK_SIZE = 1024 * 1024 + 4 * 1024;
+  private static final int SPREAD_COUNT = 10;
+  private static final int ROW_COUNT = 300;
+
+  private class FailOutputStream extends ByteArrayOutputStream{
+
+    private final int failSize;
+
+    public FailOutputStream( final int failSize ){
+      this.failSize = failSize;
+    }
+
+    @Override
+    public synchronized void write( final byte[] b , final int off , final int len ){
+      if( failSize < size() + len ){
+        throw new IllegalStateException( "write failed." );
+      }
+      super.write( b , off , len );
+    }
+
+  }
+
+  private Configuration createConfig( final String isVariableBlock , final String isAsync , final int maxPending ){
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( BLOCK_SIZE ) );
+    config.set( "block.variable.length" , isVariableBlock );
+    config.set( "block.async.flush" , isAsync );
+    config.set( "block.async.flush.max.pending" , Integer.toString( maxPending ) );
+    return config;
+  }
+
+  private void writeData( final MDSWriter writer ) throws IOException{
+    for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+      Spread s = new Spread();
+      for( int n = 0 ; n < ROW_COUNT ; n++ ){
+        Map<String, Object> d = new HashMap<String, Object>();
+        d.put( "id" , new StringObj( "id_" + i + "_" + n ) );
+        d.put( "value" , new IntegerObj( n ) );
+        s.addRow( d );
+      }
+      writer.append( s );
+    }
+  }
+
+  private byte[] createData( final Configuration config ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      writeData( writer );
+    }
+    return out.toByteArray();
+  }
+
+  private int countRows( final byte[] data ) throws IOException{
+    int rowCount = 0;
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayInputStream( data ) , data.length , new Configuration() );
+      while( reader.hasNext() ){
+        rowCount += reader.next().size();
+      }
+    }
+    return rowCount;
+  }
+
+  @Test
+  public void T_write_1() throws IOException{
+    byte[] expected = createData( createConfig( "true" , "false" , 1 ) );
+    assertEquals( createData( createConfig( "true" , "true" , 1 ) ) , expected );
+    assertEquals( createData( createConfig( "true" , "true" , 3 ) ) , expected );
+    assertEquals( countRows( expected ) , SPREAD_COUNT * ROW_COUNT );
+  }
+
+  @Test
+  public void T_write_2() throws IOException{
+    byte[] expected = createData( createConfig( "false" , "false" , 1 ) );
+    assertTrue( BLOCK_SIZE < expected.length );
+    assertEquals( createData( createConfig( "false" , "true" , 2 ) ) , expected );
+    assertEquals( countRows( expected ) , SPREAD_COUNT * ROW_COUNT );
+  }
+
+  @Test
+  public void T_error_1() throws IOException{
+    MDSWriter writer = new MDSWriter( new FailOutputStream( 1024 ) , createConfig( "true" , "true" , 1 ) );
+    try{
+      writeData( writer );
+      writer.close();
+      fail( "Flush error must be thrown." );
+    }catch( IOException e ){
+      assertTrue( e.getCause() instanceof IllegalStateException );
+    }
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_config_1() throws IOException{
+    Configuration config = createConfig( "true" , "true" , 1 );
+    config.set( "block.stream.write" , "true" );
+    new MDSWriter( new ByteArrayOutputStream() , config );
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_config_2() throws IOException{
+    new MDSWriter( new ByteArrayOutputStream() , createConfig( "true" , "true" , 0 ) );
+  }
+
+}
@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.Map;
+import java.util.HashMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NullFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.OrExpressionNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.NotExpressionNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.StringExtractNode;
+
+public class TestBlockSkip{
+
+  private byte[] createData() throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Configuration config = new Configuration();
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      for( int i = 0 ; i < 3 ; i++ ){
+        Spread s = new Spread();
+        for( int n = 0 ; n < 10 ; n++ ){
+          Map<String, Object> d = new HashMap<String, Object>();
+          d.put( "n" , new LongObj( (long)( i * 100 + n ) ) );
+          d.put( "s" , new StringObj( "key_" + i ) );
+          if( i != 0 ){
+            d.put( "x" , new IntegerObj( n ) );
+          }
+          s.addRow( d );
+        }
+        writer.append( s );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private int[] readFirstValues( final IExpressionNode node ) throws IOException{
+    byte[] data = createData();
+    int[] result = new int[3];
+    int count = 0;
+    try( MDSReader reader = new MDSReader() ){
+      InputStream in = new ByteArrayInputStream( data );
+      reader.setBlockSkipIndex( node );
+      reader.setNewStream( in , data.length , new Configuration() );
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        result[count] = (int)( ( (PrimitiveCell)spread.getColumn( "n" ).get(0) ).getRow().getLong() );
+        count++;
+      }
+      assertFalse( reader.hasNext() );
+    }
+    int[] readValues = new int[count];
+    System.arraycopy( result , 0 , readValues , 0 , count );
+    return readValues;
+  }
+
+  @Test
+  public void T_number_1() throws IOException{
+    int[] values = readFirstValues( new ExecuterNode( new StringExtractNode( "n" ) , new NumberFilter( NumberFilterType.GE , new LongObj( 100L ) ) ) );
+    assertEquals( values.length , 2 );
+    assertEquals( values[0] , 100 );
+    assertEquals( values[1] , 200 );
+  }
+
+  @Test
+  public void T_number_2() throws IOException{
+    int[] values = readFirstValues( new ExecuterNode( new StringExtractNode( "n" ) , new NumberFilter( NumberFilterType.GT , new LongObj( 1000L ) ) ) );
+    assertEquals( values.length , 0 );
+  }
+
+  @Test
+  public void T_string_1() throws IOException{
+    int[] values = readFirstValues( new ExecuterNode( new StringExtractNode( "s" ) , new PerfectMatchStringFilter( "key_1" ) ) );
+    assertEquals( values.length , 1 );
+    assertEquals( values[0] , 100 );
+  }
+
+  @Test
+  public void T_null_1() throws IOException{
+    int[] values = readFirstValues( new ExecuterNode( new StringExtractNode( "x" ) , new NullFilter() ) );
+    assertEquals( values.length , 1 );
+    assertEquals( values[0] , 0 );
+  }
+
+  @Test
+  public void T_or_1() throws IOException{
+    IExpressionNode node = new OrExpressionNode();
+    node.addChildNode( new ExecuterNode( new StringExtractNode( "s" ) , new PerfectMatchStringFilter( "key_0" ) ) );
+    node.addChildNode( new ExecuterNode( new StringExtractNode( "s" ) , new PerfectMatchStringFilter( "key_2" ) ) );
+    int[] values = readFirstValues( node );
+    assertEquals( values.length , 2 );
+    assertEquals( values[0] , 0 );
+    assertEquals( values[1] , 200 );
+  }
+
+  @Test
+  public void T_not_1() throws IOException{
+    IExpressionNode node = new NotExpressionNode( new ExecuterNode( new StringExtractNode( "s" ) , new PerfectMatchStringFilter( "key_0" ) ) );
+    int[] values = readFirstValues( node );
+    assertEquals( values.length , 3 );
+  }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.StringExtractNode;
+
+public class TestBloomFilterBlockSkip{
+
+  private byte[] createData( final String bloomFilterColumns ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Configuration config = new Configuration();
+    config.set( "spread.column.bloom.filter.columns" , bloomFilterColumns );
+    config.set( "spread.column.bloom.filter.fpp" , "0.001" );
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      for( int i = 0 ; i < 4 ; i++ ){
+        Spread s = new Spread();
+        for( int n = 0 ; n < 100 ; n++ ){
+          Map<String, Object> d = new HashMap<String, Object>();
+          d.put( "user_id" , new StringObj( "u" + ( n * 4 + i ) ) );
+          d.put( "session_id" , new LongObj( (long)( n * 4 + i ) ) );
+          d.put( "spread" , new IntegerObj( i ) );
+          s.addRow( d );
+        }
+        writer.append( s );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private List<Integer> readSpreadList( final String bloomFilterColumns , final IExpressionNode node ) throws IOException{
+    byte[] data = createData( bloomFilterColumns );
+    List<Integer> result = new ArrayList<Integer>();
+    try( MDSReader reader = new MDSReader() ){
+      InputStream in = new ByteArrayInputStream( data );
+      reader.setBlockSkipIndex( node );
+      reader.setNewStream( in , data.length , new Configuration() );
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        result.add( ( (PrimitiveCell)spread.getColumn( "spread" ).get(0) ).getRow().getInt() );
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void T_string_1() throws IOException{
+    IExpressionNode node = new ExecuterNode( new StringExtractNode( "user_id" ) , new PerfectMatchStringFilter( "u42" ) );
+    assertEquals( readSpreadList( "" , node ).size() , 4 );
+  }
+
+  @Test
+  public void T_string_2() throws IOException{
+    IExpressionNode node = new ExecuterNode( new StringExtractNode( "user_id" ) , new PerfectMatchStringFilter( "u42" ) );
+    List<Integer> result = readSpreadList( "user_id,session_id" , node );
+    assertEquals( result.size() , 1 );
+    assertEquals( result.get(0).intValue() , 2 );
+  }
+
+  @Test
+  public void T_number_1() throws IOException{
+    IExpressionNode node = new ExecuterNode( new StringExtractNode( "session_id" ) , new NumberFilter( NumberFilterType.EQUAL , new LongObj( 42L ) ) );
+    List<Integer> result = readSpreadList( " user_id , session_id " , node );
+    assertEquals( result.size() , 1 );
+    assertEquals( result.get(0).intValue() , 2 );
+  }
+
+}
@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.schema.parser.JacksonMessageReader;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.compressor.ZstdCompressor;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+
+public class TestCompactMeta{
+
+  private static final int BLOCK_SIZE = 1024 * 1024 + 16 * 1024;
+  private static final int SPREAD_COUNT = 10;
+  private static final int ROW_COUNT = 300;
+
+  private Configuration createWriterConfig( final boolean isCompact ){
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( BLOCK_SIZE ) );
+    config.set( "block.maker.meta.compact" , Boolean.toString( isCompact ) );
+    return config;
+  }
+
+  private byte[] createData( final Configuration config ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+        Spread s = new Spread();
+        for( int n = 0 ; n < ROW_COUNT ; n++ ){
+          String nest = "";
+          if( n % 3 != 0 ){
+            nest = String.format( ",\"nest\":{\"name\":\"name_%d\",\"value\":%d}" , n % 20 , n );
+          }
+          s.addParserRow( messageReader.create( String.format( "{\"id\":\"id_%d_%d\",\"spread\":%d%s}" , i , n , i , nest ) ) );
+        }
+        writer.append( s );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private String getString( final ICell cell ){
+    if( cell.getType() == ColumnType.NULL ){
+      return null;
+    }
+    try{
+      return ( (PrimitiveCell)cell ).getRow().getString();
+    }catch( IOException e ){
+      throw new RuntimeException( e );
+    }
+  }
+
+  private List<String> read( final byte[] data , final Configuration config ) throws IOException{
+    List<String> result = new ArrayList<String>();
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayInputStream( data ) , data.length , config );
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        IColumn idColumn = spread.getColumn( "id" );
+        IColumn spreadColumn = spread.getColumn( "spread" );
+        IColumn nestColumn = spread.getColumn( "nest" );
+        for( int i = 0 ; i < spread.size() ; i++ ){
+          String name = null;
+          String value = null;
+          if( nestColumn != null ){
+            name = getString( nestColumn.getColumn( "name" ).get( i ) );
+            value = getString( nestColumn.getColumn( "value" ).get( i ) );
+          }
+          String id = idColumn == null ? null : getString( idColumn.get( i ) );
+          result.add( id + "," + getString( spreadColumn.get( i ) ) + "," + name + "," + value );
+        }
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    byte[] expectedData = createData( createWriterConfig( false ) );
+    byte[] data = createData( createWriterConfig( true ) );
+    List<String> expected = read( expectedData , new Configuration() );
+    assertEquals( expected.size() , SPREAD_COUNT * ROW_COUNT );
+    assertEquals( expected.get( 1 ) , "id_0_1,0,name_1,1" );
+    assertEquals( expected.get( 3 ) , "id_0_3,0,null,null" );
+
+    assertEquals( read( data , new Configuration() ) , expected );
+  }
+
+  @Test
+  public void T_size_1() throws IOException{
+    byte[] expectedData = createData( createWriterConfig( false ) );
+    byte[] data = createData( createWriterConfig( true ) );
+    assertTrue( data.length < expectedData.length );
+  }
+
+  @Test
+  public void T_readColumn_1() throws IOException{
+    byte[] data = createData( createWriterConfig( true ) );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.column.names" , "[ [\"spread\"] , [\"nest\",\"name\"] ]" );
+    List<String> result = read( data , config );
+    assertEquals( result.size() , SPREAD_COUNT * ROW_COUNT );
+    assertEquals( result.get( 1 ) , "null,0,name_1,null" );
+  }
+
+  @Test
+  public void T_streamWrite_1() throws IOException{
+    byte[] expectedData = createData( createWriterConfig( false ) );
+    Configuration config = createWriterConfig( true );
+    config.set( "block.stream.write" , "true" );
+    byte[] data = createData( config );
+    assertEquals( read( data , new Configuration() ) , read( expectedData , new Configuration() ) );
+  }
+
+  @Test
+  public void T_sharedDictionary_1() throws IOException{
+    Configuration expectedConfig = createWriterConfig( false );
+    expectedConfig.set( "spread.column.shared.dictionary.columns" , "spread,id" );
+    Configuration config = createWriterConfig( true );
+    config.set( "spread.column.shared.dictionary.columns" , "spread,id" );
+    config.set( "spread.column.bloom.filter.columns" , "id" );
+    byte[] expectedData = createData( expectedConfig );
+    byte[] data = createData( config );
+    assertEquals( read( data , new Configuration() ) , read( expectedData , new Configuration() ) );
+  }
+
+  @Test
+  public void T_metaCompressor_1() throws IOException{
+    byte[] expectedData = createData( createWriterConfig( false ) );
+    Configuration config = createWriterConfig( true );
+    config.set( "block.maker.meta.compressor.class" , ZstdCompressor.class.getName() );
+    config.set( "block.async.flush" , "true" );
+    byte[] data = createData( config );
+    assertEquals( read( data , new Configuration() ) , read( expectedData , new Configuration() ) );
+  }
+
+}
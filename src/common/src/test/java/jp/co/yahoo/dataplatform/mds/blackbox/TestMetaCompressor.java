@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.Map;
+import java.util.HashMap;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+import org.testng.annotations.DataProvider;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.compressor.GzipCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.LZ4Compressor;
+import jp.co.yahoo.dataplatform.mds.compressor.SnappyCompressor;
+import jp.co.yahoo.dataplatform.mds.compressor.ZstdCompressor;
+
+public class TestMetaCompressor{
+
+  @DataProvider(name = "T_metaCompressor_1")
+  public Object[][] data(){
+    return new Object[][] {
+      { GzipCompressor.class.getName() },
+      { LZ4Compressor.class.getName() },
+      { ZstdCompressor.class.getName() },
+      { SnappyCompressor.class.getName() },
+    };
+  }
+
+  @Test( dataProvider = "T_metaCompressor_1" )
+  public void T_metaCompressor_1( final String compressorClassName ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Configuration config = new Configuration();
+    config.set( "block.maker.meta.compressor.class" , compressorClassName );
+    config.set( "spread.column.maker.setting" , "{ \"column_name\" : \"root\" , \"child_column\" : [ { \"column_name\" : \"s\" , \"compressor_class\" : \"" + ZstdCompressor.class.getName() + "\" , \"compressor_level\" : \"9\" } ] }" );
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      Spread s = new Spread();
+      for( int n = 0 ; n < 10 ; n++ ){
+        Map<String, Object> d = new HashMap<String, Object>();
+        d.put( "n" , new LongObj( (long)n ) );
+        d.put( "s" , new StringObj( "key_" + n ) );
+        s.addRow( d );
+      }
+      writer.append( s );
+    }
+    byte[] data = out.toByteArray();
+
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayInputStream( data ) , data.length , new Configuration() );
+      Spread spread = reader.next();
+      assertEquals( spread.size() , 10 );
+      for( int n = 0 ; n < 10 ; n++ ){
+        assertEquals( ( (PrimitiveCell)spread.getColumn( "n" ).get(n) ).getRow().getLong() , (long)n );
+        assertEquals( ( (PrimitiveCell)spread.getColumn( "s" ).get(n) ).getRow().getString() , "key_" + n );
+      }
+      assertFalse( reader.hasNext() );
+    }
+  }
+
+}
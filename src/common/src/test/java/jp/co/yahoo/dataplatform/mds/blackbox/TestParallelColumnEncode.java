@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.Map;
+import java.util.HashMap;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+
+public class TestParallelColumnEncode{
+
+  private byte[] createData( final Configuration config ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      for( int i = 0 ; i < 3 ; i++ ){
+        Spread s = new Spread();
+        for( int n = 0 ; n < 100 ; n++ ){
+          Map<String, Object> child = new HashMap<String, Object>();
+          child.put( "c_long" , new LongObj( (long)n ) );
+          child.put( "c_str" , new StringObj( "child_" + ( n % 7 ) ) );
+          Map<String, Object> d = new HashMap<String, Object>();
+          d.put( "n" , new LongObj( (long)( i * 100 + n ) ) );
+          d.put( "s" , new StringObj( "key_" + i + "_" + n ) );
+          d.put( "d" , new DoubleObj( (double)n / 3 ) );
+          d.put( "m" , child );
+          if( n % 2 == 0 ){
+            d.put( "u" , new IntegerObj( n ) );
+          }
+          else{
+            d.put( "u" , new StringObj( "u_" + n ) );
+          }
+          s.addRow( d );
+        }
+        writer.append( s );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  @Test
+  public void T_parallel_1() throws IOException{
+    byte[] expected = createData( new Configuration() );
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.parallelism" , "4" );
+    byte[] actual = createData( config );
+
+    assertEquals( actual , expected );
+  }
+
+  private byte[] createNestedData( final Configuration config ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      for( int i = 0 ; i < 3 ; i++ ){
+        Spread s = new Spread();
+        for( int n = 0 ; n < 100 ; n++ ){
+          Map<String, Object> inner = new HashMap<String, Object>();
+          inner.put( "s" , new StringObj( "inner_" + i + "_" + ( n % 5 ) ) );
+          inner.put( "n" , new LongObj( (long)( i * 1000 + n ) ) );
+          Map<String, Object> child = new HashMap<String, Object>();
+          child.put( "s" , new StringObj( "child_" + i + "_" + ( n % 3 ) ) );
+          child.put( "inner" , inner );
+          Map<String, Object> d = new HashMap<String, Object>();
+          d.put( "s" , new StringObj( "key_" + i + "_" + n ) );
+          d.put( "m" , child );
+          s.addRow( d );
+        }
+        writer.append( s );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private void assertNestedData( final byte[] data ) throws IOException{
+    int spreadIndex = 0;
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayInputStream( data ) , data.length , new Configuration() );
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        IColumn child = spread.getColumn( "m" );
+        IColumn inner = child.getColumn( "inner" );
+        for( int n = 0 ; n < 100 ; n++ ){
+          assertEquals( ( (PrimitiveCell)spread.getColumn( "s" ).get( n ) ).getRow().getString() , "key_" + spreadIndex + "_" + n );
+          assertEquals( ( (PrimitiveCell)child.getColumn( "s" ).get( n ) ).getRow().getString() , "child_" + spreadIndex + "_" + ( n % 3 ) );
+          assertEquals( ( (PrimitiveCell)inner.getColumn( "s" ).get( n ) ).getRow().getString() , "inner_" + spreadIndex + "_" + ( n % 5 ) );
+          assertEquals( ( (PrimitiveCell)inner.getColumn( "n" ).get( n ) ).getRow().getLong() , (long)( spreadIndex * 1000 + n ) );
+        }
+        spreadIndex++;
+      }
+    }
+    assertEquals( spreadIndex , 3 );
+  }
+
+  @Test
+  public void T_parallel_nested_1() throws IOException{
+    byte[] expected = createNestedData( new Configuration() );
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.parallelism" , "4" );
+    byte[] actual = createNestedData( config );
+
+    assertEquals( actual , expected );
+    assertNestedData( expected );
+    assertNestedData( actual );
+  }
+
+}
@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.MDSFileFooter;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.block.ByteArrayBlockSource;
+import jp.co.yahoo.dataplatform.mds.block.PredicateBlockMaker;
+import jp.co.yahoo.dataplatform.mds.block.PredicateBlockReader;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
+
+public class TestSharedDictionary{
+
+  private static final int SPREAD_COUNT = 12;
+  private static final int ROW_COUNT = 500;
+
+  private String getValue( final int spreadIndex , final int rowIndex ){
+    if( rowIndex % 11 == 0 ){
+      return null;
+    }
+    return "value_" + ( ( spreadIndex * 7 + rowIndex ) % 50 );
+  }
+
+  private byte[] createData( final Configuration config ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+        writer.append( createSpread( i ) );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private Spread createSpread( final int spreadIndex ) throws IOException{
+    Spread s = new Spread();
+    for( int n = 0 ; n < ROW_COUNT ; n++ ){
+      Map<String, Object> d = new HashMap<String, Object>();
+      String value = getValue( spreadIndex , n );
+      if( value != null ){
+        d.put( "s" , new StringObj( value ) );
+      }
+      d.put( "id" , new StringObj( "id_" + spreadIndex + "_" + n ) );
+      d.put( "spread" , new IntegerObj( spreadIndex ) );
+      s.addRow( d );
+    }
+    return s;
+  }
+
+  private void assertData( final byte[] data ) throws IOException{
+    int spreadCount = 0;
+    try( MDSReader reader = new MDSReader() ){
+      InputStream in = new ByteArrayInputStream( data );
+      reader.setNewStream( in , data.length , new Configuration() );
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        IColumn column = spread.getColumn( "s" );
+        int spreadIndex = ( (PrimitiveCell)spread.getColumn( "spread" ).get(0) ).getRow().getInt();
+        assertEquals( spreadIndex , spreadCount );
+        for( int n = 0 ; n < ROW_COUNT ; n++ ){
+          String expected = getValue( spreadIndex , n );
+          if( expected == null ){
+            assertEquals( column.get(n).getType() , ColumnType.NULL );
+          }
+          else{
+            assertEquals( ( (PrimitiveCell)column.get(n) ).getRow().getString() , expected );
+          }
+        }
+        List<Integer> filterResult = column.filter( new PerfectMatchStringFilter( "value_3" ) );
+        List<Integer> expectedResult = new ArrayList<Integer>();
+        for( int n = 0 ; n < ROW_COUNT ; n++ ){
+          if( "value_3".equals( getValue( spreadIndex , n ) ) ){
+            expectedResult.add( n );
+          }
+        }
+        assertEquals( filterResult , expectedResult );
+        spreadCount++;
+      }
+    }
+    assertEquals( spreadCount , SPREAD_COUNT );
+  }
+
+  private Configuration createConfig(){
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( 1024 * 1024 + 4 * 1024 ) );
+    config.set( "block.variable.length" , "true" );
+    return config;
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    Configuration config = createConfig();
+    config.set( "spread.column.shared.dictionary.columns" , "s" );
+    assertData( createData( config ) );
+  }
+
+  @Test
+  public void T_read_parallel_1() throws IOException{
+    Configuration config = createConfig();
+    config.set( "spread.column.shared.dictionary.columns" , "s" );
+    config.set( "spread.column.maker.parallelism" , "2" );
+    assertData( createData( config ) );
+  }
+
+  @Test
+  public void T_read_fallback_1() throws IOException{
+    Configuration config = createConfig();
+    config.set( "spread.column.shared.dictionary.columns" , "s,id,spread" );
+    config.set( "spread.column.shared.dictionary.max.size" , "100" );
+    assertData( createData( config ) );
+  }
+
+  @Test
+  public void T_multiBlock_1() throws IOException{
+    Configuration config = createConfig();
+    config.set( "spread.column.shared.dictionary.columns" , "s" );
+    byte[] data = createData( config );
+    assertTrue( 1 < MDSFileFooter.read( new ByteArrayBlockSource( data ) ).getBlockCount() );
+    assertData( data );
+  }
+
+  @Test
+  public void T_size_1() throws IOException{
+    Configuration config = new Configuration();
+    byte[] data = createData( config );
+    config.set( "spread.column.shared.dictionary.columns" , "s" );
+    byte[] sharedData = createData( config );
+    assertTrue( sharedData.length < data.length );
+    assertData( sharedData );
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_setup_1() throws IOException{
+    Configuration config = createConfig();
+    config.set( "spread.column.shared.dictionary.max.size" , "1" );
+    createData( config );
+  }
+
+  @Test
+  public void T_reEncode_1() throws IOException{
+    Configuration config = createConfig();
+    config.set( "spread.column.shared.dictionary.columns" , "s" );
+    PredicateBlockMaker blockMaker = new PredicateBlockMaker();
+    blockMaker.setup( 1024 * 1024 * 2 , config );
+    blockMaker.append( ROW_COUNT , blockMaker.convertRow( createSpread( 0 ) ) );
+    List<ColumnBinary> binaryList = blockMaker.convertRow( createSpread( 1 ) );
+    blockMaker.createVariableBlock();
+    assertEquals( blockMaker.getBufferedSize() , 0 );
+
+    assertTrue( blockMaker.canAppend( binaryList ) );
+    int reEncodedSize = blockMaker.getBufferedSize();
+    assertTrue( 0 < reEncodedSize );
+    blockMaker.append( ROW_COUNT , binaryList );
+    byte[] block = blockMaker.createVariableBlock();
+
+    PredicateBlockReader blockReader = new PredicateBlockReader();
+    blockReader.setup( new Configuration() );
+    blockReader.setStream( new ByteArrayInputStream( block ) , block.length );
+    assertTrue( blockReader.hasNext() );
+    IColumn column = blockReader.next().getColumn( "s" );
+    for( int n = 0 ; n < ROW_COUNT ; n++ ){
+      String expected = getValue( 1 , n );
+      if( expected == null ){
+        assertEquals( column.get(n).getType() , ColumnType.NULL );
+      }
+      else{
+        assertEquals( ( (PrimitiveCell)column.get(n) ).getRow().getString() , expected );
+      }
+    }
+    assertFalse( blockReader.hasNext() );
+  }
+
+}
@@ -0,0 +1,231 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.schema.parser.JacksonMessageReader;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.MDSFileFooter;
+import jp.co.yahoo.dataplatform.mds.block.ByteArrayBlockSource;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.ICell;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+
+public class TestStreamBlock{
+
+  private static final int BLOCK_SIZE = 1024 * 1024 + 16 * 1024;
+  private static final int SPREAD_COUNT = 10;
+  private static final int ROW_COUNT = 300;
+
+  private Configuration createWriterConfig( final boolean isStream ){
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( BLOCK_SIZE ) );
+    config.set( "block.stream.write" , Boolean.toString( isStream ) );
+    return config;
+  }
+
+  private byte[] createData( final Configuration config ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+        Spread s = new Spread();
+        for( int n = 0 ; n < ROW_COUNT ; n++ ){
+          String nest = "";
+          if( n % 3 != 0 ){
+            nest = String.format( ",\"nest\":{\"name\":\"name_%d\",\"value\":%d}" , n % 20 , n );
+          }
+          s.addParserRow( messageReader.create( String.format( "{\"id\":\"id_%d_%d\",\"spread\":%d%s}" , i , n , i , nest ) ) );
+        }
+        writer.append( s );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private String getString( final ICell cell ){
+    if( cell.getType() == ColumnType.NULL ){
+      return null;
+    }
+    try{
+      return ( (PrimitiveCell)cell ).getRow().getString();
+    }catch( IOException e ){
+      throw new RuntimeException( e );
+    }
+  }
+
+  private List<String> readRows( final MDSReader reader ) throws IOException{
+    List<String> result = new ArrayList<String>();
+    while( reader.hasNext() ){
+      Spread spread = reader.next();
+      IColumn idColumn = spread.getColumn( "id" );
+      IColumn spreadColumn = spread.getColumn( "spread" );
+      IColumn nestColumn = spread.getColumn( "nest" );
+      for( int i = 0 ; i < spread.size() ; i++ ){
+        String name = null;
+        String value = null;
+        if( nestColumn != null ){
+          name = getString( nestColumn.getColumn( "name" ).get( i ) );
+          value = getString( nestColumn.getColumn( "value" ).get( i ) );
+        }
+        String id = idColumn == null ? null : getString( idColumn.get( i ) );
+        result.add( id + "," + getString( spreadColumn.get( i ) ) + "," + name + "," + value );
+      }
+    }
+    return result;
+  }
+
+  private List<String> readStream( final byte[] data , final long start , final long length , final Configuration config ) throws IOException{
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayInputStream( data ) , data.length , config , start , length );
+      return readRows( reader );
+    }
+  }
+
+  private List<String> readSource( final byte[] data , final long start , final long length , final Configuration config ) throws IOException{
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayBlockSource( data ) , config , start , length );
+      return readRows( reader );
+    }
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    byte[] expectedData = createData( createWriterConfig( false ) );
+    byte[] data = createData( createWriterConfig( true ) );
+    List<String> expected = readStream( expectedData , 0 , expectedData.length , new Configuration() );
+    assertEquals( expected.size() , SPREAD_COUNT * ROW_COUNT );
+    assertEquals( expected.get( 1 ) , "id_0_1,0,name_1,1" );
+    assertEquals( expected.get( 3 ) , "id_0_3,0,null,null" );
+
+    assertEquals( readStream( data , 0 , data.length , new Configuration() ) , expected );
+    assertEquals( readSource( data , 0 , data.length , new Configuration() ) , expected );
+  }
+
+  @Test
+  public void T_footer_1() throws IOException{
+    byte[] data = createData( createWriterConfig( true ) );
+    MDSFileFooter footer = MDSFileFooter.read( new ByteArrayBlockSource( data ) );
+    assertTrue( 1 < footer.getBlockCount() );
+    assertEquals( footer.getTotalRowCount() , (long)( SPREAD_COUNT * ROW_COUNT ) );
+    long blockEnd = footer.getBlockOffset( 0 );
+    int spreadCount = 0;
+    for( int i = 0 ; i < footer.getBlockCount() ; i++ ){
+      assertEquals( footer.getBlockOffset( i ) , blockEnd );
+      blockEnd += footer.getBlockLength( i );
+      spreadCount += footer.getSpreadCount( i );
+    }
+    assertEquals( spreadCount , SPREAD_COUNT );
+    assertEquals( blockEnd + new MDSFileFooter().toBinary().length + 20L * footer.getBlockCount() , (long)data.length );
+  }
+
+  @Test
+  public void T_split_1() throws IOException{
+    byte[] data = createData( createWriterConfig( true ) );
+    List<String> expected = readStream( data , 0 , data.length , new Configuration() );
+    MDSFileFooter footer = MDSFileFooter.read( new ByteArrayBlockSource( data ) );
+    for( long splitPoint : new long[]{ footer.getBlockOffset( 1 ) - 1 , footer.getBlockOffset( 1 ) , footer.getBlockOffset( 1 ) + 1 } ){
+      List<String> streamResult = readStream( data , 0 , splitPoint , new Configuration() );
+      streamResult.addAll( readStream( data , splitPoint , data.length - splitPoint , new Configuration() ) );
+      assertEquals( streamResult , expected );
+
+      List<String> sourceResult = readSource( data , 0 , splitPoint , new Configuration() );
+      sourceResult.addAll( readSource( data , splitPoint , data.length - splitPoint , new Configuration() ) );
+      assertEquals( sourceResult , expected );
+    }
+  }
+
+  @Test
+  public void T_readAhead_1() throws IOException{
+    byte[] data = createData( createWriterConfig( true ) );
+    List<String> expected = readStream( data , 0 , data.length , new Configuration() );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.ahead.block.count" , "2" );
+    assertEquals( readSource( data , 0 , data.length , config ) , expected );
+  }
+
+  @Test
+  public void T_readColumn_1() throws IOException{
+    byte[] data = createData( createWriterConfig( true ) );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.column.names" , "[ [\"spread\"] , [\"nest\",\"name\"] ]" );
+    List<String> result = readSource( data , 0 , data.length , config );
+    assertEquals( result.size() , SPREAD_COUNT * ROW_COUNT );
+    assertEquals( result.get( 1 ) , "null,0,name_1,null" );
+  }
+
+  @Test
+  public void T_readColumn_2() throws IOException{
+    byte[] data = createData( createWriterConfig( true ) );
+    Configuration allConfig = new Configuration();
+    allConfig.set( "spread.reader.source.buffer.size" , "64" );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.source.buffer.size" , "64" );
+    config.set( "spread.reader.read.column.names" , "[ [\"spread\"] ]" );
+    ByteArrayBlockSource allSource = new ByteArrayBlockSource( data );
+    ByteArrayBlockSource columnSource = new ByteArrayBlockSource( data );
+    List<String> result;
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( allSource , allConfig );
+      readRows( reader );
+    }
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( columnSource , config );
+      result = readRows( reader );
+    }
+    assertEquals( result.size() , SPREAD_COUNT * ROW_COUNT );
+    assertEquals( result.get( 1 ) , "null,0,null,null" );
+    assertTrue( columnSource.getReadBytes() * 4 < allSource.getReadBytes() );
+
+    assertEquals( readStream( data , 0 , data.length , config ) , result );
+  }
+
+  @Test
+  public void T_sharedDictionary_1() throws IOException{
+    Configuration expectedConfig = createWriterConfig( false );
+    expectedConfig.set( "spread.column.shared.dictionary.columns" , "spread,id" );
+    Configuration config = createWriterConfig( true );
+    config.set( "spread.column.shared.dictionary.columns" , "spread,id" );
+    config.set( "spread.column.bloom.filter.columns" , "id" );
+    byte[] expectedData = createData( expectedConfig );
+    byte[] data = createData( config );
+    assertEquals( readSource( data , 0 , data.length , new Configuration() ) , readSource( expectedData , 0 , expectedData.length , new Configuration() ) );
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_paddedBlock_1() throws IOException{
+    Configuration config = createWriterConfig( true );
+    config.set( "block.variable.length" , "false" );
+    new MDSWriter( new ByteArrayOutputStream() , config );
+  }
+
+}
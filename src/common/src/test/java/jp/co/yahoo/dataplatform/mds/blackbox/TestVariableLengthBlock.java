@@ -0,0 +1,219 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.MDSFileFooter;
+import jp.co.yahoo.dataplatform.mds.block.ByteArrayBlockSource;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.StringExtractNode;
+
+public class TestVariableLengthBlock{
+
+  private static final int BLOCK_SIZE = 1024 * 1024 + 4 * 1024;
+  private static final int SPREAD_COUNT = 10;
+  private static final int ROW_COUNT = 300;
+
+  private byte[] createData( final String isVariableBlock ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( BLOCK_SIZE ) );
+    if( isVariableBlock != null ){
+      config.set( "block.variable.length" , isVariableBlock );
+    }
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+      for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+        Spread s = new Spread();
+        for( int n = 0 ; n < ROW_COUNT ; n++ ){
+          Map<String, Object> d = new HashMap<String, Object>();
+          d.put( "id" , new StringObj( "id_" + i + "_" + n ) );
+          d.put( "spread" , new IntegerObj( i ) );
+          s.addRow( d );
+        }
+        writer.append( s );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private List<Integer> readSpreadList( final MDSReader reader ) throws IOException{
+    List<Integer> result = new ArrayList<Integer>();
+    while( reader.hasNext() ){
+      Spread spread = reader.next();
+      int spreadIndex = ( (PrimitiveCell)spread.getColumn( "spread" ).get(0) ).getRow().getInt();
+      assertEquals( spread.size() , ROW_COUNT );
+      assertEquals( ( (PrimitiveCell)spread.getColumn( "id" ).get( ROW_COUNT - 1 ) ).getRow().getString() , "id_" + spreadIndex + "_" + ( ROW_COUNT - 1 ) );
+      result.add( spreadIndex );
+    }
+    return result;
+  }
+
+  private List<Integer> readStream( final byte[] data , final long start , final long length , final Configuration config ) throws IOException{
+    try( MDSReader reader = new MDSReader() ){
+      InputStream in = new ByteArrayInputStream( data );
+      reader.setNewStream( in , data.length , config , start , length );
+      return readSpreadList( reader );
+    }
+  }
+
+  private List<Integer> readSource( final byte[] data , final long start , final long length , final Configuration config ) throws IOException{
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayBlockSource( data ) , config , start , length );
+      return readSpreadList( reader );
+    }
+  }
+
+  private List<Integer> readSkipSource( final byte[] data , final int spreadIndex , final Configuration config ) throws IOException{
+    try( MDSReader reader = new MDSReader() ){
+      reader.setBlockSkipIndex( new ExecuterNode( new StringExtractNode( "spread" ) , new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( spreadIndex ) ) ) );
+      reader.setNewStream( new ByteArrayBlockSource( data ) , config );
+      return readSpreadList( reader );
+    }
+  }
+
+  private List<Integer> allSpread(){
+    List<Integer> result = new ArrayList<Integer>();
+    for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+      result.add( i );
+    }
+    return result;
+  }
+
+  @Test
+  public void T_footer_1() throws IOException{
+    byte[] data = createData( "true" );
+    MDSFileFooter footer = MDSFileFooter.read( new ByteArrayBlockSource( data ) );
+    assertTrue( 1 < footer.getBlockCount() );
+    assertEquals( footer.getTotalRowCount() , (long)( SPREAD_COUNT * ROW_COUNT ) );
+    int spreadCount = 0;
+    for( int i = 0 ; i < footer.getBlockCount() ; i++ ){
+      assertTrue( footer.getBlockLength( i ) < BLOCK_SIZE );
+      spreadCount += footer.getSpreadCount( i );
+    }
+    assertEquals( spreadCount , SPREAD_COUNT );
+    assertTrue( data.length < BLOCK_SIZE * footer.getBlockCount() );
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    byte[] data = createData( "true" );
+    assertEquals( readStream( data , 0 , data.length , new Configuration() ) , allSpread() );
+    assertEquals( readSource( data , 0 , data.length , new Configuration() ) , allSpread() );
+  }
+
+  @Test
+  public void T_read_2() throws IOException{
+    byte[] data = createData( "false" );
+    assertNull( MDSFileFooter.read( new ByteArrayBlockSource( data ) ) );
+    assertEquals( readStream( data , 0 , data.length , new Configuration() ) , allSpread() );
+    assertEquals( readSource( data , 0 , data.length , new Configuration() ) , allSpread() );
+  }
+
+  @Test
+  public void T_read_readAhead_1() throws IOException{
+    byte[] data = createData( "true" );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.ahead.block.count" , "2" );
+    assertEquals( readStream( data , 0 , data.length , config ) , allSpread() );
+    assertEquals( readSource( data , 0 , data.length , config ) , allSpread() );
+  }
+
+  @Test
+  public void T_read_readAhead_2() throws IOException{
+    byte[] data = createData( "true" );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.ahead.block.count" , "2" );
+    for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+      List<Integer> expected = new ArrayList<Integer>();
+      expected.add( i );
+      assertEquals( readSkipSource( data , i , config ) , expected );
+    }
+  }
+
+  @Test
+  public void T_split_1() throws IOException{
+    byte[] data = createData( "true" );
+    MDSFileFooter footer = MDSFileFooter.read( new ByteArrayBlockSource( data ) );
+    long splitPoint = footer.getBlockOffset( 1 ) - 1;
+
+    List<Integer> streamResult = readStream( data , 0 , splitPoint , new Configuration() );
+    streamResult.addAll( readStream( data , splitPoint , data.length - splitPoint , new Configuration() ) );
+    assertEquals( streamResult , allSpread() );
+
+    List<Integer> sourceResult = readSource( data , 0 , splitPoint , new Configuration() );
+    assertEquals( sourceResult.size() , footer.getSpreadCount( 0 ) );
+    sourceResult.addAll( readSource( data , splitPoint , data.length - splitPoint , new Configuration() ) );
+    assertEquals( sourceResult , allSpread() );
+  }
+
+  @Test
+  public void T_split_2() throws IOException{
+    byte[] data = createData( "true" );
+    MDSFileFooter footer = MDSFileFooter.read( new ByteArrayBlockSource( data ) );
+    long splitPoint = footer.getBlockOffset( 1 );
+    assertEquals( readStream( data , 0 , splitPoint , new Configuration() ).size() , footer.getSpreadCount( 0 ) );
+    assertEquals( readSource( data , splitPoint , 1 , new Configuration() ).size() , footer.getSpreadCount( 1 ) );
+    assertEquals( readStream( data , splitPoint , 1 , new Configuration() ).size() , footer.getSpreadCount( 1 ) );
+  }
+
+  @Test
+  public void T_empty_1() throws IOException{
+    Configuration config = new Configuration();
+    config.set( "block.variable.length" , "true" );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( MDSWriter writer = new MDSWriter( out , config ) ){
+    }
+    byte[] data = out.toByteArray();
+    assertEquals( MDSFileFooter.read( new ByteArrayBlockSource( data ) ).getBlockCount() , 0 );
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayInputStream( data ) , data.length , new Configuration() );
+      assertTrue( ! reader.hasNext() );
+    }
+  }
+
+  @Test
+  public void T_default_1() throws IOException{
+    byte[] data = createData( null );
+    assertNull( MDSFileFooter.read( new ByteArrayBlockSource( data ) ) );
+    assertEquals( data , createData( "false" ) );
+    assertEquals( readStream( data , 0 , data.length , new Configuration() ) , allSpread() );
+  }
+
+}
@@ -0,0 +1,258 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blackbox;
+
+import java.util.Map;
+import java.util.HashMap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.io.IOException;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.MDSFileFooter;
+import jp.co.yahoo.dataplatform.mds.WriterMemoryManager;
+import jp.co.yahoo.dataplatform.mds.block.ByteArrayBlockSource;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+
+public class TestWriterMemoryManagerFlush{
+
+  private static final int SPREAD_COUNT = 10;
+  private static final int ROW_COUNT = 300;
+  private static final int MAX_SIZE = 4 * 1024;
+
+  private class BlockingOutputStream extends ByteArrayOutputStream{
+
+    private final CountDownLatch writeStarted = new CountDownLatch( 1 );
+    private final CountDownLatch writeAllowed = new CountDownLatch( 1 );
+    private volatile boolean isBlocking;
+
+    @Override
+    public void write( final byte[] b , final int off , final int len ){
+      if( isBlocking ){
+        writeStarted.countDown();
+        try{
+          writeAllowed.await();
+        }catch( InterruptedException e ){
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException( e );
+        }
+      }
+      synchronized( this ){
+        super.write( b , off , len );
+      }
+    }
+
+  }
+
+  private Spread createSpread( final int index ) throws IOException{
+    Spread s = new Spread();
+    for( int n = 0 ; n < ROW_COUNT ; n++ ){
+      Map<String, Object> d = new HashMap<String, Object>();
+      d.put( "id" , new StringObj( "id_" + index + "_" + n ) );
+      d.put( "value" , new IntegerObj( n ) );
+      s.addRow( d );
+    }
+    return s;
+  }
+
+  private int countRows( final byte[] data ) throws IOException{
+    int rowCount = 0;
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new ByteArrayBlockSource( data ) , new Configuration() );
+      while( reader.hasNext() ){
+        rowCount += reader.next().size();
+      }
+    }
+    return rowCount;
+  }
+
+  private Configuration createConfig( final String isStream ){
+    Configuration config = new Configuration();
+    config.set( "block.stream.write" , isStream );
+    config.set( "block.variable.length" , "true" );
+    config.set( "writer.memory.manager.max.size" , Integer.toString( MAX_SIZE ) );
+    return config;
+  }
+
+  private long getMaxSpreadSize( final Configuration config ) throws IOException{
+    long maxSpreadSize = 0;
+    for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+      WriterMemoryManager manager = new WriterMemoryManager();
+      manager.configure( Long.MAX_VALUE );
+      try( MDSWriter writer = new MDSWriter( new ByteArrayOutputStream() , config , manager ) ){
+        writer.append( createSpread( i ) );
+        maxSpreadSize = Math.max( maxSpreadSize , manager.getTotalSize() );
+      }
+    }
+    return maxSpreadSize;
+  }
+
+  private void T_flush( final String isStream ) throws IOException{
+    Configuration config = createConfig( isStream );
+    long limitSize = MAX_SIZE + getMaxSpreadSize( config ) * 2;
+    WriterMemoryManager manager = new WriterMemoryManager();
+
+    ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+    ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+    MDSWriter writer1 = new MDSWriter( out1 , config , manager );
+    MDSWriter writer2 = new MDSWriter( out2 , config , manager );
+    assertEquals( manager.getAllocationCount() , 2 );
+    assertEquals( manager.getMaxSize() , (long)MAX_SIZE );
+    for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+      writer1.append( createSpread( i ) );
+      assertTrue( manager.getTotalSize() <= limitSize );
+      writer2.append( createSpread( i ) );
+      assertTrue( manager.getTotalSize() <= limitSize );
+    }
+    writer1.close();
+    writer2.close();
+    assertEquals( manager.getAllocationCount() , 0 );
+    assertEquals( manager.getTotalSize() , 0L );
+
+    for( byte[] data : new byte[][]{ out1.toByteArray() , out2.toByteArray() } ){
+      MDSFileFooter footer = MDSFileFooter.read( new ByteArrayBlockSource( data ) );
+      assertTrue( 1 < footer.getBlockCount() );
+      assertEquals( countRows( data ) , SPREAD_COUNT * ROW_COUNT );
+    }
+  }
+
+  @Test
+  public void T_flush_1() throws IOException{
+    T_flush( "false" );
+  }
+
+  @Test
+  public void T_flush_2() throws IOException{
+    T_flush( "true" );
+  }
+
+  @Test
+  public void T_configure_1() throws IOException{
+    WriterMemoryManager manager = new WriterMemoryManager();
+    manager.configure( MAX_SIZE * 2 );
+    try( MDSWriter writer = new MDSWriter( new ByteArrayOutputStream() , createConfig( "false" ) , manager ) ){
+      assertEquals( manager.getMaxSize() , (long)( MAX_SIZE * 2 ) );
+      assertEquals( manager.getAllocationCount() , 1 );
+    }
+  }
+
+  @Test
+  public void T_defaultConfig_1() throws IOException{
+    Configuration config = new Configuration();
+    config.set( "writer.memory.manager.max.size" , Integer.toString( MAX_SIZE ) );
+    WriterMemoryManager manager = new WriterMemoryManager();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( MDSWriter writer = new MDSWriter( out , config , manager ) ){
+      assertEquals( manager.getAllocationCount() , 1 );
+      for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+        writer.append( createSpread( i ) );
+      }
+    }
+    assertEquals( manager.getAllocationCount() , 0 );
+    byte[] data = out.toByteArray();
+    assertTrue( 1 < MDSFileFooter.read( new ByteArrayBlockSource( data ) ).getBlockCount() );
+    assertEquals( countRows( data ) , SPREAD_COUNT * ROW_COUNT );
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_fixedLength_1() throws IOException{
+    Configuration config = new Configuration();
+    config.set( "block.variable.length" , "false" );
+    config.set( "writer.memory.manager.max.size" , Integer.toString( MAX_SIZE ) );
+    new MDSWriter( new ByteArrayOutputStream() , config , new WriterMemoryManager() );
+  }
+
+  @Test
+  public void T_asyncFlush_1() throws Exception{
+    Configuration config = createConfig( "false" );
+    config.set( "block.async.flush" , "true" );
+    config.set( "block.async.flush.max.pending" , "2" );
+    config.set( "writer.memory.manager.max.size" , "1" );
+    WriterMemoryManager manager = new WriterMemoryManager();
+    BlockingOutputStream out = new BlockingOutputStream();
+    MDSWriter writer = new MDSWriter( out , config , manager );
+    out.isBlocking = true;
+    try{
+      writer.append( createSpread( 0 ) );
+      assertTrue( out.writeStarted.await( 10 , TimeUnit.SECONDS ) );
+      long pendingSize = manager.getTotalSize();
+      assertTrue( 0 < pendingSize );
+
+      writer.append( createSpread( 1 ) );
+      assertTrue( pendingSize < manager.getTotalSize() );
+    }finally{
+      out.writeAllowed.countDown();
+      writer.close();
+    }
+    assertEquals( manager.getTotalSize() , 0L );
+    assertEquals( countRows( out.toByteArray() ) , ROW_COUNT * 2 );
+  }
+
+  @Test
+  public void T_asyncFlush_2() throws Exception{
+    Configuration config = createConfig( "false" );
+    config.set( "block.async.flush" , "true" );
+    config.set( "writer.memory.manager.max.size" , "1" );
+    WriterMemoryManager manager = new WriterMemoryManager();
+    WriterMemoryManager.Allocation otherWriter = manager.register();
+    otherWriter.update( 1 );
+    BlockingOutputStream out = new BlockingOutputStream();
+    MDSWriter writer = new MDSWriter( out , config , manager );
+    out.isBlocking = true;
+    try{
+      writer.append( createSpread( 0 ) );
+      assertTrue( out.writeStarted.await( 10 , TimeUnit.SECONDS ) );
+      assertTrue( 1 < manager.getTotalSize() );
+      assertFalse( otherWriter.isFlushRequested() );
+    }finally{
+      out.writeAllowed.countDown();
+      writer.close();
+    }
+    assertEquals( manager.getTotalSize() , 1L );
+    otherWriter.close();
+  }
+
+  @Test
+  public void T_noBudget_1() throws IOException{
+    WriterMemoryManager manager = new WriterMemoryManager();
+    Configuration config = new Configuration();
+    config.set( "block.variable.length" , "true" );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( MDSWriter writer = new MDSWriter( out , config , manager ) ){
+      assertEquals( manager.getAllocationCount() , 0 );
+      for( int i = 0 ; i < SPREAD_COUNT ; i++ ){
+        writer.append( createSpread( i ) );
+      }
+    }
+    byte[] data = out.toByteArray();
+    assertEquals( MDSFileFooter.read( new ByteArrayBlockSource( data ) ).getBlockCount() , 1 );
+    assertEquals( countRows( data ) , SPREAD_COUNT * ROW_COUNT );
+  }
+
+}
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.mds.util.InputStreamUtils;
+
+public class TestBlockReadAheadReader{
+
+  private byte[] createData( final int length ){
+    byte[] data = new byte[length];
+    for( int i = 0 ; i < length ; i++ ){
+      data[i] = (byte)i;
+    }
+    return data;
+  }
+
+  @Test
+  public void T_next_1() throws IOException{
+    byte[] data = createData( 100 );
+    long[] startArray = new long[]{ 10 , 30 , 60 };
+    int[] lengthArray = new int[]{ 10 , 20 , 10 };
+    BlockReadAheadReader reader = new BlockReadAheadReader( new ByteArrayInputStream( data , 10 , 90 ) , 10 , startArray , lengthArray , 1 );
+    reader.start();
+    for( int i = 0 ; i < startArray.length ; i++ ){
+      ByteBuffer blockBuffer = reader.next();
+      assertEquals( blockBuffer.limit() , lengthArray[i] );
+      for( int n = 0 ; n < blockBuffer.limit() ; n++ ){
+        assertEquals( blockBuffer.array()[n] , data[ (int)startArray[i] + n ] );
+      }
+      reader.release( blockBuffer );
+    }
+    reader.close();
+  }
+
+  @Test
+  public void T_next_2() throws IOException{
+    byte[] data = createData( 50 );
+    long[] startArray = new long[]{ 0 , 40 };
+    int[] lengthArray = new int[]{ 20 , 20 };
+    BlockReadAheadReader reader = new BlockReadAheadReader( new ByteArrayInputStream( data ) , 0 , startArray , lengthArray , 2 );
+    reader.start();
+    assertEquals( reader.next().limit() , 20 );
+    assertEquals( reader.next().limit() , 10 );
+    reader.close();
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_next_3() throws IOException{
+    byte[] data = createData( 50 );
+    BlockReadAheadReader reader = new BlockReadAheadReader( new ByteArrayInputStream( data ) , 0 , new long[]{ 0 } , new int[]{ 10 } , 1 );
+    reader.start();
+    reader.next();
+    reader.next();
+  }
+
+  @Test
+  public void T_close_1() throws IOException{
+    byte[] data = createData( 100 );
+    long[] startArray = new long[]{ 0 , 10 , 20 , 30 , 40 };
+    int[] lengthArray = new int[]{ 10 , 10 , 10 , 10 , 10 };
+    BlockReadAheadReader reader = new BlockReadAheadReader( new ByteArrayInputStream( data ) , 0 , startArray , lengthArray , 1 );
+    reader.start();
+    reader.next();
+    reader.close();
+  }
+
+  @Test
+  public void T_next_skip_1() throws IOException{
+    byte[] data = createData( 100 );
+    long[] startArray = new long[]{ 0 , 20 , 40 , 60 };
+    int[] lengthArray = new int[]{ 20 , 20 , 20 , 20 };
+    int[] readCount = new int[1];
+    InputStream in = new ByteArrayInputStream( data ){
+      @Override
+      public synchronized int read( final byte[] b , final int off , final int len ){
+        int length = super.read( b , off , len );
+        readCount[0] += length;
+        return length;
+      }
+    };
+    IBlockSkipChecker skipChecker = ( stream , header ) -> {
+      byte[] headerBytes = new byte[2];
+      InputStreamUtils.read( stream , headerBytes , 0 , 2 );
+      header.append( headerBytes );
+      return headerBytes[0] == 20 || headerBytes[0] == 60;
+    };
+    BlockReadAheadReader reader = new BlockReadAheadReader( in , 0 , startArray , lengthArray , 1 , skipChecker );
+    reader.start();
+    ByteBuffer blockBuffer = reader.next();
+    assertEquals( blockBuffer.limit() , 20 );
+    assertEquals( blockBuffer.array()[0] , (byte)0 );
+    assertEquals( blockBuffer.array()[19] , (byte)19 );
+    reader.release( blockBuffer );
+    assertNull( reader.next() );
+    blockBuffer = reader.next();
+    assertEquals( blockBuffer.limit() , 20 );
+    assertEquals( blockBuffer.array()[0] , (byte)40 );
+    assertEquals( blockBuffer.array()[19] , (byte)59 );
+    reader.release( blockBuffer );
+    assertNull( reader.next() );
+    reader.close();
+    assertEquals( readCount[0] , 20 + 2 + 20 + 2 );
+  }
+
+  @Test
+  public void T_release_1() throws IOException{
+    byte[] data = createData( 1000 );
+    long[] startArray = new long[100];
+    int[] lengthArray = new int[100];
+    for( int i = 0 ; i < startArray.length ; i++ ){
+      startArray[i] = i * 10;
+      lengthArray[i] = 10;
+    }
+    BlockReadAheadReader reader = new BlockReadAheadReader( new ByteArrayInputStream( data ) , 0 , startArray , lengthArray , 2 );
+    reader.start();
+    for( int i = 0 ; i < startArray.length ; i++ ){
+      ByteBuffer blockBuffer = reader.next();
+      assertEquals( blockBuffer.limit() , 10 );
+      assertEquals( blockBuffer.array()[0] , data[ i * 10 ] );
+      reader.release( blockBuffer );
+    }
+    assertTrue( reader.getBufferCount() <= 4 );
+    reader.close();
+  }
+
+  @Test( timeOut = 10000 )
+  public void T_close_2() throws IOException , InterruptedException{
+    CountDownLatch readLatch = new CountDownLatch( 1 );
+    CountDownLatch closeLatch = new CountDownLatch( 1 );
+    InputStream in = new InputStream(){
+      @Override
+      public int read(){
+        readLatch.countDown();
+        while( closeLatch.getCount() != 0 ){
+          try{
+            closeLatch.await();
+          }catch( InterruptedException e ){
+            // The worker must not rely on interrupt to stop.
+          }
+        }
+        return -1;
+      }
+    };
+    BlockReadAheadReader reader = new BlockReadAheadReader( in , 0 , new long[]{ 0 , 10 } , new int[]{ 10 , 10 } , 1 );
+    reader.start();
+    readLatch.await();
+    reader.close();
+    closeLatch.countDown();
+  }
+
+}
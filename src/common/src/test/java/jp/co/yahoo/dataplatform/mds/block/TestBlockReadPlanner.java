@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.mds.stats.ReadIOStats;
+
+public class TestBlockReadPlanner{
+
+  private List<BlockReadOffset> createOffsetList(){
+    List<BlockReadOffset> offsetList = new ArrayList<BlockReadOffset>();
+    offsetList.add( new BlockReadOffset( 200 , 50 ) );
+    offsetList.add( new BlockReadOffset( 0 , 100 ) );
+    offsetList.add( new BlockReadOffset( 100 , 20 ) );
+    offsetList.add( new BlockReadOffset( 1000 , 10 ) );
+    return offsetList;
+  }
+
+  @Test
+  public void T_plan_1(){
+    ReadIOStats stats = new ReadIOStats();
+    List<BlockReadOffset> planList = new BlockReadPlanner( 0 , stats ).plan( createOffsetList() );
+    assertEquals( planList.size() , 3 );
+    assertEquals( planList.get(0).start , 0 );
+    assertEquals( planList.get(0).length , 120 );
+    assertEquals( planList.get(1).start , 200 );
+    assertEquals( planList.get(1).length , 50 );
+    assertEquals( planList.get(2).start , 1000 );
+    assertEquals( planList.get(2).length , 10 );
+    assertEquals( stats.getReadCount() , 3 );
+    assertEquals( stats.getRequestBytes() , 180 );
+    assertEquals( stats.getUsedBytes() , 180 );
+  }
+
+  @Test
+  public void T_plan_2(){
+    ReadIOStats stats = new ReadIOStats();
+    List<BlockReadOffset> planList = new BlockReadPlanner( 100 , stats ).plan( createOffsetList() );
+    assertEquals( planList.size() , 2 );
+    assertEquals( planList.get(0).start , 0 );
+    assertEquals( planList.get(0).length , 250 );
+    assertEquals( planList.get(1).start , 1000 );
+    assertEquals( planList.get(1).length , 10 );
+    assertEquals( stats.getReadCount() , 2 );
+    assertEquals( stats.getRequestBytes() , 260 );
+    assertEquals( stats.getUsedBytes() , 180 );
+  }
+
+  @Test
+  public void T_plan_3(){
+    ReadIOStats stats = new ReadIOStats();
+    List<BlockReadOffset> planList = new BlockReadPlanner( 1024 * 1024 , stats ).plan( createOffsetList() );
+    assertEquals( planList.size() , 1 );
+    assertEquals( planList.get(0).start , 0 );
+    assertEquals( planList.get(0).length , 1010 );
+  }
+
+  @Test
+  public void T_plan_4(){
+    ReadIOStats stats = new ReadIOStats();
+    List<BlockReadOffset> planList = new BlockReadPlanner( 0 , stats ).plan( new ArrayList<BlockReadOffset>() );
+    assertEquals( planList.size() , 0 );
+    assertEquals( stats.getReadCount() , 0 );
+  }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.IOException;
+
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.mds.util.InputStreamUtils;
+
+public class TestBlockSourceInputStream{
+
+  private class CountBlockSource implements IBlockSource{
+
+    private final byte[] data;
+    private int readCount;
+    private long readBytes;
+
+    public CountBlockSource( final byte[] data ){
+      this.data = data;
+    }
+
+    @Override
+    public long length(){
+      return data.length;
+    }
+
+    @Override
+    public void readFully( final long position , final byte[] buffer , final int offset , final int length ){
+      readCount++;
+      readBytes += length;
+      System.arraycopy( data , (int)position , buffer , offset , length );
+    }
+
+    @Override
+    public void close(){
+    }
+
+  }
+
+  private byte[] createData( final int length ){
+    byte[] data = new byte[length];
+    for( int i = 0 ; i < length ; i++ ){
+      data[i] = (byte)( i * 7 );
+    }
+    return data;
+  }
+
+  private void assertRead( final BlockSourceInputStream in , final byte[] data , final int start , final int length ) throws IOException{
+    byte[] result = new byte[length];
+    assertEquals( InputStreamUtils.read( in , result , 0 , length ) , length );
+    for( int i = 0 ; i < length ; i++ ){
+      assertEquals( result[i] , data[ start + i ] );
+    }
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    byte[] data = createData( 1000 );
+    CountBlockSource source = new CountBlockSource( data );
+    BlockSourceInputStream in = new BlockSourceInputStream( source , 100 );
+    assertRead( in , data , 0 , 4 );
+    assertRead( in , data , 4 , 8 );
+    assertEquals( in.read() , data[12] & 0xFF );
+    assertRead( in , data , 13 , 20 );
+    assertEquals( source.readCount , 1 );
+    assertEquals( in.skip( 10 ) , 10L );
+    assertRead( in , data , 43 , 50 );
+    assertEquals( source.readCount , 1 );
+    assertEquals( in.getPosition() , 93L );
+  }
+
+  @Test
+  public void T_read_2() throws IOException{
+    byte[] data = createData( 1000 );
+    CountBlockSource source = new CountBlockSource( data );
+    BlockSourceInputStream in = new BlockSourceInputStream( source , 100 );
+    assertRead( in , data , 0 , 90 );
+    assertRead( in , data , 90 , 30 );
+    assertEquals( source.readCount , 2 );
+    assertRead( in , data , 120 , 300 );
+    assertEquals( source.readCount , 3 );
+    assertEquals( source.readBytes , 100L + 100L + 220L );
+  }
+
+  @Test
+  public void T_read_3() throws IOException{
+    byte[] data = createData( 150 );
+    CountBlockSource source = new CountBlockSource( data );
+    BlockSourceInputStream in = new BlockSourceInputStream( source , 100 );
+    assertEquals( in.skip( 120 ) , 120L );
+    assertRead( in , data , 120 , 30 );
+    assertEquals( source.readBytes , 30L );
+    assertEquals( in.read() , -1 );
+    assertEquals( in.read( new byte[10] , 0 , 10 ) , -1 );
+  }
+
+  @Test
+  public void T_read_4() throws IOException{
+    byte[] data = createData( 300 );
+    CountBlockSource source = new CountBlockSource( data );
+    BlockSourceInputStream in = new BlockSourceInputStream( source , 0 );
+    assertRead( in , data , 0 , 4 );
+    assertRead( in , data , 4 , 4 );
+    assertEquals( source.readCount , 2 );
+    assertEquals( source.readBytes , 8L );
+  }
+
+}
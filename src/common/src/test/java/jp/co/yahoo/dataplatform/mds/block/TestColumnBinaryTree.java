@@ -24,10 +24,13 @@ import java.util.ArrayList;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
 import org.testng.annotations.Test;
 
 import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.maker.UniqStringToUTF8BytesColumnBinaryMaker;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.util.ByteArrayData;
 
 public class TestColumnBinaryTree{
 
@@ -59,6 +62,101 @@ public class TestColumnBinaryTree{
     assertEquals( tree.getColumnBinary( 0 ).columnName , "test"  );
   }
 
+  @Test
+  public void T_createMeta_1() throws IOException{
+    ColumnBinaryTree tree = new ColumnBinaryTree();
+    List<ColumnBinary> spread1 = new ArrayList<ColumnBinary>();
+    spread1.add( new ColumnBinary( "hoge.class" , "compressor.class" , "test" , ColumnType.UNKNOWN , 100 , 1024 , 100 , -1 , null , 30 , 20 , null ) );
+    List<ColumnBinary> spread2 = new ArrayList<ColumnBinary>();
+    spread2.add( new ColumnBinary( "hoge.class" , "compressor.class" , "test" , ColumnType.UNKNOWN , 100 , 1024 , 100 , -1 , null , 70 , 10 , null ) );
+    tree.addChild( spread1 );
+    tree.addChild( spread2 );
+    ByteArrayData metaBuffer = new ByteArrayData();
+    tree.createMeta( metaBuffer );
+
+    byte[] dataBuffer = new byte[100];
+    ColumnBinaryTree readTree = new ColumnBinaryTree();
+    readTree.toColumnBinaryTree( metaBuffer.getBytes() , 0 , dataBuffer );
+    assertEquals( readTree.getChildColumnBinary( 0 ).get( 0 ).binaryStart , 30 );
+    assertEquals( readTree.getChildColumnBinary( 1 ).get( 0 ).binaryStart , 70 );
+    assertEquals( readTree.getChildColumnBinary( 1 ).get( 0 ).binaryLength , 10 );
+    List<BlockReadOffset> offsetList = readTree.getBlockReadOffset();
+    assertEquals( offsetList.size() , 1 );
+    assertEquals( offsetList.get( 0 ).start , 30 );
+    assertEquals( offsetList.get( 0 ).length , 50 );
+  }
+
+  @Test
+  public void T_getColumnBinaryReadOffset_1() throws IOException{
+    ColumnBinaryTree tree = new ColumnBinaryTree();
+    List<ColumnBinary> spread1 = new ArrayList<ColumnBinary>();
+    spread1.add( new ColumnBinary( "hoge.class" , "compressor.class" , "test" , ColumnType.UNKNOWN , 100 , 1024 , 100 , -1 , null , 30 , 20 , null ) );
+    List<ColumnBinary> spread2 = new ArrayList<ColumnBinary>();
+    spread2.add( new ColumnBinary( "hoge.class" , "compressor.class" , "test" , ColumnType.UNKNOWN , 100 , 1024 , 100 , -1 , null , 50 , 10 , null ) );
+    List<ColumnBinary> spread3 = new ArrayList<ColumnBinary>();
+    spread3.add( new ColumnBinary( "hoge.class" , "compressor.class" , "test" , ColumnType.UNKNOWN , 100 , 1024 , 100 , -1 , null , 90 , 5 , null ) );
+    tree.addChild( spread1 );
+    tree.addChild( spread2 );
+    tree.addChild( spread3 );
+    ByteArrayData metaBuffer = new ByteArrayData();
+    tree.createMeta( metaBuffer );
+
+    ColumnBinaryTree readTree = new ColumnBinaryTree();
+    readTree.toColumnBinaryTree( metaBuffer.getBytes() , 0 , new byte[100] );
+    List<BlockReadOffset> offsetList = readTree.getColumnBinaryReadOffset();
+    assertEquals( offsetList.size() , 2 );
+    assertEquals( offsetList.get( 0 ).start , 30 );
+    assertEquals( offsetList.get( 0 ).length , 30 );
+    assertEquals( offsetList.get( 1 ).start , 90 );
+    assertEquals( offsetList.get( 1 ).length , 5 );
+  }
 
+  @Test
+  public void T_createCompactMeta_1() throws IOException{
+    ColumnBinaryTree tree = new ColumnBinaryTree();
+    List<ColumnBinary> spread1 = new ArrayList<ColumnBinary>();
+    spread1.add( new ColumnBinary( UniqStringToUTF8BytesColumnBinaryMaker.class.getName() , "compressor.class" , "test" , ColumnType.UNKNOWN , 100 , 1024 , 100 , -1 , new byte[100] , 30 , 20 , null ) );
+    List<ColumnBinary> spread2 = new ArrayList<ColumnBinary>();
+    List<ColumnBinary> spread3 = new ArrayList<ColumnBinary>();
+    spread3.add( new ColumnBinary( UniqStringToUTF8BytesColumnBinaryMaker.class.getName() , "compressor.class" , "test" , ColumnType.STRING , 50 , 512 , 60 , 3 , new byte[100] , 70 , 10 , null ) );
+    tree.addChild( spread1 );
+    tree.addChild( spread2 );
+    tree.addChild( spread3 );
+    ByteArrayData metaBuffer = new ByteArrayData( 1024 );
+    ByteArrayData dataBuffer = new ByteArrayData( 1024 );
+    tree.createCompactMeta( metaBuffer , dataBuffer );
+    assertTrue( ColumnBinaryTree.isCompactMeta( metaBuffer.getBytes() , 0 , metaBuffer.getLength() ) );
+
+    ColumnBinaryTree readTree = new ColumnBinaryTree();
+    int offset = readTree.toColumnBinaryTreeFromCompactMeta( metaBuffer.getBytes() , 0 , dataBuffer.getBytes() );
+    assertEquals( offset , metaBuffer.getLength() );
+    assertEquals( readTree.getChildColumnBinary( 0 ).get( 0 ).binaryStart , 0 );
+    assertEquals( readTree.getChildColumnBinary( 0 ).get( 0 ).binaryLength , 20 );
+    assertEquals( readTree.getChildColumnBinary( 1 ).get( 0 ) , null );
+    ColumnBinary columnBinary = readTree.getChildColumnBinary( 2 ).get( 0 );
+    assertEquals( columnBinary.makerClassName , UniqStringToUTF8BytesColumnBinaryMaker.class.getName() );
+    assertTrue( columnBinary.maker instanceof UniqStringToUTF8BytesColumnBinaryMaker );
+    assertEquals( columnBinary.compressorClassName , "compressor.class" );
+    assertEquals( columnBinary.columnName , "test" );
+    assertEquals( columnBinary.columnType , ColumnType.STRING );
+    assertEquals( columnBinary.rowCount , 50 );
+    assertEquals( columnBinary.rawDataSize , 512 );
+    assertEquals( columnBinary.logicalDataSize , 60 );
+    assertEquals( columnBinary.cardinality , 3 );
+    assertEquals( columnBinary.binaryStart , 20 );
+    assertEquals( columnBinary.binaryLength , 10 );
+    assertTrue( columnBinary.maker == readTree.getChildColumnBinary( 0 ).get( 0 ).maker );
+  }
+
+  @Test
+  public void T_isCompactMeta_1() throws IOException{
+    ColumnBinaryTree tree = new ColumnBinaryTree();
+    List<ColumnBinary> spread1 = new ArrayList<ColumnBinary>();
+    spread1.add( new ColumnBinary( "hoge.class" , "compressor.class" , "test" , ColumnType.UNKNOWN , 100 , 1024 , 100 , -1 , null , 30 , 20 , null ) );
+    tree.addChild( spread1 );
+    ByteArrayData metaBuffer = new ByteArrayData( 1024 );
+    tree.createMeta( metaBuffer );
+    assertFalse( ColumnBinaryTree.isCompactMeta( metaBuffer.getBytes() , 0 , metaBuffer.getLength() ) );
+  }
 
 }
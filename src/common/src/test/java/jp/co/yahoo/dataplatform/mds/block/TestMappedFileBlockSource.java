@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+
+import java.util.Map;
+import java.util.HashMap;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.MDSWriter;
+import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveCell;
+
+public class TestMappedFileBlockSource{
+
+  private File createFile( final byte[] data ) throws IOException{
+    File file = File.createTempFile( "TestMappedFileBlockSource" , ".bin" );
+    file.deleteOnExit();
+    Files.write( file.toPath() , data );
+    return file;
+  }
+
+  private byte[] createData( final int length ){
+    byte[] data = new byte[length];
+    for( int i = 0 ; i < length ; i++ ){
+      data[i] = (byte)i;
+    }
+    return data;
+  }
+
+  @Test
+  public void T_readFully_1() throws IOException{
+    byte[] data = createData( 1000 );
+    try( MappedFileBlockSource source = new MappedFileBlockSource( createFile( data ) ) ){
+      assertEquals( source.length() , 1000 );
+      byte[] buffer = new byte[20];
+      source.readFully( 500 , buffer , 10 , 10 );
+      for( int i = 0 ; i < 10 ; i++ ){
+        assertEquals( buffer[10+i] , data[500+i] );
+      }
+    }
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_readFully_2() throws IOException{
+    byte[] data = createData( 100 );
+    try( MappedFileBlockSource source = new MappedFileBlockSource( createFile( data ) ) ){
+      source.readFully( 90 , new byte[20] , 0 , 20 );
+    }
+  }
+
+  @Test
+  public void T_inputStream_1() throws IOException{
+    byte[] data = createData( 100 );
+    try( BlockSourceInputStream in = new BlockSourceInputStream( new MappedFileBlockSource( createFile( data ) ) ) ){
+      assertEquals( in.read() , 0 );
+      assertEquals( in.skip( 49 ) , 49 );
+      assertEquals( in.getPosition() , 50 );
+      byte[] buffer = new byte[100];
+      assertEquals( in.read( buffer , 0 , 100 ) , 50 );
+      assertEquals( buffer[0] , data[50] );
+      assertEquals( in.read() , -1 );
+      assertEquals( in.skip( 10 ) , 0 );
+    }
+  }
+
+  @Test
+  public void T_mdsReader_1() throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( MDSWriter writer = new MDSWriter( out , new Configuration() ) ){
+      Spread s = new Spread();
+      for( int n = 0 ; n < 10 ; n++ ){
+        Map<String, Object> d = new HashMap<String, Object>();
+        d.put( "n" , new LongObj( (long)n ) );
+        d.put( "s" , new StringObj( "key_" + n ) );
+        s.addRow( d );
+      }
+      writer.append( s );
+    }
+    File file = createFile( out.toByteArray() );
+
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.column.names" , "[ [ \"s\" ] ]" );
+    config.set( "spread.reader.read.merge.gap.size" , "1048576" );
+    try( MDSReader reader = new MDSReader() ){
+      reader.setNewStream( new MappedFileBlockSource( file ) , config );
+      Spread spread = reader.next();
+      assertEquals( reader.getReadIOStats().getReadCount() , 1 );
+      assertEquals( spread.size() , 10 );
+      assertFalse( spread.containsColumn( "n" ) );
+      for( int n = 0 ; n < 10 ; n++ ){
+        assertEquals( ( (PrimitiveCell)spread.getColumn( "s" ).get(n) ).getRow().getString() , "key_" + n );
+      }
+      assertFalse( reader.hasNext() );
+    }
+  }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.IOException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.mds.binary.maker.DumpSpreadColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.util.ByteArrayData;
+
+public class TestMetaStringTable{
+
+  @Test
+  public void T_getId_1() throws IOException{
+    MetaStringTable stringTable = new MetaStringTable();
+    assertEquals( stringTable.getId( "a" ) , 0 );
+    assertEquals( stringTable.getId( "b" ) , 1 );
+    assertEquals( stringTable.getId( "a" ) , 0 );
+    assertEquals( stringTable.size() , 2 );
+    assertEquals( stringTable.get( 1 ) , "b" );
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    MetaStringTable stringTable = new MetaStringTable();
+    stringTable.getId( "column" );
+    stringTable.getId( "あい" );
+    stringTable.getId( "" );
+    ByteArrayData buffer = new ByteArrayData( 1024 );
+    buffer.append( (byte)9 );
+    stringTable.write( buffer );
+
+    int[] offset = new int[]{ 1 };
+    MetaStringTable readTable = MetaStringTable.read( buffer.getBytes() , offset );
+    assertEquals( offset[0] , buffer.getLength() );
+    assertEquals( readTable.size() , 3 );
+    assertEquals( readTable.get( 0 ) , "column" );
+    assertEquals( readTable.get( 1 ) , "あい" );
+    assertEquals( readTable.get( 2 ) , "" );
+  }
+
+  @Test
+  public void T_getColumnBinaryMaker_1() throws IOException{
+    MetaStringTable stringTable = new MetaStringTable();
+    stringTable.getId( "column" );
+    int id = stringTable.getId( DumpSpreadColumnBinaryMaker.class.getName() );
+    assertTrue( stringTable.getColumnBinaryMaker( id ) instanceof DumpSpreadColumnBinaryMaker );
+    assertTrue( stringTable.getColumnBinaryMaker( id ) == stringTable.getColumnBinaryMaker( id ) );
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_get_1() throws IOException{
+    MetaStringTable stringTable = new MetaStringTable();
+    stringTable.getId( "column" );
+    stringTable.get( 1 );
+  }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.util.List;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+
+import java.io.IOException;
+
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+import jp.co.yahoo.dataplatform.config.Configuration;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.spread.Spread;
+
+public class TestPredicateBlockCreator{
+
+  private Spread createSpread( final String prefix ) throws IOException{
+    Spread s = new Spread();
+    for( int n = 0 ; n < 100 ; n++ ){
+      Map<String, Object> d = new HashMap<String, Object>();
+      d.put( "id" , new StringObj( prefix + n ) );
+      s.addRow( d );
+    }
+    return s;
+  }
+
+  private PredicateBlockMaker createMaker() throws IOException{
+    PredicateBlockMaker maker = new PredicateBlockMaker();
+    maker.setup( 1024 * 1024 * 2 , new Configuration() );
+    return maker;
+  }
+
+  private void append( final PredicateBlockMaker maker , final Spread spread ) throws IOException{
+    List<ColumnBinary> binaryList = maker.convertRow( spread );
+    maker.append( spread.size() , binaryList );
+  }
+
+  @Test
+  public void T_call_1() throws Exception{
+    PredicateBlockMaker expectedMaker = createMaker();
+    append( expectedMaker , createSpread( "a_" ) );
+    byte[] expected = expectedMaker.createVariableBlock();
+
+    PredicateBlockMaker maker = createMaker();
+    append( maker , createSpread( "a_" ) );
+    Callable<byte[]> creator = maker.detachBlock( -1 );
+    assertEquals( maker.getBufferedSize() , 0 );
+    append( maker , createSpread( "b_" ) );
+    append( maker , createSpread( "c_" ) );
+    assertEquals( creator.call() , expected );
+  }
+
+  @Test
+  public void T_call_2() throws Exception{
+    PredicateBlockMaker maker = createMaker();
+    append( maker , createSpread( "a_" ) );
+    assertEquals( maker.detachBlock( 1024 * 1024 * 2 ).call().length , 1024 * 1024 * 2 );
+  }
+
+}
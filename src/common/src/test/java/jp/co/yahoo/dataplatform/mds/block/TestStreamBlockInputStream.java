@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.block;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.mds.util.InputStreamUtils;
+
+public class TestStreamBlockInputStream{
+
+  private class CountBlockSource implements IBlockSource{
+
+    private final byte[] data;
+    private long readBytes;
+
+    public CountBlockSource( final byte[] data ){
+      this.data = data;
+    }
+
+    @Override
+    public long length(){
+      return data.length;
+    }
+
+    @Override
+    public void readFully( final long position , final byte[] buffer , final int offset , final int length ){
+      readBytes += length;
+      System.arraycopy( data , (int)position , buffer , offset , length );
+    }
+
+    @Override
+    public void close(){
+    }
+
+  }
+
+  private byte[] createBlock( final int start , final int[] chunkLengthArray , final int trailerLength ){
+    int dataLength = 0;
+    for( int chunkLength : chunkLengthArray ){
+      dataLength += chunkLength;
+    }
+    ByteBuffer wrapBuffer = ByteBuffer.allocate( start + dataLength + 4 * chunkLengthArray.length + 4 + trailerLength + StreamBlockInputStream.TAIL_LENGTH );
+    wrapBuffer.position( start );
+    int value = 0;
+    for( int chunkLength : chunkLengthArray ){
+      wrapBuffer.putInt( chunkLength );
+      for( int i = 0 ; i < chunkLength ; i++ ){
+        wrapBuffer.put( (byte)( 100 + value++ ) );
+      }
+    }
+    wrapBuffer.putInt( -trailerLength );
+    for( int i = 0 ; i < trailerLength ; i++ ){
+      wrapBuffer.put( (byte)i );
+    }
+    wrapBuffer.putInt( dataLength );
+    wrapBuffer.putInt( trailerLength );
+    return wrapBuffer.array();
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    byte[] block = createBlock( 0 , new int[]{ 3 , 5 , 2 } , 4 );
+    StreamBlockInputStream in = new StreamBlockInputStream( block , 0 , block.length );
+    assertEquals( in.getLength() , 14 );
+    byte[] result = new byte[14];
+    assertEquals( InputStreamUtils.read( in , result , 0 , result.length ) , 14 );
+    for( int i = 0 ; i < 4 ; i++ ){
+      assertEquals( result[i] , (byte)i );
+    }
+    for( int i = 0 ; i < 10 ; i++ ){
+      assertEquals( result[ 4 + i ] , (byte)( 100 + i ) );
+    }
+    assertEquals( in.read() , -1 );
+  }
+
+  @Test
+  public void T_skip_1() throws IOException{
+    byte[] block = createBlock( 7 , new int[]{ 100 , 100 , 100 } , 4 );
+    CountBlockSource source = new CountBlockSource( block );
+    StreamBlockInputStream in = new StreamBlockInputStream( source , 7 , block.length - 7 );
+    long headerBytes = source.readBytes;
+    assertEquals( headerBytes , (long)( StreamBlockInputStream.TAIL_LENGTH + 4 + 4 ) );
+
+    assertEquals( InputStreamUtils.skip( in , 4 + 150 ) , 154 );
+    assertEquals( in.read() , 100 + 150 );
+    assertEquals( source.readBytes , headerBytes + 4 + 4 + 1 );
+
+    byte[] result = new byte[60];
+    assertEquals( InputStreamUtils.read( in , result , 0 , result.length ) , 60 );
+    for( int i = 0 ; i < result.length ; i++ ){
+      assertEquals( result[i] , (byte)( 100 + 151 + i ) );
+    }
+    assertEquals( InputStreamUtils.skip( in , 1000 ) , 89 );
+    assertEquals( in.read() , -1 );
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_invalid_1() throws IOException{
+    byte[] block = createBlock( 0 , new int[]{ 3 } , 4 );
+    ByteBuffer.wrap( block ).putInt( block.length - 4 , 5 );
+    new StreamBlockInputStream( block , 0 , block.length );
+  }
+
+}
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blockindex;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.DoubleObj;
+import jp.co.yahoo.dataplatform.schema.objects.LongObj;
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+import jp.co.yahoo.dataplatform.schema.objects.StringObj;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.ForwardMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+
+public class TestBloomFilterBlockIndex{
+
+  private IColumn createStringColumn() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "s" );
+    for( int i = 0 ; i < 1000 ; i++ ){
+      column.add( ColumnType.STRING , new StringObj( "user_" + ( i * 2 ) ) , i );
+    }
+    return column;
+  }
+
+  private IColumn createLongColumn() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "n" );
+    for( int i = 0 ; i < 1000 ; i++ ){
+      column.add( ColumnType.LONG , new LongObj( (long)i * 2 ) , i );
+    }
+    return column;
+  }
+
+  @Test
+  public void T_mightContain_1() throws IOException{
+    BloomFilterBlockIndex blockIndex = BloomFilterBlockIndex.create( createStringColumn() , null , 0.01 );
+    for( int i = 0 ; i < 1000 ; i++ ){
+      assertTrue( blockIndex.mightContain( "user_" + ( i * 2 ) ) );
+    }
+    int falsePositive = 0;
+    for( int i = 0 ; i < 1000 ; i++ ){
+      if( blockIndex.mightContain( "user_" + ( i * 2 + 1 ) ) ){
+        falsePositive++;
+      }
+    }
+    assertTrue( falsePositive < 30 );
+  }
+
+  @Test
+  public void T_canBlockSkip_1() throws IOException{
+    BloomFilterBlockIndex blockIndex = BloomFilterBlockIndex.create( createStringColumn() , new StringRangeBlockIndex( "user_0" , "user_998" ) , 0.001 );
+    assertFalse( blockIndex.canBlockSkip( new PerfectMatchStringFilter( "user_10" ) ) );
+    assertTrue( blockIndex.canBlockSkip( new PerfectMatchStringFilter( "user_11" ) ) );
+    assertTrue( blockIndex.canBlockSkip( new PerfectMatchStringFilter( "zzz" ) ) );
+    assertFalse( blockIndex.canBlockSkip( new ForwardMatchStringFilter( "user_11" ) ) );
+    assertTrue( blockIndex.canBlockSkip( new StringSetFilter( new HashSet<String>( Arrays.asList( "user_11" , "user_13" ) ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new StringSetFilter( new HashSet<String>( Arrays.asList( "user_11" , "user_12" ) ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 11L ) ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_2() throws IOException{
+    BloomFilterBlockIndex blockIndex = BloomFilterBlockIndex.create( createLongColumn() , new LongRangeBlockIndex( 0L , 1998L ) , 0.001 );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 10L ) ) ) );
+    assertTrue( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 11L ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.NOT_EQUAL , new LongObj( 11L ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new DoubleObj( 11.5d ) ) ) );
+    assertTrue( blockIndex.canBlockSkip( new NumberSetFilter( Arrays.asList( (PrimitiveObject)new LongObj( 11L ) , new LongObj( 13L ) ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberSetFilter( Arrays.asList( (PrimitiveObject)new LongObj( 11L ) , new LongObj( 12L ) ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new PerfectMatchStringFilter( "11" ) ) );
+  }
+
+  @Test
+  public void T_toBinary_1() throws IOException{
+    BloomFilterBlockIndex blockIndex = BloomFilterBlockIndex.create( createLongColumn() , new LongRangeBlockIndex( 0L , 1998L ) , 0.01 );
+    byte[] binary = blockIndex.toBinary();
+    assertEquals( binary.length , blockIndex.getBinarySize() );
+    byte[] buffer = new byte[ binary.length + 5 ];
+    System.arraycopy( binary , 0 , buffer , 5 , binary.length );
+    IBlockIndex newBlockIndex = BlockIndexFactory.get( BlockIndexFactory.getBlockIndexTypeByte( blockIndex.getBlockIndexType() ) , buffer , 5 , binary.length );
+    BloomFilterBlockIndex newBloomFilter = (BloomFilterBlockIndex)newBlockIndex;
+    assertTrue( newBloomFilter.isNumber() );
+    assertEquals( ( (LongRangeBlockIndex)newBloomFilter.getRangeIndex() ).getMin() , 0L );
+    assertEquals( ( (LongRangeBlockIndex)newBloomFilter.getRangeIndex() ).getMax() , 1998L );
+    for( int i = 0 ; i < 1000 ; i++ ){
+      assertTrue( newBloomFilter.mightContain( (long)i * 2 ) );
+    }
+    assertTrue( newBloomFilter.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 3000L ) ) ) );
+  }
+
+  @Test
+  public void T_toBinary_2() throws IOException{
+    BloomFilterBlockIndex blockIndex = BloomFilterBlockIndex.create( createStringColumn() , null , 0.01 );
+    byte[] binary = blockIndex.toBinary();
+    BloomFilterBlockIndex newBloomFilter = BloomFilterBlockIndex.fromBinary( binary , 0 , binary.length );
+    assertFalse( newBloomFilter.isNumber() );
+    assertNull( newBloomFilter.getRangeIndex() );
+    assertTrue( newBloomFilter.mightContain( "user_0" ) );
+  }
+
+  @Test
+  public void T_create_1() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.DOUBLE , "d" );
+    column.add( ColumnType.DOUBLE , new DoubleObj( 1.0d ) , 0 );
+    assertNull( BloomFilterBlockIndex.create( column , null , 0.01 ) );
+  }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blockindex;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
+
+public class TestLongRangeBlockIndex{
+
+  @Test
+  public void T_toBinary_1() throws IOException{
+    LongRangeBlockIndex blockIndex = new LongRangeBlockIndex( -10L , 100L );
+    byte[] binary = blockIndex.toBinary();
+    assertEquals( binary.length , blockIndex.getBinarySize() );
+    IBlockIndex newBlockIndex = BlockIndexFactory.get( BlockIndexFactory.getBlockIndexTypeByte( blockIndex.getBlockIndexType() ) , binary , 0 , binary.length );
+    assertEquals( newBlockIndex.getBlockIndexType() , BlockIndexType.LONG_RANGE );
+    assertEquals( ( (LongRangeBlockIndex)newBlockIndex ).getMin() , -10L );
+    assertEquals( ( (LongRangeBlockIndex)newBlockIndex ).getMax() , 100L );
+  }
+
+  @Test
+  public void T_canBlockSkip_1() throws IOException{
+    LongRangeBlockIndex blockIndex = new LongRangeBlockIndex( 10L , 20L );
+    assertTrue( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 9L ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 10L ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 20 ) ) ) );
+    assertTrue( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 21 ) ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_2() throws IOException{
+    LongRangeBlockIndex blockIndex = new LongRangeBlockIndex( 10L , 20L );
+    assertTrue( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.LT , new LongObj( 10L ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.LT , new LongObj( 11L ) ) ) );
+    assertTrue( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.LE , new LongObj( 9L ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.LE , new LongObj( 10L ) ) ) );
+    assertTrue( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.GT , new LongObj( 20L ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.GT , new LongObj( 19L ) ) ) );
+    assertTrue( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.GE , new LongObj( 21L ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.GE , new LongObj( 20L ) ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_3() throws IOException{
+    assertTrue( new LongRangeBlockIndex( 10L , 10L ).canBlockSkip( new NumberFilter( NumberFilterType.NOT_EQUAL , new LongObj( 10L ) ) ) );
+    assertFalse( new LongRangeBlockIndex( 10L , 11L ).canBlockSkip( new NumberFilter( NumberFilterType.NOT_EQUAL , new LongObj( 10L ) ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_4() throws IOException{
+    LongRangeBlockIndex blockIndex = new LongRangeBlockIndex( 10L , 20L );
+    assertFalse( blockIndex.canBlockSkip( new NumberFilter( NumberFilterType.EQUAL , new DoubleObj( 30.5d ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new PerfectMatchStringFilter( "30" ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_5() throws IOException{
+    LongRangeBlockIndex blockIndex = new LongRangeBlockIndex( 10L , 20L );
+    assertTrue( blockIndex.canBlockSkip( new NumberRangeFilter( new LongObj( 0L ) , true , new LongObj( 9L ) , true , false ) ) );
+    assertTrue( blockIndex.canBlockSkip( new NumberRangeFilter( new LongObj( 0L ) , true , new LongObj( 10L ) , false , false ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberRangeFilter( new LongObj( 0L ) , true , new LongObj( 10L ) , true , false ) ) );
+    assertTrue( blockIndex.canBlockSkip( new NumberRangeFilter( new LongObj( 20L ) , false , new LongObj( 30L ) , true , false ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberRangeFilter( new IntegerObj( 20 ) , true , null , false , false ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberRangeFilter( new DoubleObj( 30.5d ) , true , null , false , false ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_6() throws IOException{
+    LongRangeBlockIndex blockIndex = new LongRangeBlockIndex( 10L , 20L );
+    assertTrue( blockIndex.canBlockSkip( new NumberRangeFilter( new LongObj( 10L ) , true , new LongObj( 20L ) , true , true ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberRangeFilter( new LongObj( 10L ) , false , new LongObj( 20L ) , true , true ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberRangeFilter( new LongObj( 11L ) , true , new LongObj( 30L ) , true , true ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_7() throws IOException{
+    LongRangeBlockIndex blockIndex = new LongRangeBlockIndex( 10L , 20L );
+    assertTrue( blockIndex.canBlockSkip( new NumberSetFilter( Arrays.<PrimitiveObject>asList( new LongObj( 5L ) , new IntegerObj( 21 ) ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new NumberSetFilter( Arrays.<PrimitiveObject>asList( new LongObj( 5L ) , new IntegerObj( 15 ) ) ) ) );
+    assertTrue( blockIndex.canBlockSkip( new NumberSetFilter( Arrays.<PrimitiveObject>asList( new DoubleObj( 15.5d ) ) ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_8() throws IOException{
+    LongRangeBlockIndex blockIndex = new LongRangeBlockIndex( Long.MAX_VALUE - 1 , Long.MAX_VALUE );
+    assertTrue( blockIndex.canBlockSkip( new NumberSetFilter( Arrays.<PrimitiveObject>asList( new DoubleObj( 1e19 ) ) ) ) );
+  }
+
+}
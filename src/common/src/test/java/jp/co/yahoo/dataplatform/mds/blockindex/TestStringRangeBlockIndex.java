@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.blockindex;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.ForwardMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PartialMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+
+public class TestStringRangeBlockIndex{
+
+  @Test
+  public void T_toBinary_1() throws IOException{
+    StringRangeBlockIndex blockIndex = new StringRangeBlockIndex( "abc" , "あいう" );
+    byte[] binary = blockIndex.toBinary();
+    assertEquals( binary.length , blockIndex.getBinarySize() );
+    IBlockIndex newBlockIndex = BlockIndexFactory.get( BlockIndexFactory.getBlockIndexTypeByte( blockIndex.getBlockIndexType() ) , binary , 0 , binary.length );
+    assertEquals( ( (StringRangeBlockIndex)newBlockIndex ).getMin() , "abc" );
+    assertEquals( ( (StringRangeBlockIndex)newBlockIndex ).getMax() , "あいう" );
+  }
+
+  @Test
+  public void T_canBlockSkip_1() throws IOException{
+    StringRangeBlockIndex blockIndex = new StringRangeBlockIndex( "2017-01-10" , "2017-01-20" );
+    assertTrue( blockIndex.canBlockSkip( new PerfectMatchStringFilter( "2017-01-09" ) ) );
+    assertFalse( blockIndex.canBlockSkip( new PerfectMatchStringFilter( "2017-01-10" ) ) );
+    assertFalse( blockIndex.canBlockSkip( new PerfectMatchStringFilter( "2017-01-15" ) ) );
+    assertTrue( blockIndex.canBlockSkip( new PerfectMatchStringFilter( "2017-01-21" ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_2() throws IOException{
+    StringRangeBlockIndex blockIndex = new StringRangeBlockIndex( "2017-01-10" , "2017-01-20" );
+    assertFalse( blockIndex.canBlockSkip( new ForwardMatchStringFilter( "2017-01" ) ) );
+    assertFalse( blockIndex.canBlockSkip( new ForwardMatchStringFilter( "2017-01-1" ) ) );
+    assertFalse( blockIndex.canBlockSkip( new ForwardMatchStringFilter( "2017-01-2" ) ) );
+    assertTrue( blockIndex.canBlockSkip( new ForwardMatchStringFilter( "2017-01-3" ) ) );
+    assertTrue( blockIndex.canBlockSkip( new ForwardMatchStringFilter( "2017-01-0" ) ) );
+    assertTrue( blockIndex.canBlockSkip( new ForwardMatchStringFilter( "2016" ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_3() throws IOException{
+    StringRangeBlockIndex blockIndex = new StringRangeBlockIndex( "2017-01-10" , "2017-01-20" );
+    assertFalse( blockIndex.canBlockSkip( new PartialMatchStringFilter( "2016" ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_range_1() throws IOException{
+    StringRangeBlockIndex blockIndex = new StringRangeBlockIndex( "bbb" , "ddd" );
+    assertTrue( blockIndex.canBlockSkip( new StringRangeFilter( null , false , "bbb" , false , false ) ) );
+    assertFalse( blockIndex.canBlockSkip( new StringRangeFilter( null , false , "bbb" , true , false ) ) );
+    assertTrue( blockIndex.canBlockSkip( new StringRangeFilter( "ddd" , false , null , false , false ) ) );
+    assertFalse( blockIndex.canBlockSkip( new StringRangeFilter( "ccc" , true , "zzz" , true , false ) ) );
+    assertTrue( blockIndex.canBlockSkip( new StringRangeFilter( "aaa" , true , "eee" , true , true ) ) );
+    assertFalse( blockIndex.canBlockSkip( new StringRangeFilter( "bbc" , true , "eee" , true , true ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_set_1() throws IOException{
+    StringRangeBlockIndex blockIndex = new StringRangeBlockIndex( "bbb" , "ddd" );
+    assertTrue( blockIndex.canBlockSkip( new StringSetFilter( new HashSet<String>( Arrays.asList( "aaa" , "eee" ) ) ) ) );
+    assertFalse( blockIndex.canBlockSkip( new StringSetFilter( new HashSet<String>( Arrays.asList( "aaa" , "ccc" ) ) ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_range_2() throws IOException{
+    StringRangeBlockIndex blockIndex = new StringRangeBlockIndex( "a" , "b" );
+    assertTrue( blockIndex.canBlockSkip( new StringRangeFilter( "\ud83d\ude00" , true , null , false , false ) ) );
+    assertFalse( blockIndex.canBlockSkip( new StringRangeFilter( null , false , "\ud83d\ude00" , true , false ) ) );
+  }
+
+  @Test
+  public void T_canBlockSkip_range_3() throws IOException{
+    StringRangeBlockIndex blockIndex = new StringRangeBlockIndex( "\uff21" , "\ud83d\ude00" );
+    assertFalse( blockIndex.canBlockSkip( new StringRangeFilter( "\uffff" , true , null , false , false ) ) );
+    assertFalse( blockIndex.canBlockSkip( new StringSetFilter( new HashSet<String>( Arrays.asList( "\ud83d\ude01" ) ) ) ) );
+  }
+
+}
@@ -18,12 +18,25 @@
 package jp.co.yahoo.dataplatform.mds.compressor;
 
 import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+
+import jp.co.yahoo.dataplatform.mds.util.InputStreamUtils;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertNotSame;
 import org.testng.annotations.Test;
 import org.testng.annotations.DataProvider;
 
@@ -33,7 +46,9 @@ public class TestCompressor {
     return new String[]{
       DefaultCompressor.class.getName(),
       GzipCompressor.class.getName(),
-      LZ4Compressor.class.getName()
+      LZ4Compressor.class.getName(),
+      ZstdCompressor.class.getName(),
+      SnappyCompressor.class.getName()
     };
   }
 
@@ -70,4 +85,181 @@ public class TestCompressor {
     }
   }
 
+  @Test( dataProvider = "T_compress_1")
+  public void T_compressWithDest_1( final String[] classNames , final byte[] compressTarget , final int start , final int length , final byte[] success ) throws IOException{
+    for( int i = 0 ; i < classNames.length ; i++ ){
+      ICompressor compressor = FindCompressor.get( classNames[i] );
+      byte[] dest = new byte[ compressor.getMaxCompressSize( length ) ];
+      int compressLength = compressor.compress( compressTarget , start , length , dest );
+      byte[] compressData = compressor.compress( compressTarget , start , length );
+      assertTrue( Arrays.equals( Arrays.copyOf( dest , compressLength ) , compressData ) );
+    }
+  }
+
+  @Test
+  public void T_compress_2() throws IOException{
+    byte[] target = new byte[ 1024 * 200 + 3 ];
+    for( int i = 0 ; i < target.length ; i++ ){
+      target[i] = (byte)( ( i / 100 ) % 7 );
+    }
+    for( String className : getCompressorClass() ){
+      ICompressor compressor = FindCompressor.get( className );
+      byte[] compressData = compressor.compress( target , 0 , target.length );
+      assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , target ) );
+    }
+  }
+
+  @Test( expectedExceptions = { IOException.class } )
+  public void T_compressWithDest_2() throws IOException{
+    ICompressor compressor = new GzipCompressor();
+    compressor.compress( "abcde".getBytes() , 0 , 5 , new byte[4] );
+  }
+
+  @Test
+  public void T_gzipCompatibility_1() throws IOException{
+    byte[] target = "abcdeabcdeabcdefghij".getBytes( "UTF-8" );
+    ByteArrayOutputStream bOut = new ByteArrayOutputStream();
+    GZIPOutputStream out = new GZIPOutputStream( bOut );
+    out.write( target );
+    out.finish();
+    out.close();
+    byte[] gzipBytes = bOut.toByteArray();
+    byte[] compressData = new byte[ 4 + gzipBytes.length ];
+    ByteBuffer.wrap( compressData ).putInt( target.length ).put( gzipBytes );
+
+    ICompressor compressor = new GzipCompressor();
+    assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , target ) );
+  }
+
+  @Test
+  public void T_gzipCompatibility_2() throws IOException{
+    byte[] target = "abcdeabcdeabcdefghij".getBytes( "UTF-8" );
+    ICompressor compressor = new GzipCompressor();
+    byte[] compressData = compressor.compress( target , 0 , target.length );
+
+    GZIPInputStream in = new GZIPInputStream( new ByteArrayInputStream( compressData , 4 , compressData.length - 4 ) );
+    byte[] result = new byte[ target.length ];
+    InputStreamUtils.read( in , result , 0 , result.length );
+    assertEquals( in.read() , -1 );
+    assertTrue( Arrays.equals( result , target ) );
+  }
+
+  private byte[] createLZ4Target( final int length ){
+    byte[] target = new byte[length];
+    for( int i = 0 ; i < target.length ; i++ ){
+      if( i % 3 == 0 ){
+        target[i] = (byte)( ( i * 31 ) ^ ( i >>> 7 ) );
+      }
+      else{
+        target[i] = (byte)( ( i / 50 ) % 7 );
+      }
+    }
+    return target;
+  }
+
+  @DataProvider(name = "T_lz4Compatibility")
+  public Object[][] lz4Data() throws IOException{
+    return new Object[][] {
+      { 0 },
+      { 20 },
+      { 1024 * 64 },
+      { 1024 * 200 + 3 },
+    };
+  }
+
+  @Test( dataProvider = "T_lz4Compatibility" )
+  public void T_lz4Compatibility_1( final int length ) throws IOException{
+    byte[] target = createLZ4Target( length );
+    ByteArrayOutputStream bOut = new ByteArrayOutputStream();
+    LZ4BlockOutputStream out = new LZ4BlockOutputStream( bOut );
+    out.write( target );
+    out.finish();
+    out.close();
+    byte[] lz4Bytes = bOut.toByteArray();
+    byte[] compressData = new byte[ 4 + lz4Bytes.length ];
+    ByteBuffer.wrap( compressData ).putInt( target.length ).put( lz4Bytes );
+
+    ICompressor compressor = new LZ4Compressor();
+    assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , target ) );
+  }
+
+  @Test( dataProvider = "T_lz4Compatibility" )
+  public void T_lz4Compatibility_2( final int length ) throws IOException{
+    byte[] target = createLZ4Target( length );
+    ICompressor compressor = new LZ4Compressor();
+    byte[] compressData = compressor.compress( target , 0 , target.length );
+    assertEquals( compressor.getDecompressSize( compressData , 0 , compressData.length ) , target.length );
+
+    LZ4BlockInputStream in = new LZ4BlockInputStream( new ByteArrayInputStream( compressData , 4 , compressData.length - 4 ) );
+    byte[] result = new byte[ target.length ];
+    assertEquals( InputStreamUtils.read( in , result , 0 , result.length ) , target.length );
+    assertEquals( in.read() , -1 );
+    assertTrue( Arrays.equals( result , target ) );
+  }
+
+  @Test
+  public void T_defaultCompress_1() throws IOException{
+    ICompressor compressor = new ICompressor(){
+      private final ICompressor gzip = new GzipCompressor();
+      @Override
+      public byte[] compress( final byte[] data , final int start , final int length ) throws IOException{
+        return gzip.compress( data , start , length );
+      }
+      @Override
+      public int getDecompressSize( final byte[] data , final int start , final int length ) throws IOException{
+        return gzip.getDecompressSize( data , start , length );
+      }
+      @Override
+      public byte[] decompress( final byte[] data , final int start , final int length ) throws IOException{
+        return gzip.decompress( data , start , length );
+      }
+      @Override
+      public int decompressAndSet( final byte[] data , final int start , final int length , final byte[] buffer ) throws IOException{
+        return gzip.decompressAndSet( data , start , length , buffer );
+      }
+    };
+    byte[] target = "abcdeabcdeabcdefghij".getBytes( "UTF-8" );
+    assertEquals( compressor.getMaxCompressSize( target.length ) , -1 );
+    byte[] dest = new byte[1024];
+    int compressLength = compressor.compress( target , 0 , target.length , dest );
+    assertTrue( Arrays.equals( compressor.decompress( dest , 0 , compressLength ) , target ) );
+  }
+
+  @Test
+  public void T_compressBufferPool_1(){
+    byte[] buffer = CompressBufferPool.get( 1024 );
+    assertTrue( 1024 <= buffer.length );
+    byte[] largeBuffer = CompressBufferPool.get( CompressBufferPool.MAX_POOL_BUFFER_SIZE + 1 );
+    assertEquals( largeBuffer.length , CompressBufferPool.MAX_POOL_BUFFER_SIZE + 1 );
+    assertNotSame( CompressBufferPool.get( CompressBufferPool.MAX_POOL_BUFFER_SIZE + 1 ) , largeBuffer );
+    assertTrue( CompressBufferPool.get( 1024 ).length <= CompressBufferPool.MAX_POOL_BUFFER_SIZE );
+  }
+
+  public static class TestDictionaryZstdCompressor extends ZstdCompressor{
+
+    public TestDictionaryZstdCompressor(){
+      super( 5 , "abcdeabcdeabcde".getBytes() );
+    }
+
+  }
+
+  @Test
+  public void T_zstdDictionary_1() throws IOException{
+    byte[] target = "abcdeabcdeabcdefghij".getBytes( "UTF-8" );
+    ICompressor compressor = FindCompressor.get( TestDictionaryZstdCompressor.class.getName() );
+    byte[] compressData = compressor.compress( target , 0 , target.length );
+    assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , target ) );
+  }
+
+  @Test
+  public void T_zstdTrainDictionary_1() throws IOException{
+    List<byte[]> sampleList = new ArrayList<byte[]>();
+    for( int i = 0 ; i < 100 ; i++ ){
+      sampleList.add( ( "sample_value_" + i ).getBytes( "UTF-8" ) );
+    }
+    byte[] dictionary = ZstdCompressor.trainDictionary( sampleList , 1024 );
+    assertTrue( 0 < dictionary.length );
+    assertTrue( dictionary.length <= 1024 );
+  }
+
 }
@@ -19,6 +19,9 @@ package jp.co.yahoo.dataplatform.mds.spread.column.filter;
 
 import org.testng.annotations.Test;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
 
 public class TestRegexpMatchStringFilter {
     
@@ -50,6 +53,14 @@ public class TestRegexpMatchStringFilter {
         RegexpMatchStringFilter target = new RegexpMatchStringFilter("string");
         assertEquals(target.getFilterType(), FilterType.STRING);
     }
+
+    @Test
+    public void T_getPattern() {
+        RegexpMatchStringFilter target = new RegexpMatchStringFilter("ab.*");
+        assertSame(target.getPattern(), target.getPattern());
+        assertTrue(target.getPattern().matcher("abc").matches());
+        assertFalse(target.getPattern().matcher("cab").matches());
+    }
     
     
 }
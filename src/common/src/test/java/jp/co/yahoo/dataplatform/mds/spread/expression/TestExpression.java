@@ -24,6 +24,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 
+import java.util.BitSet;
+
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 
@@ -38,6 +40,7 @@ import jp.co.yahoo.dataplatform.schema.parser.JacksonMessageReader;
 import jp.co.yahoo.dataplatform.config.Configuration;
 
 import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.util.CollectionUtils;
 
 public class TestExpression {
 
@@ -145,4 +148,27 @@ public class TestExpression {
     assertEquals( ( (PrimitiveObject)( spread.getColumn("col1").get( result.get(3) ).getRow() ) ).getString() , "e" );
   }
 
+  @Test
+  public void T_expression_bitSet_1() throws IOException{
+    Spread spread = getTestSpread();
+
+    StringExtractNode col1Node = new StringExtractNode( "col1" );
+
+    IExpressionNode orNode = new OrExpressionNode();
+    orNode.addChildNode( new ExecuterNode( col1Node , new PerfectMatchStringFilter( "a" ) ) );
+    orNode.addChildNode( new ExecuterNode( col1Node , new PerfectMatchStringFilter( "c" ) ) );
+
+    BitSet result = orNode.execBitSet( spread , null );
+    assertEquals( result.cardinality() , 2 );
+    assertEquals( result.get( 0 ) , true );
+    assertEquals( result.get( 2 ) , true );
+
+    IExpressionNode notNode = new NotExpressionNode( orNode , 1 );
+    BitSet notResult = notNode.execBitSet( spread , null );
+    assertEquals( notResult.cardinality() , 3 );
+    assertEquals( notResult.get( 0 ) , false );
+    assertEquals( notResult.get( 2 ) , false );
+    assertEquals( notNode.exec( spread ) , CollectionUtils.toList( notResult ) );
+  }
+
 }
@@ -17,6 +17,8 @@
  */
 package jp.co.yahoo.dataplatform.mds.util;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -114,4 +116,23 @@ public class TestCollectionUtils {
     assertEquals( result.get(1).intValue() , 2 );
   }
 
+  @Test
+  public void T_toBitSet_1(){
+    BitSet bitSet = CollectionUtils.toBitSet( Arrays.asList( 1 , 5 , 64 ) );
+    assertEquals( bitSet.cardinality() , 3 );
+    assertEquals( CollectionUtils.toList( bitSet ) , Arrays.asList( 1 , 5 , 64 ) );
+    assertEquals( CollectionUtils.toIntArray( bitSet ) , new int[]{ 1 , 5 , 64 } );
+    assertNull( CollectionUtils.toBitSet( null ) );
+    assertNull( CollectionUtils.toList( null ) );
+  }
+
+  @Test
+  public void T_intersection_1(){
+    BitSet a = CollectionUtils.toBitSet( Arrays.asList( 0 , 2 , 4 , 100 ) );
+    BitSet b = CollectionUtils.toBitSet( Arrays.asList( 2 , 3 , 100 ) );
+    assertEquals( CollectionUtils.toList( CollectionUtils.intersection( a , b ) ) , Arrays.asList( 2 , 100 ) );
+    assertEquals( CollectionUtils.toList( CollectionUtils.union( a , b ) ) , Arrays.asList( 0 , 2 , 3 , 4 , 100 ) );
+    assertEquals( a.cardinality() , 4 );
+  }
+
 }
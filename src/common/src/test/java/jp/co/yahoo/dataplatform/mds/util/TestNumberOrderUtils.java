@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+public class TestNumberOrderUtils{
+
+  @Test
+  public void T_compare_1(){
+    assertEquals( NumberOrderUtils.compare( -0.0d , 0.0d ) , 0 );
+    assertEquals( NumberOrderUtils.compare( 0.0d , -0.0d ) , 0 );
+    assertTrue( NumberOrderUtils.compare( -1.0d , 0.0d ) < 0 );
+    assertTrue( 0 < NumberOrderUtils.compare( Double.NaN , 1.0d ) );
+  }
+
+  @Test
+  public void T_isLongValue_1(){
+    assertTrue( NumberOrderUtils.isLongValue( 10.0d ) );
+    assertTrue( NumberOrderUtils.isLongValue( -0x1p63 ) );
+    assertFalse( NumberOrderUtils.isLongValue( 0x1p63 ) );
+    assertFalse( NumberOrderUtils.isLongValue( 1e19 ) );
+    assertFalse( NumberOrderUtils.isLongValue( -1e19 ) );
+    assertFalse( NumberOrderUtils.isLongValue( 1.5d ) );
+    assertFalse( NumberOrderUtils.isLongValue( Double.NaN ) );
+    assertFalse( NumberOrderUtils.isLongValue( Double.POSITIVE_INFINITY ) );
+  }
+
+}
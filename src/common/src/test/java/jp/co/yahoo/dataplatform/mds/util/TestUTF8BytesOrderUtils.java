@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.util;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+public class TestUTF8BytesOrderUtils{
+
+  private static final String[] TARGETS = new String[]{ "" , "a" , "ab" , "b" , "é" , "あ" , "Ａ" , "😀" , "😁" , "a😀" , "aＡ" , "𐀀" };
+
+  private int sign( final int value ){
+    return Integer.signum( value );
+  }
+
+  @Test
+  public void T_compare_1(){
+    for( String a : TARGETS ){
+      byte[] aBytes = a.getBytes( StandardCharsets.UTF_8 );
+      for( String b : TARGETS ){
+        byte[] bBytes = b.getBytes( StandardCharsets.UTF_8 );
+        int expected = sign( UTF8BytesOrderUtils.compare( aBytes , 0 , aBytes.length , bBytes , 0 , bBytes.length ) );
+        assertEquals( sign( UTF8BytesOrderUtils.compare( a , b ) ) , expected , a + " : " + b );
+      }
+    }
+  }
+
+  @Test
+  public void T_compare_2(){
+    assertTrue( "😀".compareTo( "Ａ" ) < 0 );
+    assertTrue( 0 < UTF8BytesOrderUtils.compare( "😀" , "Ａ" ) );
+    assertTrue( UTF8BytesOrderUtils.compare( "a" , "ab" ) < 0 );
+    assertEquals( UTF8BytesOrderUtils.compare( "ab" , "ab" ) , 0 );
+  }
+
+  @Test
+  public void T_isSameOrderAsUTF16_1(){
+    assertTrue( UTF8BytesOrderUtils.isSameOrderAsUTF16( "abcあ" ) );
+    assertFalse( UTF8BytesOrderUtils.isSameOrderAsUTF16( "a😀" ) );
+    assertFalse( UTF8BytesOrderUtils.isSameOrderAsUTF16( "Ａ" ) );
+  }
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.hadoop.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+
+import jp.co.yahoo.dataplatform.mds.block.IBlockSource;
+
+public class PositionedReadableBlockSource implements IBlockSource{
+
+  private final FSDataInputStream in;
+  private final long length;
+
+  public PositionedReadableBlockSource( final FSDataInputStream in , final long length ){
+    this.in = in;
+    this.length = length;
+  }
+
+  @Override
+  public long length(){
+    return length;
+  }
+
+  @Override
+  public void readFully( final long position , final byte[] buffer , final int offset , final int readLength ) throws IOException{
+    in.readFully( position , buffer , offset , readLength );
+  }
+
+  @Override
+  public void close() throws IOException{
+    in.close();
+  }
+
+}
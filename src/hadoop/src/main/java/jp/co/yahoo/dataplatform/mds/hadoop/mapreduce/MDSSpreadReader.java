@@ -30,6 +30,8 @@ import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.input.FileSplit;
 
 import jp.co.yahoo.dataplatform.mds.MDSReader;
+import jp.co.yahoo.dataplatform.mds.block.BlockSourceInputStream;
+import jp.co.yahoo.dataplatform.mds.hadoop.io.PositionedReadableBlockSource;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
 
 public class MDSSpreadReader extends RecordReader<NullWritable, Spread> {
@@ -68,7 +70,8 @@ public class MDSSpreadReader extends RecordReader<NullWritable, Spread> {
     Path path = ( (FileSplit)inputSplit ).getPath();
     FileSystem fs = path.getFileSystem( config );
 
-    currentReader.setNewStream( fs.open( path ) , inputSplit.getLength() , new jp.co.yahoo.dataplatform.config.Configuration() );
+    PositionedReadableBlockSource source = new PositionedReadableBlockSource( fs.open( path ) , fs.getFileStatus( path ).getLen() );
+    currentReader.setNewStream( new BlockSourceInputStream( source ) , inputSplit.getLength() , new jp.co.yahoo.dataplatform.config.Configuration() );
   }
 
   @Override
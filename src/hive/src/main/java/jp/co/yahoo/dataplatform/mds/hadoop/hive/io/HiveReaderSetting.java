@@ -57,6 +57,11 @@ public class HiveReaderSetting implements IReaderSetting{
   public HiveReaderSetting( final FileSplit split, final JobConf job ){
     config = new Configuration();
 
+    String mergeGapSize = job.get( "mds.read.merge.gap.size." + split.getPath().toUri().getScheme() , job.get( "mds.read.merge.gap.size" ) );
+    if( mergeGapSize != null ){
+      config.set( "spread.reader.read.merge.gap.size" , mergeGapSize );
+    }
+
     Set<String> pathNameSet= createPathSet( split.getPath() );
     List<ExprNodeGenericFuncDesc> filterExprs = new ArrayList<ExprNodeGenericFuncDesc>();
 
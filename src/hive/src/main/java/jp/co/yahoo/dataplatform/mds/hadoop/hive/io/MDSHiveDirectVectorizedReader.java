@@ -20,7 +20,7 @@ package jp.co.yahoo.dataplatform.mds.hadoop.hive.io;
 import java.io.IOException;
 import java.io.InputStream;
 
-import java.util.List;
+import java.util.BitSet;
 
 import jp.co.yahoo.dataplatform.mds.MDSReader;
 import jp.co.yahoo.dataplatform.mds.hadoop.hive.io.vector.IColumnVectorAssignor;
@@ -60,9 +60,10 @@ public class MDSHiveDirectVectorizedReader implements RecordReader<NullWritable,
   public MDSHiveDirectVectorizedReader( final InputStream in , final long dataLength , final long start , final long length , final IVectorizedReaderSetting setting , final IJobReporter reporter ) throws IOException{
     this.setting = setting;
     this.reporter = reporter;
+    node = setting.getExpressionNode();
+    currentReader.setBlockSkipIndex( node );
     currentReader.setNewStream( in ,  dataLength , setting.getReaderConfig(), start , length );
     assignors = setting.getAssignors();
-    node = setting.getExpressionNode();
     needColumnIds = setting.getNeedColumnIds();
     columnNames = setting.getColumnNames();
   }
@@ -98,7 +99,7 @@ public class MDSHiveDirectVectorizedReader implements RecordReader<NullWritable,
     }
     Spread spread = currentReader.next();
     readSpreadCount++;
-    List<Integer> indexList = node.exec( spread );
+    BitSet indexList = node.execBitSet( spread , null );
     if( indexList != null && indexList.isEmpty() ){
       return false;
     }
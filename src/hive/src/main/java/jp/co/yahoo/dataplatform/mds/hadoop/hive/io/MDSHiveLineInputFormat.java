@@ -35,6 +35,9 @@ import org.apache.hadoop.mapred.RecordReader;
 
 import org.apache.hadoop.hive.ql.exec.vector.VectorizedInputFormatInterface;
 
+import jp.co.yahoo.dataplatform.mds.block.BlockSourceInputStream;
+import jp.co.yahoo.dataplatform.mds.hadoop.io.PositionedReadableBlockSource;
+
 public class MDSHiveLineInputFormat extends FileInputFormat<NullWritable,ColumnAndIndex> implements VectorizedInputFormatInterface{
 
   private static final Logger LOG = LoggerFactory.getLogger( MDSHiveLineInputFormat.class );
@@ -48,7 +51,7 @@ public class MDSHiveLineInputFormat extends FileInputFormat<NullWritable,ColumnA
     long fileLength = fs.getLength( path );
     long start = fileSplit.getStart();
     long length = fileSplit.getLength();
-    InputStream in = fs.open( path );
+    InputStream in = new BlockSourceInputStream( new PositionedReadableBlockSource( fs.open( path ) , fileLength ) );
     IJobReporter jobReporter = new HadoopJobReporter( reporter );
     jobReporter.setStatus( String.format( "Read file : %s" , path.toString() ) );
     HiveReaderSetting hiveConfig = new HiveReaderSetting( fileSplit , job );
@@ -20,7 +20,7 @@ package jp.co.yahoo.dataplatform.mds.hadoop.hive.io;
 import java.io.IOException;
 import java.io.InputStream;
 
-import java.util.List;
+import java.util.BitSet;
 
 import jp.co.yahoo.dataplatform.mds.MDSReader;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
@@ -55,6 +55,7 @@ public class MDSHiveLineReader implements RecordReader<NullWritable, ColumnAndIn
     this.spreadCounter = spreadCounter;
     reader = new MDSReader();
     node = setting.getExpressionNode();
+    reader.setBlockSkipIndex( node );
     reader.setNewStream( in , dataLength , setting.getReaderConfig() , start , length );
     nextReader();
   }
@@ -107,7 +108,7 @@ public class MDSHiveLineReader implements RecordReader<NullWritable, ColumnAndIn
       return nextReader();
     }
     spreadCounter.increment();
-    List<Integer> indexList = node.exec( currentSpread );
+    BitSet indexList = node.execBitSet( currentSpread , null );
     if( indexList != null && indexList.isEmpty() ){
       return nextReader();
     }
@@ -24,6 +24,8 @@ import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+
 public class BytePrimitiveSetter implements INumberPrimitiveSetter{
 
   private final static BytePrimitiveSetter SETTER = new BytePrimitiveSetter();
@@ -38,6 +40,16 @@ public class BytePrimitiveSetter implements INumberPrimitiveSetter{
     }
   }
 
+  @Override
+  public boolean isDirectColumnType( final ColumnType columnType ){
+    switch( columnType ){
+      case BYTE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   public static BytePrimitiveSetter getInstance(){
     return SETTER;
   }
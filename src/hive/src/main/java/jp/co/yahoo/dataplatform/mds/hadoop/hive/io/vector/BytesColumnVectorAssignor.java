@@ -26,22 +26,88 @@ import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
 import jp.co.yahoo.dataplatform.mds.binary.IBytesLink;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IUTF8DictionaryCellManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.ICellManager;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionIndex;
 
 public class BytesColumnVectorAssignor implements IColumnVectorAssignor{
 
   private IColumn column;
+  private IUTF8DictionaryCellManager dictionaryCellManager;
+  private IBytesLink[] dictionary;
+  private boolean isCheckCellManager;
+  private int[] dicIndexArray = new int[0];
 
   @Override
   public void setColumn( final int spreadSize , final IColumn column ) throws IOException{
     this.column = column;
+    dictionaryCellManager = null;
+    dictionary = null;
+    isCheckCellManager = false;
+  }
+
+  private boolean hasDictionary() throws IOException{
+    if( ! isCheckCellManager ){
+      isCheckCellManager = true;
+      if( column.getColumnType() == ColumnType.STRING ){
+        ICellManager cellManager = column.getCellManager();
+        if( cellManager instanceof IUTF8DictionaryCellManager ){
+          dictionaryCellManager = (IUTF8DictionaryCellManager)cellManager;
+          dictionary = dictionaryCellManager.getUTF8Dictionary();
+        }
+      }
+    }
+    return dictionary != null;
+  }
+
+  private void setDictionaryColumnVector( final BytesColumnVector columnVector , final IExpressionIndex indexList , final int start , final int length ) throws IOException{
+    if( length == 0 ){
+      return;
+    }
+    if( dicIndexArray.length < length ){
+      dicIndexArray = new int[length];
+    }
+    dictionaryCellManager.setDictionaryIndexArray( indexList , start , length , dicIndexArray );
+
+    boolean isRepeating = true;
+    int firstDicIndex = dicIndexArray[0];
+    for( int i = 1 ; i < length && isRepeating ; i++ ){
+      isRepeating = ( dicIndexArray[i] == firstDicIndex );
+    }
+    int loopEnd = length;
+    if( isRepeating ){
+      columnVector.isRepeating = true;
+      loopEnd = 1;
+    }
+    else{
+      columnVector.isRepeating = false;
+    }
+
+    for( int i = 0 ; i < loopEnd ; i++ ){
+      IBytesLink linkObj = dictionary[ dicIndexArray[i] ];
+      if( linkObj == null ){
+        VectorizedBatchUtil.setNullColIsNullValue( columnVector , i );
+      }
+      else{
+        columnVector.isNull[i] = false;
+        columnVector.vector[i] = linkObj.getLinkBytes();
+        columnVector.start[i] = linkObj.getStart();
+        columnVector.length[i] = linkObj.getLength();
+      }
+    }
   }
 
   @Override
   public void setColumnVector( final ColumnVector vector , final IExpressionIndex indexList , final int start , final int length ) throws IOException{
     BytesColumnVector columnVector = (BytesColumnVector)vector;
+    if( hasDictionary() ){
+      setDictionaryColumnVector( columnVector , indexList , start , length );
+      return;
+    }
 
+    columnVector.isRepeating = false;
     PrimitiveObject[] primitiveObjectArray = column.getPrimitiveObjectArray( indexList , start , length );
     for( int i = 0 ; i < length ; i++ ){
       if( primitiveObjectArray[i] == null ){
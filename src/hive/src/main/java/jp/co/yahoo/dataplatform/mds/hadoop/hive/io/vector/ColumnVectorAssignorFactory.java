@@ -39,6 +39,7 @@ public final class ColumnVectorAssignorFactory{
           case INT:
             return new LongColumnVectorAssignor( IntegerPrimitiveSetter.getInstance() );
           case BOOLEAN:
+            return new LongColumnVectorAssignor( BooleanPrimitiveSetter.getInstance() );
           case LONG:
             return new LongColumnVectorAssignor( LongPrimitiveSetter.getInstance() );
           case FLOAT:
@@ -19,7 +19,9 @@ package jp.co.yahoo.dataplatform.mds.hadoop.hive.io.vector;
 
 import java.io.IOException;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.ICellManager;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.IPrimitiveArrayCellManager;
 import org.apache.hadoop.hive.ql.exec.vector.VectorizedBatchUtil;
 import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
@@ -32,6 +34,8 @@ public class DoubleColumnVectorAssignor implements IColumnVectorAssignor{
 
   private final IDecimalPrimitiveSetter setter;
   private IColumn column;
+  private IPrimitiveArrayCellManager primitiveArrayCellManager;
+  private boolean isCheckCellManager;
 
   public DoubleColumnVectorAssignor( final IDecimalPrimitiveSetter setter ){
     this.setter = setter;
@@ -40,11 +44,38 @@ public class DoubleColumnVectorAssignor implements IColumnVectorAssignor{
   @Override
   public void setColumn( final int spreadSize , final IColumn column ) throws IOException{
     this.column = column;
+    primitiveArrayCellManager = null;
+    isCheckCellManager = false;
+  }
+
+  private IPrimitiveArrayCellManager getPrimitiveArrayCellManager(){
+    if( ! isCheckCellManager ){
+      isCheckCellManager = true;
+      if( setter.isDirectColumnType( column.getColumnType() ) ){
+        ICellManager cellManager = column.getCellManager();
+        if( cellManager instanceof IPrimitiveArrayCellManager ){
+          primitiveArrayCellManager = (IPrimitiveArrayCellManager)cellManager;
+        }
+      }
+    }
+    return primitiveArrayCellManager;
   }
 
   @Override
   public void setColumnVector( final ColumnVector vector , final IExpressionIndex indexList , final int start , final int length ) throws IOException{
     DoubleColumnVector columnVector = (DoubleColumnVector)vector;
+    IPrimitiveArrayCellManager cellManager = getPrimitiveArrayCellManager();
+    if( cellManager != null ){
+      if( cellManager.setDoubleArray( indexList , start , length , columnVector.vector , columnVector.isNull ) ){
+        columnVector.noNulls = false;
+        for( int i = 0 ; i < length ; i++ ){
+          if( columnVector.isNull[i] ){
+            columnVector.vector[i] = DoubleColumnVector.NULL_VALUE;
+          }
+        }
+      }
+      return;
+    }
     PrimitiveObject[] primitiveObjectArray = column.getPrimitiveObjectArray( indexList , start , length );
     for( int i = 0 ; i < length ; i++ ){
       if( primitiveObjectArray[i] == null ){
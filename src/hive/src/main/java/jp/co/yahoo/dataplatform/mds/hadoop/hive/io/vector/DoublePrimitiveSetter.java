@@ -24,6 +24,8 @@ import org.apache.hadoop.hive.ql.exec.vector.VectorizedBatchUtil;
 
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+
 public class DoublePrimitiveSetter implements IDecimalPrimitiveSetter{
 
   private final static DoublePrimitiveSetter SETTER = new DoublePrimitiveSetter();
@@ -38,6 +40,17 @@ public class DoublePrimitiveSetter implements IDecimalPrimitiveSetter{
     }
   }
 
+  @Override
+  public boolean isDirectColumnType( final ColumnType columnType ){
+    switch( columnType ){
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   public static DoublePrimitiveSetter getInstance(){
     return SETTER;
   }
@@ -24,6 +24,8 @@ import org.apache.hadoop.hive.ql.exec.vector.VectorizedBatchUtil;
 
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+
 public class FloatPrimitiveSetter implements IDecimalPrimitiveSetter{
 
   private final static FloatPrimitiveSetter SETTER = new FloatPrimitiveSetter();
@@ -38,6 +40,16 @@ public class FloatPrimitiveSetter implements IDecimalPrimitiveSetter{
     }
   }
 
+  @Override
+  public boolean isDirectColumnType( final ColumnType columnType ){
+    switch( columnType ){
+      case FLOAT:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   public static FloatPrimitiveSetter getInstance(){
     return SETTER;
   }
@@ -23,8 +23,12 @@ import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
 
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+
 public interface IDecimalPrimitiveSetter{
 
   void set( final PrimitiveObject[] primitiveObjectArray , final DoubleColumnVector columnVector , final int index ) throws IOException;
 
+  boolean isDirectColumnType( final ColumnType columnType );
+
 }
@@ -24,6 +24,8 @@ import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+
 public class IntegerPrimitiveSetter implements INumberPrimitiveSetter{
 
   private final static IntegerPrimitiveSetter SETTER = new IntegerPrimitiveSetter();
@@ -38,6 +40,18 @@ public class IntegerPrimitiveSetter implements INumberPrimitiveSetter{
     }
   }
 
+  @Override
+  public boolean isDirectColumnType( final ColumnType columnType ){
+    switch( columnType ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   public static IntegerPrimitiveSetter getInstance(){
     return SETTER;
   }
@@ -25,13 +25,17 @@ import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.ICellManager;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.IPrimitiveArrayCellManager;
 import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionIndex;
 
 public class LongColumnVectorAssignor implements IColumnVectorAssignor{
 
   private final INumberPrimitiveSetter setter;
   private IColumn column;
+  private IPrimitiveArrayCellManager primitiveArrayCellManager;
+  private boolean isCheckCellManager;
 
   public LongColumnVectorAssignor( final INumberPrimitiveSetter setter ){
     this.setter = setter;
@@ -40,11 +44,38 @@ public class LongColumnVectorAssignor implements IColumnVectorAssignor{
   @Override
   public void setColumn( final int spreadSize , final IColumn column ) throws IOException{
     this.column = column;
+    primitiveArrayCellManager = null;
+    isCheckCellManager = false;
+  }
+
+  private IPrimitiveArrayCellManager getPrimitiveArrayCellManager(){
+    if( ! isCheckCellManager ){
+      isCheckCellManager = true;
+      if( setter.isDirectColumnType( column.getColumnType() ) ){
+        ICellManager cellManager = column.getCellManager();
+        if( cellManager instanceof IPrimitiveArrayCellManager ){
+          primitiveArrayCellManager = (IPrimitiveArrayCellManager)cellManager;
+        }
+      }
+    }
+    return primitiveArrayCellManager;
   }
 
   @Override
   public void setColumnVector( final ColumnVector vector , final IExpressionIndex indexList , final int start , final int length ) throws IOException{
     LongColumnVector columnVector = (LongColumnVector)vector;
+    IPrimitiveArrayCellManager cellManager = getPrimitiveArrayCellManager();
+    if( cellManager != null ){
+      if( cellManager.setLongArray( indexList , start , length , columnVector.vector , columnVector.isNull ) ){
+        columnVector.noNulls = false;
+        for( int i = 0 ; i < length ; i++ ){
+          if( columnVector.isNull[i] ){
+            columnVector.vector[i] = LongColumnVector.NULL_VALUE;
+          }
+        }
+      }
+      return;
+    }
     PrimitiveObject[] primitiveObjectArray = column.getPrimitiveObjectArray( indexList , start , length );
     for( int i = 0 ; i < length ; i++ ){
       if( primitiveObjectArray[i] == null ){
@@ -24,6 +24,8 @@ import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+
 public final class LongPrimitiveSetter implements INumberPrimitiveSetter{
 
   private final static LongPrimitiveSetter SETTER = new LongPrimitiveSetter();
@@ -39,6 +41,19 @@ public final class LongPrimitiveSetter implements INumberPrimitiveSetter{
     }
   }
 
+  @Override
+  public boolean isDirectColumnType( final ColumnType columnType ){
+    switch( columnType ){
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   public static LongPrimitiveSetter getInstance(){
     return SETTER;
   }
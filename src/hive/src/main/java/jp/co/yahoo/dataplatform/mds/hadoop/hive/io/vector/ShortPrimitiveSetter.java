@@ -24,6 +24,8 @@ import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 
 import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+
 public class ShortPrimitiveSetter implements INumberPrimitiveSetter{
 
   private final static ShortPrimitiveSetter SETTER = new ShortPrimitiveSetter();
@@ -38,6 +40,17 @@ public class ShortPrimitiveSetter implements INumberPrimitiveSetter{
     }
   }
 
+  @Override
+  public boolean isDirectColumnType( final ColumnType columnType ){
+    switch( columnType ){
+      case BYTE:
+      case SHORT:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   public static ShortPrimitiveSetter getInstance(){
     return SETTER;
   }
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.hadoop.hive.pushdown;
+
+import java.util.List;
+
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeConstantDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExtractNode;
+
+public class BetweenHiveExpr implements IHiveExprNode{
+
+  private final List<ExprNodeDesc> nodeDescList;
+
+  public BetweenHiveExpr( final List<ExprNodeDesc> nodeDescList ){
+    this.nodeDescList = nodeDescList;
+  }
+
+  @Override
+  public void addChildNode( final ExprNodeGenericFuncDesc exprNodeDesc ){
+    throw new UnsupportedOperationException( "IHiveExprNode node can not have child node." );
+  }
+
+  @Override
+  public IExpressionNode getPushDownFilterNode(){
+    if( nodeDescList.size() != 4 ){
+      return null;
+    }
+    ExprNodeDesc invertNode = nodeDescList.get( 0 );
+    ExprNodeDesc columnDesc = nodeDescList.get( 1 );
+    ExprNodeDesc minNode = nodeDescList.get( 2 );
+    ExprNodeDesc maxNode = nodeDescList.get( 3 );
+    if( ! ( invertNode instanceof ExprNodeConstantDesc ) || ! ( minNode instanceof ExprNodeConstantDesc ) || ! ( maxNode instanceof ExprNodeConstantDesc ) ){
+      return null;
+    }
+    Object invertObj = ( (ExprNodeConstantDesc)invertNode ).getValue();
+    if( ! ( invertObj instanceof Boolean ) ){
+      return null;
+    }
+    boolean invert = ( (Boolean)invertObj ).booleanValue();
+    ExprNodeConstantDesc minConstDesc = (ExprNodeConstantDesc)minNode;
+    ExprNodeConstantDesc maxConstDesc = (ExprNodeConstantDesc)maxNode;
+
+    IExtractNode extractNode = CreateExtractNodeUtil.getExtractNode( columnDesc );
+    if( extractNode == null ){
+      return null;
+    }
+
+    IFilter filter = null;
+    PrimitiveObject minNumberObj = ConstantObjectUtil.getNumberObject( minConstDesc );
+    PrimitiveObject maxNumberObj = ConstantObjectUtil.getNumberObject( maxConstDesc );
+    if( minNumberObj != null && maxNumberObj != null ){
+      filter = new NumberRangeFilter( minNumberObj , true , maxNumberObj , true , invert );
+    }
+    else{
+      String minString = ConstantObjectUtil.getString( minConstDesc );
+      String maxString = ConstantObjectUtil.getString( maxConstDesc );
+      if( minString != null && maxString != null ){
+        filter = new StringRangeFilter( minString , true , maxString , true , invert );
+      }
+    }
+    if( filter == null ){
+      return null;
+    }
+    return new ExecuterNode( extractNode , filter );
+  }
+
+}
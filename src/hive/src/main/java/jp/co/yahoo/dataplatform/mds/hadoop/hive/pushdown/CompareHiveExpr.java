@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.hadoop.hive.pushdown;
+
+import java.util.List;
+
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeConstantDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExtractNode;
+
+public class CompareHiveExpr implements IHiveExprNode{
+
+  private final List<ExprNodeDesc> nodeDescList;
+  private final NumberFilterType numberFilterType;
+
+  public CompareHiveExpr( final List<ExprNodeDesc> nodeDescList , final NumberFilterType numberFilterType ){
+    this.nodeDescList = nodeDescList;
+    this.numberFilterType = numberFilterType;
+  }
+
+  @Override
+  public void addChildNode( final ExprNodeGenericFuncDesc exprNodeDesc ){
+    throw new UnsupportedOperationException( "IHiveExprNode node can not have child node." );
+  }
+
+  @Override
+  public IExpressionNode getPushDownFilterNode(){
+    if( nodeDescList.size() != 2 ){
+      return null;
+    }
+    ExprNodeDesc exprNode1 = nodeDescList.get( 0 );
+    ExprNodeDesc exprNode2 = nodeDescList.get( 1 );
+
+    ExprNodeDesc columnDesc;
+    ExprNodeConstantDesc constantDesc;
+    NumberFilterType filterType;
+
+    if( exprNode1 instanceof ExprNodeConstantDesc ){
+      columnDesc = exprNode2;
+      constantDesc = (ExprNodeConstantDesc)exprNode1;
+      filterType = getReverseFilterType( numberFilterType );
+    }
+    else if( exprNode2 instanceof ExprNodeConstantDesc ){
+      columnDesc = exprNode1;
+      constantDesc = (ExprNodeConstantDesc)exprNode2;
+      filterType = numberFilterType;
+    }
+    else{
+      return null;
+    }
+
+    IExtractNode extractNode = CreateExtractNodeUtil.getExtractNode( columnDesc );
+    if( extractNode == null ){
+      return null;
+    }
+
+    IFilter filter = getCompareFilter( constantDesc , filterType );
+    if( filter == null ){
+      return null;
+    }
+    return new ExecuterNode( extractNode , filter );
+  }
+
+  public static NumberFilterType getReverseFilterType( final NumberFilterType numberFilterType ){
+    switch( numberFilterType ){
+      case LT:
+        return NumberFilterType.GT;
+      case LE:
+        return NumberFilterType.GE;
+      case GT:
+        return NumberFilterType.LT;
+      case GE:
+        return NumberFilterType.LE;
+      default:
+        return numberFilterType;
+    }
+  }
+
+  public static IFilter getCompareFilter( final ExprNodeConstantDesc constantDesc , final NumberFilterType numberFilterType ){
+    PrimitiveObject numberObj = ConstantObjectUtil.getNumberObject( constantDesc );
+    if( numberObj != null ){
+      return new NumberFilter( numberFilterType , numberObj );
+    }
+    String stringObj = ConstantObjectUtil.getString( constantDesc );
+    if( stringObj == null ){
+      return null;
+    }
+    switch( numberFilterType ){
+      case LT:
+        return new StringRangeFilter( null , false , stringObj , false , false );
+      case LE:
+        return new StringRangeFilter( null , false , stringObj , true , false );
+      case GT:
+        return new StringRangeFilter( stringObj , false , null , false , false );
+      case GE:
+        return new StringRangeFilter( stringObj , true , null , false , false );
+      default:
+        return null;
+    }
+  }
+
+}
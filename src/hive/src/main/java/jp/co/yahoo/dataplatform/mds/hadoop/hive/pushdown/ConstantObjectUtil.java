@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.hadoop.hive.pushdown;
+
+import org.apache.hadoop.hive.ql.plan.ExprNodeConstantDesc;
+
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+import jp.co.yahoo.dataplatform.schema.objects.ByteObj;
+import jp.co.yahoo.dataplatform.schema.objects.ShortObj;
+import jp.co.yahoo.dataplatform.schema.objects.IntegerObj;
+import jp.co.yahoo.dataplatform.schema.objects.LongObj;
+import jp.co.yahoo.dataplatform.schema.objects.FloatObj;
+import jp.co.yahoo.dataplatform.schema.objects.DoubleObj;
+
+public final class ConstantObjectUtil{
+
+  private ConstantObjectUtil(){}
+
+  public static PrimitiveObjectInspector.PrimitiveCategory getPrimitiveCategory( final ExprNodeConstantDesc constDesc ){
+    ObjectInspector objectInspector = constDesc.getWritableObjectInspector();
+    if( objectInspector.getCategory() != ObjectInspector.Category.PRIMITIVE ){
+      return null;
+    }
+    return ( (PrimitiveObjectInspector)objectInspector ).getPrimitiveCategory();
+  }
+
+  public static PrimitiveObject getNumberObject( final ExprNodeConstantDesc constDesc ){
+    PrimitiveObjectInspector.PrimitiveCategory category = getPrimitiveCategory( constDesc );
+    Object value = constDesc.getValue();
+    if( category == null || ! ( value instanceof Number ) ){
+      return null;
+    }
+    Number numberValue = (Number)value;
+    switch( category ){
+      case BYTE:
+        return new ByteObj( numberValue.byteValue() );
+      case SHORT:
+        return new ShortObj( numberValue.shortValue() );
+      case INT:
+        return new IntegerObj( numberValue.intValue() );
+      case LONG:
+        return new LongObj( numberValue.longValue() );
+      case FLOAT:
+        return new FloatObj( numberValue.floatValue() );
+      case DOUBLE:
+        return new DoubleObj( numberValue.doubleValue() );
+      default:
+        return null;
+    }
+  }
+
+  public static String getString( final ExprNodeConstantDesc constDesc ){
+    PrimitiveObjectInspector.PrimitiveCategory category = getPrimitiveCategory( constDesc );
+    Object value = constDesc.getValue();
+    if( category != PrimitiveObjectInspector.PrimitiveCategory.STRING || value == null ){
+      return null;
+    }
+    return value.toString();
+  }
+
+}
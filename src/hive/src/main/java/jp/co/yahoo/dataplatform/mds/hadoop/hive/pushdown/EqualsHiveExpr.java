@@ -20,12 +20,16 @@ package jp.co.yahoo.dataplatform.mds.hadoop.hive.pushdown;
 import java.util.List;
 
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.NullFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
 import jp.co.yahoo.dataplatform.mds.spread.column.filter.PerfectMatchStringFilter;
 import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
 import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
 import org.apache.hadoop.hive.ql.plan.ExprNodeConstantDesc;
 import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
 
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.primitive.WritableVoidObjectInspector;
@@ -69,6 +73,11 @@ public class EqualsHiveExpr implements IHiveExprNode{
       case INT:
       case LONG:
       case SHORT:
+        PrimitiveObject numberObj = ConstantObjectUtil.getNumberObject( constDesc );
+        if( numberObj != null ){
+          filter = new NumberFilter( NumberFilterType.EQUAL , numberObj );
+        }
+        break;
       case DATE:
       case DECIMAL:
       case TIMESTAMP:
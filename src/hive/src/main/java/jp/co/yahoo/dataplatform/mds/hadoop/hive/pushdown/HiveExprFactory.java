@@ -23,14 +23,22 @@ import org.apache.hadoop.hive.ql.exec.UDF;
 import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
 import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFBetween;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFBridge;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFIn;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqual;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPNotEqual;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPLessThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqualOrLessThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPGreaterThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqualOrGreaterThan;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPNull;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPNotNull;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFIndex;
 import org.apache.hadoop.hive.ql.udf.UDFLike;
 
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+
 public final class HiveExprFactory {
 
   private HiveExprFactory(){}
@@ -52,6 +60,24 @@ public final class HiveExprFactory {
     else if( udf instanceof GenericUDFOPNull ){
       return new NullHiveExpr( childNodeDesc );
     }
+    else if( udf instanceof GenericUDFOPLessThan ){
+      return new CompareHiveExpr( childNodeDesc , NumberFilterType.LT );
+    }
+    else if( udf instanceof GenericUDFOPEqualOrLessThan ){
+      return new CompareHiveExpr( childNodeDesc , NumberFilterType.LE );
+    }
+    else if( udf instanceof GenericUDFOPGreaterThan ){
+      return new CompareHiveExpr( childNodeDesc , NumberFilterType.GT );
+    }
+    else if( udf instanceof GenericUDFOPEqualOrGreaterThan ){
+      return new CompareHiveExpr( childNodeDesc , NumberFilterType.GE );
+    }
+    else if( udf instanceof GenericUDFBetween ){
+      return new BetweenHiveExpr( childNodeDesc );
+    }
+    else if( udf instanceof GenericUDFIn ){
+      return new InHiveExpr( childNodeDesc );
+    }
     else if( udf instanceof GenericUDFIndex ){
       return new BooleanHiveExpr( exprNodeDesc , (GenericUDFIndex)udf );
     }
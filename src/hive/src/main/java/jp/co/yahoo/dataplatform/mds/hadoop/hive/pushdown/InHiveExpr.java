@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.hadoop.hive.pushdown;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.HashSet;
+
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeConstantDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+
+import jp.co.yahoo.dataplatform.schema.objects.PrimitiveObject;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExtractNode;
+
+public class InHiveExpr implements IHiveExprNode{
+
+  private final List<ExprNodeDesc> nodeDescList;
+
+  public InHiveExpr( final List<ExprNodeDesc> nodeDescList ){
+    this.nodeDescList = nodeDescList;
+  }
+
+  @Override
+  public void addChildNode( final ExprNodeGenericFuncDesc exprNodeDesc ){
+    throw new UnsupportedOperationException( "IHiveExprNode node can not have child node." );
+  }
+
+  @Override
+  public IExpressionNode getPushDownFilterNode(){
+    if( nodeDescList.size() < 2 ){
+      return null;
+    }
+    IExtractNode extractNode = CreateExtractNodeUtil.getExtractNode( nodeDescList.get( 0 ) );
+    if( extractNode == null ){
+      return null;
+    }
+
+    List<PrimitiveObject> numberList = new ArrayList<PrimitiveObject>();
+    Set<String> stringSet = new HashSet<String>();
+    for( int i = 1 ; i < nodeDescList.size() ; i++ ){
+      ExprNodeDesc nodeDesc = nodeDescList.get( i );
+      if( ! ( nodeDesc instanceof ExprNodeConstantDesc ) ){
+        return null;
+      }
+      ExprNodeConstantDesc constDesc = (ExprNodeConstantDesc)nodeDesc;
+      PrimitiveObject numberObj = ConstantObjectUtil.getNumberObject( constDesc );
+      if( numberObj != null ){
+        numberList.add( numberObj );
+        continue;
+      }
+      String stringObj = ConstantObjectUtil.getString( constDesc );
+      if( stringObj != null ){
+        stringSet.add( stringObj );
+        continue;
+      }
+      return null;
+    }
+
+    IFilter filter;
+    if( ! numberList.isEmpty() && stringSet.isEmpty() ){
+      try{
+        filter = new NumberSetFilter( numberList );
+      }catch( IOException e ){
+        return null;
+      }
+    }
+    else if( numberList.isEmpty() && ! stringSet.isEmpty() ){
+      filter = new StringSetFilter( stringSet );
+    }
+    else{
+      return null;
+    }
+    return new ExecuterNode( extractNode , filter );
+  }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.hadoop.hive.io.vector;
+
+import java.io.*;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.maker.BitSetBooleanColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.DefaultPrimitiveObjectConnector;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.MakerCache;
+import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
+import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
+import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
+import jp.co.yahoo.dataplatform.mds.spread.expression.AllExpressionIndex;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionIndex;
+import org.testng.annotations.Test;
+
+import org.apache.hadoop.hive.ql.exec.vector.*;
+
+import jp.co.yahoo.dataplatform.schema.objects.*;
+
+public class TestBooleanPrimitiveSetter{
+
+  @Test
+  public void T_set_1() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "t" );
+    for( int i = 0 ; i < 2000 ; i++ ){
+      column.add( ColumnType.BOOLEAN , new BooleanObj( ( i % 3 ) == 0 ) , i );
+    }
+    IExpressionIndex index = new AllExpressionIndex( column.size() );
+
+    INumberPrimitiveSetter setter = BooleanPrimitiveSetter.getInstance();
+    for( int i = 0 ; i < 2 ; i++ ){
+      int start = i * 1024;
+      PrimitiveObject[] pArray = column.getPrimitiveObjectArray( index , start , 1024 );
+      LongColumnVector vector = new LongColumnVector( 1024 );
+      for( int n = 0 ; n < 1024 ; n++ ){
+        setter.set( pArray , vector , n );
+      }
+      for( int n = 0 ; n < 1024 ; n++ ){
+        if( ( n + start ) < 2000 ){
+          assertEquals( vector.vector[n] , ( ( n + start ) % 3 ) == 0 ? 1L : 0L );
+        }
+        else{
+          assertTrue( vector.isNull[n] );
+        }
+      }
+    }
+  }
+
+  @Test
+  public void T_set_2() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "t" );
+    for( int i = 0 ; i < 2000 ; i++ ){
+      if( ( i % 7 ) != 0 ){
+        column.add( ColumnType.BOOLEAN , new BooleanObj( ( i % 3 ) == 0 ) , i );
+      }
+    }
+    IColumnBinaryMaker maker = new BitSetBooleanColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+    IColumn decodeColumn = maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+    IExpressionIndex index = new AllExpressionIndex( decodeColumn.size() );
+
+    LongColumnVector vector = new LongColumnVector( 1024 );
+    IColumnVectorAssignor assignor = new LongColumnVectorAssignor( BooleanPrimitiveSetter.getInstance() );
+    assignor.setColumn( decodeColumn.size() , decodeColumn );
+
+    for( int i = 0 ; i < 2 ; i++ ){
+      int start = i * 1024;
+      assignor.setColumnVector( vector , index , start , 1024 );
+      assertFalse( vector.noNulls );
+      for( int n = 0 ; n < 1024 ; n++ ){
+        if( ( n + start ) < 2000 && ( ( n + start ) % 7 ) != 0 ){
+          assertFalse( vector.isNull[n] );
+          assertEquals( vector.vector[n] , ( ( n + start ) % 3 ) == 0 ? 1L : 0L );
+        }
+        else{
+          assertTrue( vector.isNull[n] );
+        }
+      }
+    }
+  }
+
+}
@@ -23,8 +23,15 @@ import java.util.Arrays;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
 
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.dataplatform.mds.binary.UTF8BytesLinkObj;
+import jp.co.yahoo.dataplatform.mds.binary.maker.DefaultPrimitiveObjectConnector;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.MakerCache;
+import jp.co.yahoo.dataplatform.mds.binary.maker.UniqStringToUTF8BytesColumnBinaryMaker;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
@@ -93,4 +100,67 @@ public class TestBytesColumnVectorAssignor{
     }
   }
 
+  private IColumn toDictionaryColumn( final IColumn column ) throws IOException{
+    IColumnBinaryMaker maker = new UniqStringToUTF8BytesColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+    return maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+  }
+
+  @Test
+  public void T_set_dictionary_1() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "t" );
+    for( int i = 0 ; i < 2000 ; i++ ){
+      if( ( i % 5 ) != 0 ){
+        column.add( ColumnType.STRING , new StringObj( "c_" + ( i % 3 ) ) , i );
+      }
+    }
+    IColumn decodeColumn = toDictionaryColumn( column );
+    IExpressionIndex index = new AllExpressionIndex( decodeColumn.size() );
+
+    BytesColumnVector vector = new BytesColumnVector( 1024 );
+    IColumnVectorAssignor assignor = new BytesColumnVectorAssignor();
+    assignor.setColumn( decodeColumn.size() , decodeColumn );
+
+    for( int i = 0 ; i < 2 ; i++ ){
+      int start = i * 1024;
+      assignor.setColumnVector( vector , index , start , 1024 );
+      assertFalse( vector.isRepeating );
+      for( int n = 0 ; n < 1024 ; n++ ){
+        int row = n + start;
+        if( row < 2000 && ( row % 5 ) != 0 ){
+          assertFalse( vector.isNull[n] );
+          assertEquals( new String( vector.vector[n] , vector.start[n] , vector.length[n] , "UTF-8" ) , "c_" + ( row % 3 ) );
+        }
+        else{
+          assertTrue( vector.isNull[n] );
+        }
+      }
+    }
+  }
+
+  @Test
+  public void T_set_dictionary_2() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "t" );
+    for( int i = 0 ; i < 2048 ; i++ ){
+      column.add( ColumnType.STRING , new StringObj( "JP" ) , i );
+    }
+    IColumn decodeColumn = toDictionaryColumn( column );
+    IExpressionIndex index = new AllExpressionIndex( decodeColumn.size() );
+
+    BytesColumnVector vector = new BytesColumnVector( 1024 );
+    IColumnVectorAssignor assignor = new BytesColumnVectorAssignor();
+    assignor.setColumn( decodeColumn.size() , decodeColumn );
+
+    for( int i = 0 ; i < 2 ; i++ ){
+      assignor.setColumnVector( vector , index , i * 1024 , 1024 );
+      assertTrue( vector.isRepeating );
+      assertFalse( vector.isNull[0] );
+      assertEquals( new String( vector.vector[0] , vector.start[0] , vector.length[0] , "UTF-8" ) , "JP" );
+    }
+
+    assignor.setColumnVector( vector , index , 2048 , 1024 );
+    assertTrue( vector.isRepeating );
+    assertTrue( vector.isNull[0] );
+  }
+
 }
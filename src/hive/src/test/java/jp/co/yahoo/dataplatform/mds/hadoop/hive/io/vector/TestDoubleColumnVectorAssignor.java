@@ -21,7 +21,14 @@ import java.io.*;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
 
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.maker.DefaultPrimitiveObjectConnector;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.MakerCache;
+import jp.co.yahoo.dataplatform.mds.binary.maker.UniqDoubleColumnBinaryMaker;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
@@ -63,4 +70,37 @@ public class TestDoubleColumnVectorAssignor{
     }
   }
 
+  @Test
+  public void T_set_2() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.DOUBLE , "t" );
+    for( int i = 0 ; i < 2000 ; i++ ){
+      if( ( i % 3 ) != 0 ){
+        column.add( ColumnType.DOUBLE , new DoubleObj( (double)i / (double)1000 ) , i );
+      }
+    }
+    IColumnBinaryMaker maker = new UniqDoubleColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+    IColumn decodeColumn = maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+    IExpressionIndex index = new AllExpressionIndex( decodeColumn.size() );
+
+    DoubleColumnVector vector = new DoubleColumnVector( 1024 );
+    IColumnVectorAssignor assignor = new DoubleColumnVectorAssignor( DoublePrimitiveSetter.getInstance() );
+    assignor.setColumn( decodeColumn.size() , decodeColumn );
+
+    for( int i = 0 ; i < 3 ; i++ ){
+      int start = i * 1024;
+      assignor.setColumnVector( vector , index , start , 1024 );
+      assertFalse( vector.noNulls );
+      for( int n = 0 ; n < 1024 ; n++ ){
+        if( ( n + start ) < 2000 && ( ( n + start ) % 3 ) != 0 ){
+          assertFalse( vector.isNull[n] );
+          assertEquals( vector.vector[n] , (double)( n + start ) / (double)1000 );
+        }
+        else{
+          assertTrue( vector.isNull[n] );
+        }
+      }
+    }
+  }
+
 }
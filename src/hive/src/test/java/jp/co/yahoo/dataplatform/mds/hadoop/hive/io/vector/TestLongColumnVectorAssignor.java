@@ -21,7 +21,14 @@ import java.io.*;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
 
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinary;
+import jp.co.yahoo.dataplatform.mds.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.dataplatform.mds.binary.maker.DefaultPrimitiveObjectConnector;
+import jp.co.yahoo.dataplatform.mds.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.dataplatform.mds.binary.maker.MakerCache;
+import jp.co.yahoo.dataplatform.mds.binary.maker.UniqLongColumnBinaryMaker;
 import jp.co.yahoo.dataplatform.mds.spread.column.ColumnType;
 import jp.co.yahoo.dataplatform.mds.spread.column.IColumn;
 import jp.co.yahoo.dataplatform.mds.spread.column.PrimitiveColumn;
@@ -63,4 +70,37 @@ public class TestLongColumnVectorAssignor{
     }
   }
 
+  @Test
+  public void T_set_2() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "t" );
+    for( int i = 0 ; i < 2000 ; i++ ){
+      if( ( i % 3 ) != 0 ){
+        column.add( ColumnType.LONG , new LongObj( i ) , i );
+      }
+    }
+    IColumnBinaryMaker maker = new UniqLongColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column , new MakerCache() );
+    IColumn decodeColumn = maker.toColumn( columnBinary , new DefaultPrimitiveObjectConnector() );
+    IExpressionIndex index = new AllExpressionIndex( decodeColumn.size() );
+
+    LongColumnVector vector = new LongColumnVector( 1024 );
+    IColumnVectorAssignor assignor = new LongColumnVectorAssignor( LongPrimitiveSetter.getInstance() );
+    assignor.setColumn( decodeColumn.size() , decodeColumn );
+
+    for( int i = 0 ; i < 3 ; i++ ){
+      int start = i * 1024;
+      assignor.setColumnVector( vector , index , start , 1024 );
+      assertFalse( vector.noNulls );
+      for( int n = 0 ; n < 1024 ; n++ ){
+        if( ( n + start ) < 2000 && ( ( n + start ) % 3 ) != 0 ){
+          assertFalse( vector.isNull[n] );
+          assertEquals( vector.vector[n] , ( n + start ) );
+        }
+        else{
+          assertTrue( vector.isNull[n] );
+        }
+      }
+    }
+  }
+
 }
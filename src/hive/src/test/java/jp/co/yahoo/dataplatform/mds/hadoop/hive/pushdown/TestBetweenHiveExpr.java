@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.hadoop.hive.pushdown;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+import org.apache.hadoop.hive.serde2.typeinfo.*;
+import org.apache.hadoop.hive.ql.plan.*;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
+
+public class TestBetweenHiveExpr{
+
+  private IFilter getFilter( final boolean invert , final TypeInfo typeInfo , final Object min , final Object max ){
+    List<ExprNodeDesc> childList = new ArrayList<ExprNodeDesc>();
+    childList.add( new ExprNodeConstantDesc( TypeInfoFactory.booleanTypeInfo , invert ) );
+    childList.add( new ExprNodeColumnDesc( typeInfo , "col1" , "col1" , false ) );
+    childList.add( new ExprNodeConstantDesc( typeInfo , min ) );
+    childList.add( new ExprNodeConstantDesc( typeInfo , max ) );
+    IExpressionNode node = new BetweenHiveExpr( childList ).getPushDownFilterNode();
+    if( node == null ){
+      return null;
+    }
+    assertTrue( node instanceof ExecuterNode );
+    return ( (ExecuterNode)node ).getFilter();
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_number_1() throws IOException{
+    IFilter filter = getFilter( false , TypeInfoFactory.intTypeInfo , 10 , 20 );
+    assertTrue( filter instanceof NumberRangeFilter );
+    NumberRangeFilter rangeFilter = (NumberRangeFilter)filter;
+    assertEquals( rangeFilter.getMinObject().getInt() , 10 );
+    assertTrue( rangeFilter.isMinHasEquals() );
+    assertEquals( rangeFilter.getMaxObject().getInt() , 20 );
+    assertTrue( rangeFilter.isMaxHasEquals() );
+    assertFalse( rangeFilter.isInvert() );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_notBetween_1() throws IOException{
+    IFilter filter = getFilter( true , TypeInfoFactory.doubleTypeInfo , 1.5d , 2.5d );
+    assertTrue( filter instanceof NumberRangeFilter );
+    NumberRangeFilter rangeFilter = (NumberRangeFilter)filter;
+    assertEquals( rangeFilter.getMinObject().getDouble() , 1.5d );
+    assertEquals( rangeFilter.getMaxObject().getDouble() , 2.5d );
+    assertTrue( rangeFilter.isInvert() );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_notBetween_2() throws IOException{
+    IFilter filter = getFilter( true , TypeInfoFactory.stringTypeInfo , "a" , "c" );
+    assertTrue( filter instanceof StringRangeFilter );
+    StringRangeFilter rangeFilter = (StringRangeFilter)filter;
+    assertEquals( rangeFilter.getMin() , "a" );
+    assertEquals( rangeFilter.getMax() , "c" );
+    assertTrue( rangeFilter.isInvert() );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_nullConstant_1() throws IOException{
+    assertNull( getFilter( false , TypeInfoFactory.intTypeInfo , null , 20 ) );
+    assertNull( getFilter( false , TypeInfoFactory.stringTypeInfo , "a" , null ) );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_mixedType_1() throws IOException{
+    List<ExprNodeDesc> childList = new ArrayList<ExprNodeDesc>();
+    childList.add( new ExprNodeConstantDesc( TypeInfoFactory.booleanTypeInfo , false ) );
+    childList.add( new ExprNodeColumnDesc( TypeInfoFactory.intTypeInfo , "col1" , "col1" , false ) );
+    childList.add( new ExprNodeConstantDesc( TypeInfoFactory.intTypeInfo , 10 ) );
+    childList.add( new ExprNodeConstantDesc( TypeInfoFactory.stringTypeInfo , "20" ) );
+    assertNull( new BetweenHiveExpr( childList ).getPushDownFilterNode() );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_invalidArgs_1() throws IOException{
+    List<ExprNodeDesc> childList = new ArrayList<ExprNodeDesc>();
+    childList.add( new ExprNodeColumnDesc( TypeInfoFactory.intTypeInfo , "col1" , "col1" , false ) );
+    childList.add( new ExprNodeConstantDesc( TypeInfoFactory.intTypeInfo , 10 ) );
+    assertNull( new BetweenHiveExpr( childList ).getPushDownFilterNode() );
+  }
+
+}
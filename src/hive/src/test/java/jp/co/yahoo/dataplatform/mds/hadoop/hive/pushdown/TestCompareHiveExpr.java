@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.hadoop.hive.pushdown;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+import org.apache.hadoop.hive.serde2.typeinfo.*;
+import org.apache.hadoop.hive.ql.plan.*;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringRangeFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
+
+public class TestCompareHiveExpr{
+
+  private IFilter getFilter( final ExprNodeDesc node1 , final ExprNodeDesc node2 , final NumberFilterType filterType ){
+    List<ExprNodeDesc> childList = new ArrayList<ExprNodeDesc>();
+    childList.add( node1 );
+    childList.add( node2 );
+    IExpressionNode node = new CompareHiveExpr( childList , filterType ).getPushDownFilterNode();
+    if( node == null ){
+      return null;
+    }
+    assertTrue( node instanceof ExecuterNode );
+    return ( (ExecuterNode)node ).getFilter();
+  }
+
+  private ExprNodeColumnDesc createColumn( final TypeInfo typeInfo ){
+    return new ExprNodeColumnDesc( typeInfo , "col1" , "col1" , false );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_columnLeft_1() throws IOException{
+    IFilter filter = getFilter( createColumn( TypeInfoFactory.intTypeInfo ) , new ExprNodeConstantDesc( TypeInfoFactory.intTypeInfo , 5 ) , NumberFilterType.LT );
+    assertTrue( filter instanceof NumberFilter );
+    assertEquals( ( (NumberFilter)filter ).getNumberFilterType() , NumberFilterType.LT );
+    assertEquals( ( (NumberFilter)filter ).getNumberObject().getInt() , 5 );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_constantLeft_1() throws IOException{
+    NumberFilterType[][] reverseArray = new NumberFilterType[][]{
+      { NumberFilterType.LT , NumberFilterType.GT },
+      { NumberFilterType.LE , NumberFilterType.GE },
+      { NumberFilterType.GT , NumberFilterType.LT },
+      { NumberFilterType.GE , NumberFilterType.LE },
+    };
+    for( NumberFilterType[] reverse : reverseArray ){
+      IFilter filter = getFilter( new ExprNodeConstantDesc( TypeInfoFactory.longTypeInfo , 5L ) , createColumn( TypeInfoFactory.longTypeInfo ) , reverse[0] );
+      assertTrue( filter instanceof NumberFilter );
+      assertEquals( ( (NumberFilter)filter ).getNumberFilterType() , reverse[1] );
+      assertEquals( ( (NumberFilter)filter ).getNumberObject().getLong() , 5L );
+    }
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_constantLeft_2() throws IOException{
+    IFilter filter = getFilter( new ExprNodeConstantDesc( TypeInfoFactory.stringTypeInfo , "abc" ) , createColumn( TypeInfoFactory.stringTypeInfo ) , NumberFilterType.LE );
+    assertTrue( filter instanceof StringRangeFilter );
+    StringRangeFilter rangeFilter = (StringRangeFilter)filter;
+    assertEquals( rangeFilter.getMin() , "abc" );
+    assertTrue( rangeFilter.isMinHasEquals() );
+    assertNull( rangeFilter.getMax() );
+    assertFalse( rangeFilter.isInvert() );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_string_1() throws IOException{
+    IFilter filter = getFilter( createColumn( TypeInfoFactory.stringTypeInfo ) , new ExprNodeConstantDesc( TypeInfoFactory.stringTypeInfo , "abc" ) , NumberFilterType.LT );
+    assertTrue( filter instanceof StringRangeFilter );
+    StringRangeFilter rangeFilter = (StringRangeFilter)filter;
+    assertNull( rangeFilter.getMin() );
+    assertEquals( rangeFilter.getMax() , "abc" );
+    assertFalse( rangeFilter.isMaxHasEquals() );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_nullConstant_1() throws IOException{
+    assertNull( getFilter( createColumn( TypeInfoFactory.intTypeInfo ) , new ExprNodeConstantDesc( TypeInfoFactory.intTypeInfo , null ) , NumberFilterType.GT ) );
+    assertNull( getFilter( new ExprNodeConstantDesc( TypeInfoFactory.stringTypeInfo , null ) , createColumn( TypeInfoFactory.stringTypeInfo ) , NumberFilterType.GT ) );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_unsupportedConstant_1() throws IOException{
+    assertNull( getFilter( createColumn( TypeInfoFactory.booleanTypeInfo ) , new ExprNodeConstantDesc( TypeInfoFactory.booleanTypeInfo , true ) , NumberFilterType.GT ) );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_noConstant_1() throws IOException{
+    assertNull( getFilter( createColumn( TypeInfoFactory.intTypeInfo ) , createColumn( TypeInfoFactory.intTypeInfo ) , NumberFilterType.GT ) );
+  }
+
+  @Test( expectedExceptions = { UnsupportedOperationException.class } )
+  public void T_addChildNode_1(){
+    new CompareHiveExpr( new ArrayList<ExprNodeDesc>() , NumberFilterType.GT ).addChildNode( null );
+  }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.dataplatform.mds.hadoop.hive.pushdown;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+import org.apache.hadoop.hive.serde2.typeinfo.*;
+import org.apache.hadoop.hive.ql.plan.*;
+
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.IFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.NumberSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.column.filter.StringSetFilter;
+import jp.co.yahoo.dataplatform.mds.spread.expression.ExecuterNode;
+import jp.co.yahoo.dataplatform.mds.spread.expression.IExpressionNode;
+
+public class TestInHiveExpr{
+
+  private IExpressionNode getPushDownFilterNode( final TypeInfo columnTypeInfo , final ExprNodeDesc... constList ){
+    List<ExprNodeDesc> childList = new ArrayList<ExprNodeDesc>();
+    childList.add( new ExprNodeColumnDesc( columnTypeInfo , "col1" , "col1" , false ) );
+    childList.addAll( Arrays.asList( constList ) );
+    return new InHiveExpr( childList ).getPushDownFilterNode();
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_number_1() throws IOException{
+    IExpressionNode node = getPushDownFilterNode( TypeInfoFactory.longTypeInfo , new ExprNodeConstantDesc( TypeInfoFactory.longTypeInfo , 1L ) , new ExprNodeConstantDesc( TypeInfoFactory.intTypeInfo , 2 ) );
+    assertTrue( node instanceof ExecuterNode );
+    IFilter filter = ( (ExecuterNode)node ).getFilter();
+    assertTrue( filter instanceof NumberSetFilter );
+    assertEquals( ( (NumberSetFilter)filter ).getLongSet() , new HashSet<Long>( Arrays.asList( 1L , 2L ) ) );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_string_1() throws IOException{
+    IExpressionNode node = getPushDownFilterNode( TypeInfoFactory.stringTypeInfo , new ExprNodeConstantDesc( TypeInfoFactory.stringTypeInfo , "a" ) , new ExprNodeConstantDesc( TypeInfoFactory.stringTypeInfo , "b" ) );
+    assertTrue( node instanceof ExecuterNode );
+    IFilter filter = ( (ExecuterNode)node ).getFilter();
+    assertTrue( filter instanceof StringSetFilter );
+    assertEquals( ( (StringSetFilter)filter ).getStringSet() , new HashSet<String>( Arrays.asList( "a" , "b" ) ) );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_mixedType_1() throws IOException{
+    assertNull( getPushDownFilterNode( TypeInfoFactory.stringTypeInfo , new ExprNodeConstantDesc( TypeInfoFactory.stringTypeInfo , "a" ) , new ExprNodeConstantDesc( TypeInfoFactory.intTypeInfo , 1 ) ) );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_unconvertibleType_1() throws IOException{
+    assertNull( getPushDownFilterNode( TypeInfoFactory.booleanTypeInfo , new ExprNodeConstantDesc( TypeInfoFactory.booleanTypeInfo , true ) ) );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_nullConstant_1() throws IOException{
+    assertNull( getPushDownFilterNode( TypeInfoFactory.intTypeInfo , new ExprNodeConstantDesc( TypeInfoFactory.intTypeInfo , 1 ) , new ExprNodeConstantDesc( TypeInfoFactory.intTypeInfo , null ) ) );
+    assertNull( getPushDownFilterNode( TypeInfoFactory.stringTypeInfo , new ExprNodeConstantDesc( TypeInfoFactory.stringTypeInfo , null ) ) );
+  }
+
+  @Test
+  public void T_getPushDownFilterNode_notConstant_1() throws IOException{
+    assertNull( getPushDownFilterNode( TypeInfoFactory.intTypeInfo , new ExprNodeColumnDesc( TypeInfoFactory.intTypeInfo , "col2" , "col2" , false ) ) );
+  }
+
+}
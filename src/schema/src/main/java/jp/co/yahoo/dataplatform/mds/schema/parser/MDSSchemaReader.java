@@ -20,7 +20,7 @@ package jp.co.yahoo.dataplatform.mds.schema.parser;
 import java.io.IOException;
 import java.io.InputStream;
 
-import java.util.List;
+import java.util.BitSet;
 
 import jp.co.yahoo.dataplatform.mds.MDSReader;
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
@@ -73,7 +73,7 @@ public class MDSSchemaReader implements IStreamReader {
     if( currentSpread.size() == 0 ){
       return nextReader();
     }
-    List<Integer> indexList = node.exec( currentSpread );
+    BitSet indexList = node.execBitSet( currentSpread , null );
     if( indexList != null && indexList.isEmpty() ){
       return nextReader();
     }
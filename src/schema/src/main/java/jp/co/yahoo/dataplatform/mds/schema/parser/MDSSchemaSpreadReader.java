@@ -19,7 +19,7 @@ package jp.co.yahoo.dataplatform.mds.schema.parser;
 
 import java.io.IOException;
 
-import java.util.List;
+import java.util.BitSet;
 
 import jp.co.yahoo.dataplatform.mds.spread.Spread;
 import jp.co.yahoo.dataplatform.mds.spread.column.SpreadColumn;
@@ -41,7 +41,7 @@ public class MDSSchemaSpreadReader implements IStreamReader {
     spreadColumn.setSpread( spread );
 
     IExpressionNode node = new AndExpressionNode();
-    List<Integer> indexList = node.exec( spread );
+    BitSet indexList = node.execBitSet( spread , null );
     currentIndexList = IndexFactory.toExpressionIndex( spread , indexList );
     currentIndex = 0;
     currentParser = MDSParserFactory.get( spreadColumn , currentIndexList.get( currentIndex ) );
@@ -55,7 +55,7 @@ public class MDSSchemaSpreadReader implements IStreamReader {
     SpreadColumn spreadColumn = new SpreadColumn( "root" );
     spreadColumn.setSpread( spread );
 
-    List<Integer> indexList = node.exec( spread );
+    BitSet indexList = node.execBitSet( spread , null );
     currentIndexList = IndexFactory.toExpressionIndex( spread , indexList );
     currentIndex = 0;
     currentParser = MDSParserFactory.get( spreadColumn , currentIndexList.get( currentIndex ) );